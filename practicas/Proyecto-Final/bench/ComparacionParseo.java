@@ -0,0 +1,199 @@
+/**
+ * Clase de Medición: ComparacionParseo
+ *
+ * Compara el lector de campos ({LectorCampos}) contra el parseo anterior
+ * basado en {String#split}, haciendo con los dos exactamente el mismo
+ * trabajo sobre líneas de {Curso}: separar todos los campos, convertir a
+ * entero el id, el cupo, las partes de las fechas, el profesor y la lista
+ * de alumnos, y acumular los mismos valores. Aparte se reporta, solo como
+ * referencia, lo que cuesta {Curso#fromLineaTexto(String)} completo (que
+ * además construye el curso y valida las fechas).
+ *
+ * Es un arnés sencillo con calentamiento y varias rondas de medición, al
+ * estilo de JMH, pero sin dependencias externas para poder compilarlo con
+ * {@code javac} igual que el resto del proyecto (con las clases de
+ * {@code src} ya compiladas):
+ *
+ * <pre>
+ * cd bench
+ * javac -cp ../src -d clases ComparacionParseo.java
+ * java -cp ../src:clases ComparacionParseo
+ * </pre>
+ */
+public class ComparacionParseo {
+
+    /** Número de líneas distintas que se parsean en cada ronda. */
+    private static final int LINEAS = 10_000;
+
+    /** Rondas de calentamiento (no se reportan). */
+    private static final int CALENTAMIENTO = 10;
+
+    /** Rondas medidas. */
+    private static final int RONDAS = 10;
+
+    /** Evita que el JIT elimine el trabajo de parseo. */
+    private static long sumidero;
+
+    /**
+     * Punto de entrada de la medición.
+     *
+     * @param args No se utilizan.
+     * @throws Exception Si alguna línea de prueba no puede parsearse.
+     */
+    public static void main(String[] args) throws Exception {
+        String[] lineas = generarLineas();
+        for (int i = 0; i < lineas.length; i++) {
+            if (parsearConSplit(lineas[i]) != parsearConLector(lineas[i])) {
+                throw new IllegalStateException("Los parseos no coinciden en: " + lineas[i]);
+            }
+        }
+
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            rondaSplit(lineas);
+            rondaLector(lineas);
+            rondaCurso(lineas);
+        }
+
+        double mejorSplit = Double.MAX_VALUE;
+        double mejorLector = Double.MAX_VALUE;
+        double mejorCurso = Double.MAX_VALUE;
+        for (int i = 0; i < RONDAS; i++) {
+            mejorSplit = Math.min(mejorSplit, rondaSplit(lineas));
+            mejorLector = Math.min(mejorLector, rondaLector(lineas));
+            mejorCurso = Math.min(mejorCurso, rondaCurso(lineas));
+        }
+
+        System.out.printf("split + parseInt : %8.1f ns/línea%n", mejorSplit);
+        System.out.printf("LectorCampos     : %8.1f ns/línea%n", mejorLector);
+        System.out.printf("Aceleración      : %8.2fx%n", mejorSplit / mejorLector);
+        System.out.printf("Curso completo   : %8.1f ns/línea (referencia)%n", mejorCurso);
+        System.out.println("(sumidero " + sumidero + ")");
+    }
+
+    /**
+     * Parsea todas las líneas con {LectorCampos}.
+     *
+     * @param lineas Líneas a parsear.
+     * @return Nanosegundos promedio por línea.
+     * @throws FormatoInvalidoException Si alguna línea es inválida.
+     */
+    private static double rondaLector(String[] lineas) throws FormatoInvalidoException {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < lineas.length; i++) {
+            sumidero += parsearConLector(lineas[i]);
+        }
+        return (System.nanoTime() - inicio) / (double) lineas.length;
+    }
+
+    /**
+     * Construye un curso por línea con {Curso#fromLineaTexto(String)}.
+     *
+     * @param lineas Líneas a parsear.
+     * @return Nanosegundos promedio por línea.
+     * @throws FormatoInvalidoException Si alguna línea es inválida.
+     */
+    private static double rondaCurso(String[] lineas) throws FormatoInvalidoException {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < lineas.length; i++) {
+            Curso c = new Curso();
+            c.fromLineaTexto(lineas[i]);
+            sumidero += c.getId() + c.getContadorAlumnosGuardados();
+        }
+        return (System.nanoTime() - inicio) / (double) lineas.length;
+    }
+
+    /**
+     * Parsea todas las líneas con la implementación anterior basada en split.
+     *
+     * @param lineas Líneas a parsear.
+     * @return Nanosegundos promedio por línea.
+     */
+    private static double rondaSplit(String[] lineas) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < lineas.length; i++) {
+            sumidero += parsearConSplit(lineas[i]);
+        }
+        return (System.nanoTime() - inicio) / (double) lineas.length;
+    }
+
+    /**
+     * Reproduce el parseo que hacía {Curso#fromLineaTexto(String)} antes de
+     * usar {LectorCampos}: split por "|", split de fechas por "-" y split de
+     * la lista de alumnos por ",".
+     *
+     * @param linea Línea de un curso.
+     * @return Valor derivado de los campos, para el sumidero.
+     */
+    private static long parsearConSplit(String linea) {
+        String[] partes = linea.split("\\|");
+        long acumulado = Integer.parseInt(partes[0]) + Integer.parseInt(partes[6]);
+        acumulado += partes[1].length() + partes[7].length();
+        for (int i = 8; i <= 11; i++) {
+            String[] f = partes[i].split("-");
+            acumulado += Integer.parseInt(f[0]) + Integer.parseInt(f[1]) + Integer.parseInt(f[2]);
+        }
+        acumulado += Integer.parseInt(partes[12]);
+        String[] ids = partes[13].split(",");
+        for (int i = 0; i < ids.length; i++) {
+            acumulado += Integer.parseInt(ids[i].trim());
+        }
+        return acumulado;
+    }
+
+    /**
+     * Hace el mismo trabajo que {parsearConSplit(String)}, con
+     * {LectorCampos}: los textos se leen como cadenas (como las crea
+     * split), los números se convierten sin crear cadenas y las fechas y la
+     * lista de alumnos se leen abriendo su campo.
+     *
+     * @param linea Línea de un curso.
+     * @return El mismo valor que {parsearConSplit(String)}.
+     * @throws FormatoInvalidoException Si la línea es inválida.
+     */
+    private static long parsearConLector(String linea) throws FormatoInvalidoException {
+        LectorCampos lector = new LectorCampos(linea);
+        long acumulado = lector.siguienteEntero('|');
+        acumulado += lector.siguienteTexto('|').length();
+        lector.siguienteTexto('|');
+        lector.siguienteTexto('|');
+        lector.siguienteTexto('|');
+        lector.siguienteTexto('|');
+        acumulado += lector.siguienteEntero('|');
+        acumulado += lector.siguienteTexto('|').length();
+        for (int i = 0; i < 4; i++) {
+            int limite = lector.abrirCampo('|');
+            acumulado += lector.siguienteEntero('-') + lector.siguienteEntero('-')
+                    + lector.siguienteEntero('-');
+            lector.cerrarCampo(limite);
+        }
+        acumulado += lector.siguienteEntero('|');
+        int limite = lector.abrirCampo('|');
+        while (lector.hayMas()) {
+            acumulado += lector.siguienteEntero(',');
+        }
+        lector.cerrarCampo(limite);
+        return acumulado;
+    }
+
+    /**
+     * Genera líneas de curso con el formato de {Curso#toLineaTexto()}.
+     *
+     * @return Arreglo de líneas de prueba.
+     */
+    private static String[] generarLineas() {
+        String[] lineas = new String[LINEAS];
+        for (int i = 0; i < LINEAS; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(i).append("|Curso de prueba ").append(i)
+              .append("|Computación|Licenciatura|09:00-11:00|Zoom|40|Descripción del curso ")
+              .append(i).append("|1-2-2030|15-2-2030|1-3-2030|30-6-2030|")
+              .append(1000 + i % 50).append('|');
+            for (int j = 0; j < 30; j++) {
+                if (j > 0) sb.append(',');
+                sb.append(300000000 + i * 31 + j);
+            }
+            lineas[i] = sb.toString();
+        }
+        return lineas;
+    }
+}
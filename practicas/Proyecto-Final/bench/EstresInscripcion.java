@@ -0,0 +1,224 @@
+/**
+ * Clase de Medición: EstresInscripcion
+ *
+ * Prueba de carga de la inscripción concurrente
+ * ({GestorCursos#inscribirConcurrente(int[], int[], Fecha, int)}, que usa
+ * {MotorInscripcion}). Genera cursos con cupo limitado y horarios que se
+ * enciman, alumnos y un lote de filas "curso, alumno" al azar (con muchas
+ * filas que compiten por el mismo cupo, por la sexta materia de un alumno
+ * o por un horario), y lo aplica con distintos números de hilos.
+ *
+ * Después de cada ronda comprueba las invariantes, con lo que quedó en
+ * los cursos:
+ *
+ *   - Ningún curso excede su cupo ni tiene a un alumno repetido.
+ *   - Ningún alumno tiene más de 6 cursos ni dos cursos que choquen, y su
+ *     índice inverso ({Alumno#getInscripciones()}) coincide con los cursos.
+ *   - El número de filas aceptadas es el número de inscripciones.
+ *
+ * Reporta, por número de hilos, la mejor ronda en filas por segundo y la
+ * aceleración respecto a un hilo, junto a {GestorCursos#inscribirLote(int[],
+ * int[], Fecha)} (secuencial) como referencia. Igual que
+ * {ComparacionParseo}, se compila con {@code javac} con las clases de
+ * {@code src} ya compiladas:
+ *
+ * <pre>
+ * cd bench
+ * javac -cp ../src -d clases EstresInscripcion.java
+ * java -cp ../src:clases EstresInscripcion
+ * </pre>
+ */
+public class EstresInscripcion {
+
+    /** Número de cursos generados. */
+    private static final int CURSOS = 2_000;
+
+    /** Número de alumnos generados. */
+    private static final int ALUMNOS = 20_000;
+
+    /** Número de filas del lote. */
+    private static final int FILAS = 400_000;
+
+    /** Primer número de cuenta de los alumnos generados. */
+    private static final int PRIMERA_CUENTA = 300_000_000;
+
+    /** Números de hilos que se miden. */
+    private static final int[] HILOS = {1, 2, 4, 8};
+
+    /** Rondas de calentamiento (no se reportan). */
+    private static final int CALENTAMIENTO = 3;
+
+    /** Rondas medidas por número de hilos. */
+    private static final int RONDAS = 5;
+
+    /** Fecha "de hoy": dentro del periodo de inscripción de todos los cursos. */
+    private static final Fecha HOY = new Fecha(10, 2, 2030);
+
+    /**
+     * Punto de entrada de la medición.
+     *
+     * @param args No se utilizan.
+     * @throws Exception Si no se pueden generar los datos o si alguna
+     *                   invariante no se cumple.
+     */
+    public static void main(String[] args) throws Exception {
+        int[][] lote = generarLote();
+
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            ronda(lote, 0);
+            ronda(lote, HILOS[HILOS.length - 1]);
+        }
+
+        double secuencial = Double.MAX_VALUE;
+        for (int i = 0; i < RONDAS; i++) {
+            secuencial = Math.min(secuencial, ronda(lote, 0));
+        }
+        System.out.printf("inscribirLote (secuencial) : %10.0f filas/s%n", FILAS / secuencial);
+
+        double base = 0;
+        for (int h = 0; h < HILOS.length; h++) {
+            double mejor = Double.MAX_VALUE;
+            for (int i = 0; i < RONDAS; i++) {
+                mejor = Math.min(mejor, ronda(lote, HILOS[h]));
+            }
+            if (h == 0) base = mejor;
+            System.out.printf("concurrente, %2d hilo(s)    : %10.0f filas/s  (%.2fx)%n",
+                    HILOS[h], FILAS / mejor, base / mejor);
+        }
+        System.out.println("Invariantes: OK en todas las rondas ("
+                + Runtime.getRuntime().availableProcessors() + " procesadores)");
+    }
+
+    /**
+     * Aplica el lote sobre datos recién generados y comprueba las
+     * invariantes. Solo se mide la inscripción.
+     *
+     * @param lote  Filas a inscribir (cursos en [0], cuentas en [1]).
+     * @param hilos Número de hilos, o 0 para {GestorCursos#inscribirLote(int[], int[], Fecha)}.
+     * @return Segundos que tardó la inscripción.
+     * @throws Exception Si no se pueden generar los datos o falla una invariante.
+     */
+    private static double ronda(int[][] lote, int hilos) throws Exception {
+        RepositorioCursos repoCursos = new RepositorioCursos(CURSOS, ModoAlmacenamiento.CRECIBLE);
+        RepositorioAlumnos repoAlumnos = new RepositorioAlumnos(ALUMNOS, ModoAlmacenamiento.CRECIBLE);
+        generarDatos(repoCursos, repoAlumnos);
+        GestorCursos gestor = new GestorCursos(repoCursos,
+                new RepositorioProfesores(1, ModoAlmacenamiento.CRECIBLE), repoAlumnos);
+
+        long inicio = System.nanoTime();
+        byte[] codigos = (hilos == 0)
+                ? gestor.inscribirLote(lote[0], lote[1], HOY)
+                : gestor.inscribirConcurrente(lote[0], lote[1], HOY, hilos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        verificar(repoCursos, repoAlumnos, codigos);
+        return segundos;
+    }
+
+    /**
+     * Comprueba las invariantes del cupo, del límite de materias, de los
+     * choques de horario y del índice inverso de los alumnos.
+     *
+     * @param repoCursos  Repositorio de cursos ya inscrito.
+     * @param repoAlumnos Repositorio de alumnos.
+     * @param codigos     Resultados del lote.
+     * @throws Exception Si alguna invariante no se cumple.
+     */
+    private static void verificar(RepositorioCursos repoCursos, RepositorioAlumnos repoAlumnos,
+                                  byte[] codigos) throws Exception {
+        // Cursos de cada alumno, vistos desde las listas de inscritos.
+        Curso[][] cursosDe = new Curso[ALUMNOS][7];
+        int[] totalDe = new int[ALUMNOS];
+        long inscripciones = 0;
+
+        for (int id = 0; id < CURSOS; id++) {
+            Curso c = repoCursos.buscarPorId(id);
+            int n = c.getContadorAlumnos();
+            if (n > c.getNumeroEstudiantesMax()) {
+                throw new IllegalStateException("El curso " + id + " excede su cupo: " + n);
+            }
+            Alumno[] inscritos = c.getAlumnosInscritos();
+            for (int j = 0; j < n; j++) {
+                int k = inscritos[j].getId() - PRIMERA_CUENTA;
+                if (totalDe[k] > 0 && cursosDe[k][totalDe[k] - 1] == c) {
+                    throw new IllegalStateException("Alumno repetido en el curso " + id);
+                }
+                if (totalDe[k] == 6) {
+                    throw new IllegalStateException("El alumno " + inscritos[j].getId()
+                            + " tiene más de 6 cursos");
+                }
+                cursosDe[k][totalDe[k]++] = c;
+            }
+            inscripciones += n;
+        }
+
+        for (int k = 0; k < ALUMNOS; k++) {
+            Alumno a = repoAlumnos.buscarPorId(PRIMERA_CUENTA + k);
+            if (a.getInscripciones() != totalDe[k]) {
+                throw new IllegalStateException("Índice inverso de " + a.getId() + ": "
+                        + a.getInscripciones() + " en lugar de " + totalDe[k]);
+            }
+            for (int x = 0; x < totalDe[k]; x++) {
+                for (int y = x + 1; y < totalDe[k]; y++) {
+                    if (cursosDe[k][x].chocaCon(cursosDe[k][y])) {
+                        throw new IllegalStateException("El alumno " + a.getId() + " tiene los cursos "
+                                + cursosDe[k][x].getId() + " y " + cursosDe[k][y].getId() + " encimados");
+                    }
+                }
+            }
+        }
+
+        long aceptadas = 0;
+        for (int i = 0; i < codigos.length; i++) {
+            if (ResultadoInscripcion.desdeCodigo(codigos[i]).esExito()) aceptadas++;
+        }
+        if (aceptadas != inscripciones) {
+            throw new IllegalStateException(aceptadas + " filas aceptadas para "
+                    + inscripciones + " inscripciones");
+        }
+    }
+
+    /**
+     * Llena los repositorios con los cursos y alumnos de la medición. Los
+     * cursos usan 16 horarios, algunos encimados entre sí, y cupos de 20
+     * a 59 alumnos.
+     *
+     * @param repoCursos  Repositorio de cursos vacío.
+     * @param repoAlumnos Repositorio de alumnos vacío.
+     * @throws Exception Si algún dato generado es inválido.
+     */
+    private static void generarDatos(RepositorioCursos repoCursos, RepositorioAlumnos repoAlumnos)
+            throws Exception {
+        for (int i = 0; i < CURSOS; i++) {
+            int hora = 7 + (i % 8);
+            String horario = (i % 16 < 8)
+                    ? String.format("%02d:00-%02d:50", hora, hora)
+                    : String.format("%02d:30-%02d:20", hora, hora + 1);
+            Curso c = new Curso();
+            c.fromLineaTexto(i + "|Curso " + i + "|Computación|Licenciatura|" + horario
+                    + "|Zoom|" + (20 + i % 40) + "|Descripción|1-2-2030|15-2-2030|1-3-2030|30-6-2030|-1|");
+            repoCursos.agregar(c);
+        }
+        for (int i = 0; i < ALUMNOS; i++) {
+            repoAlumnos.agregar(new Alumno("Alumno " + i, PRIMERA_CUENTA + i, 20, "Escuela"));
+        }
+    }
+
+    /**
+     * Genera las filas del lote con una semilla fija. La mitad de las
+     * filas se concentran en una décima parte de los cursos, para que
+     * compitan por el cupo.
+     *
+     * @return Cursos en [0] y números de cuenta en [1], por fila.
+     */
+    private static int[][] generarLote() {
+        java.util.Random azar = new java.util.Random(12345);
+        int[] cursos = new int[FILAS];
+        int[] cuentas = new int[FILAS];
+        for (int i = 0; i < FILAS; i++) {
+            cursos[i] = azar.nextBoolean() ? azar.nextInt(CURSOS / 10) : azar.nextInt(CURSOS);
+            cuentas[i] = PRIMERA_CUENTA + azar.nextInt(ALUMNOS);
+        }
+        return new int[][] {cursos, cuentas};
+    }
+}
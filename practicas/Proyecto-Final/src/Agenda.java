@@ -0,0 +1,195 @@
+/**
+ * Clase Auxiliar: Agenda
+ *
+ * Cursos de una persona (alumno o profesor) ordenados por su hora de
+ * inicio, para detectar choques de horario sin comparar contra todos.
+ *
+ * Dos cursos chocan si sus horarios ({FranjaHoraria}) comparten algún
+ * minuto y sus periodos de clases comparten algún día. Sobre el orden por
+ * hora de inicio se usa el mismo árbol de intervalos implícito que
+ * {IndiceIntervalos} (cada nodo guarda el mayor minuto de fin de su
+ * subárbol), así que encontrar los cursos que se traslapan en horario
+ * cuesta O(log n + k); después solo esos se comparan por fechas.
+ *
+ * Los cursos sin horario válido o sin fechas de clases no se guardan
+ * (no pueden chocar). Si cambian el horario o las fechas de un curso ya
+ * guardado, debe llamarse a {actualizar(Curso)}.
+ */
+public class Agenda {
+
+    /** Cursos en orden de minuto de inicio. */
+    private Curso[] cursos = new Curso[4];
+
+    /** Minuto de inicio, minuto de fin y días de clases de cada curso. */
+    private int[] inicio = new int[4], fin = new int[4], diaInicio = new int[4], diaFin = new int[4];
+
+    /** Mayor minuto de fin del subárbol cuyo nodo está en cada posición. */
+    private int[] maxFin = new int[4];
+
+    /** Número de cursos guardados. */
+    private int tamano;
+
+    /**
+     * Método Gestor: agregar
+     *
+     * Guarda un curso en la agenda, en su lugar según la hora de inicio.
+     *
+     * @param c Curso a guardar.
+     */
+    public void agregar(Curso c) {
+        FranjaHoraria f = c.getFranja();
+        if (f == null || c.getFechaInicioCurso() == null || c.getFechaFinCurso() == null) return;
+        if (tamano == cursos.length) {
+            int n = tamano * 2;
+            cursos = java.util.Arrays.copyOf(cursos, n);
+            inicio = java.util.Arrays.copyOf(inicio, n);
+            fin = java.util.Arrays.copyOf(fin, n);
+            diaInicio = java.util.Arrays.copyOf(diaInicio, n);
+            diaFin = java.util.Arrays.copyOf(diaFin, n);
+            maxFin = java.util.Arrays.copyOf(maxFin, n);
+        }
+        int pos = tamano;
+        while (pos > 0 && inicio[pos - 1] > f.getInicio()) {
+            mover(pos - 1, pos);
+            pos--;
+        }
+        cursos[pos] = c;
+        inicio[pos] = f.getInicio();
+        fin[pos] = f.getFin();
+        diaInicio[pos] = c.getFechaInicioCurso().getDiaEpoca();
+        diaFin[pos] = c.getFechaFinCurso().getDiaEpoca();
+        tamano++;
+        calcularMaxFin(0, tamano);
+    }
+
+    /**
+     * Método Gestor: quitar
+     *
+     * Quita un curso de la agenda. Si no estaba, no hace nada.
+     *
+     * @param c Curso a quitar.
+     * @return true si el curso estaba en la agenda.
+     */
+    public boolean quitar(Curso c) {
+        for (int i = 0; i < tamano; i++) {
+            if (cursos[i] == c) {
+                for (int j = i; j < tamano - 1; j++) {
+                    mover(j + 1, j);
+                }
+                cursos[--tamano] = null;
+                calcularMaxFin(0, tamano);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Método Gestor: actualizar
+     *
+     * Vuelve a colocar un curso de la persona cuyo horario o fechas
+     * cambiaron (si antes no tenía horario válido, ahora se agrega).
+     *
+     * @param c Curso editado.
+     */
+    public void actualizar(Curso c) {
+        quitar(c);
+        agregar(c);
+    }
+
+    /**
+     * Método Calculador: buscarChoque
+     *
+     * Busca un curso de la agenda, distinto de {@code c}, que choque con él.
+     *
+     * @param c Curso a revisar.
+     * @return Un curso que choca con {@code c}, o null si no hay ninguno.
+     */
+    public Curso buscarChoque(Curso c) {
+        FranjaHoraria f = c.getFranja();
+        if (tamano == 0 || f == null || c.getFechaInicioCurso() == null || c.getFechaFinCurso() == null) {
+            return null;
+        }
+        return buscar(0, tamano, f.getInicio(), f.getFin(),
+                c.getFechaInicioCurso().getDiaEpoca(), c.getFechaFinCurso().getDiaEpoca(), c);
+    }
+
+    /**
+     * Método Calculador: choques
+     *
+     * Encuentra todos los pares de cursos de la agenda que chocan, en un
+     * solo recorrido en orden de hora de inicio: se lleva la lista de los
+     * cursos que siguen "abiertos" (aún no terminan a esa hora) y cada curso
+     * solo se compara contra ellos.
+     *
+     * @return Pares de cursos en posiciones consecutivas (0 y 1, 2 y 3, ...);
+     *         arreglo vacío si no hay choques.
+     */
+    public Curso[] choques() {
+        Curso[] pares = new Curso[0];
+        int n = 0;
+        int[] abiertos = new int[tamano];
+        int cantidadAbiertos = 0;
+        for (int i = 0; i < tamano; i++) {
+            int k = 0;
+            for (int j = 0; j < cantidadAbiertos; j++) {
+                int a = abiertos[j];
+                if (fin[a] <= inicio[i]) continue;
+                abiertos[k++] = a;
+                if (diaInicio[a] <= diaFin[i] && diaInicio[i] <= diaFin[a]) {
+                    if (n == pares.length) pares = java.util.Arrays.copyOf(pares, Math.max(4, n * 2));
+                    pares[n++] = cursos[a];
+                    pares[n++] = cursos[i];
+                }
+            }
+            abiertos[k++] = i;
+            cantidadAbiertos = k;
+        }
+        return java.util.Arrays.copyOf(pares, n);
+    }
+
+    /**
+     * Devuelve el número de cursos guardados.
+     *
+     * @return Cantidad de cursos.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Recorre el subárbol del rango [lo, hi) buscando un curso cuyo horario
+     * se traslape con [ini, fin) y cuyas fechas se traslapen con [dIni, dFin].
+     */
+    private Curso buscar(int lo, int hi, int ini, int fin, int dIni, int dFin, Curso excepto) {
+        while (lo < hi) {
+            int medio = (lo + hi) >>> 1;
+            if (maxFin[medio] <= ini) return null;
+            Curso izq = buscar(lo, medio, ini, fin, dIni, dFin, excepto);
+            if (izq != null) return izq;
+            if (inicio[medio] >= fin) return null;
+            if (this.fin[medio] > ini && diaInicio[medio] <= dFin && dIni <= diaFin[medio]
+                    && cursos[medio] != excepto) {
+                return cursos[medio];
+            }
+            lo = medio + 1;
+        }
+        return null;
+    }
+
+    private void mover(int desde, int hacia) {
+        cursos[hacia] = cursos[desde];
+        inicio[hacia] = inicio[desde];
+        fin[hacia] = fin[desde];
+        diaInicio[hacia] = diaInicio[desde];
+        diaFin[hacia] = diaFin[desde];
+    }
+
+    private int calcularMaxFin(int lo, int hi) {
+        if (lo >= hi) return Integer.MIN_VALUE;
+        int medio = (lo + hi) >>> 1;
+        int m = Math.max(fin[medio], Math.max(calcularMaxFin(lo, medio), calcularMaxFin(medio + 1, hi)));
+        maxFin[medio] = m;
+        return m;
+    }
+}
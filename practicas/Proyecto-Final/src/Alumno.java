@@ -14,6 +14,25 @@ public class Alumno extends Persona implements Identificable, Persistible {
     private Curso[] cursosInscritos;
     private int contadorCursos;
 
+    /**
+     * Número de cursos en cuya lista de inscritos aparece el alumno
+     * (índice inverso alumno → cursos). Lo mantienen {agregarCurso(Curso)}
+     * y {quitarCurso(Curso)}, que solo invoca la clase {Curso}.
+     */
+    private int inscripciones;
+
+    /**
+     * Cursos del alumno ordenados por horario, para detectar choques al
+     * inscribirlo. Se crea la primera vez que se usa.
+     */
+    private Agenda agenda;
+
+    /**
+     * Enlaces de la carga del alumno que aún no lo registran en todos sus
+     * cursos (ver {EnlacesDiferidos}); null si no hay.
+     */
+    private EnlacesDiferidos enlacesPendientes;
+
     private static final int MAX_CURSOS = 6;
 
     /**
@@ -37,6 +56,7 @@ public class Alumno extends Persona implements Identificable, Persistible {
         this.escuelaProcedencia = escuelaProcedencia;
         this.cursosInscritos = new Curso[MAX_CURSOS];
         this.contadorCursos = 0;
+        this.inscripciones = 0;
     }
 
     /**
@@ -85,18 +105,55 @@ public class Alumno extends Persona implements Identificable, Persistible {
      * @return true si el alumno no ha alcanzado el máximo permitido.
      */
     public boolean puedeInscribirOtroCurso() {
+        completarEnlaces();
         return contadorCursos < MAX_CURSOS;
     }
 
+    /**
+     * Indica si el alumno aparece inscrito en al menos un curso.
+     *
+     * @return true si tiene alguna inscripción.
+     */
+    public boolean tieneInscripciones() {
+        completarEnlaces();
+        return inscripciones > 0;
+    }
+
+    /**
+     * Devuelve el número de cursos en los que el alumno está inscrito.
+     *
+     * @return Número de inscripciones.
+     */
+    public int getInscripciones() {
+        completarEnlaces();
+        return inscripciones;
+    }
+
+    /**
+     * Devuelve la agenda de cursos del alumno; la mantienen
+     * {agregarCurso(Curso)} y {quitarCurso(Curso)}.
+     *
+     * @return Agenda del alumno.
+     */
+    Agenda getAgenda() {
+        completarEnlaces();
+        if (agenda == null) agenda = new Agenda();
+        return agenda;
+    }
+
     /**
      * Agrega un curso al listado del alumno siempre que exista espacio disponible.
      *
      * @param curso Curso a inscribir.
      */
     public void agregarCurso(Curso curso) {
-        if (curso == null || !puedeInscribirOtroCurso()) return;
+        completarEnlaces();
+        if (curso == null) return;
+        inscripciones++;
+        if (!puedeInscribirOtroCurso()) return;
         cursosInscritos[contadorCursos] = curso;
         contadorCursos++;
+        getAgenda().agregar(curso);
     }
 
     /**
@@ -105,10 +162,13 @@ public class Alumno extends Persona implements Identificable, Persistible {
      * @param curso Curso a eliminar.
      */
     public void quitarCurso(Curso curso) {
+        completarEnlaces();
         if (curso == null) return;
+        if (inscripciones > 0) inscripciones--;
         for (int i = 0; i < contadorCursos; i++) {
             if (cursosInscritos[i] != null &&
                 cursosInscritos[i].getId() == curso.getId()) {
+                getAgenda().quitar(cursosInscritos[i]);
                 for (int j = i; j < contadorCursos - 1; j++) {
                     cursosInscritos[j] = cursosInscritos[j + 1];
                 }
@@ -119,6 +179,27 @@ public class Alumno extends Persona implements Identificable, Persistible {
         }
     }
 
+    /**
+     * Asigna los enlaces de la carga que aún no registran al alumno en
+     * todos sus cursos; solo lo invoca {EnlacesDiferidos}.
+     *
+     * @param enlaces Enlaces pendientes, o null.
+     */
+    void setEnlacesPendientes(EnlacesDiferidos enlaces) {
+        this.enlacesPendientes = enlaces;
+    }
+
+    /**
+     * Completa los enlaces de la carga antes de leer o cambiar los cursos
+     * del alumno.
+     */
+    private void completarEnlaces() {
+        EnlacesDiferidos e = enlacesPendientes;
+        if (e == null) return;
+        e.completar();
+        enlacesPendientes = null;
+    }
+
     // ========= Persistible ===========
 
     /**
@@ -140,19 +221,50 @@ public class Alumno extends Persona implements Identificable, Persistible {
      */
     @Override
     public void fromLineaTexto(String linea) throws FormatoInvalidoException {
-        String[] partes = linea.split("\\|");
-        if (partes.length < 4) {
-            throw new FormatoInvalidoException("Línea inválida para Alumno: " + linea);
-        }
+        LectorCampos lector = new LectorCampos(linea);
         try {
-            this.numeroCuenta = Integer.parseInt(partes[0]);
-            this.nombreCompleto = partes[1];
-            this.edad = Integer.parseInt(partes[2]);
-            this.escuelaProcedencia = partes[3];
-        } catch (NumberFormatException e) {
+            this.numeroCuenta = lector.siguienteEntero('|');
+            this.nombreCompleto = lector.siguienteTexto('|');
+            this.edad = lector.siguienteEntero('|');
+            this.escuelaProcedencia = lector.siguienteTexto('|');
+        } catch (FormatoInvalidoException e) {
             throw new FormatoInvalidoException("Error al parsear Alumno: " + linea);
         }
         this.cursosInscritos = new Curso[MAX_CURSOS];
         this.contadorCursos = 0;
+        this.inscripciones = 0;
+    }
+
+    /**
+     * Escribe los datos del alumno en formato binario.
+     *
+     * @param salida Flujo donde se escriben los datos.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    @Override
+    public void escribirBinario(java.io.DataOutput salida) throws java.io.IOException {
+        FormatoBinario.escribirEntero(salida, numeroCuenta);
+        FormatoBinario.escribirCadena(salida, nombreCompleto);
+        FormatoBinario.escribirEntero(salida, edad);
+        FormatoBinario.escribirCadena(salida, escuelaProcedencia);
+    }
+
+    /**
+     * Reconstruye el alumno a partir de sus datos en formato binario.
+     *
+     * @param entrada Flujo de donde se leen los datos.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    public void leerBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        this.numeroCuenta = FormatoBinario.leerEntero(entrada);
+        this.nombreCompleto = FormatoBinario.leerCadena(entrada);
+        this.edad = FormatoBinario.leerEntero(entrada);
+        this.escuelaProcedencia = FormatoBinario.leerCadena(entrada);
+        this.cursosInscritos = new Curso[MAX_CURSOS];
+        this.contadorCursos = 0;
+        this.inscripciones = 0;
     }
 }
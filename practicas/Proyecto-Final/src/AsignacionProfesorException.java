@@ -8,9 +8,11 @@ public class AsignacionProfesorException extends Exception {
     /**
      * Constructor de la excepción.
      *
+     * La traza de la pila se captura según {ConfiguracionExcepciones#CON_TRAZA}.
+     *
      * @param mensaje Descripción legible del error.
      */
     public AsignacionProfesorException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, true, ConfiguracionExcepciones.CON_TRAZA);
     }
 }
\ No newline at end of file
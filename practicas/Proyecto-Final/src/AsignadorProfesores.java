@@ -0,0 +1,307 @@
+/**
+ * Clase Auxiliar: AsignadorProfesores
+ *
+ * Calcula de una sola vez una asignación de profesores para todos los
+ * cursos que aún no tienen profesor y no han iniciado, respetando:
+ *
+ *   - {Profesor#puedeImpartir(int, int)} (nivel y categoría).
+ *   - Que un profesor no tenga dos cursos que se traslapen: dos cursos
+ *     chocan si sus periodos de clases comparten algún día y sus horarios
+ *     comparten algún minuto. Se toman en cuenta también los cursos que el
+ *     profesor ya tiene asignados y no han terminado, que no se mueven.
+ *
+ * Es un emparejamiento bipartito curso-profesor en el que un profesor
+ * puede recibir varios cursos mientras no choquen entre sí. Primero se
+ * hace una pasada voraz (cada curso al candidato libre con menos cursos) y
+ * después, para cada curso sin profesor, se buscan caminos de aumento al
+ * estilo de Kuhn: el curso puede tomar a un profesor que solo choca con
+ * uno de sus cursos nuevos si ese otro curso puede, a su vez, pasarse a
+ * otro profesor. Los candidatos de cada curso salen del índice invertido
+ * de {RepositorioProfesores#profesoresQuePuedenImpartir(int, int)}.
+ *
+ * El asignador solo calcula; quien lo usa aplica el resultado (ver
+ * {GestorCursos#asignarAutomaticamente(Fecha)}).
+ */
+public class AsignadorProfesores {
+
+    private final RepositorioCursos repoCursos;
+    private final RepositorioProfesores repoProfesores;
+
+    /**
+     * Cursos considerados: primero los pendientes (sin profesor y sin
+     * iniciar), después los ya asignados que cuentan como ocupación fija.
+     */
+    private Curso[] cursos;
+
+    /** Número de cursos pendientes (los primeros de {cursos}). */
+    private int pendientes;
+
+    /** Periodo de clases de cada curso (números de día). */
+    private int[] diaInicio, diaFin;
+
+    /** Horario de cada curso (minutos del día, fin excluido). */
+    private int[] minutoInicio, minutoFin;
+
+    /** Profesor (slot del repositorio) de cada curso; -1 si no tiene. */
+    private int[] profesorDe;
+
+    /** Cursos de cada profesor (por slot): índices en {cursos}. */
+    private int[][] agenda;
+
+    /** Número de cursos en la agenda de cada profesor. */
+    private int[] cargas;
+
+    /** Candidatos de cada curso pendiente (slots de profesores). */
+    private int[][] candidatos;
+
+    /** Marca de visita de cada profesor en la búsqueda de caminos. */
+    private int[] visitado;
+    private int marca;
+
+    /**
+     * Constructor del asignador.
+     *
+     * @param repoCursos     Repositorio de cursos.
+     * @param repoProfesores Repositorio de profesores.
+     */
+    public AsignadorProfesores(RepositorioCursos repoCursos, RepositorioProfesores repoProfesores) {
+        this.repoCursos = repoCursos;
+        this.repoProfesores = repoProfesores;
+    }
+
+    /**
+     * Método Calculador: resolver
+     *
+     * Calcula la asignación para la fecha dada. Los cursos sin fechas o con
+     * horario inválido no se consideran.
+     *
+     * @param hoy Fecha actual.
+     * @return Número de cursos pendientes a los que se encontró profesor.
+     */
+    public int resolver(Fecha hoy) {
+        prepararCursos(hoy);
+        prepararAgendas();
+
+        // Pasada voraz.
+        for (int c = 0; c < pendientes; c++) {
+            int mejor = -1;
+            int[] cand = candidatos[c];
+            for (int i = 0; i < cand.length; i++) {
+                int p = cand[i];
+                if ((mejor == -1 || cargas[p] < cargas[mejor]) && primerChoque(p, c) == SIN_CHOQUE) {
+                    mejor = p;
+                }
+            }
+            if (mejor != -1) agregarAAgenda(mejor, c);
+        }
+
+        // Caminos de aumento para los que quedaron sin profesor.
+        visitado = new int[agenda.length];
+        int asignados = 0;
+        for (int c = 0; c < pendientes; c++) {
+            if (profesorDe[c] == -1) {
+                marca++;
+                aumentar(c);
+            }
+        }
+        for (int c = 0; c < pendientes; c++) {
+            if (profesorDe[c] != -1) asignados++;
+        }
+        return asignados;
+    }
+
+    /**
+     * Devuelve los cursos pendientes considerados en el último
+     * {resolver(Fecha)}.
+     *
+     * @return Arreglo de cursos (sin huecos).
+     */
+    public Curso[] getCursos() {
+        return java.util.Arrays.copyOf(cursos, pendientes);
+    }
+
+    /**
+     * Devuelve el profesor calculado para cada curso de {getCursos()}.
+     *
+     * @return Arreglo paralelo a {getCursos()}; null si el curso quedó sin profesor.
+     */
+    public Profesor[] getAsignados() {
+        Profesor[] resultado = new Profesor[pendientes];
+        for (int c = 0; c < pendientes; c++) {
+            if (profesorDe[c] != -1) resultado[c] = repoProfesores.elementoEn(profesorDe[c]);
+        }
+        return resultado;
+    }
+
+    /** Resultado de {primerChoque(int, int)} cuando no hay choques. */
+    private static final int SIN_CHOQUE = -1;
+
+    /** Resultado de {primerChoque(int, int)} cuando el choque no se puede mover. */
+    private static final int CHOQUE_FIJO = -2;
+
+    /**
+     * Busca un camino de aumento que dé profesor al curso c, moviendo a lo
+     * más un curso nuevo de cada profesor visitado.
+     *
+     * @return true si el curso quedó con profesor.
+     */
+    private boolean aumentar(int c) {
+        int[] cand = candidatos[c];
+        for (int i = 0; i < cand.length; i++) {
+            int p = cand[i];
+            if (visitado[p] == marca) continue;
+            visitado[p] = marca;
+
+            int choque = primerChoque(p, c);
+            if (choque == SIN_CHOQUE) {
+                agregarAAgenda(p, c);
+                return true;
+            }
+            if (choque == CHOQUE_FIJO || otroChoque(p, c, choque)) continue;
+
+            // Un solo choque con un curso nuevo: se intenta moverlo.
+            quitarDeAgenda(p, choque);
+            agregarAAgenda(p, c);
+            if (aumentar(choque)) return true;
+            quitarDeAgenda(p, c);
+            agregarAAgenda(p, choque);
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve el primer curso de la agenda del profesor que choca con el
+     * curso c: {SIN_CHOQUE}, {CHOQUE_FIJO} si es un curso ya asignado
+     * antes, o el índice del curso nuevo.
+     */
+    private int primerChoque(int p, int c) {
+        int[] cursosP = agenda[p];
+        int fijo = SIN_CHOQUE;
+        for (int i = 0; i < cargas[p]; i++) {
+            int d = cursosP[i];
+            if (chocan(c, d)) {
+                if (d >= pendientes) return CHOQUE_FIJO;
+                if (fijo == SIN_CHOQUE) fijo = d;
+            }
+        }
+        return fijo;
+    }
+
+    /**
+     * Indica si el curso c choca con algún curso de la agenda del profesor
+     * distinto de {excepto}.
+     */
+    private boolean otroChoque(int p, int c, int excepto) {
+        int[] cursosP = agenda[p];
+        for (int i = 0; i < cargas[p]; i++) {
+            int d = cursosP[i];
+            if (d != excepto && chocan(c, d)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indica si dos cursos comparten algún día de clases y algún minuto
+     * de horario.
+     */
+    private boolean chocan(int a, int b) {
+        return diaInicio[a] <= diaFin[b] && diaInicio[b] <= diaFin[a]
+                && minutoInicio[a] < minutoFin[b] && minutoInicio[b] < minutoFin[a];
+    }
+
+    private void agregarAAgenda(int p, int c) {
+        if (cargas[p] == agenda[p].length) {
+            agenda[p] = java.util.Arrays.copyOf(agenda[p], Math.max(4, cargas[p] * 2));
+        }
+        agenda[p][cargas[p]++] = c;
+        profesorDe[c] = p;
+    }
+
+    private void quitarDeAgenda(int p, int c) {
+        int[] cursosP = agenda[p];
+        for (int i = 0; i < cargas[p]; i++) {
+            if (cursosP[i] == c) {
+                cursosP[i] = cursosP[--cargas[p]];
+                break;
+            }
+        }
+        profesorDe[c] = -1;
+    }
+
+    /**
+     * Reúne los cursos pendientes y los ya asignados que siguen vigentes,
+     * con sus periodos y horarios ya convertidos a enteros.
+     */
+    private void prepararCursos(Fecha hoy) {
+        repoCursos.materializarTodo();
+        Curso[] todos = repoCursos.getTodos();
+        int total = repoCursos.getContador();
+
+        cursos = new Curso[total];
+        int n = 0;
+        // Los pendientes van primero; los fijos se agregan en una segunda vuelta.
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            for (int i = 0; i < total; i++) {
+                Curso c = todos[i];
+                if (c.getFechaInicioCurso() == null || c.getFechaFinCurso() == null) continue;
+                if (c.getFranja() == null) continue;
+                boolean pendiente = c.getProfesorAsignado() == null && !c.haIniciado(hoy);
+                boolean fijo = c.getProfesorAsignado() != null && !c.haTerminado(hoy);
+                if ((vuelta == 0 && pendiente) || (vuelta == 1 && fijo)) {
+                    cursos[n++] = c;
+                }
+            }
+            if (vuelta == 0) pendientes = n;
+        }
+
+        diaInicio = new int[n];
+        diaFin = new int[n];
+        minutoInicio = new int[n];
+        minutoFin = new int[n];
+        profesorDe = new int[n];
+        for (int i = 0; i < n; i++) {
+            Curso c = cursos[i];
+            diaInicio[i] = c.getFechaInicioCurso().getDiaEpoca();
+            diaFin[i] = c.getFechaFinCurso().getDiaEpoca();
+            minutoInicio[i] = c.getFranja().getInicio();
+            minutoFin[i] = c.getFranja().getFin();
+            profesorDe[i] = -1;
+        }
+        cursos = java.util.Arrays.copyOf(cursos, n);
+    }
+
+    /**
+     * Crea la agenda de cada profesor con sus cursos fijos y calcula los
+     * candidatos de cada curso pendiente.
+     */
+    private void prepararAgendas() {
+        repoProfesores.materializarTodo();
+        int m = repoProfesores.getContador();
+        agenda = new int[m][0];
+        cargas = new int[m];
+
+        for (int c = pendientes; c < cursos.length; c++) {
+            int p = repoProfesores.buscarPosicion(cursos[c].getProfesorAsignado().getId());
+            if (p != IndicePrimario.NO_ENCONTRADO) agregarAAgenda(p, c);
+        }
+
+        // Los cursos con el mismo nivel y categoría comparten candidatos.
+        int columnas = Catalogos.CATEGORIAS.length + 1;
+        int[][] porCodigo = new int[(Catalogos.NIVELES.length + 1) * columnas][];
+        candidatos = new int[pendientes][];
+        for (int c = 0; c < pendientes; c++) {
+            int nivel = cursos[c].getCodigoNivel();
+            int categoria = cursos[c].getCodigoCategoria();
+            int clave = (nivel + 1) * columnas + (categoria + 1);
+            if (porCodigo[clave] == null) {
+                Profesor[] aptos = repoProfesores.profesoresQuePuedenImpartir(nivel, categoria);
+                int[] slots = new int[aptos.length];
+                for (int i = 0; i < aptos.length; i++) {
+                    slots[i] = repoProfesores.buscarPosicion(aptos[i].getId());
+                }
+                porCodigo[clave] = slots;
+            }
+            candidatos[c] = porCodigo[clave];
+        }
+    }
+}
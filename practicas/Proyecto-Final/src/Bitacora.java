@@ -0,0 +1,899 @@
+/**
+ * Clase Auxiliar: Bitacora
+ *
+ * Bitácora de escritura anticipada (journal) de solo anexado. Cada cambio
+ * hecho a través de los gestores (altas, ediciones, bajas, inscripciones,
+ * desinscripciones y asignaciones de profesor) se anota como un registro
+ * binario compacto al final del archivo, de modo que una caída del
+ * programa ya no pierde toda la sesión y guardar deja de costar una
+ * reescritura completa de los archivos.
+ *
+ * Formato: el archivo empieza con el número mágico "ICCB" y la versión
+ * (1 byte). Cada registro tiene la longitud del contenido (varint), el
+ * contenido y el CRC-32 del contenido (4 bytes). El contenido es la
+ * secuencia del registro (varint largo, creciente), el tipo de operación
+ * (1 byte) y sus datos, codificados con {FormatoBinario}. Un registro
+ * final cortado o con CRC incorrecto (escritura interrumpida) marca el
+ * fin de la bitácora.
+ *
+ * Confirmación en grupo: los registros se acumulan en memoria y se
+ * escriben y sincronizan con el disco (fsync) juntos, cuando se juntan
+ * {maxLote} registros o cuando el más antiguo lleva {maxEsperaMs}
+ * milisegundos esperando (un hilo de fondo se encarga de este caso).
+ * Los métodos {@code anotar*} regresan antes de esa sincronización: si el
+ * programa o el equipo se caen, se pueden perder los cambios de los
+ * últimos {maxEsperaMs} milisegundos (a lo más {maxLote} registros; 50 ms
+ * y 32 registros por omisión). Quien necesite que un cambio ya esté en
+ * el disco debe llamar a {sincronizar()}, y {setLote(int, long)} con
+ * espera 0 sincroniza cada registro antes de regresar.
+ *
+ * Compactación: cuando la bitácora supera {umbralCompactacion} bytes, el
+ * estado completo se guarda en los respaldos binarios y en los archivos
+ * de texto ({guardarRespaldos(String, RepositorioProfesores,
+ * RepositorioAlumnos, RepositorioCursos, long)}) y la bitácora se vacía.
+ * Los {@code anotar*} solo marcan que hace falta, porque se llaman a mitad
+ * de un cambio (por ejemplo, con los candados de {MotorInscripcion}
+ * tomados); la compactación la hace {compactarSiHaceFalta()}, que los
+ * gestores llaman cuando el cambio ya terminó.
+ *
+ * Los registros no son idempotentes (por ejemplo, eliminar un alumno y
+ * volver a darlo de alta), así que ninguno debe aplicarse dos veces: cada
+ * archivo guardado lleva la secuencia del último registro que incluye, y
+ * {reproducir(String, RepositorioProfesores, RepositorioAlumnos,
+ * RepositorioCursos)} salta los registros con secuencia menor o igual. Los
+ * seis archivos se reemplazan juntos, de modo que una caída a mitad de la
+ * compactación deja todos los anteriores o todos los nuevos.
+ */
+public class Bitacora {
+
+    /** Alta o edición de un curso (datos completos). */
+    static final int CURSO = 1;
+    /** Eliminación de un curso. */
+    static final int ELIMINAR_CURSO = 2;
+    /** Inscripción de un alumno en un curso. */
+    static final int INSCRIBIR = 3;
+    /** Desinscripción de un alumno de un curso. */
+    static final int DESINSCRIBIR = 4;
+    /** Asignación o reasignación del profesor de un curso. */
+    static final int ASIGNAR_PROFESOR = 5;
+    /** Alta o edición de un alumno (datos completos). */
+    static final int ALUMNO = 6;
+    /** Eliminación de un alumno. */
+    static final int ELIMINAR_ALUMNO = 7;
+    /** Alta o edición de un profesor (datos completos). */
+    static final int PROFESOR = 8;
+    /** Eliminación de un profesor. */
+    static final int ELIMINAR_PROFESOR = 9;
+
+    /** Número mágico del archivo: los bytes "ICCB". */
+    private static final int MAGICO = 0x49434342;
+
+    /** Versión del formato de la bitácora. */
+    private static final int VERSION = 1;
+
+    /** Bytes que ocupa el encabezado (número mágico y versión). */
+    private static final int LONGITUD_ENCABEZADO = 5;
+
+    /** Longitud máxima aceptada para el contenido de un registro. */
+    private static final int LONGITUD_MAXIMA = 1 << 20;
+
+    /** Nombre base de los archivos de cada repositorio, en orden. */
+    private static final String[] NOMBRES = {"profesores", "alumnos", "cursos"};
+
+    /** Extensiones de los archivos de cada repositorio. */
+    private static final String[] EXTENSIONES = {".txt", ".snap"};
+
+    /** Sufijo de los archivos nuevos mientras se guardan los respaldos. */
+    private static final String SUFIJO_NUEVO = ".nuevo";
+
+    /**
+     * Archivo que indica que todos los archivos nuevos están completos y
+     * deben reemplazar a los anteriores.
+     */
+    private static final String MARCA_CAMBIO = "respaldos.listos";
+
+    /** Archivo de la bitácora. */
+    private final java.io.File archivo;
+
+    private final RepositorioProfesores repoProfesores;
+    private final RepositorioAlumnos repoAlumnos;
+    private final RepositorioCursos repoCursos;
+
+    /** Canal abierto en modo de anexado sobre {archivo}. */
+    private java.nio.channels.FileChannel canal;
+
+    /** Registros enmarcados que aún no se escriben en el archivo. */
+    private final FormatoBinario.BuferRegistro lote = new FormatoBinario.BuferRegistro(4096);
+    private final java.io.DataOutputStream salidaLote = new java.io.DataOutputStream(lote);
+
+    /** Contenido del registro que se está armando. */
+    private final FormatoBinario.BuferRegistro registro = new FormatoBinario.BuferRegistro(256);
+    private final java.io.DataOutputStream salidaRegistro = new java.io.DataOutputStream(registro);
+
+    private final java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+
+    /** Número de registros en {lote}. */
+    private int registrosPendientes;
+
+    /** Instante (System.nanoTime) en que se anotó el registro más antiguo del lote. */
+    private long inicioLote;
+
+    /** Tamaño actual del archivo de la bitácora. */
+    private long tamanoArchivo;
+
+    /** Secuencia del último registro anotado. */
+    private long secuencia;
+
+    /** Registros por lote antes de forzar la escritura. */
+    private int maxLote = 32;
+
+    /** Espera máxima, en milisegundos, de un registro antes de sincronizarse. */
+    private long maxEsperaMs = 50;
+
+    /** Tamaño, en bytes, a partir del cual se compacta la bitácora. */
+    private long umbralCompactacion = 8L << 20;
+
+    /** Indica que la bitácora superó {umbralCompactacion} y debe compactarse. */
+    private volatile boolean compactacionPendiente;
+
+    /** Hilo de fondo que sincroniza los lotes que llevan demasiado esperando. */
+    private Thread sincronizador;
+
+    /** Error de escritura ocurrido en el hilo de fondo, pendiente de reportar. */
+    private java.io.IOException errorFondo;
+
+    /**
+     * Constructor de la bitácora. Abre (o crea) el archivo para anexar
+     * registros al final e inicia el hilo de sincronización. Debe crearse
+     * después de {reproducir(String, RepositorioProfesores,
+     * RepositorioAlumnos, RepositorioCursos)}: los registros nuevos
+     * continúan la mayor secuencia de los repositorios.
+     *
+     * Los archivos de la compactación se escriben en el mismo directorio
+     * que la bitácora, como {@code profesores.snap}, {@code profesores.txt},
+     * etc.
+     *
+     * @param ruta           Ruta del archivo de la bitácora.
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     * @throws java.io.IOException Si no se puede abrir el archivo.
+     */
+    public Bitacora(String ruta, RepositorioProfesores repoProfesores,
+                    RepositorioAlumnos repoAlumnos, RepositorioCursos repoCursos)
+            throws java.io.IOException {
+        this.archivo = new java.io.File(ruta);
+        this.repoProfesores = repoProfesores;
+        this.repoAlumnos = repoAlumnos;
+        this.repoCursos = repoCursos;
+        this.canal = java.nio.channels.FileChannel.open(archivo.toPath(),
+                java.nio.file.StandardOpenOption.CREATE,
+                java.nio.file.StandardOpenOption.WRITE,
+                java.nio.file.StandardOpenOption.APPEND);
+        this.tamanoArchivo = canal.size();
+        if (tamanoArchivo == 0) {
+            escribirEncabezado();
+        }
+        this.secuencia = Math.max(repoProfesores.getSecuencia(),
+                Math.max(repoAlumnos.getSecuencia(), repoCursos.getSecuencia()));
+        iniciarSincronizador();
+    }
+
+    /**
+     * Configura la confirmación en grupo.
+     *
+     * @param maxLote     Registros acumulados que provocan la escritura (mínimo 1).
+     * @param maxEsperaMs Milisegundos que puede esperar un registro antes de
+     *                    sincronizarse; 0 sincroniza cada registro de inmediato.
+     */
+    public synchronized void setLote(int maxLote, long maxEsperaMs) {
+        this.maxLote = Math.max(1, maxLote);
+        this.maxEsperaMs = Math.max(0, maxEsperaMs);
+        notifyAll();
+    }
+
+    /**
+     * Cambia el tamaño a partir del cual se compacta la bitácora.
+     *
+     * @param bytes Umbral en bytes; 0 o negativo desactiva la compactación automática.
+     */
+    public synchronized void setUmbralCompactacion(long bytes) {
+        this.umbralCompactacion = bytes;
+    }
+
+    // ================== ANOTACIÓN ==================
+
+    /**
+     * Anota el alta o edición de un curso.
+     *
+     * @param c Curso con sus datos actuales.
+     */
+    public synchronized void anotarCurso(Curso c) {
+        try {
+            iniciarRegistro(CURSO);
+            c.escribirBinario(salidaRegistro);
+            cerrarRegistro();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Anota la eliminación de un curso.
+     *
+     * @param idCurso ID del curso eliminado.
+     */
+    public synchronized void anotarEliminarCurso(int idCurso) {
+        anotarIds(ELIMINAR_CURSO, idCurso, 0, false);
+    }
+
+    /**
+     * Anota la inscripción de un alumno en un curso.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     */
+    public synchronized void anotarInscripcion(int idCurso, int numCuenta) {
+        anotarIds(INSCRIBIR, idCurso, numCuenta, true);
+    }
+
+    /**
+     * Anota la desinscripción de un alumno de un curso.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     */
+    public synchronized void anotarDesinscripcion(int idCurso, int numCuenta) {
+        anotarIds(DESINSCRIBIR, idCurso, numCuenta, true);
+    }
+
+    /**
+     * Anota la asignación (o reasignación) del profesor de un curso.
+     *
+     * @param idCurso       ID del curso.
+     * @param numTrabajador Número de trabajador del profesor.
+     */
+    public synchronized void anotarAsignacion(int idCurso, int numTrabajador) {
+        anotarIds(ASIGNAR_PROFESOR, idCurso, numTrabajador, true);
+    }
+
+    /**
+     * Anota el alta o edición de un alumno.
+     *
+     * @param a Alumno con sus datos actuales.
+     */
+    public synchronized void anotarAlumno(Alumno a) {
+        try {
+            iniciarRegistro(ALUMNO);
+            a.escribirBinario(salidaRegistro);
+            cerrarRegistro();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Anota la eliminación de un alumno.
+     *
+     * @param numCuenta Número de cuenta del alumno eliminado.
+     */
+    public synchronized void anotarEliminarAlumno(int numCuenta) {
+        anotarIds(ELIMINAR_ALUMNO, numCuenta, 0, false);
+    }
+
+    /**
+     * Anota el alta o edición de un profesor.
+     *
+     * @param p Profesor con sus datos actuales.
+     */
+    public synchronized void anotarProfesor(Profesor p) {
+        try {
+            iniciarRegistro(PROFESOR);
+            p.escribirBinario(salidaRegistro);
+            cerrarRegistro();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Anota la eliminación de un profesor.
+     *
+     * @param numTrabajador Número de trabajador del profesor eliminado.
+     */
+    public synchronized void anotarEliminarProfesor(int numTrabajador) {
+        anotarIds(ELIMINAR_PROFESOR, numTrabajador, 0, false);
+    }
+
+    /**
+     * Anota un registro cuyo contenido son solo uno o dos ids.
+     *
+     * @param tipo      Tipo de operación.
+     * @param id        Primer id.
+     * @param otroId    Segundo id.
+     * @param conOtroId Indica si se escribe el segundo id.
+     */
+    private void anotarIds(int tipo, int id, int otroId, boolean conOtroId) {
+        try {
+            iniciarRegistro(tipo);
+            FormatoBinario.escribirEntero(salidaRegistro, id);
+            if (conOtroId) {
+                FormatoBinario.escribirEntero(salidaRegistro, otroId);
+            }
+            cerrarRegistro();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Comienza un registro nuevo del tipo indicado.
+     *
+     * @param tipo Tipo de operación.
+     * @throws java.io.IOException Si el hilo de fondo reportó un error de escritura.
+     */
+    private void iniciarRegistro(int tipo) throws java.io.IOException {
+        if (canal == null) {
+            throw new java.io.IOException("La bitácora está cerrada.");
+        }
+        if (errorFondo != null) {
+            java.io.IOException e = errorFondo;
+            errorFondo = null;
+            throw e;
+        }
+        registro.reset();
+        FormatoBinario.escribirVarLong(salidaRegistro, ++secuencia);
+        salidaRegistro.writeByte(tipo);
+    }
+
+    /**
+     * Enmarca el registro armado (longitud y CRC), lo agrega al lote y
+     * escribe el lote si se alcanzó alguno de los límites.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    private void cerrarRegistro() throws java.io.IOException {
+        registro.volcarConLongitudYCrc(salidaLote, crc);
+        if (registrosPendientes == 0) {
+            inicioLote = System.nanoTime();
+        }
+        registrosPendientes++;
+
+        if (registrosPendientes >= maxLote || maxEsperaMs == 0) {
+            escribirLote();
+        } else {
+            notifyAll();
+        }
+        if (umbralCompactacion > 0 && tamanoArchivo + lote.size() > umbralCompactacion) {
+            compactacionPendiente = true;
+        }
+    }
+
+    // ================== ESCRITURA Y COMPACTACIÓN ==================
+
+    /**
+     * Escribe y sincroniza con el disco todos los registros pendientes.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public synchronized void sincronizar() throws java.io.IOException {
+        if (canal != null) {
+            escribirLote();
+        }
+    }
+
+    /**
+     * Indica si la bitácora superó su umbral y espera a que se llame a
+     * {compactarSiHaceFalta()}.
+     *
+     * @return true si hace falta compactar.
+     */
+    public boolean requiereCompactacion() {
+        return compactacionPendiente;
+    }
+
+    /**
+     * Método Gestor: compactarSiHaceFalta
+     *
+     * Compacta la bitácora si superó su umbral. Debe llamarse cuando
+     * ningún cambio está a medias, para que los respaldos no guarden un
+     * estado intermedio: desde el hilo de los gestores al terminar una
+     * operación, o desde {MotorInscripcion} con todas sus franjas tomadas.
+     *
+     * @throws java.io.UncheckedIOException Si ocurre un error de escritura.
+     */
+    public synchronized void compactarSiHaceFalta() {
+        if (!compactacionPendiente || canal == null) return;
+        try {
+            compactar();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Guarda el estado completo de los tres repositorios en sus respaldos
+     * binarios y archivos de texto, con la secuencia del último registro
+     * anotado, y vacía la bitácora. Debe llamarse cuando ningún cambio
+     * está a medias (ver {compactarSiHaceFalta()}).
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public synchronized void compactar() throws java.io.IOException {
+        if (canal == null) {
+            throw new java.io.IOException("La bitácora está cerrada.");
+        }
+        escribirLote();
+        guardarRespaldos(archivo.getPath(), repoProfesores, repoAlumnos, repoCursos, secuencia);
+        // Si el programa se cae antes de vaciarla, sus registros ya tienen
+        // una secuencia incluida en los respaldos y no se vuelven a aplicar.
+        canal.truncate(LONGITUD_ENCABEZADO);
+        canal.force(true);
+        tamanoArchivo = LONGITUD_ENCABEZADO;
+        compactacionPendiente = false;
+    }
+
+    /**
+     * Método Gestor: guardarRespaldos
+     *
+     * Escribe {@code profesores}, {@code alumnos} y {@code cursos} en
+     * respaldo binario ({RepositorioBase#guardarSnapshot(String)}) y en
+     * texto ({RepositorioBase#guardarTodo(String)}), en el directorio de la
+     * bitácora y con la secuencia indicada.
+     *
+     * Los seis archivos se escriben primero con el sufijo
+     * {@code .nuevo}; cuando todos están completos y sincronizados se crea
+     * el archivo de marca y se renombran. Si el programa se cae antes de la
+     * marca, quedan los anteriores; si se cae después, {recuperarRespaldos(String)}
+     * termina de renombrarlos al iniciar. El texto de cada repositorio se
+     * escribe antes que su respaldo, para que el respaldo nunca parezca
+     * más antiguo que él.
+     *
+     * @param ruta           Ruta del archivo de la bitácora.
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     * @param secuencia      Secuencia del último registro incluido en el estado.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void guardarRespaldos(String ruta, RepositorioProfesores repoProfesores,
+                                        RepositorioAlumnos repoAlumnos, RepositorioCursos repoCursos,
+                                        long secuencia) throws java.io.IOException {
+        java.io.File directorio = directorioDe(ruta);
+        RepositorioBase<?>[] repos = {repoProfesores, repoAlumnos, repoCursos};
+        for (int i = 0; i < repos.length; i++) {
+            repos[i].setSecuencia(secuencia);
+            repos[i].guardarTodo(archivoNuevo(directorio, NOMBRES[i] + ".txt").getPath());
+            repos[i].guardarSnapshot(archivoNuevo(directorio, NOMBRES[i] + ".snap").getPath());
+        }
+        java.io.FileOutputStream marca = new java.io.FileOutputStream(
+                new java.io.File(directorio, MARCA_CAMBIO));
+        try {
+            marca.getFD().sync();
+        } finally {
+            marca.close();
+        }
+        sincronizarDirectorio(directorio);
+        terminarCambio(directorio);
+    }
+
+    /**
+     * Método Gestor: recuperarRespaldos
+     *
+     * Termina, al iniciar, un guardado de respaldos que se interrumpió
+     * ({guardarRespaldos(String, RepositorioProfesores, RepositorioAlumnos,
+     * RepositorioCursos, long)}): si la marca existe, los archivos nuevos
+     * reemplazan a los anteriores; si no, se borran. Debe llamarse antes
+     * de cargar los repositorios.
+     *
+     * @param ruta Ruta del archivo de la bitácora.
+     * @throws java.io.IOException Si no se puede renombrar algún archivo.
+     */
+    public static void recuperarRespaldos(String ruta) throws java.io.IOException {
+        java.io.File directorio = directorioDe(ruta);
+        if (new java.io.File(directorio, MARCA_CAMBIO).exists()) {
+            terminarCambio(directorio);
+            return;
+        }
+        for (int i = 0; i < NOMBRES.length; i++) {
+            for (int j = 0; j < EXTENSIONES.length; j++) {
+                java.nio.file.Files.deleteIfExists(
+                        archivoNuevo(directorio, NOMBRES[i] + EXTENSIONES[j]).toPath());
+            }
+        }
+    }
+
+    /**
+     * Renombra los archivos nuevos que queden sobre los anteriores y borra
+     * la marca. Se puede repetir si se interrumpe.
+     *
+     * @param directorio Directorio de los archivos.
+     * @throws java.io.IOException Si no se puede renombrar algún archivo.
+     */
+    private static void terminarCambio(java.io.File directorio) throws java.io.IOException {
+        for (int i = 0; i < NOMBRES.length; i++) {
+            for (int j = 0; j < EXTENSIONES.length; j++) {
+                java.io.File destino = new java.io.File(directorio, NOMBRES[i] + EXTENSIONES[j]);
+                java.io.File nuevo = archivoNuevo(directorio, destino.getName());
+                if (!nuevo.exists()) continue;
+                try {
+                    java.nio.file.Files.move(nuevo.toPath(), destino.toPath(),
+                            java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                            java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+                    java.nio.file.Files.move(nuevo.toPath(), destino.toPath(),
+                            java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        sincronizarDirectorio(directorio);
+        java.nio.file.Files.deleteIfExists(new java.io.File(directorio, MARCA_CAMBIO).toPath());
+    }
+
+    private static java.io.File archivoNuevo(java.io.File directorio, String nombre) {
+        return new java.io.File(directorio, nombre + SUFIJO_NUEVO);
+    }
+
+    private static java.io.File directorioDe(String ruta) {
+        return new java.io.File(ruta).getAbsoluteFile().getParentFile();
+    }
+
+    /**
+     * Sincroniza con el disco las entradas de un directorio (creaciones y
+     * renombres), donde el sistema lo permite.
+     *
+     * @param directorio Directorio a sincronizar.
+     */
+    private static void sincronizarDirectorio(java.io.File directorio) {
+        try (java.nio.channels.FileChannel canalDirectorio = java.nio.channels.FileChannel.open(
+                directorio.toPath(), java.nio.file.StandardOpenOption.READ)) {
+            canalDirectorio.force(true);
+        } catch (java.io.IOException e) {
+            // Algunos sistemas no permiten abrir directorios; los renombres
+            // siguen siendo atómicos, solo no se fuerzan al disco aquí.
+        }
+    }
+
+    /**
+     * Escribe el encabezado al inicio de una bitácora vacía.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    private void escribirEncabezado() throws java.io.IOException {
+        java.nio.ByteBuffer encabezado = java.nio.ByteBuffer.allocate(LONGITUD_ENCABEZADO);
+        encabezado.putInt(MAGICO).put((byte) VERSION).flip();
+        while (encabezado.hasRemaining()) {
+            canal.write(encabezado);
+        }
+        canal.force(true);
+        tamanoArchivo = LONGITUD_ENCABEZADO;
+    }
+
+    /**
+     * Sincroniza los registros pendientes, detiene el hilo de fondo y
+     * cierra el archivo.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public void cerrar() throws java.io.IOException {
+        Thread hilo;
+        synchronized (this) {
+            if (canal == null) return;
+            try {
+                escribirLote();
+            } finally {
+                canal.close();
+                canal = null;
+                hilo = sincronizador;
+                sincronizador = null;
+                notifyAll();
+            }
+        }
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    /**
+     * Escribe el lote en el archivo y lo sincroniza con el disco.
+     * Debe llamarse con el monitor de la bitácora tomado.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    private void escribirLote() throws java.io.IOException {
+        if (registrosPendientes == 0) return;
+        java.nio.ByteBuffer datos = java.nio.ByteBuffer.wrap(lote.toByteArray());
+        while (datos.hasRemaining()) {
+            canal.write(datos);
+        }
+        canal.force(false);
+        tamanoArchivo += lote.size();
+        lote.reset();
+        registrosPendientes = 0;
+    }
+
+    /**
+     * Inicia el hilo de fondo que escribe los lotes cuyo registro más
+     * antiguo ya esperó {maxEsperaMs} milisegundos.
+     */
+    private void iniciarSincronizador() {
+        sincronizador = new Thread(() -> {
+            synchronized (Bitacora.this) {
+                while (canal != null) {
+                    try {
+                        if (registrosPendientes == 0 || maxEsperaMs == 0) {
+                            Bitacora.this.wait();
+                            continue;
+                        }
+                        long esperaNanos = inicioLote + maxEsperaMs * 1_000_000L - System.nanoTime();
+                        if (esperaNanos > 0) {
+                            Bitacora.this.wait(Math.max(1, esperaNanos / 1_000_000L));
+                            continue;
+                        }
+                        escribirLote();
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (java.io.IOException e) {
+                        errorFondo = e;
+                        lote.reset();
+                        registrosPendientes = 0;
+                    }
+                }
+            }
+        }, "bitacora-sincronizador");
+        sincronizador.setDaemon(true);
+        sincronizador.start();
+    }
+
+    // ================== REPRODUCCIÓN ==================
+
+    /**
+     * Método Calculador: reproducir
+     *
+     * Aplica sobre los repositorios todos los registros válidos de una
+     * bitácora, en orden. Debe llamarse después de cargar los archivos y
+     * reconstruir las relaciones entre cursos, profesores y alumnos.
+     *
+     * Cada registro cambia un solo repositorio (las inscripciones y los
+     * profesores asignados se guardan con los cursos) y se salta si su
+     * secuencia no es mayor que la del repositorio
+     * ({RepositorioBase#getSecuencia()}), porque ya está incluido en el
+     * archivo cargado. Al aplicarlo, la secuencia del repositorio avanza.
+     *
+     * Las operaciones se aplican directamente, sin volver a validar fechas
+     * (ya se validaron cuando ocurrieron). Si el archivo termina con un
+     * registro incompleto o dañado, se recorta en ese punto.
+     *
+     * Si el archivo no existe, el método no hace nada.
+     *
+     * @param ruta           Ruta del archivo de la bitácora.
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     * @return Número de registros aplicados (sin contar los saltados).
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el archivo no es una bitácora de
+     *                                  esta versión, o si un registro con CRC
+     *                                  válido tiene un tipo desconocido o
+     *                                  datos inválidos.
+     * @throws CapacidadLlenaException  Si algún repositorio no admite un alta.
+     */
+    public static int reproducir(String ruta, RepositorioProfesores repoProfesores,
+                                 RepositorioAlumnos repoAlumnos, RepositorioCursos repoCursos)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        java.io.File archivo = new java.io.File(ruta);
+        if (!archivo.exists()) return 0;
+
+        EntradaBinaria entrada = EntradaBinaria.desdeArchivo(archivo);
+        java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+        byte[] contenido = new byte[256];
+        int aplicados = 0;
+        int finValido = 0;
+
+        // Un encabezado cortado es el de una bitácora recién creada.
+        if (entrada.getTamano() >= LONGITUD_ENCABEZADO) {
+            if (entrada.readInt() != MAGICO || entrada.readUnsignedByte() != VERSION) {
+                throw new FormatoInvalidoException("La bitácora " + ruta
+                        + " no tiene el formato de esta versión.");
+            }
+            finValido = LONGITUD_ENCABEZADO;
+        } else {
+            entrada.setPosicion(entrada.getTamano());
+        }
+
+        while (entrada.getPosicion() < entrada.getTamano()) {
+            int longitud;
+            int crcGuardado;
+            try {
+                longitud = FormatoBinario.leerVarInt(entrada);
+                if (longitud <= 0 || longitud > LONGITUD_MAXIMA
+                        || longitud + 4 > entrada.getTamano() - entrada.getPosicion()) {
+                    break;
+                }
+                if (contenido.length < longitud) {
+                    contenido = new byte[Math.max(longitud, contenido.length * 2)];
+                }
+                entrada.readFully(contenido, 0, longitud);
+                crcGuardado = entrada.readInt();
+            } catch (java.io.EOFException | FormatoInvalidoException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(contenido, 0, longitud);
+            if ((int) crc.getValue() != crcGuardado) {
+                break;
+            }
+            finValido = entrada.getPosicion();
+
+            EntradaBinaria datos = new EntradaBinaria(
+                    java.nio.ByteBuffer.wrap(contenido, 0, longitud).slice());
+            try {
+                if (aplicar(datos, repoProfesores, repoAlumnos, repoCursos)) {
+                    aplicados++;
+                }
+            } catch (java.io.EOFException e) {
+                throw new FormatoInvalidoException("Registro incompleto en la bitácora: " + ruta);
+            }
+        }
+
+        if (finValido < entrada.getTamano()) {
+            java.nio.channels.FileChannel canal = java.nio.channels.FileChannel.open(
+                    archivo.toPath(), java.nio.file.StandardOpenOption.WRITE);
+            try {
+                canal.truncate(finValido);
+            } finally {
+                canal.close();
+            }
+        }
+        return aplicados;
+    }
+
+    /**
+     * Aplica el contenido de un registro sobre el repositorio que cambia,
+     * salvo que su secuencia ya esté incluida en él. Las eliminaciones de
+     * alumnos y profesores siguen la regla de los gestores: no se aplican
+     * si el alumno o el profesor todavía tiene cursos, para no dejar cursos
+     * enlazados a un elemento que ya no está en su repositorio.
+     *
+     * @param datos          Contenido del registro (secuencia, tipo y datos).
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     * @return true si el registro se aplicó; false si ya estaba incluido.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el tipo o los datos son inválidos.
+     * @throws CapacidadLlenaException  Si algún repositorio no admite un alta.
+     */
+    private static boolean aplicar(EntradaBinaria datos, RepositorioProfesores repoProfesores,
+                                   RepositorioAlumnos repoAlumnos, RepositorioCursos repoCursos)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        long secuencia = FormatoBinario.leerVarLong(datos);
+        int tipo = datos.readUnsignedByte();
+        RepositorioBase<?> destino;
+        if (tipo == ALUMNO || tipo == ELIMINAR_ALUMNO) {
+            destino = repoAlumnos;
+        } else if (tipo == PROFESOR || tipo == ELIMINAR_PROFESOR) {
+            destino = repoProfesores;
+        } else if (tipo >= CURSO && tipo <= ASIGNAR_PROFESOR) {
+            destino = repoCursos;
+        } else {
+            throw new FormatoInvalidoException("Tipo de registro desconocido en la bitácora: " + tipo);
+        }
+        if (secuencia <= destino.getSecuencia()) {
+            return false;
+        }
+        try {
+            switch (tipo) {
+                case CURSO -> {
+                    Curso nuevo = new Curso();
+                    nuevo.leerBinario(datos);
+                    if (repoCursos.contiene(nuevo.getId())) {
+                        Curso existente = repoCursos.buscarPorId(nuevo.getId());
+                        copiarDatos(existente, nuevo);
+                        repoCursos.reindexar(existente);
+                        existente.actualizarAgendas();
+                    } else {
+                        repoCursos.agregar(nuevo);
+                    }
+                }
+                case ELIMINAR_CURSO -> {
+                    int id = FormatoBinario.leerEntero(datos);
+                    if (repoCursos.contiene(id)) {
+                        Curso c = repoCursos.buscarPorId(id);
+                        repoCursos.eliminarPorId(id);
+                        c.desvincularTodo();
+                    }
+                }
+                case INSCRIBIR, DESINSCRIBIR -> {
+                    int idCurso = FormatoBinario.leerEntero(datos);
+                    int numCuenta = FormatoBinario.leerEntero(datos);
+                    if (repoCursos.contiene(idCurso) && repoAlumnos.contiene(numCuenta)) {
+                        Curso c = repoCursos.buscarPorId(idCurso);
+                        Alumno a = repoAlumnos.buscarPorId(numCuenta);
+                        if (tipo == INSCRIBIR) {
+                            c.vincularAlumno(a);
+                        } else {
+                            c.desvincularAlumno(a);
+                        }
+                    }
+                }
+                case ASIGNAR_PROFESOR -> {
+                    int idCurso = FormatoBinario.leerEntero(datos);
+                    int numTrabajador = FormatoBinario.leerEntero(datos);
+                    if (repoCursos.contiene(idCurso) && repoProfesores.contiene(numTrabajador)) {
+                        repoCursos.buscarPorId(idCurso)
+                                .setProfesorAsignado(repoProfesores.buscarPorId(numTrabajador));
+                    }
+                }
+                case ALUMNO -> {
+                    Alumno nuevo = new Alumno();
+                    nuevo.leerBinario(datos);
+                    if (repoAlumnos.contiene(nuevo.getId())) {
+                        Alumno a = repoAlumnos.buscarPorId(nuevo.getId());
+                        a.setNombreCompleto(nuevo.getNombreCompleto());
+                        a.setEdad(nuevo.getEdad());
+                        a.setEscuelaProcedencia(nuevo.getEscuelaProcedencia());
+                        repoAlumnos.reindexar(a);
+                    } else {
+                        repoAlumnos.agregar(nuevo);
+                    }
+                }
+                case ELIMINAR_ALUMNO -> {
+                    int id = FormatoBinario.leerEntero(datos);
+                    if (repoAlumnos.contiene(id)
+                            && !repoAlumnos.buscarPorId(id).tieneInscripciones()) {
+                        repoAlumnos.eliminarPorId(id);
+                    }
+                }
+                case PROFESOR -> {
+                    Profesor nuevo = new Profesor();
+                    nuevo.leerBinario(datos);
+                    if (repoProfesores.contiene(nuevo.getId())) {
+                        Profesor p = repoProfesores.buscarPorId(nuevo.getId());
+                        p.setNombreCompleto(nuevo.getNombreCompleto());
+                        p.setNivelesQueDa(nuevo.getNivelesQueDa());
+                        p.setCategoriasQueDa(nuevo.getCategoriasQueDa());
+                        p.setTitulo(nuevo.getTitulo());
+                        p.setAnioTitulo(nuevo.getAnioTitulo());
+                        repoProfesores.reindexar(p);
+                    } else {
+                        repoProfesores.agregar(nuevo);
+                    }
+                }
+                case ELIMINAR_PROFESOR -> {
+                    int id = FormatoBinario.leerEntero(datos);
+                    if (repoProfesores.contiene(id)
+                            && repoProfesores.buscarPorId(id).getCursosAsignados() == 0) {
+                        repoProfesores.eliminarPorId(id);
+                    }
+                }
+                default -> throw new FormatoInvalidoException(
+                        "Tipo de registro desconocido en la bitácora: " + tipo);
+            }
+        } catch (NoEncontradoException e) {
+            // no ocurre: la existencia se verificó con contiene()
+        }
+        destino.setSecuencia(secuencia);
+        return true;
+    }
+
+    /**
+     * Copia los datos editables de un curso leído de la bitácora sobre el
+     * curso existente, conservando su profesor y sus alumnos.
+     *
+     * @param destino Curso existente.
+     * @param origen  Curso con los datos nuevos.
+     */
+    private static void copiarDatos(Curso destino, Curso origen) {
+        destino.setNombre(origen.getNombre());
+        destino.setCategoria(origen.getCategoria());
+        destino.setNivel(origen.getNivel());
+        destino.setHorario(origen.getHorario());
+        destino.setPlataforma(origen.getPlataforma());
+        destino.setDescripcion(origen.getDescripcion());
+        destino.setFechaInicioInscripciones(origen.getFechaInicioInscripciones());
+        destino.setFechaFinInscripciones(origen.getFechaFinInscripciones());
+        destino.setFechaInicioCurso(origen.getFechaInicioCurso());
+        destino.setFechaFinCurso(origen.getFechaFinCurso());
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Clase Auxiliar: CargadorMasivo
+ *
+ * Implementa la carga masiva de un repositorio desde un archivo de texto.
+ * El archivo se lee en bloques grandes de caracteres y se separa en
+ * líneas; cada {LINEAS_POR_LOTE} líneas forman un lote que se manda a
+ * convertir en objetos al {java.util.concurrent.ForkJoinPool} común
+ * mientras se sigue leyendo el archivo. Los lotes terminados se agregan
+ * al repositorio en el orden en que se leyeron, así que el orden final es
+ * el mismo que el del archivo.
+ *
+ * Solo hay a la vez un número acotado de lotes en proceso (dos por hilo
+ * del pool); cuando se llena, la lectura espera al lote más antiguo. Por
+ * eso, además de los objetos cargados, la memoria usada no depende del
+ * tamaño del archivo.
+ */
+public final class CargadorMasivo {
+
+    /** Tamaño, en caracteres, de cada bloque leído del archivo. */
+    private static final int TAMANO_BLOQUE = 1 << 16;
+
+    /** Número de líneas de cada lote que se convierte en paralelo. */
+    private static final int LINEAS_POR_LOTE = 4096;
+
+    /** Número máximo de lotes en proceso al mismo tiempo. */
+    private static final int LOTES_EN_VUELO =
+            2 * Math.max(1, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+    private CargadorMasivo() {}
+
+    /**
+     * Método Gestor: cargar
+     *
+     * Lee un archivo y agrega al repositorio un objeto por línea, con
+     * {RepositorioBase#crearDesdeLinea(String)}. Reconoce los mismos
+     * terminadores de línea que {java.io.BufferedReader#readLine()}:
+     * "\n", "\r" y "\r\n". Si la primera línea es la de la secuencia
+     * ({RepositorioBase#guardarTodo(String)}), se pasa al repositorio en
+     * lugar de convertirse. El repositorio debe estar vacío.
+     *
+     * @param repo    Repositorio que se llena.
+     * @param archivo Archivo a leer.
+     * @param <T>     Tipo de elemento del repositorio.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si alguna línea no tiene el formato
+     *                                  correcto (se reporta la primera del
+     *                                  archivo) o repite un id.
+     * @throws CapacidadLlenaException  Si el repositorio es de tamaño fijo y
+     *                                  no caben todas las líneas.
+     */
+    public static <T extends Identificable & Persistible> void cargar(
+            RepositorioBase<T> repo, java.io.File archivo)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+
+        Lotes<T> lotes = new Lotes<T>(repo, archivo.getPath());
+        char[] bloque = new char[TAMANO_BLOQUE];
+        StringBuilder pendiente = new StringBuilder();
+        boolean saltarLF = false;
+        boolean completo = false;
+
+        java.io.Reader lector = new java.io.FileReader(archivo);
+        try {
+            int leidos;
+            while ((leidos = lector.read(bloque, 0, bloque.length)) != -1) {
+                int inicio = 0;
+                for (int i = 0; i < leidos; i++) {
+                    char c = bloque[i];
+                    if (saltarLF) {
+                        saltarLF = false;
+                        if (c == '\n') {
+                            inicio = i + 1;
+                            continue;
+                        }
+                    }
+                    if (c == '\n' || c == '\r') {
+                        String linea;
+                        if (pendiente.length() > 0) {
+                            pendiente.append(bloque, inicio, i - inicio);
+                            linea = pendiente.toString();
+                            pendiente.setLength(0);
+                        } else {
+                            linea = new String(bloque, inicio, i - inicio);
+                        }
+                        lotes.agregarLinea(linea);
+                        saltarLF = (c == '\r');
+                        inicio = i + 1;
+                    }
+                }
+                // La última línea del bloque puede continuar en el siguiente.
+                pendiente.append(bloque, inicio, leidos - inicio);
+            }
+            if (pendiente.length() > 0) {
+                lotes.agregarLinea(pendiente.toString());
+            }
+            lotes.terminar();
+            completo = true;
+        } finally {
+            lector.close();
+            if (!completo) {
+                lotes.cancelar();
+            }
+        }
+    }
+
+    /**
+     * Convierte un lote de líneas en objetos, en el hilo del pool que lo
+     * tome. Un error de formato se devuelve en el resultado en lugar de
+     * lanzarse, para que llegue tal cual al hilo que lee el archivo.
+     *
+     * @param repo     Repositorio que sabe construir los objetos.
+     * @param lineas   Líneas del lote.
+     * @param cantidad Número de líneas válidas en {lineas}.
+     * @return Objetos en el orden de las líneas, o el error de la primera
+     *         línea inválida.
+     */
+    private static <T extends Identificable & Persistible> ResultadoLote parsear(
+            RepositorioBase<T> repo, String[] lineas, int cantidad) {
+        ResultadoLote resultado = new ResultadoLote();
+        resultado.objetos = new Object[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            try {
+                resultado.objetos[i] = repo.crearDesdeLinea(lineas[i]);
+            } catch (FormatoInvalidoException e) {
+                resultado.error = e;
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Objetos de un lote ya convertido, o el error que lo detuvo.
+     */
+    private static final class ResultadoLote {
+
+        /** Objetos en el orden de las líneas del lote. */
+        private Object[] objetos;
+
+        /** Error de la primera línea inválida del lote, o null. */
+        private FormatoInvalidoException error;
+    }
+
+    /**
+     * Lotes en proceso de una carga, en una cola circular en el orden del
+     * archivo.
+     *
+     * @param <T> Tipo de elemento del repositorio.
+     */
+    private static final class Lotes<T extends Identificable & Persistible> {
+
+        private final RepositorioBase<T> repo;
+        private final String ruta;
+        private final java.util.concurrent.ForkJoinTask<?>[] enVuelo =
+                new java.util.concurrent.ForkJoinTask<?>[LOTES_EN_VUELO];
+        private int primero;
+        private int cantidad;
+        private String[] lote = new String[LINEAS_POR_LOTE];
+        private int lineasEnLote;
+        private boolean primeraLinea = true;
+
+        Lotes(RepositorioBase<T> repo, String ruta) {
+            this.repo = repo;
+            this.ruta = ruta;
+        }
+
+        /**
+         * Agrega una línea al lote actual y lo manda al pool si se llenó.
+         */
+        void agregarLinea(String linea)
+                throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+            if (primeraLinea) {
+                primeraLinea = false;
+                if (repo.leerLineaSecuencia(linea, ruta)) return;
+            }
+            lote[lineasEnLote++] = linea;
+            if (lineasEnLote == LINEAS_POR_LOTE) {
+                enviarLote();
+            }
+        }
+
+        /**
+         * Manda el último lote incompleto y espera a que terminen todos.
+         */
+        void terminar()
+                throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+            if (lineasEnLote > 0) {
+                enviarLote();
+            }
+            while (cantidad > 0) {
+                recibirLote();
+            }
+        }
+
+        /**
+         * Cancela los lotes que sigan en proceso después de un error.
+         */
+        void cancelar() {
+            for (int i = 0; i < cantidad; i++) {
+                enVuelo[(primero + i) % enVuelo.length].cancel(true);
+            }
+            cantidad = 0;
+        }
+
+        private void enviarLote()
+                throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+            if (cantidad == enVuelo.length) {
+                recibirLote();
+            }
+            String[] lineas = lote;
+            int n = lineasEnLote;
+            lote = new String[LINEAS_POR_LOTE];
+            lineasEnLote = 0;
+            enVuelo[(primero + cantidad) % enVuelo.length] =
+                    java.util.concurrent.ForkJoinPool.commonPool().submit(() -> parsear(repo, lineas, n));
+            cantidad++;
+        }
+
+        /**
+         * Espera al lote más antiguo y agrega sus objetos al repositorio.
+         */
+        @SuppressWarnings("unchecked")
+        private void recibirLote()
+                throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+            java.util.concurrent.ForkJoinTask<?> tarea = enVuelo[primero];
+            enVuelo[primero] = null;
+            primero = (primero + 1) % enVuelo.length;
+            cantidad--;
+
+            ResultadoLote resultado;
+            try {
+                resultado = (ResultadoLote) tarea.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new java.io.InterruptedIOException("Carga interrumpida: " + ruta);
+            } catch (java.util.concurrent.ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof RuntimeException) throw (RuntimeException) causa;
+                if (causa instanceof Error) throw (Error) causa;
+                throw new java.io.IOException(causa);
+            }
+            if (resultado.error != null) {
+                throw resultado.error;
+            }
+            Object[] objetos = resultado.objetos;
+            for (int i = 0; i < objetos.length; i++) {
+                repo.agregarCargado((T) objetos[i], ruta);
+            }
+        }
+    }
+}
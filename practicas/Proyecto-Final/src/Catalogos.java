@@ -24,6 +24,9 @@ public final class Catalogos {
         "Meet", "Zoom", "Jitsi", "Skype"
     };
 
+    /** Código que indica que un valor no pertenece a su catálogo. */
+    public static final int SIN_CODIGO = -1;
+
     /**
      * Método Calculador: esValorValido
      *
@@ -34,59 +37,49 @@ public final class Catalogos {
      * @return true si el valor está en el arreglo, false en caso contrario.
      */
     public static boolean esValorValido(String valor, String[] arreglo) {
-        if (valor == null) return false;
+        return codigoDe(valor, arreglo) != SIN_CODIGO;
+    }
+
+    /**
+     * Método Calculador: codigoDe
+     *
+     * Devuelve el código de un valor dentro de su catálogo: su posición en
+     * el arreglo, sin distinguir mayúsculas ni espacios al inicio o final.
+     * Los catálogos son pequeños y cerrados, así que el código cabe en un
+     * byte y permite comparar valores sin comparar cadenas.
+     *
+     * @param valor   Cadena a codificar.
+     * @param arreglo Arreglo de opciones válidas.
+     * @return Posición del valor en el arreglo, o {SIN_CODIGO}.
+     */
+    public static int codigoDe(String valor, String[] arreglo) {
+        if (valor == null) return SIN_CODIGO;
+        String v = valor.trim();
         for (int i = 0; i < arreglo.length; i++) {
-            if (arreglo[i].equalsIgnoreCase(valor.trim())) {
-                return true;
+            if (arreglo[i].equalsIgnoreCase(v)) {
+                return i;
             }
         }
-        return false;
+        return SIN_CODIGO;
     }
 
     /**
      * Método Calculador: validarHorario
      *
      * Valida que el horario esté entre las 7:00 y 21:00 horas
-     * con formato "HH:MM-HH:MM".
+     * con formato "HH:MM-HH:MM" (ver {FranjaHoraria#desdeTexto(String)}).
      *
      * @param horario Texto del horario.
      * @throws DatosInvalidosException si el formato o el rango son inválidos.
      */
     public static void validarHorario(String horario) throws DatosInvalidosException {
-        if (horario == null) {
-            throw new DatosInvalidosException("El horario no puede ser nulo.");
-        }
-        String[] partes = horario.split("-");
-        if (partes.length != 2) {
-            throw new DatosInvalidosException("Formato de horario inválido. Usa HH:MM-HH:MM");
-        }
-        int inicioHora = obtenerHora(partes[0]);
-        int finHora = obtenerHora(partes[1]);
+        FranjaHoraria franja = FranjaHoraria.desdeTexto(horario);
+        int inicioHora = franja.getInicio() / 60;
+        int finHora = franja.getFin() / 60;
 
         if (inicioHora < 7 || finHora > 21 || inicioHora >= finHora) {
             throw new DatosInvalidosException(
                     "El horario debe estar entre 7:00 y 21:00 y la hora de inicio debe ser menor a la de fin.");
         }
     }
-
-    /**
-     * Método Calculador: obtenerHora
-     *
-     * Extrae la hora (parte entera) de un texto con formato "HH:MM".
-     *
-     * @param horaStr Cadena de la hora.
-     * @return Hora como entero.
-     * @throws DatosInvalidosException si la hora no tiene el formato correcto.
-     */
-    private static int obtenerHora(String horaStr) throws DatosInvalidosException {
-        String[] partes = horaStr.split(":");
-        if (partes.length != 2) {
-            throw new DatosInvalidosException("Hora inválida: " + horaStr);
-        }
-        try {
-            return Integer.parseInt(partes[0]);
-        } catch (NumberFormatException e) {
-            throw new DatosInvalidosException("Hora inválida: " + horaStr);
-        }
-    }
 }
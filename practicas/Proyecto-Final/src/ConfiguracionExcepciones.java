@@ -0,0 +1,24 @@
+/**
+ * Clase Calculadora: ConfiguracionExcepciones
+ *
+ * Decide si las excepciones del proyecto capturan la traza de la pila.
+ *
+ * Capturar la traza es lo más caro de crear una excepción. Cuando la
+ * mayoría de los intentos de inscripción son rechazos (por ejemplo, al
+ * abrir las inscripciones), ese costo domina el tiempo de CPU. Con la
+ * propiedad del sistema {@code -Dicc.excepciones.sinTraza=true} las
+ * excepciones se crean sin traza; el mensaje se conserva igual.
+ *
+ * Para las rutas más frecuentes existen además variantes que no lanzan
+ * excepciones, como {GestorCursos#intentarInscribirAlumnoEnCurso(int, int, Fecha)}.
+ */
+public final class ConfiguracionExcepciones {
+
+    private ConfiguracionExcepciones() {}
+
+    /** Nombre de la propiedad del sistema que desactiva las trazas. */
+    public static final String PROPIEDAD_SIN_TRAZA = "icc.excepciones.sinTraza";
+
+    /** true si las excepciones deben capturar la traza de la pila. */
+    public static final boolean CON_TRAZA = !Boolean.getBoolean(PROPIEDAD_SIN_TRAZA);
+}
@@ -23,9 +23,21 @@ public class Curso implements Identificable, Persistible {
     /** Horario del curso, en formato "HH:MM-HH:MM". */
     private String horario;
 
+    /** Horario ya interpretado, o null si {horario} no es válido. */
+    private FranjaHoraria franja;
+
     /** Plataforma en la que se imparte el curso (Meet, Zoom, etc.). */
     private String plataforma;
 
+    /** Código de la categoría en {Catalogos#CATEGORIAS}, o {Catalogos#SIN_CODIGO}. */
+    private byte codigoCategoria = Catalogos.SIN_CODIGO;
+
+    /** Código del nivel en {Catalogos#NIVELES}, o {Catalogos#SIN_CODIGO}. */
+    private byte codigoNivel = Catalogos.SIN_CODIGO;
+
+    /** Código de la plataforma en {Catalogos#PLATAFORMAS}, o {Catalogos#SIN_CODIGO}. */
+    private byte codigoPlataforma = Catalogos.SIN_CODIGO;
+
     /** Número máximo de estudiantes permitidos en el curso. */
     private int numeroEstudiantesMax;
 
@@ -53,6 +65,24 @@ public class Curso implements Identificable, Persistible {
     /** Contador de alumnos actualmente inscritos en el curso. */
     int contadorAlumnos;
 
+    /**
+     * Índice número de cuenta → posición en {alumnosInscritos}, para
+     * verificar inscripciones y desinscribir en O(1). Se crea cuando la
+     * lista supera {UMBRAL_INDICE_INSCRITOS} alumnos; en listas más cortas
+     * un recorrido es más barato que mantener la tabla.
+     */
+    private IndicePrimario indiceInscritos;
+
+    /** Número de inscritos a partir del cual se usa {indiceInscritos}. */
+    private static final int UMBRAL_INDICE_INSCRITOS = 16;
+
+    /**
+     * Enlaces de la carga a la que pertenece el curso mientras el curso
+     * todavía no está registrado en su profesor y sus alumnos (ver
+     * {EnlacesDiferidos}); null en cualquier otro caso.
+     */
+    private EnlacesDiferidos enlacesPendientes;
+
     /**
      * ID del profesor leído desde archivo al reconstruir el curso.
      * Se usa como dato auxiliar para reestablecer relaciones.
@@ -109,6 +139,8 @@ public class Curso implements Identificable, Persistible {
         this.fechaFinInscripciones = fechaFinInscripciones;
         this.fechaInicioCurso = fechaInicioCurso;
         this.fechaFinCurso = fechaFinCurso;
+        codificarCatalogos();
+        franja = FranjaHoraria.intentarLeer(horario);
 
         validarDatosBasicos();
         this.alumnosInscritos = new Alumno[numeroEstudiantesMax];
@@ -124,13 +156,13 @@ public class Curso implements Identificable, Persistible {
      * @throws DatosInvalidosException Si alguno de los valores es inválido.
      */
     private void validarDatosBasicos() throws DatosInvalidosException {
-        if (!Catalogos.esValorValido(categoria, Catalogos.CATEGORIAS)) {
+        if (codigoCategoria == Catalogos.SIN_CODIGO) {
             throw new DatosInvalidosException("Categoría de curso inválida: " + categoria);
         }
-        if (!Catalogos.esValorValido(nivel, Catalogos.NIVELES)) {
+        if (codigoNivel == Catalogos.SIN_CODIGO) {
             throw new DatosInvalidosException("Nivel de curso inválido: " + nivel);
         }
-        if (!Catalogos.esValorValido(plataforma, Catalogos.PLATAFORMAS)) {
+        if (codigoPlataforma == Catalogos.SIN_CODIGO) {
             throw new DatosInvalidosException("Plataforma inválida: " + plataforma);
         }
         if (numeroEstudiantesMax <= 0) {
@@ -139,6 +171,70 @@ public class Curso implements Identificable, Persistible {
         Catalogos.validarHorario(horario);
     }
 
+    /**
+     * Método Calculador: validarFechas
+     *
+     * Revisa las reglas de fechas de un curso que se registra o al que se
+     * le cambian las fechas:
+     *
+     *     Ninguna fecha es anterior a hoy.
+     *     El fin de inscripciones no es anterior a su inicio.
+     *     El curso inicia después (no el mismo día) del fin de inscripciones.
+     *     El fin del curso no es anterior a su inicio.
+     *
+     * Las reglas que involucran una fecha null no se revisan, para poder
+     * validar una captura fecha por fecha.
+     *
+     * @param inicioInscripciones Inicio del periodo de inscripciones.
+     * @param finInscripciones    Fin del periodo de inscripciones.
+     * @param inicioCurso         Inicio de las clases.
+     * @param finCurso            Fin de las clases.
+     * @param hoy                 Fecha actual.
+     * @throws DatosInvalidosException Con el motivo de la primera regla que
+     *                                 no se cumple.
+     */
+    public static void validarFechas(Fecha inicioInscripciones, Fecha finInscripciones,
+                                     Fecha inicioCurso, Fecha finCurso, Fecha hoy)
+            throws DatosInvalidosException {
+        validarNoAnteriorAHoy(inicioInscripciones, "de inicio de inscripciones", hoy);
+        validarNoAnteriorAHoy(finInscripciones, "de fin de inscripciones", hoy);
+        validarNoAnteriorAHoy(inicioCurso, "de inicio del curso", hoy);
+        validarNoAnteriorAHoy(finCurso, "de fin del curso", hoy);
+        if (inicioInscripciones != null && finInscripciones != null
+                && finInscripciones.esAnteriorA(inicioInscripciones)) {
+            throw new DatosInvalidosException(
+                    "La fecha de fin de inscripciones no puede ser anterior al inicio de inscripciones.");
+        }
+        if (finInscripciones != null && inicioCurso != null
+                && !inicioCurso.esPosteriorA(finInscripciones)) {
+            throw new DatosInvalidosException(
+                    "La fecha de inicio del curso debe ser posterior a la fecha de fin de inscripciones"
+                    + " (no pueden ser el mismo día ni antes).");
+        }
+        if (inicioCurso != null && finCurso != null && finCurso.esAnteriorA(inicioCurso)) {
+            throw new DatosInvalidosException(
+                    "La fecha de fin del curso no puede ser anterior a la fecha de inicio del curso.");
+        }
+    }
+
+    private static void validarNoAnteriorAHoy(Fecha fecha, String nombre, Fecha hoy)
+            throws DatosInvalidosException {
+        if (fecha != null && fecha.esAnteriorA(hoy)) {
+            throw new DatosInvalidosException("La fecha " + nombre + " (" + fecha
+                    + ") no puede ser anterior a hoy (" + hoy + ").");
+        }
+    }
+
+    /**
+     * Calcula los códigos de catálogo de la categoría, el nivel y la
+     * plataforma a partir de sus textos.
+     */
+    private void codificarCatalogos() {
+        codigoCategoria = (byte) Catalogos.codigoDe(categoria, Catalogos.CATEGORIAS);
+        codigoNivel = (byte) Catalogos.codigoDe(nivel, Catalogos.NIVELES);
+        codigoPlataforma = (byte) Catalogos.codigoDe(plataforma, Catalogos.PLATAFORMAS);
+    }
+
     /**
      * Obtiene el identificador único del curso.
      *
@@ -182,6 +278,13 @@ public class Curso implements Identificable, Persistible {
      */
     public String getHorario() { return horario; }
 
+    /**
+     * Obtiene el horario del curso ya interpretado.
+     *
+     * @return Franja horaria, o null si el horario no es válido.
+     */
+    public FranjaHoraria getFranja() { return franja; }
+
     /**
      * Obtiene la plataforma en la que se imparte el curso.
      *
@@ -189,6 +292,27 @@ public class Curso implements Identificable, Persistible {
      */
     public String getPlataforma() { return plataforma; }
 
+    /**
+     * Obtiene el código de la categoría del curso.
+     *
+     * @return Posición en {Catalogos#CATEGORIAS}, o {Catalogos#SIN_CODIGO}.
+     */
+    public int getCodigoCategoria() { return codigoCategoria; }
+
+    /**
+     * Obtiene el código del nivel del curso.
+     *
+     * @return Posición en {Catalogos#NIVELES}, o {Catalogos#SIN_CODIGO}.
+     */
+    public int getCodigoNivel() { return codigoNivel; }
+
+    /**
+     * Obtiene el código de la plataforma del curso.
+     *
+     * @return Posición en {Catalogos#PLATAFORMAS}, o {Catalogos#SIN_CODIGO}.
+     */
+    public int getCodigoPlataforma() { return codigoPlataforma; }
+
     /**
      * Obtiene la descripción del curso.
      *
@@ -278,28 +402,40 @@ public class Curso implements Identificable, Persistible {
      *
      * @param categoria Nueva categoría.
      */
-    public void setCategoria(String categoria) { this.categoria = categoria; }
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+        this.codigoCategoria = (byte) Catalogos.codigoDe(categoria, Catalogos.CATEGORIAS);
+    }
 
     /**
      * Establece el nivel del curso.
      *
      * @param nivel Nuevo nivel.
      */
-    public void setNivel(String nivel) { this.nivel = nivel; }
+    public void setNivel(String nivel) {
+        this.nivel = nivel;
+        this.codigoNivel = (byte) Catalogos.codigoDe(nivel, Catalogos.NIVELES);
+    }
 
     /**
      * Establece el horario del curso.
      *
      * @param horario Nuevo horario.
      */
-    public void setHorario(String horario) { this.horario = horario; }
+    public void setHorario(String horario) {
+        this.horario = horario;
+        this.franja = FranjaHoraria.intentarLeer(horario);
+    }
 
     /**
      * Establece la plataforma en que se imparte el curso.
      *
      * @param plataforma Nueva plataforma.
      */
-    public void setPlataforma(String plataforma) { this.plataforma = plataforma; }
+    public void setPlataforma(String plataforma) {
+        this.plataforma = plataforma;
+        this.codigoPlataforma = (byte) Catalogos.codigoDe(plataforma, Catalogos.PLATAFORMAS);
+    }
 
     /**
      * Establece la descripción del curso.
@@ -337,11 +473,55 @@ public class Curso implements Identificable, Persistible {
     public void setFechaFinCurso(Fecha f) { this.fechaFinCurso = f; }
 
     /**
-     * Asigna un profesor al curso.
+     * Asigna un profesor al curso (o lo retira con null), actualizando
+     * el número de cursos asignados del profesor anterior y del nuevo.
      *
      * @param profesorAsignado Profesor que se asigna.
      */
-    public void setProfesorAsignado(Profesor profesorAsignado) { this.profesorAsignado = profesorAsignado;}
+    public void setProfesorAsignado(Profesor profesorAsignado) {
+        completarEnlaces();
+        if (this.profesorAsignado == profesorAsignado) return;
+        if (this.profesorAsignado != null) {
+            this.profesorAsignado.ajustarCursosAsignados(-1);
+            this.profesorAsignado.getAgenda().quitar(this);
+        }
+        if (profesorAsignado != null) {
+            profesorAsignado.ajustarCursosAsignados(1);
+            profesorAsignado.getAgenda().agregar(this);
+        }
+        this.profesorAsignado = profesorAsignado;
+    }
+
+    /**
+     * Método Calculador: chocaCon
+     *
+     * Indica si dos cursos no pueden tomarse (o impartirse) a la vez: sus
+     * horarios comparten algún minuto y sus periodos de clases algún día.
+     *
+     * @param otro Curso a comparar.
+     * @return true si los cursos chocan.
+     */
+    public boolean chocaCon(Curso otro) {
+        if (franja == null || otro.franja == null) return false;
+        if (fechaInicioCurso == null || fechaFinCurso == null
+                || otro.fechaInicioCurso == null || otro.fechaFinCurso == null) {
+            return false;
+        }
+        return franja.seTraslapaCon(otro.franja)
+                && fechaInicioCurso.getDiaEpoca() <= otro.fechaFinCurso.getDiaEpoca()
+                && otro.fechaInicioCurso.getDiaEpoca() <= fechaFinCurso.getDiaEpoca();
+    }
+
+    /**
+     * Vuelve a colocar el curso en la {Agenda} de su profesor y de sus
+     * alumnos. Debe llamarse después de cambiar su horario o sus fechas.
+     */
+    void actualizarAgendas() {
+        if (profesorAsignado != null) profesorAsignado.getAgenda().actualizar(this);
+        for (int i = 0; i < contadorAlumnos; i++) {
+            alumnosInscritos[i].getAgenda().actualizar(this);
+        }
+    }
 
     /**
      * Método Calculador: estaEnPeriodoInscripcion
@@ -434,28 +614,48 @@ public class Curso implements Identificable, Persistible {
      * @throws InscripcionException Si se viola alguna de las reglas de inscripción.
      */
     public void inscribirAlumno(Alumno a, Fecha hoy) throws InscripcionException {
+        ResultadoInscripcion r = intentarInscribir(a, hoy);
+        if (!r.esExito()) {
+            throw new InscripcionException(r.getMensaje());
+        }
+    }
+
+    /**
+     * Método Calculador: intentarInscribir
+     *
+     * Igual que {inscribirAlumno(Alumno, Fecha)}, pero en lugar de lanzar
+     * una excepción devuelve el motivo del rechazo. Las reglas se revisan
+     * en el mismo orden.
+     *
+     * @param a   Alumno a inscribir.
+     * @param hoy Fecha actual.
+     * @return {ResultadoInscripcion#INSCRITO} si el alumno quedó inscrito,
+     *         o la primera regla que no se cumple.
+     */
+    public ResultadoInscripcion intentarInscribir(Alumno a, Fecha hoy) {
 
         if (!estaEnPeriodoInscripcion(hoy)) {
-            throw new InscripcionException("La fecha de inscripción no está abierta.");
+            return ResultadoInscripcion.FUERA_DE_PERIODO;
         }
         if (haIniciado(hoy)) {
-            throw new InscripcionException("El curso ya inició.");
+            return ResultadoInscripcion.CURSO_INICIADO;
         }
         if (contadorAlumnos >= numeroEstudiantesMax) {
-            throw new InscripcionException("El curso está lleno.");
+            return ResultadoInscripcion.CURSO_LLENO;
         }
         if (!a.puedeInscribirOtroCurso()) {
-            throw new InscripcionException("El alumno ya tiene 6 materias en curso.");
+            return ResultadoInscripcion.LIMITE_MATERIAS;
         }
-        for (int i = 0; i < contadorAlumnos; i++) {
-            if (alumnosInscritos[i].getId() == a.getId()) {
-                throw new InscripcionException("El alumno ya está inscrito en el curso.");
-            }
+        if (estaInscrito(a.getId())) {
+            return ResultadoInscripcion.YA_INSCRITO;
+        }
+        if (a.getAgenda().buscarChoque(this) != null) {
+            return ResultadoInscripcion.CHOQUE_HORARIO;
         }
 
-        alumnosInscritos[contadorAlumnos] = a;
-        contadorAlumnos++;
+        agregarInscrito(a);
         a.agregarCurso(this);
+        return ResultadoInscripcion.INSCRITO;
     }
 
     /**
@@ -470,25 +670,209 @@ public class Curso implements Identificable, Persistible {
      * @throws InscripcionException Si el curso ya terminó o el alumno no está inscrito.
      */
     public void desinscribirAlumno(Alumno a, Fecha hoy) throws InscripcionException {
+        ResultadoDesinscripcion r = intentarDesinscribir(a, hoy);
+        if (!r.esExito()) {
+            throw new InscripcionException(r.getMensaje());
+        }
+    }
+
+    /**
+     * Método Calculador: intentarDesinscribir
+     *
+     * Igual que {desinscribirAlumno(Alumno, Fecha)}, pero en lugar de
+     * lanzar una excepción devuelve el motivo del rechazo.
+     *
+     * @param a   Alumno a desinscribir.
+     * @param hoy Fecha actual.
+     * @return {ResultadoDesinscripcion#DESINSCRITO} si el alumno quedó
+     *         desinscrito, o la regla que no se cumple.
+     */
+    public ResultadoDesinscripcion intentarDesinscribir(Alumno a, Fecha hoy) {
         if (haTerminado(hoy)) {
-            throw new InscripcionException(
-                    "No se puede desinscribir, la fecha de finalización ya concluyó.");
+            return ResultadoDesinscripcion.CURSO_TERMINADO;
+        }
+        if (!desvincularAlumno(a)) {
+            return ResultadoDesinscripcion.NO_INSCRITO;
+        }
+        return ResultadoDesinscripcion.DESINSCRITO;
+    }
+
+    /**
+     * Vincula un alumno con el curso SIN revalidar fechas ni límite de
+     * materias. Se usa al reconstruir relaciones ya validadas en su
+     * momento (carga de archivos y reproducción de la {Bitacora}).
+     *
+     * @param a Alumno a vincular.
+     * @return true si se vinculó; false si ya estaba inscrito o no hay cupo.
+     */
+    boolean vincularAlumno(Alumno a) {
+        if (contadorAlumnos >= numeroEstudiantesMax) return false;
+        if (estaInscrito(a.getId())) return false;
+        agregarInscrito(a);
+        a.agregarCurso(this);
+        return true;
+    }
+
+    /**
+     * Quita la relación entre un alumno y el curso sin validar fechas.
+     *
+     * @param a Alumno a desvincular.
+     * @return true si el alumno estaba inscrito.
+     */
+    boolean desvincularAlumno(Alumno a) {
+        if (!quitarInscrito(a.getId())) return false;
+        a.quitarCurso(this);
+        return true;
+    }
+
+    /**
+     * Indica si un alumno está inscrito en el curso.
+     *
+     * @param numCuenta Número de cuenta del alumno.
+     * @return true si el alumno aparece en la lista de inscritos.
+     */
+    public boolean estaInscrito(int numCuenta) {
+        return posicionInscrito(numCuenta) != IndicePrimario.NO_ENCONTRADO;
+    }
+
+    /**
+     * Busca la posición de un alumno en la lista de inscritos.
+     *
+     * @param numCuenta Número de cuenta del alumno.
+     * @return Posición en {alumnosInscritos} o {IndicePrimario#NO_ENCONTRADO}.
+     */
+    private int posicionInscrito(int numCuenta) {
+        if (indiceInscritos != null) {
+            return indiceInscritos.buscar(numCuenta);
         }
-        boolean encontrado = false;
         for (int i = 0; i < contadorAlumnos; i++) {
-            if (alumnosInscritos[i].getId() == a.getId()) {
-                for (int j = i; j < contadorAlumnos - 1; j++) {
-                    alumnosInscritos[j] = alumnosInscritos[j + 1];
-                }
-                alumnosInscritos[contadorAlumnos - 1] = null;
-                contadorAlumnos--;
-                a.quitarCurso(this);
-                encontrado = true;
-                break;
+            if (alumnosInscritos[i].getId() == numCuenta) return i;
+        }
+        return IndicePrimario.NO_ENCONTRADO;
+    }
+
+    /**
+     * Agrega un alumno al final de la lista de inscritos y lo indexa.
+     * No valida cupo ni duplicados, ni actualiza la lista del alumno.
+     *
+     * @param a Alumno a agregar.
+     */
+    void agregarInscrito(Alumno a) {
+        completarEnlaces();
+        alumnosInscritos[contadorAlumnos] = a;
+        if (indiceInscritos != null) {
+            indiceInscritos.poner(a.getId(), contadorAlumnos);
+        }
+        contadorAlumnos++;
+        if (indiceInscritos == null && contadorAlumnos > UMBRAL_INDICE_INSCRITOS) {
+            indiceInscritos = new IndicePrimario(contadorAlumnos * 2);
+            for (int i = 0; i < contadorAlumnos; i++) {
+                indiceInscritos.poner(alumnosInscritos[i].getId(), i);
+            }
+        }
+    }
+
+    /**
+     * Quita a un alumno de la lista de inscritos moviendo el último
+     * inscrito a su posición, sin recorrer ni desplazar la lista.
+     *
+     * @param numCuenta Número de cuenta del alumno.
+     * @return true si el alumno estaba inscrito.
+     */
+    private boolean quitarInscrito(int numCuenta) {
+        completarEnlaces();
+        int pos = posicionInscrito(numCuenta);
+        if (pos == IndicePrimario.NO_ENCONTRADO) return false;
+        if (indiceInscritos != null) {
+            indiceInscritos.quitar(numCuenta);
+        }
+        int ultimo = contadorAlumnos - 1;
+        if (pos != ultimo) {
+            alumnosInscritos[pos] = alumnosInscritos[ultimo];
+            if (indiceInscritos != null) {
+                indiceInscritos.poner(alumnosInscritos[pos].getId(), pos);
             }
         }
-        if (!encontrado) {
-            throw new InscripcionException("El alumno no está inscrito en este curso.");
+        alumnosInscritos[ultimo] = null;
+        contadorAlumnos--;
+        return true;
+    }
+
+    /**
+     * Quita todas las relaciones del curso (profesor y alumnos). Se usa al
+     * eliminar el curso, para que los índices inversos de profesores y
+     * alumnos dejen de contarlo.
+     */
+    void desvincularTodo() {
+        completarEnlaces();
+        setProfesorAsignado(null);
+        for (int i = 0; i < contadorAlumnos; i++) {
+            alumnosInscritos[i].quitarCurso(this);
+            alumnosInscritos[i] = null;
+        }
+        contadorAlumnos = 0;
+        indiceInscritos = null;
+    }
+
+    /**
+     * Enlaza al profesor guardado solo del lado del curso, sin contarlo en
+     * los cursos asignados ni en la agenda del profesor; eso lo hace
+     * después {enlazarLadoInverso()}.
+     *
+     * @param p Profesor del curso.
+     */
+    void ponerProfesorGuardado(Profesor p) {
+        this.profesorAsignado = p;
+    }
+
+    /**
+     * Registra el curso en su profesor y en sus alumnos ya enlazados del
+     * lado del curso ({ponerProfesorGuardado(Profesor)} y
+     * {agregarInscrito(Alumno)}).
+     */
+    void enlazarLadoInverso() {
+        if (profesorAsignado != null) {
+            profesorAsignado.ajustarCursosAsignados(1);
+            profesorAsignado.getAgenda().agregar(this);
+        }
+        for (int i = 0; i < contadorAlumnos; i++) {
+            alumnosInscritos[i].agregarCurso(this);
+        }
+    }
+
+    /**
+     * Devuelve los enlaces de la carga que aún no registran el curso en su
+     * profesor y sus alumnos.
+     *
+     * @return Enlaces pendientes, o null.
+     */
+    EnlacesDiferidos getEnlacesPendientes() {
+        return enlacesPendientes;
+    }
+
+    /**
+     * Asigna los enlaces de la carga que aún no registran el curso en su
+     * profesor y sus alumnos; solo lo invoca {EnlacesDiferidos}.
+     *
+     * @param enlaces Enlaces pendientes, o null.
+     */
+    void setEnlacesPendientes(EnlacesDiferidos enlaces) {
+        this.enlacesPendientes = enlaces;
+    }
+
+    /**
+     * Completa los enlaces de la carga del curso antes de cambiar sus
+     * relaciones, para que el cambio no se cuente dos veces. Si el curso
+     * ya no estaba en el repositorio, se registra aquí en su profesor y
+     * sus alumnos.
+     */
+    private void completarEnlaces() {
+        EnlacesDiferidos e = enlacesPendientes;
+        if (e == null) return;
+        e.completar();
+        if (enlacesPendientes == e) {
+            enlacesPendientes = null;
+            enlazarLadoInverso();
         }
     }
 
@@ -544,27 +928,30 @@ public class Curso implements Identificable, Persistible {
      */
     @Override
     public void fromLineaTexto(String linea) throws FormatoInvalidoException {
-        String[] partes = linea.split("\\|");
-        if (partes.length < 12) {
-            throw new FormatoInvalidoException("Línea inválida para Curso: " + linea);
-        }
+        LectorCampos lector = new LectorCampos(linea);
         try {
-            this.idCurso = Integer.parseInt(partes[0]);
-            this.nombre = partes[1];
-            this.categoria = partes[2];
-            this.nivel = partes[3];
-            this.horario = partes[4];
-            this.plataforma = partes[5];
-            this.numeroEstudiantesMax = Integer.parseInt(partes[6]);
-            this.descripcion = partes[7];
-            this.fechaInicioInscripciones = Fecha.fromString(partes[8]);
-            this.fechaFinInscripciones = Fecha.fromString(partes[9]);
-            this.fechaInicioCurso = Fecha.fromString(partes[10]);
-            this.fechaFinCurso = Fecha.fromString(partes[11]);
+            this.idCurso = lector.siguienteEntero('|');
+            this.nombre = lector.siguienteTexto('|');
+            this.categoria = lector.siguienteTexto('|');
+            this.nivel = lector.siguienteTexto('|');
+            this.horario = lector.siguienteTexto('|');
+            this.plataforma = lector.siguienteTexto('|');
+            this.numeroEstudiantesMax = lector.siguienteEntero('|');
+            this.descripcion = lector.siguienteTexto('|');
+            this.fechaInicioInscripciones = Fecha.leer(lector, '|');
+            this.fechaFinInscripciones = Fecha.leer(lector, '|');
+            this.fechaInicioCurso = Fecha.leer(lector, '|');
+            this.fechaFinCurso = Fecha.leer(lector, '|');
+            codificarCatalogos();
+            franja = FranjaHoraria.intentarLeer(horario);
+            if (numeroEstudiantesMax < 0) {
+                throw new FormatoInvalidoException("Cupo inválido en curso " + idCurso);
+            }
 
             // Inicializar arreglo de alumnos inscritos en memoria
             this.alumnosInscritos = new Alumno[numeroEstudiantesMax];
             this.contadorAlumnos = 0;
+            this.indiceInscritos = null;
 
             // Inicializar estructura para IDs guardados
             this.idsAlumnosGuardados = new int[numeroEstudiantesMax];
@@ -572,24 +959,111 @@ public class Curso implements Identificable, Persistible {
             this.idProfesorGuardado = -1;
 
             // Si hay info extra (profesor y alumnos), la procesamos
-            if (partes.length >= 13) {
-                this.idProfesorGuardado = Integer.parseInt(partes[12]);
+            if (!lector.siguienteVacio('|')) {
+                this.idProfesorGuardado = lector.siguienteEntero('|');
+            } else if (lector.hayMas()) {
+                lector.siguienteTexto('|');
             }
-            if (partes.length >= 14 && partes[13] != null && !partes[13].isEmpty()) {
-                String[] ids = partes[13].split(",");
-                for (int i = 0; i < ids.length && i < numeroEstudiantesMax; i++) {
+            if (!lector.siguienteVacio('|')) {
+                int limite = lector.abrirCampo('|');
+                while (lector.hayMas() && contadorAlumnosGuardados < numeroEstudiantesMax) {
                     try {
                         this.idsAlumnosGuardados[contadorAlumnosGuardados] =
-                                Integer.parseInt(ids[i].trim());
+                                lector.siguienteEntero(',');
                         contadorAlumnosGuardados++;
-                    } catch (NumberFormatException e) {
+                    } catch (FormatoInvalidoException e) {
                         // ignoramos IDs mal formados
                     }
                 }
+                lector.cerrarCampo(limite);
             }
 
-        } catch (NumberFormatException e) {
+        } catch (FormatoInvalidoException e) {
             throw new FormatoInvalidoException("Error al parsear Curso: " + linea);
         }
     }
+
+    /**
+     * Escribe el curso en formato binario: los mismos campos que
+     * {@link #toLineaTexto()}, con fechas como número de día y la lista
+     * de alumnos como cantidad seguida de sus IDs.
+     *
+     * @param salida Flujo donde se escriben los datos.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    @Override
+    public void escribirBinario(java.io.DataOutput salida) throws java.io.IOException {
+        FormatoBinario.escribirEntero(salida, idCurso);
+        FormatoBinario.escribirCadena(salida, nombre);
+        FormatoBinario.escribirCadena(salida, categoria);
+        FormatoBinario.escribirCadena(salida, nivel);
+        FormatoBinario.escribirCadena(salida, horario);
+        FormatoBinario.escribirCadena(salida, plataforma);
+        FormatoBinario.escribirEntero(salida, numeroEstudiantesMax);
+        FormatoBinario.escribirCadena(salida, descripcion);
+        FormatoBinario.escribirFecha(salida, fechaInicioInscripciones);
+        FormatoBinario.escribirFecha(salida, fechaFinInscripciones);
+        FormatoBinario.escribirFecha(salida, fechaInicioCurso);
+        FormatoBinario.escribirFecha(salida, fechaFinCurso);
+        FormatoBinario.escribirEntero(salida,
+                (profesorAsignado != null) ? profesorAsignado.getId() : -1);
+
+        int inscritos = 0;
+        for (int i = 0; i < contadorAlumnos; i++) {
+            if (alumnosInscritos[i] != null) inscritos++;
+        }
+        FormatoBinario.escribirVarInt(salida, inscritos);
+        for (int i = 0; i < contadorAlumnos; i++) {
+            if (alumnosInscritos[i] != null) {
+                FormatoBinario.escribirEntero(salida, alumnosInscritos[i].getId());
+            }
+        }
+    }
+
+    /**
+     * Reconstruye el curso a partir de sus datos en formato binario. Igual
+     * que {@link #fromLineaTexto(String)}, deja el profesor y los alumnos
+     * como IDs guardados para reestablecer las relaciones después.
+     *
+     * @param entrada Flujo de donde se leen los datos.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    public void leerBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        this.idCurso = FormatoBinario.leerEntero(entrada);
+        this.nombre = FormatoBinario.leerCadena(entrada);
+        this.categoria = FormatoBinario.leerCadena(entrada);
+        this.nivel = FormatoBinario.leerCadena(entrada);
+        this.horario = FormatoBinario.leerCadena(entrada);
+        this.plataforma = FormatoBinario.leerCadena(entrada);
+        this.numeroEstudiantesMax = FormatoBinario.leerEntero(entrada);
+        this.descripcion = FormatoBinario.leerCadena(entrada);
+        this.fechaInicioInscripciones = FormatoBinario.leerFecha(entrada);
+        this.fechaFinInscripciones = FormatoBinario.leerFecha(entrada);
+        this.fechaInicioCurso = FormatoBinario.leerFecha(entrada);
+        this.fechaFinCurso = FormatoBinario.leerFecha(entrada);
+        codificarCatalogos();
+        franja = FranjaHoraria.intentarLeer(horario);
+        if (numeroEstudiantesMax < 0) {
+            throw new FormatoInvalidoException("Cupo inválido en curso " + idCurso);
+        }
+
+        this.alumnosInscritos = new Alumno[numeroEstudiantesMax];
+        this.contadorAlumnos = 0;
+        this.indiceInscritos = null;
+        this.idProfesorGuardado = FormatoBinario.leerEntero(entrada);
+
+        // A diferencia del texto, aquí se conoce la cantidad de IDs de antemano.
+        int inscritos = FormatoBinario.leerCantidad(entrada);
+        this.idsAlumnosGuardados = new int[Math.min(inscritos, numeroEstudiantesMax)];
+        this.contadorAlumnosGuardados = 0;
+        for (int i = 0; i < inscritos; i++) {
+            int id = FormatoBinario.leerEntero(entrada);
+            if (contadorAlumnosGuardados < numeroEstudiantesMax) {
+                idsAlumnosGuardados[contadorAlumnosGuardados++] = id;
+            }
+        }
+    }
 }
@@ -9,9 +9,11 @@ public class DatosInvalidosException extends Exception {
     /**
      * Constructor de la excepción.
      *
+     * La traza de la pila se captura según {ConfiguracionExcepciones#CON_TRAZA}.
+     *
      * @param mensaje Descripción legible del error.
      */
     public DatosInvalidosException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, true, ConfiguracionExcepciones.CON_TRAZA);
     }
 }
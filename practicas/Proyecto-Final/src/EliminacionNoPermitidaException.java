@@ -9,9 +9,11 @@ public class EliminacionNoPermitidaException extends Exception {
     /**
      * Constructor de la excepción.
      *
+     * La traza de la pila se captura según {ConfiguracionExcepciones#CON_TRAZA}.
+     *
      * @param mensaje Descripción legible del error.
      */
     public EliminacionNoPermitidaException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, true, ConfiguracionExcepciones.CON_TRAZA);
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+/**
+ * Clase Auxiliar: EnlacesDiferidos
+ *
+ * Relaciones entre cursos, profesores y alumnos que todavía no se
+ * reconstruyen porque los cursos se cargaron de un respaldo mapeado
+ * ({RepositorioBase#cargarSnapshotMapeado(String)}) y siguen sin
+ * construirse. La crea {Rehidratador#rehidratarDiferido(RepositorioProfesores,
+ * RepositorioAlumnos, RepositorioCursos)}.
+ *
+ * Cada curso se enlaza con su profesor y sus alumnos en cuanto se
+ * construye ({enlazarCurso(Curso)}), así que consultar un curso solo
+ * construye a los alumnos y al profesor que aparecen en él.
+ *
+ * El lado inverso (los cursos de cada alumno, y los cursos asignados y la
+ * agenda de cada profesor) depende de todos los cursos, así que se
+ * completa de una sola vez con {completar()}: lo invoca el primer curso,
+ * alumno o profesor de la carga que lee o modifica ese lado. Hasta
+ * entonces, buscar y mostrar elementos no recorre el respaldo completo.
+ */
+final class EnlacesDiferidos {
+
+    private final RepositorioProfesores repoProfesores;
+    private final RepositorioAlumnos repoAlumnos;
+    private final RepositorioCursos repoCursos;
+
+    /** true en cuanto empieza {completar()}. */
+    private volatile boolean completo;
+
+    /**
+     * Constructor de los enlaces pendientes de una carga.
+     *
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     */
+    EnlacesDiferidos(RepositorioProfesores repoProfesores,
+                     RepositorioAlumnos repoAlumnos,
+                     RepositorioCursos repoCursos) {
+        this.repoProfesores = repoProfesores;
+        this.repoAlumnos = repoAlumnos;
+        this.repoCursos = repoCursos;
+    }
+
+    /**
+     * Enlaza un curso recién construido con su profesor y sus alumnos
+     * guardados, y lo deja pendiente de su lado inverso.
+     *
+     * @param c Curso construido.
+     */
+    void enlazarCurso(Curso c) {
+        Rehidratador.enlazarCurso(c, repoProfesores, repoAlumnos);
+        c.setEnlacesPendientes(this);
+    }
+
+    /**
+     * Marca a un alumno de la carga para que complete los enlaces antes
+     * de leer o modificar sus cursos.
+     *
+     * @param a Alumno construido.
+     */
+    void registrar(Alumno a) {
+        if (!completo) a.setEnlacesPendientes(this);
+    }
+
+    /**
+     * Marca a un profesor de la carga para que complete los enlaces antes
+     * de leer o modificar sus cursos asignados.
+     *
+     * @param p Profesor construido.
+     */
+    void registrar(Profesor p) {
+        if (!completo) p.setEnlacesPendientes(this);
+    }
+
+    /**
+     * Método Calculador: completar
+     *
+     * Construye los cursos que sigan pendientes (cada uno se enlaza al
+     * construirse) y registra cada curso de la carga en su profesor y en
+     * sus alumnos. Solo trabaja la primera vez; las siguientes llamadas
+     * regresan de inmediato.
+     */
+    void completar() {
+        if (completo) return;
+        synchronized (this) {
+            if (completo) return;
+            // Antes de todo, para que las llamadas que provoca el propio
+            // recorrido (por ejemplo, Alumno#agregarCurso) no vuelvan a entrar.
+            completo = true;
+            repoCursos.materializarTodo();
+            repoProfesores.setEnlacesDiferidos(null);
+            repoAlumnos.setEnlacesDiferidos(null);
+            repoCursos.setEnlacesDiferidos(null);
+
+            int total = repoCursos.getContador();
+            for (int i = 0; i < total; i++) {
+                Curso c = repoCursos.elementoEn(i);
+                if (c.getEnlacesPendientes() == this) {
+                    c.setEnlacesPendientes(null);
+                    c.enlazarLadoInverso();
+                }
+            }
+        }
+    }
+
+    /**
+     * Indica si los enlaces ya se completaron.
+     *
+     * @return true si ya se invocó {completar()}.
+     */
+    boolean estaCompleto() {
+        return completo;
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Clase Auxiliar: EntradaBinaria
+ *
+ * Implementación de {java.io.DataInput} sobre un {java.nio.ByteBuffer}.
+ * A diferencia de {java.io.DataInputStream}, no sincroniza cada lectura
+ * de byte y permite decodificar cadenas directamente desde el búfer, por
+ * lo que es la forma rápida de leer respaldos binarios (ver {FormatoBinario}),
+ * tanto desde un arreglo en memoria como desde un archivo mapeado.
+ */
+public class EntradaBinaria implements java.io.DataInput {
+
+    /** Búfer del que se leen los datos. */
+    private final java.nio.ByteBuffer bufer;
+
+    /** Copia de {bufer} (mismos datos) para calcular CRC de rangos. */
+    private java.nio.ByteBuffer vista;
+
+    /**
+     * Constructor de la entrada.
+     *
+     * @param bufer Búfer posicionado al inicio de los datos a leer.
+     */
+    public EntradaBinaria(java.nio.ByteBuffer bufer) {
+        this.bufer = bufer;
+    }
+
+    /**
+     * Método Calculador: desdeArchivo
+     *
+     * Lee un archivo completo en memoria con un solo acceso al canal.
+     *
+     * @param archivo Archivo a leer.
+     * @return Entrada posicionada al inicio del archivo.
+     * @throws java.io.IOException Si ocurre un error de lectura o el archivo
+     *                             excede 2 GB.
+     */
+    public static EntradaBinaria desdeArchivo(java.io.File archivo) throws java.io.IOException {
+        java.nio.channels.FileChannel canal = java.nio.channels.FileChannel.open(
+                archivo.toPath(), java.nio.file.StandardOpenOption.READ);
+        try {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                throw new java.io.IOException("Archivo demasiado grande: " + archivo);
+            }
+            java.nio.ByteBuffer bufer = java.nio.ByteBuffer.allocate((int) tamano);
+            while (bufer.hasRemaining() && canal.read(bufer) >= 0) {
+                // leer hasta llenar el búfer
+            }
+            bufer.flip();
+            return new EntradaBinaria(bufer);
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Método Calculador: mapear
+     *
+     * Mapea un archivo en memoria en modo de solo lectura. Los datos no se
+     * copian: el sistema operativo carga cada página la primera vez que se
+     * lee, por lo que abrir un archivo grande es prácticamente inmediato.
+     * El mapeo sigue siendo válido después de cerrar el canal.
+     *
+     * @param archivo Archivo a mapear.
+     * @return Entrada posicionada al inicio del archivo.
+     * @throws java.io.IOException Si ocurre un error de lectura o el archivo
+     *                             excede 2 GB.
+     */
+    public static EntradaBinaria mapear(java.io.File archivo) throws java.io.IOException {
+        java.nio.channels.FileChannel canal = java.nio.channels.FileChannel.open(
+                archivo.toPath(), java.nio.file.StandardOpenOption.READ);
+        try {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                throw new java.io.IOException("Archivo demasiado grande: " + archivo);
+            }
+            return new EntradaBinaria(canal.map(
+                    java.nio.channels.FileChannel.MapMode.READ_ONLY, 0, tamano));
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Devuelve el número total de bytes disponibles en el búfer.
+     *
+     * @return Tamaño de los datos en bytes.
+     */
+    public int getTamano() {
+        return bufer.limit();
+    }
+
+    /**
+     * Calcula el CRC32 de un rango del búfer sin mover la posición de
+     * lectura.
+     *
+     * @param crc      Calculador de CRC reutilizable.
+     * @param desde    Posición del primer byte.
+     * @param longitud Número de bytes.
+     * @return CRC32 del rango, como int.
+     */
+    public int calcularCrc(java.util.zip.CRC32 crc, int desde, int longitud) {
+        if (vista == null) {
+            vista = bufer.duplicate();
+        }
+        vista.limit(bufer.limit()).position(desde);
+        vista.limit(desde + longitud);
+        crc.reset();
+        crc.update(vista);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Devuelve cuántos bytes quedan por leer.
+     *
+     * @return Bytes restantes.
+     */
+    public int getRestantes() {
+        return bufer.remaining();
+    }
+
+    /**
+     * Devuelve la posición actual dentro del búfer.
+     *
+     * @return Posición en bytes.
+     */
+    public int getPosicion() {
+        return bufer.position();
+    }
+
+    /**
+     * Mueve la posición de lectura dentro del búfer.
+     *
+     * @param posicion Nueva posición en bytes.
+     */
+    public void setPosicion(int posicion) {
+        bufer.position(posicion);
+    }
+
+    /**
+     * Lee una cadena UTF-8 de la longitud indicada directamente del búfer.
+     *
+     * @param longitud Número de bytes de la cadena.
+     * @return Cadena decodificada.
+     * @throws java.io.EOFException Si no quedan suficientes bytes.
+     */
+    public String leerUtf8(int longitud) throws java.io.EOFException {
+        if (longitud < 0 || longitud > bufer.remaining()) {
+            throw new java.io.EOFException();
+        }
+        String texto;
+        if (bufer.hasArray()) {
+            texto = new String(bufer.array(), bufer.arrayOffset() + bufer.position(),
+                    longitud, java.nio.charset.StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[longitud];
+            bufer.get(bufer.position(), bytes);
+            texto = new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
+        }
+        bufer.position(bufer.position() + longitud);
+        return texto;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws java.io.IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws java.io.IOException {
+        if (len > bufer.remaining()) throw new java.io.EOFException();
+        bufer.get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int saltados = Math.max(0, Math.min(n, bufer.remaining()));
+        bufer.position(bufer.position() + saltados);
+        return saltados;
+    }
+
+    @Override
+    public boolean readBoolean() throws java.io.IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws java.io.IOException {
+        if (!bufer.hasRemaining()) throw new java.io.EOFException();
+        return bufer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws java.io.IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws java.io.IOException {
+        if (bufer.remaining() < 2) throw new java.io.EOFException();
+        return bufer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws java.io.IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws java.io.IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws java.io.IOException {
+        if (bufer.remaining() < 4) throw new java.io.EOFException();
+        return bufer.getInt();
+    }
+
+    @Override
+    public long readLong() throws java.io.IOException {
+        if (bufer.remaining() < 8) throw new java.io.EOFException();
+        return bufer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws java.io.IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws java.io.IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public String readLine() throws java.io.IOException {
+        if (!bufer.hasRemaining()) return null;
+        StringBuilder sb = new StringBuilder();
+        while (bufer.hasRemaining()) {
+            int c = bufer.get() & 0xFF;
+            if (c == '\n') break;
+            if (c == '\r') {
+                if (bufer.hasRemaining() && bufer.get(bufer.position()) == '\n') {
+                    bufer.get();
+                }
+                break;
+            }
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String readUTF() throws java.io.IOException {
+        return java.io.DataInputStream.readUTF(this);
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Enumeración: EstrategiaEliminacion
+ *
+ * Define cómo se cierra el hueco que deja un elemento eliminado
+ * dentro del arreglo de un {RepositorioBase}.
+ */
+public enum EstrategiaEliminacion {
+
+    /**
+     * Desplaza una posición a la izquierda todos los elementos posteriores.
+     * Conserva el orden de inserción, pero cuesta O(n) por eliminación.
+     */
+    DESPLAZAR,
+
+    /**
+     * Mueve el último elemento al hueco y corrige su posición en el índice.
+     * Cuesta O(1) por eliminación, pero no conserva el orden de inserción.
+     */
+    INTERCAMBIAR
+}
@@ -1,38 +1,82 @@
 /**
  * Clase Modelo: Fecha
  *
- * Representa una fecha simple manejando día, mes y año como enteros.
- * Ofrece operaciones básicas de comparación y conversión, así como la
- * reconstrucción desde cadenas con formato "D-M-A" o "DD-MM-AAAA".
+ * Representa una fecha del calendario gregoriano. Internamente se guarda
+ * un solo entero, el número de día (días transcurridos desde el 1-1-1970),
+ * de modo que comparar dos fechas es comparar dos enteros; el día, el mes
+ * y el año se calculan a partir de él cuando se necesitan.
  *
- * Esta clase no valida si la fecha es real en el calendario (por ejemplo,
- * no verifica meses con 30/31 días ni años bisiestos). Solamente da soporte
- * a manipulación y comparación estructural.
+ * Las fechas se validan contra el calendario (meses de 28 a 31 días y años
+ * bisiestos) y son inmutables, por lo que las fechas frecuentes se
+ * comparten: {de(int, int, int)}, {leer(LectorCampos, char)} y
+ * {desdeDiaEpoca(int)} devuelven la misma instancia para el mismo día.
+ * También admite la reconstrucción desde cadenas con formato "D-M-A" o
+ * "DD-MM-AAAA".
  */
-public class Fecha {
+public final class Fecha {
 
-    /** Día del mes. */
-    private int dia;
+    /** Primer año admitido. */
+    public static final int ANIO_MINIMO = 1;
 
-    /** Mes del año, en rango teórico 1–12. */
-    private int mes;
+    /** Último año admitido. */
+    public static final int ANIO_MAXIMO = 9999;
 
-    /** Año en cuatro dígitos. */
-    private int anio;
+    /** Número de día del 1-1 del primer año admitido. */
+    private static final int DIA_MINIMO = calcularDiaEpoca(1, 1, ANIO_MINIMO);
+
+    /** Número de día del 31-12 del último año admitido. */
+    private static final int DIA_MAXIMO = calcularDiaEpoca(31, 12, ANIO_MAXIMO);
+
+    /** Número de día del 1-1-2000, primer día del caché de instancias. */
+    private static final int BASE_CACHE = 10957;
+
+    /** Instancias compartidas de los días 1-1-2000 en adelante (unos 90 años). */
+    private static final Fecha[] CACHE = new Fecha[1 << 15];
+
+    /** Días transcurridos desde el 1-1-1970 (negativo para fechas anteriores). */
+    private final int diaEpoca;
 
     /**
      * Constructor principal de la clase.
      *
-     * No realiza validaciones de calendario; solo almacena los valores dados.
-     *
      * @param dia  Día del mes.
-     * @param mes  Mes del año.
+     * @param mes  Mes del año (1–12).
      * @param anio Año expresado en cuatro dígitos.
+     * @throws IllegalArgumentException Si la fecha no existe en el calendario.
      */
     public Fecha(int dia, int mes, int anio) {
-        this.dia = dia;
-        this.mes = mes;
-        this.anio = anio;
+        if (!esValida(dia, mes, anio)) {
+            throw new IllegalArgumentException("Fecha inexistente: " + dia + "-" + mes + "-" + anio);
+        }
+        this.diaEpoca = calcularDiaEpoca(dia, mes, anio);
+    }
+
+    /**
+     * Constructor a partir de un número de día ya validado.
+     *
+     * @param diaEpoca Días transcurridos desde el 1-1-1970.
+     */
+    private Fecha(int diaEpoca) {
+        this.diaEpoca = diaEpoca;
+    }
+
+    /**
+     * Método Calculador: de
+     *
+     * Devuelve la fecha indicada, reutilizando la instancia compartida
+     * cuando existe.
+     *
+     * @param dia  Día del mes.
+     * @param mes  Mes del año (1–12).
+     * @param anio Año expresado en cuatro dígitos.
+     * @return Fecha correspondiente.
+     * @throws IllegalArgumentException Si la fecha no existe en el calendario.
+     */
+    public static Fecha de(int dia, int mes, int anio) {
+        if (!esValida(dia, mes, anio)) {
+            throw new IllegalArgumentException("Fecha inexistente: " + dia + "-" + mes + "-" + anio);
+        }
+        return desdeDiaEpoca(calcularDiaEpoca(dia, mes, anio));
     }
 
     /**
@@ -40,25 +84,22 @@ public class Fecha {
      *
      * Construye una fecha correspondiente a la fecha actual del sistema.
      *
-     * @return Una nueva instancia de {@link Fecha} con día, mes y año actuales.
+     * @return Instancia de {@link Fecha} con día, mes y año actuales.
      */
     public static Fecha hoy() {
-        java.time.LocalDate ahora = java.time.LocalDate.now();
-        return new Fecha(ahora.getDayOfMonth(), ahora.getMonthValue(), ahora.getYear());
+        return desdeDiaEpoca((int) java.time.LocalDate.now().toEpochDay());
     }
 
     /**
      * Indica si esta fecha es estrictamente anterior a otra fecha dada.
      *
-     * La comparación se realiza en orden año → mes → día.
+     * La comparación se realiza sobre el número de día.
      *
      * @param otra Fecha contra la que se compara.
      * @return true si esta fecha es anterior a {@code otra}; false otherwise.
      */
     public boolean esAnteriorA(Fecha otra) {
-        if (this.anio != otra.anio) return this.anio < otra.anio;
-        if (this.mes != otra.mes) return this.mes < otra.mes;
-        return this.dia < otra.dia;
+        return this.diaEpoca < otra.diaEpoca;
     }
 
     /**
@@ -70,9 +111,7 @@ public class Fecha {
      * @return true si esta fecha es posterior a {@code otra}; false en caso contrario.
      */
     public boolean esPosteriorA(Fecha otra) {
-        if (this.anio != otra.anio) return this.anio > otra.anio;
-        if (this.mes != otra.mes) return this.mes > otra.mes;
-        return this.dia > otra.dia;
+        return this.diaEpoca > otra.diaEpoca;
     }
 
     /**
@@ -84,7 +123,151 @@ public class Fecha {
      * @return true si esta fecha está entre {@code inicio} y {@code fin}.
      */
     public boolean esEntre(Fecha inicio, Fecha fin) {
-        return !this.esAnteriorA(inicio) && !this.esPosteriorA(fin);
+        return this.diaEpoca >= inicio.diaEpoca && this.diaEpoca <= fin.diaEpoca;
+    }
+
+    /**
+     * Devuelve el número de día de la fecha: cantidad de días transcurridos
+     * desde el 1-1-1970 (negativo para fechas anteriores). Se usa para
+     * comparar fechas y para guardarlas en formato binario.
+     *
+     * @return Número de día de la fecha.
+     */
+    public int getDiaEpoca() {
+        return diaEpoca;
+    }
+
+    /**
+     * Devuelve el día del mes.
+     *
+     * @return Día del mes (1–31).
+     */
+    public int getDia() {
+        return componentes()[0];
+    }
+
+    /**
+     * Devuelve el mes del año.
+     *
+     * @return Mes del año (1–12).
+     */
+    public int getMes() {
+        return componentes()[1];
+    }
+
+    /**
+     * Devuelve el año.
+     *
+     * @return Año en cuatro dígitos.
+     */
+    public int getAnio() {
+        return componentes()[2];
+    }
+
+    /**
+     * Método Calculador: esValida
+     *
+     * Indica si el día, mes y año forman una fecha que existe en el
+     * calendario gregoriano, dentro de los años admitidos.
+     *
+     * @param dia  Día del mes.
+     * @param mes  Mes del año.
+     * @param anio Año.
+     * @return true si la fecha existe.
+     */
+    public static boolean esValida(int dia, int mes, int anio) {
+        if (anio < ANIO_MINIMO || anio > ANIO_MAXIMO) return false;
+        if (mes < 1 || mes > 12) return false;
+        return dia >= 1 && dia <= diasDelMes(mes, anio);
+    }
+
+    /**
+     * Devuelve la cantidad de días de un mes.
+     *
+     * @param mes  Mes del año (1–12).
+     * @param anio Año, para saber si febrero tiene 29 días.
+     * @return Días del mes.
+     */
+    private static int diasDelMes(int mes, int anio) {
+        if (mes == 2) {
+            boolean bisiesto = (anio % 4 == 0 && anio % 100 != 0) || anio % 400 == 0;
+            return bisiesto ? 29 : 28;
+        }
+        return (mes == 4 || mes == 6 || mes == 9 || mes == 11) ? 30 : 31;
+    }
+
+    /**
+     * Convierte día, mes y año (ya validados) en número de día.
+     */
+    private static int calcularDiaEpoca(int dia, int mes, int anio) {
+        int a = (mes <= 2) ? anio - 1 : anio;
+        int era = Math.floorDiv(a, 400);
+        int anioDeEra = a - era * 400;
+        int diaDelAnio = (153 * (mes + (mes > 2 ? -3 : 9)) + 2) / 5 + dia - 1;
+        int diaDeEra = anioDeEra * 365 + anioDeEra / 4 - anioDeEra / 100 + diaDelAnio;
+        return era * 146097 + diaDeEra - 719468;
+    }
+
+    /**
+     * Método Calculador: desdeDiaEpoca
+     *
+     * Devuelve la fecha correspondiente a un número de día obtenido con
+     * {@link #getDiaEpoca()}, reutilizando la instancia compartida cuando
+     * existe.
+     *
+     * @param diaEpoca Días transcurridos desde el 1-1-1970.
+     * @return Fecha correspondiente.
+     * @throws IllegalArgumentException Si el día cae fuera de los años admitidos.
+     */
+    public static Fecha desdeDiaEpoca(int diaEpoca) {
+        int pos = diaEpoca - BASE_CACHE;
+        if (pos >= 0 && pos < CACHE.length) {
+            Fecha f = CACHE[pos];
+            if (f == null) {
+                // Carrera benigna: la fecha es inmutable y cualquier copia sirve.
+                f = new Fecha(diaEpoca);
+                CACHE[pos] = f;
+            }
+            return f;
+        }
+        if (diaEpoca < DIA_MINIMO || diaEpoca > DIA_MAXIMO) {
+            throw new IllegalArgumentException("Número de día fuera de rango: " + diaEpoca);
+        }
+        return new Fecha(diaEpoca);
+    }
+
+    /**
+     * Calcula día, mes y año a partir del número de día.
+     *
+     * @return Arreglo {día, mes, año}.
+     */
+    private int[] componentes() {
+        int z = diaEpoca + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int diaDeEra = z - era * 146097;
+        int anioDeEra = (diaDeEra - diaDeEra / 1460 + diaDeEra / 36524 - diaDeEra / 146096) / 365;
+        int diaDelAnio = diaDeEra - (365 * anioDeEra + anioDeEra / 4 - anioDeEra / 100);
+        int mp = (5 * diaDelAnio + 2) / 153;
+        int d = diaDelAnio - (153 * mp + 2) / 5 + 1;
+        int m = mp < 10 ? mp + 3 : mp - 9;
+        int a = anioDeEra + era * 400 + (m <= 2 ? 1 : 0);
+        return new int[] { d, m, a };
+    }
+
+    /**
+     * Dos fechas son iguales si corresponden al mismo día.
+     *
+     * @param o Objeto a comparar.
+     * @return true si {@code o} es una fecha del mismo día.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof Fecha) && ((Fecha) o).diaEpoca == diaEpoca;
+    }
+
+    @Override
+    public int hashCode() {
+        return diaEpoca;
     }
 
     /**
@@ -94,33 +277,60 @@ public class Fecha {
      */
     @Override
     public String toString() {
-        return dia + "-" + mes + "-" + anio;
+        int[] c = componentes();
+        return c[0] + "-" + c[1] + "-" + c[2];
     }
 
     /**
      * Método Calculador: fromString
      *
      * Construye una fecha a partir de una cadena con formato "D-M-A" o
-     * "DD-MM-AAAA". No valida coherencia de la fecha en calendario.
+     * "DD-MM-AAAA".
      *
      * @param s Cadena que contiene una fecha separada por guiones.
-     * @return Nueva instancia de la clase {@link Fecha}.
-     * @throws FormatoInvalidoException Si la cadena no contiene exactamente 3 partes
-     *                                  o si alguno de los elementos no es numérico.
+     * @return Fecha correspondiente.
+     * @throws FormatoInvalidoException Si la cadena no contiene exactamente 3 partes,
+     *                                  si alguno de los elementos no es numérico
+     *                                  o si la fecha no existe en el calendario.
      */
     public static Fecha fromString(String s) throws FormatoInvalidoException {
-        String[] partes = s.split("-");
-        if (partes.length != 3) {
-            throw new FormatoInvalidoException("Fecha inválida: " + s);
+        LectorCampos lector = new LectorCampos(s);
+        try {
+            Fecha f = leer(lector, '|');
+            if (!lector.hayMas()) {
+                return f;
+            }
+        } catch (FormatoInvalidoException e) {
+            // se reporta abajo con el texto completo
         }
+        throw new FormatoInvalidoException("Fecha inválida: " + s);
+    }
 
-        try {
-            int d = Integer.parseInt(partes[0]);
-            int m = Integer.parseInt(partes[1]);
-            int a = Integer.parseInt(partes[2]);
-            return new Fecha(d, m, a);
-        } catch (NumberFormatException e) {
-            throw new FormatoInvalidoException("Fecha inválida: " + s);
+    /**
+     * Método Calculador: leer
+     *
+     * Lee una fecha "D-M-A" que ocupa el siguiente campo de un
+     * {LectorCampos}, sin crear cadenas intermedias.
+     *
+     * @param lector Lector posicionado al inicio del campo de la fecha.
+     * @param sep    Separador que delimita el campo de la fecha.
+     * @return Fecha correspondiente.
+     * @throws FormatoInvalidoException Si el campo no contiene exactamente
+     *                                  3 partes numéricas o si la fecha no
+     *                                  existe en el calendario.
+     */
+    public static Fecha leer(LectorCampos lector, char sep) throws FormatoInvalidoException {
+        int limite = lector.abrirCampo(sep);
+        int d = lector.siguienteEntero('-');
+        int m = lector.siguienteEntero('-');
+        int a = lector.siguienteEntero('-');
+        if (lector.hayMas()) {
+            throw new FormatoInvalidoException("Fecha inválida: demasiadas partes.");
+        }
+        lector.cerrarCampo(limite);
+        if (!esValida(d, m, a)) {
+            throw new FormatoInvalidoException("Fecha inexistente: " + d + "-" + m + "-" + a);
         }
+        return desdeDiaEpoca(calcularDiaEpoca(d, m, a));
     }
 }
@@ -0,0 +1,438 @@
+/**
+ * Clase Calculadora: FormatoBinario
+ *
+ * Reúne las reglas de codificación del formato binario de respaldo
+ * (snapshot) de los repositorios:
+ *
+ *   - Encabezado: número mágico "ICCS", versión (1 byte), secuencia
+ *     de la bitácora (varint largo, enmarcada como un registro, con su
+ *     CRC) y cantidad de registros (varint). La secuencia es la del último
+ *     registro de la {Bitacora} incluido en el respaldo; al reproducir la
+ *     bitácora, los registros hasta ella se saltan.
+ *   - Cada registro: longitud en bytes (varint), los datos escritos por
+ *     {Persistible#escribirBinario(java.io.DataOutput)}, que siempre
+ *     comienzan con el id del elemento (zigzag), y el CRC32 de esos datos
+ *     (4 bytes). Así un lector puede indexar el archivo sin decodificar
+ *     cada registro y aun así descartar un respaldo dañado al abrirlo.
+ *   - Enteros como varint (7 bits por byte); los que pueden ser
+ *     negativos, con codificación zigzag.
+ *   - Cadenas con prefijo de longitud y bytes UTF-8.
+ *   - Fechas como número de día (días desde el 1-1-1970).
+ */
+public final class FormatoBinario {
+
+    private FormatoBinario() {}
+
+    /** Número mágico del archivo: los bytes "ICCS". */
+    public static final int MAGICO = 0x49434353;
+
+    /**
+     * Versión actual del formato (la 2 agregó el CRC de cada registro y la
+     * 3, la secuencia de la bitácora).
+     */
+    public static final int VERSION = 3;
+
+    /** Versión más antigua que todavía se puede leer. */
+    private static final int VERSION_MINIMA = 2;
+
+    /**
+     * Escribe el encabezado del archivo.
+     *
+     * @param salida    Flujo de salida.
+     * @param registros Número de registros que seguirán.
+     * @param secuencia Secuencia del último registro de la bitácora incluido.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirEncabezado(java.io.DataOutput salida, int registros, long secuencia)
+            throws java.io.IOException {
+        salida.writeInt(MAGICO);
+        salida.writeByte(VERSION);
+        BuferRegistro datos = new BuferRegistro(16);
+        escribirVarLong(new java.io.DataOutputStream(datos), secuencia);
+        datos.volcarConLongitudYCrc(salida, new java.util.zip.CRC32());
+        escribirVarInt(salida, registros);
+    }
+
+    /**
+     * Lee y valida el encabezado del archivo hasta la secuencia; la
+     * cantidad de registros se lee después con
+     * {leerCantidad(java.io.DataInput)}. Un respaldo de la versión 2 no
+     * tiene secuencia y se toma como 0.
+     *
+     * @param entrada Entrada posicionada al inicio del archivo.
+     * @return Secuencia de la bitácora guardada en el respaldo.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el número mágico o la versión no
+     *                                  coinciden, o la secuencia está dañada.
+     */
+    public static long leerEncabezado(EntradaBinaria entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        if (entrada.readInt() != MAGICO) {
+            throw new FormatoInvalidoException("El archivo no es un respaldo binario válido.");
+        }
+        int version = entrada.readUnsignedByte();
+        if (version < VERSION_MINIMA || version > VERSION) {
+            throw new FormatoInvalidoException("Versión de respaldo no soportada: " + version);
+        }
+        if (version < 3) return 0;
+        int longitud = abrirRegistro(entrada, new java.util.zip.CRC32());
+        int inicio = entrada.getPosicion();
+        long secuencia = leerVarLong(entrada);
+        if (secuencia < 0 || entrada.getPosicion() != inicio + longitud) {
+            throw new FormatoInvalidoException("Secuencia inválida en el encabezado del respaldo.");
+        }
+        cerrarRegistro(entrada, inicio, longitud);
+        return secuencia;
+    }
+
+    /**
+     * Método Calculador: leerCantidad
+     *
+     * Lee un varint que indica cuántos bytes o elementos siguen, y lo
+     * valida antes de que se use para crear un arreglo: debe ser no
+     * negativo y, si la entrada es una {EntradaBinaria} (que sabe cuántos
+     * bytes le quedan), no mayor que los bytes restantes, porque cada
+     * elemento ocupa al menos un byte. Así un respaldo dañado se reporta
+     * como formato inválido en lugar de agotar la memoria.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Cantidad leída.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si la cantidad es imposible.
+     */
+    public static int leerCantidad(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int cantidad = leerVarInt(entrada);
+        verificarCantidad(entrada, cantidad);
+        return cantidad;
+    }
+
+    /**
+     * Verifica que una cantidad leída del archivo sea posible (ver
+     * {leerCantidad(java.io.DataInput)}).
+     *
+     * @param entrada  Flujo del que se leyó.
+     * @param cantidad Cantidad de bytes o elementos que siguen.
+     * @throws FormatoInvalidoException Si la cantidad es negativa o mayor
+     *                                  que los bytes restantes.
+     */
+    public static void verificarCantidad(java.io.DataInput entrada, int cantidad)
+            throws FormatoInvalidoException {
+        if (cantidad < 0 || (entrada instanceof EntradaBinaria
+                && cantidad > ((EntradaBinaria) entrada).getRestantes())) {
+            throw new FormatoInvalidoException("Cantidad inválida en el respaldo: " + cantidad);
+        }
+    }
+
+    /**
+     * Método Calculador: abrirRegistro
+     *
+     * Lee la longitud de un registro, comprueba el CRC de sus datos y deja
+     * la entrada al inicio de ellos. Después de leer los datos, el CRC se
+     * salta con {cerrarRegistro(EntradaBinaria, int, int)}.
+     *
+     * @param entrada Entrada posicionada al inicio del registro.
+     * @param crc     Calculador de CRC reutilizable.
+     * @return Longitud de los datos del registro.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el registro está incompleto o su
+     *                                  CRC no coincide.
+     */
+    public static int abrirRegistro(EntradaBinaria entrada, java.util.zip.CRC32 crc)
+            throws java.io.IOException, FormatoInvalidoException {
+        int longitud = leerCantidad(entrada);
+        int inicio = entrada.getPosicion();
+        if (longitud > entrada.getRestantes() - 4) {
+            throw new FormatoInvalidoException("Registro incompleto en el respaldo.");
+        }
+        entrada.setPosicion(inicio + longitud);
+        int guardado = entrada.readInt();
+        if (entrada.calcularCrc(crc, inicio, longitud) != guardado) {
+            throw new FormatoInvalidoException("Registro dañado en el respaldo (CRC distinto).");
+        }
+        entrada.setPosicion(inicio);
+        return longitud;
+    }
+
+    /**
+     * Coloca la entrada después de un registro abierto con
+     * {abrirRegistro(EntradaBinaria, java.util.zip.CRC32)}, saltando su CRC.
+     *
+     * @param entrada  Entrada del respaldo.
+     * @param inicio   Posición de los datos del registro.
+     * @param longitud Longitud de los datos.
+     */
+    public static void cerrarRegistro(EntradaBinaria entrada, int inicio, int longitud) {
+        entrada.setPosicion(inicio + longitud + 4);
+    }
+
+    /**
+     * Escribe un entero no negativo en formato varint.
+     *
+     * @param salida Flujo de salida.
+     * @param valor  Valor a escribir (se trata como sin signo).
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirVarInt(java.io.DataOutput salida, int valor)
+            throws java.io.IOException {
+        while ((valor & ~0x7F) != 0) {
+            salida.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.writeByte(valor);
+    }
+
+    /**
+     * Lee un entero escrito con {escribirVarInt(java.io.DataOutput, int)}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Valor leído.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el varint ocupa más de 5 bytes.
+     */
+    public static int leerVarInt(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 35; desplazamiento += 7) {
+            int b = entrada.readUnsignedByte();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new FormatoInvalidoException("Entero varint mal formado.");
+    }
+
+    /**
+     * Escribe un entero largo no negativo en formato varint.
+     *
+     * @param salida Flujo de salida.
+     * @param valor  Valor a escribir (se trata como sin signo).
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirVarLong(java.io.DataOutput salida, long valor)
+            throws java.io.IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.writeByte((int) (valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.writeByte((int) valor);
+    }
+
+    /**
+     * Lee un entero largo escrito con {escribirVarLong(java.io.DataOutput, long)}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Valor leído.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el varint ocupa más de 10 bytes.
+     */
+    public static long leerVarLong(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 70; desplazamiento += 7) {
+            int b = entrada.readUnsignedByte();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new FormatoInvalidoException("Entero varint mal formado.");
+    }
+
+    /**
+     * Escribe un entero que puede ser negativo (por ejemplo, -1 como
+     * "sin profesor") usando codificación zigzag.
+     *
+     * @param salida Flujo de salida.
+     * @param valor  Valor a escribir.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirEntero(java.io.DataOutput salida, int valor)
+            throws java.io.IOException {
+        escribirVarInt(salida, (valor << 1) ^ (valor >> 31));
+    }
+
+    /**
+     * Lee un entero escrito con {escribirEntero(java.io.DataOutput, int)}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Valor leído.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el varint está mal formado.
+     */
+    public static int leerEntero(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int z = leerVarInt(entrada);
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    /**
+     * Escribe una cadena como longitud + bytes UTF-8. La longitud se guarda
+     * sumando 1 para poder distinguir {@code null} (0) de la cadena vacía (1).
+     *
+     * @param salida Flujo de salida.
+     * @param texto  Cadena a escribir (puede ser null).
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirCadena(java.io.DataOutput salida, String texto)
+            throws java.io.IOException {
+        if (texto == null) {
+            escribirVarInt(salida, 0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        escribirVarInt(salida, bytes.length + 1);
+        salida.write(bytes);
+    }
+
+    /**
+     * Lee una cadena escrita con {escribirCadena(java.io.DataOutput, String)}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Cadena leída (puede ser null).
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si la longitud está mal formada o
+     *                                  excede los bytes restantes.
+     */
+    public static String leerCadena(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int longitud = leerVarInt(entrada);
+        if (longitud == 0) return null;
+        verificarCantidad(entrada, longitud - 1);
+        if (entrada instanceof EntradaBinaria) {
+            return ((EntradaBinaria) entrada).leerUtf8(longitud - 1);
+        }
+        return new String(leerBytes(entrada, longitud - 1), java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee {n} bytes de un flujo cuyo tamaño no se conoce, haciendo crecer
+     * el arreglo conforme llegan los datos; una longitud dañada termina en
+     * fin de archivo y no en un arreglo enorme.
+     */
+    private static byte[] leerBytes(java.io.DataInput entrada, int n) throws java.io.IOException {
+        byte[] bytes = new byte[Math.min(n, 1 << 12)];
+        int leidos = 0;
+        while (leidos < n) {
+            if (leidos == bytes.length) {
+                bytes = java.util.Arrays.copyOf(bytes, (int) Math.min(n, 2L * bytes.length));
+            }
+            int k = bytes.length - leidos;
+            entrada.readFully(bytes, leidos, k);
+            leidos += k;
+        }
+        return bytes;
+    }
+
+    /**
+     * Escribe una lista de cadenas: cantidad + 1 (0 para {@code null})
+     * seguida de cada cadena.
+     *
+     * @param salida  Flujo de salida.
+     * @param valores Cadenas a escribir (puede ser null).
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirListaCadenas(java.io.DataOutput salida, String[] valores)
+            throws java.io.IOException {
+        if (valores == null) {
+            escribirVarInt(salida, 0);
+            return;
+        }
+        escribirVarInt(salida, valores.length + 1);
+        for (int i = 0; i < valores.length; i++) {
+            escribirCadena(salida, valores[i]);
+        }
+    }
+
+    /**
+     * Lee una lista escrita con {escribirListaCadenas(java.io.DataOutput, String[])}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Arreglo de cadenas (puede ser null).
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si algún varint está mal formado o la
+     *                                  cantidad excede los bytes restantes.
+     */
+    public static String[] leerListaCadenas(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int cantidad = leerVarInt(entrada);
+        if (cantidad == 0) return null;
+        verificarCantidad(entrada, cantidad - 1);
+        // Sin tamaño conocido, el arreglo crece conforme se leen las cadenas.
+        String[] valores = new String[(entrada instanceof EntradaBinaria)
+                ? cantidad - 1 : Math.min(cantidad - 1, 16)];
+        for (int i = 0; i < cantidad - 1; i++) {
+            if (i == valores.length) {
+                valores = java.util.Arrays.copyOf(valores, (int) Math.min(cantidad - 1, 2L * i));
+            }
+            valores[i] = leerCadena(entrada);
+        }
+        return valores;
+    }
+
+    /**
+     * Escribe una fecha como su número de día.
+     *
+     * @param salida Flujo de salida.
+     * @param fecha  Fecha a escribir.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public static void escribirFecha(java.io.DataOutput salida, Fecha fecha)
+            throws java.io.IOException {
+        escribirEntero(salida, fecha.getDiaEpoca());
+    }
+
+    /**
+     * Lee una fecha escrita con {escribirFecha(java.io.DataOutput, Fecha)}.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Fecha leída.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el varint está mal formado o el
+     *                                  día cae fuera de los años admitidos.
+     */
+    public static Fecha leerFecha(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        int diaEpoca = leerEntero(entrada);
+        try {
+            return Fecha.desdeDiaEpoca(diaEpoca);
+        } catch (IllegalArgumentException e) {
+            throw new FormatoInvalidoException("Fecha inválida en el respaldo: " + diaEpoca);
+        }
+    }
+
+    /**
+     * Flujo de bytes en memoria que permite reutilizar su búfer y escribir
+     * su contenido sin copiarlo. Se usa para medir la longitud de cada
+     * registro antes de escribirlo.
+     */
+    static final class BuferRegistro extends java.io.ByteArrayOutputStream {
+
+        /**
+         * Constructor del búfer.
+         *
+         * @param capacidad Capacidad inicial en bytes.
+         */
+        BuferRegistro(int capacidad) {
+            super(capacidad);
+        }
+
+        /**
+         * Escribe el contenido del búfer precedido de su longitud y seguido
+         * de su CRC32, el marco que usan los respaldos y la bitácora.
+         *
+         * @param salida Flujo de destino.
+         * @param crc    Calculador de CRC reutilizable.
+         * @throws java.io.IOException Si ocurre un error de escritura.
+         */
+        void volcarConLongitudYCrc(java.io.DataOutput salida, java.util.zip.CRC32 crc)
+                throws java.io.IOException {
+            crc.reset();
+            crc.update(buf, 0, count);
+            escribirVarInt(salida, count);
+            salida.write(buf, 0, count);
+            salida.writeInt((int) crc.getValue());
+        }
+    }
+}
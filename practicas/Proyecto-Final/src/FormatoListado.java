@@ -0,0 +1,18 @@
+/**
+ * Enumeración: FormatoListado
+ *
+ * Define cómo muestra {RenderizadorConsola} los elementos de un listado.
+ */
+public enum FormatoListado {
+
+    /**
+     * Una ficha de varias líneas por elemento, con todos sus datos.
+     */
+    DETALLE,
+
+    /**
+     * Una línea por elemento, en columnas de ancho fijo. Útil para
+     * revisar catálogos grandes.
+     */
+    TABLA
+}
@@ -0,0 +1,153 @@
+/**
+ * Clase Modelo: FranjaHoraria
+ *
+ * Horario diario de un curso ya interpretado: minuto del día en que
+ * empieza y minuto en que termina (este último no incluido). Se obtiene
+ * una sola vez del texto "HH:MM-HH:MM" para que comparar horarios sea
+ * comparar enteros, sin volver a partir cadenas.
+ */
+public final class FranjaHoraria {
+
+    /** Minuto del día en que empieza la franja (0–1439). */
+    private final int inicio;
+
+    /** Minuto del día en que termina la franja (no incluido, hasta 1440). */
+    private final int fin;
+
+    /**
+     * Constructor de la franja.
+     *
+     * @param inicio Minuto de inicio.
+     * @param fin    Minuto de fin (no incluido).
+     * @throws IllegalArgumentException Si los minutos están fuera del día
+     *                                  o la franja está vacía.
+     */
+    public FranjaHoraria(int inicio, int fin) {
+        if (inicio < 0 || fin > 24 * 60 || inicio >= fin) {
+            throw new IllegalArgumentException("Franja horaria inválida: " + inicio + "-" + fin);
+        }
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * Método Calculador: desdeTexto
+     *
+     * Interpreta un horario con formato "HH:MM-HH:MM".
+     *
+     * @param horario Texto del horario.
+     * @return Franja correspondiente.
+     * @throws DatosInvalidosException Si el texto no tiene el formato esperado
+     *                                 o la hora de fin no es posterior a la de inicio.
+     */
+    public static FranjaHoraria desdeTexto(String horario) throws DatosInvalidosException {
+        if (horario == null) {
+            throw new DatosInvalidosException("El horario no puede ser nulo.");
+        }
+        int guion = horario.indexOf('-');
+        if (guion < 0 || horario.indexOf('-', guion + 1) >= 0) {
+            throw new DatosInvalidosException("Formato de horario inválido. Usa HH:MM-HH:MM");
+        }
+        int ini = minutoDelDia(horario, 0, guion);
+        int fin = minutoDelDia(horario, guion + 1, horario.length());
+        if (ini >= fin) {
+            throw new DatosInvalidosException(
+                    "La hora de inicio debe ser menor a la de fin: " + horario);
+        }
+        return new FranjaHoraria(ini, fin);
+    }
+
+    /**
+     * Método Calculador: intentarLeer
+     *
+     * Igual que {desdeTexto(String)}, pero sin excepciones; se usa al
+     * cargar datos guardados, que pueden no haber pasado la validación.
+     *
+     * @param horario Texto del horario.
+     * @return Franja correspondiente, o null si el texto no es válido.
+     */
+    public static FranjaHoraria intentarLeer(String horario) {
+        try {
+            return desdeTexto(horario);
+        } catch (DatosInvalidosException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene el minuto del día en que empieza la franja.
+     *
+     * @return Minuto de inicio.
+     */
+    public int getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Obtiene el minuto del día en que termina la franja (no incluido).
+     *
+     * @return Minuto de fin.
+     */
+    public int getFin() {
+        return fin;
+    }
+
+    /**
+     * Indica si dos franjas comparten al menos un minuto. Una franja que
+     * termina justo cuando empieza la otra no se traslapa con ella.
+     *
+     * @param otra Franja a comparar.
+     * @return true si se traslapan.
+     */
+    public boolean seTraslapaCon(FranjaHoraria otra) {
+        return inicio < otra.fin && otra.inicio < fin;
+    }
+
+    /**
+     * Devuelve la franja con formato "HH:MM-HH:MM".
+     *
+     * @return Texto del horario.
+     */
+    @Override
+    public String toString() {
+        return String.format("%02d:%02d-%02d:%02d", inicio / 60, inicio % 60, fin / 60, fin % 60);
+    }
+
+    /**
+     * Convierte "HH:MM" (entre las posiciones dadas) en minutos del día.
+     *
+     * @throws DatosInvalidosException Si el texto no es una hora válida.
+     */
+    private static int minutoDelDia(String texto, int desde, int hasta)
+            throws DatosInvalidosException {
+        int dosPuntos = texto.indexOf(':', desde);
+        if (dosPuntos < 0 || dosPuntos >= hasta) {
+            throw new DatosInvalidosException("Hora inválida: " + texto.substring(desde, hasta));
+        }
+        int h = entero(texto, desde, dosPuntos);
+        int m = entero(texto, dosPuntos + 1, hasta);
+        if (h < 0 || m < 0 || m > 59 || h > 24 || (h == 24 && m != 0)) {
+            throw new DatosInvalidosException("Hora inválida: " + texto.substring(desde, hasta));
+        }
+        return h * 60 + m;
+    }
+
+    /**
+     * Lee un entero no negativo de uno o dos dígitos, ignorando espacios
+     * alrededor.
+     *
+     * @return Valor leído, o -1 si no es un número válido.
+     */
+    private static int entero(String texto, int desde, int hasta) {
+        while (desde < hasta && texto.charAt(desde) == ' ') desde++;
+        while (hasta > desde && texto.charAt(hasta - 1) == ' ') hasta--;
+        if (hasta - desde < 1 || hasta - desde > 2) return -1;
+        int valor = 0;
+        for (int i = desde; i < hasta; i++) {
+            char ch = texto.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            valor = valor * 10 + (ch - '0');
+        }
+        return valor;
+    }
+}
@@ -12,6 +12,9 @@ public class GestorAlumnos {
     /** Repositorio donde se almacenan y gestionan los cursos. */
     private RepositorioCursos repoCursos;
 
+    /** Bitácora donde se anotan los cambios; null si no se usa. */
+    private Bitacora bitacora;
+
     /**
      * Constructor principal del gestor de alumnos.
      *
@@ -25,6 +28,24 @@ public class GestorAlumnos {
         this.repoCursos = repoCursos;
     }
 
+    /**
+     * Asigna la {Bitacora} donde se anotan los cambios hechos por este
+     * gestor. Con null (valor inicial) los cambios no se anotan.
+     *
+     * @param bitacora Bitácora de cambios, o null.
+     */
+    public void setBitacora(Bitacora bitacora) {
+        this.bitacora = bitacora;
+    }
+
+    /**
+     * Compacta la bitácora si superó su umbral, una vez terminado el
+     * cambio que se acaba de anotar ({Bitacora#compactarSiHaceFalta()}).
+     */
+    private void compactarBitacora() {
+        if (bitacora != null) bitacora.compactarSiHaceFalta();
+    }
+
     /**
      * Método Gestor: registrarAlumno
      *
@@ -50,15 +71,30 @@ public class GestorAlumnos {
         }
 
         // Verificar que el ID no esté repetido
-        try {
-            repoAlumnos.buscarPorId(alumno.getId());
+        if (repoAlumnos.contiene(alumno.getId())) {
             throw new DatosInvalidosException(
                     "Ya existe un alumno con el número de cuenta " + alumno.getId());
-        } catch (NoEncontradoException e) {
-            // OK: no existe
         }
 
         repoAlumnos.agregar(alumno);
+        if (bitacora != null) bitacora.anotarAlumno(alumno);
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: actualizarAlumno
+     *
+     * Debe llamarse después de editar los datos de un alumno con sus
+     * métodos set, para que el cambio quede registrado en la bitácora y
+     * en el índice de nombres del repositorio.
+     *
+     * @param alumno Alumno editado.
+     */
+    public void actualizarAlumno(Alumno alumno) {
+        if (alumno == null) return;
+        repoAlumnos.reindexar(alumno);
+        if (bitacora != null) bitacora.anotarAlumno(alumno);
+        compactarBitacora();
     }
 
     /**
@@ -79,7 +115,8 @@ public class GestorAlumnos {
      *
      * Elimina un alumno del sistema, siempre y cuando no se encuentre
      * inscrito en ningún curso. Si está inscrito en al menos un curso,
-     * la operación se rechaza.
+     * la operación se rechaza. La verificación usa el índice inverso
+     * del alumno ({Alumno#tieneInscripciones()}), sin recorrer los cursos.
      *
      * @param numCuenta Número de cuenta del alumno a eliminar.
      * @throws NoEncontradoException          Si no existe un alumno con ese número de cuenta.
@@ -89,20 +126,14 @@ public class GestorAlumnos {
             throws NoEncontradoException, EliminacionNoPermitidaException {
 
         Alumno a = repoAlumnos.buscarPorId(numCuenta);
-        Curso[] cursos = repoCursos.getTodos();
-
-        for (int i = 0; i < cursos.length; i++) {
-            if (cursos[i] != null) {
-                Alumno[] inscritos = cursos[i].alumnosInscritos;
-                for (int j = 0; j < cursos[i].contadorAlumnos; j++) {
-                    if (inscritos[j] != null && inscritos[j].getId() == a.getId()) {
-                        throw new EliminacionNoPermitidaException(
-                                "No se puede eliminar al alumno, está inscrito en el curso " + cursos[i].getId());
-                    }
-                }
-            }
+        if (a.tieneInscripciones()) {
+            throw new EliminacionNoPermitidaException(
+                    "No se puede eliminar al alumno, está inscrito en "
+                    + a.getInscripciones() + " curso(s).");
         }
         repoAlumnos.eliminarPorId(numCuenta);
+        if (bitacora != null) bitacora.anotarEliminarAlumno(numCuenta);
+        compactarBitacora();
     }
 
     /**
@@ -116,4 +147,27 @@ public class GestorAlumnos {
     public Alumno[] listarAlumnos() {
         return repoAlumnos.getTodos();
     }
+
+    /**
+     * Devuelve un cursor que entrega los alumnos página por página, sin
+     * posiciones vacías (ver {RepositorioBase#paginas(int)}).
+     *
+     * @param tamano Número de alumnos por página.
+     * @return Iterador de páginas de alumnos.
+     */
+    public java.util.Iterator<Pagina<Alumno>> paginarAlumnos(int tamano) {
+        return repoAlumnos.paginas(tamano);
+    }
+
+    /**
+     * Busca alumnos por su nombre, tolerando acentos, mayúsculas, nombres
+     * incompletos y errores de dedo.
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Alumnos encontrados, del más parecido al menos parecido.
+     */
+    public Alumno[] buscarAlumnosPorNombre(String consulta, int limite) {
+        return repoAlumnos.buscarPorNombreAproximado(consulta, limite);
+    }
 }
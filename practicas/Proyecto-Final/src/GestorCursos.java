@@ -15,6 +15,15 @@ public class GestorCursos {
     /** Repositorio donde se almacenan y gestionan los alumnos. */
     private RepositorioAlumnos repoAlumnos;
 
+    /** Bitácora donde se anotan los cambios; null si no se usa. */
+    private Bitacora bitacora;
+
+    /**
+     * Filas que toma cada hilo a la vez en
+     * {inscribirConcurrente(int[], int[], Fecha, int)}.
+     */
+    private static final int FILAS_POR_BLOQUE = 256;
+
     /**
      * Constructor principal del gestor de cursos.
      *
@@ -30,45 +39,107 @@ public class GestorCursos {
         this.repoAlumnos = repoAlumnos;
     }
 
+    /**
+     * Asigna la {Bitacora} donde se anotan los cambios hechos por este
+     * gestor. Con null (valor inicial) los cambios no se anotan.
+     *
+     * @param bitacora Bitácora de cambios, o null.
+     */
+    public void setBitacora(Bitacora bitacora) {
+        this.bitacora = bitacora;
+    }
+
+    /**
+     * Compacta la bitácora si superó su umbral, una vez terminado el
+     * cambio que se acaba de anotar ({Bitacora#compactarSiHaceFalta()}).
+     */
+    private void compactarBitacora() {
+        if (bitacora != null) bitacora.compactarSiHaceFalta();
+    }
+
+    /**
+     * Método Gestor: registrarCurso
+     *
+     * Registra un curso con la fecha actual del sistema como "hoy" (ver
+     * {registrarCurso(Curso, Fecha)}).
+     *
+     * @param curso Curso a registrar.
+     * @throws CapacidadLlenaException Si el repositorio de cursos no admite más registros.
+     * @throws DatosInvalidosException Si el curso es nulo, sus fechas no son
+     *                                 válidas o el ID ya existe.
+     */
+    public void registrarCurso(Curso curso)
+            throws CapacidadLlenaException, DatosInvalidosException {
+        registrarCurso(curso, Fecha.hoy());
+    }
+
     /**
      * Método Gestor: registrarCurso
      *
-     * Registra un curso verificando que no se repita el ID del curso.
+     * Registra un curso verificando sus fechas y que no se repita el ID
+     * del curso.
      *
      * Reglas:
      * 
      *     El curso no puede ser nulo.
+     *     Debe tener las cuatro fechas y cumplir {Curso#validarFechas(Fecha, Fecha, Fecha, Fecha, Fecha)}.
      *     El ID del curso debe ser único en el repositorio.
      * 
      *
      * @param curso Curso a registrar.
+     * @param hoy   Fecha actual, contra la que se revisan las fechas del curso.
      * @throws CapacidadLlenaException Si el repositorio de cursos no admite más registros.
-     * @throws DatosInvalidosException Si el curso es nulo o el ID ya existe.
+     * @throws DatosInvalidosException Si el curso es nulo, sus fechas no son
+     *                                 válidas o el ID ya existe.
      */
-    public void registrarCurso(Curso curso)
+    public void registrarCurso(Curso curso, Fecha hoy)
             throws CapacidadLlenaException, DatosInvalidosException {
 
         if (curso == null) {
             throw new DatosInvalidosException("Curso nulo.");
         }
 
+        if (curso.getFechaInicioInscripciones() == null || curso.getFechaFinInscripciones() == null
+                || curso.getFechaInicioCurso() == null || curso.getFechaFinCurso() == null) {
+            throw new DatosInvalidosException("El curso debe tener las fechas de inscripciones y de clases.");
+        }
+        Curso.validarFechas(curso.getFechaInicioInscripciones(), curso.getFechaFinInscripciones(),
+                curso.getFechaInicioCurso(), curso.getFechaFinCurso(), hoy);
+
         // Verificar ID único del curso
-        try {
-            repoCursos.buscarPorId(curso.getId());
+        if (repoCursos.contiene(curso.getId())) {
             throw new DatosInvalidosException(
                     "Ya existe un curso con el ID " + curso.getId());
-        } catch (NoEncontradoException e) {
-            // OK: no existe
         }
 
         repoCursos.agregar(curso);
+        if (bitacora != null) bitacora.anotarCurso(curso);
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: actualizarCurso
+     *
+     * Debe llamarse después de editar los datos de un curso con sus
+     * métodos set, para que el cambio quede registrado en la bitácora y
+     * en los índices de fechas del repositorio.
+     *
+     * @param curso Curso editado.
+     */
+    public void actualizarCurso(Curso curso) {
+        if (curso == null) return;
+        repoCursos.reindexar(curso);
+        curso.actualizarAgendas();
+        if (bitacora != null) bitacora.anotarCurso(curso);
+        compactarBitacora();
     }
 
     /**
      * Método Gestor: eliminarCurso
      *
      * Solo se pueden eliminar los cursos que no tengan alumnos
-     * o que ya hayan finalizado.
+     * o que ya hayan finalizado. Al eliminarlo se retira de la lista
+     * de cursos de su profesor y de sus alumnos.
      *
      * @param idCurso ID del curso a eliminar.
      * @param hoy     Fecha actual para evaluar si el curso ya terminó.
@@ -84,6 +155,38 @@ public class GestorCursos {
                     "El curso no puede eliminarse: tiene alumnos y no ha finalizado.");
         }
         repoCursos.eliminarPorId(idCurso);
+        c.desvincularTodo();
+        if (bitacora != null) bitacora.anotarEliminarCurso(idCurso);
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: eliminarCursosTerminados
+     *
+     * Elimina en bloque todos los cursos que ya finalizaron en la fecha dada.
+     * La eliminación se realiza con {RepositorioBase#eliminarVarios(int[])},
+     * por lo que el costo es lineal en el número de cursos.
+     *
+     * @param hoy Fecha actual para evaluar qué cursos ya terminaron.
+     * @return Número de cursos eliminados.
+     */
+    public int eliminarCursosTerminados(Fecha hoy) {
+        int[] ids = new int[repoCursos.getContador()];
+        int n = 0;
+        for (Curso c : repoCursos) {
+            if (c.haTerminado(hoy)) {
+                ids[n++] = c.getId();
+                c.desvincularTodo();
+            }
+        }
+        int eliminados = repoCursos.eliminarVarios(java.util.Arrays.copyOf(ids, n));
+        if (bitacora != null) {
+            for (int i = 0; i < n; i++) {
+                bitacora.anotarEliminarCurso(ids[i]);
+            }
+        }
+        compactarBitacora();
+        return eliminados;
     }
 
     /**
@@ -95,6 +198,127 @@ public class GestorCursos {
         return repoCursos.getTodos();
     }
 
+    /**
+     * Método Gestor: guardarDatos
+     *
+     * Guarda en este momento profesores, alumnos y cursos en sus respaldos
+     * binarios y archivos de texto, compactando la bitácora
+     * ({Bitacora#compactar()}). Se hace siempre a través de la bitácora
+     * para que los archivos lleven la secuencia del último cambio anotado
+     * y la bitácora quede vacía: un archivo escrito sin compactar tendría
+     * cambios que la bitácora volvería a aplicar.
+     *
+     * @throws java.io.IOException Si ocurre un error de escritura o no hay
+     *                             bitácora (entonces los datos se guardan al salir).
+     */
+    public void guardarDatos() throws java.io.IOException {
+        if (bitacora == null) {
+            throw new java.io.IOException("No hay bitácora abierta; los datos se guardarán al salir.");
+        }
+        bitacora.compactar();
+    }
+
+    /**
+     * Devuelve un cursor que entrega los cursos página por página, sin
+     * posiciones vacías (ver {RepositorioBase#paginas(int)}).
+     *
+     * @param tamano Número de cursos por página.
+     * @return Iterador de páginas de cursos.
+     */
+    public java.util.Iterator<Pagina<Curso>> paginarCursos(int tamano) {
+        return repoCursos.paginas(tamano);
+    }
+
+    /**
+     * Devuelve los cursos con la categoría, el nivel y la plataforma
+     * indicados; un valor null significa "cualquiera".
+     *
+     * @param categoria  Categoría, o null.
+     * @param nivel      Nivel, o null.
+     * @param plataforma Plataforma, o null.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] filtrarCursos(String categoria, String nivel, String plataforma) {
+        return repoCursos.filtrar(categoria, nivel, plataforma);
+    }
+
+    /**
+     * Busca cursos por palabras de su nombre o descripción (sin distinguir
+     * acentos; cada palabra también encuentra las que empiezan con ella).
+     *
+     * @param consulta Texto a buscar.
+     * @param limite   Número máximo de resultados.
+     * @return Cursos encontrados, del más relevante al menos relevante.
+     */
+    public Curso[] buscarCursos(String consulta, int limite) {
+        return repoCursos.buscarTexto(consulta, limite);
+    }
+
+    /**
+     * Devuelve los cursos con inscripciones abiertas en la fecha dada.
+     *
+     * @param hoy Fecha a consultar.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] listarCursosConInscripcionAbierta(Fecha hoy) {
+        return repoCursos.cursosConInscripcionAbierta(hoy);
+    }
+
+    /**
+     * Devuelve los cursos que están en clases en la fecha dada.
+     *
+     * @param hoy Fecha a consultar.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] listarCursosEnClases(Fecha hoy) {
+        return repoCursos.cursosEnClases(hoy);
+    }
+
+    /**
+     * Método Calculador: reporteChoques
+     *
+     * Revisa todo el catálogo y reporta cada par de cursos que choca en la
+     * agenda de un mismo profesor o alumno (datos cargados de archivos o
+     * editados después de la asignación pueden tenerlos). Cada agenda ya
+     * está ordenada por hora de inicio, así que se recorre una sola vez con
+     * {Agenda#choques()}.
+     *
+     * @return Una línea por choque; arreglo vacío si no hay ninguno.
+     */
+    public String[] reporteChoques() {
+        String[] lineas = new String[0];
+        int n = 0;
+
+        for (Profesor p : repoProfesores) {
+            if (p.getCursosAsignados() < 2) continue;
+            Curso[] pares = p.getAgenda().choques();
+            for (int k = 0; k < pares.length; k += 2) {
+                if (n == lineas.length) lineas = java.util.Arrays.copyOf(lineas, Math.max(8, n * 2));
+                lineas[n++] = "Profesor " + p.getId() + " (" + p.getNombreCompleto() + "): "
+                        + describirChoque(pares[k], pares[k + 1]);
+            }
+        }
+
+        for (Alumno a : repoAlumnos) {
+            if (a.getInscripciones() < 2) continue;
+            Curso[] pares = a.getAgenda().choques();
+            for (int k = 0; k < pares.length; k += 2) {
+                if (n == lineas.length) lineas = java.util.Arrays.copyOf(lineas, Math.max(8, n * 2));
+                lineas[n++] = "Alumno " + a.getId() + " (" + a.getNombreCompleto() + "): "
+                        + describirChoque(pares[k], pares[k + 1]);
+            }
+        }
+        return java.util.Arrays.copyOf(lineas, n);
+    }
+
+    /**
+     * Describe un choque entre dos cursos para {reporteChoques()}.
+     */
+    private static String describirChoque(Curso a, Curso b) {
+        return "curso " + a.getId() + " (" + a.getHorario() + ") choca con curso "
+                + b.getId() + " (" + b.getHorario() + ")";
+    }
+
     /**
      * Asignación de profesores (regla 2.4).
      *
@@ -116,18 +340,54 @@ public class GestorCursos {
 
         Curso c = repoCursos.buscarPorId(idCurso);
         Profesor p = repoProfesores.buscarPorId(numTrabajador);
-
-        if (c.haIniciado(hoy)) {
-            throw new AsignacionProfesorException("El curso ya inició.");
-        }
-        if (c.getProfesorAsignado() != null) {
-            throw new AsignacionProfesorException("El curso ya tiene un profesor asignado.");
+        ResultadoAsignacion r = aplicarAsignacion(c, p, hoy, false);
+        if (!r.esExito()) {
+            throw new AsignacionProfesorException(r.getMensaje());
         }
-        if (!p.puedeImpartir(c.getNivel(), c.getCategoria())) {
-            throw new AsignacionProfesorException(
-                    "El profesor no puede impartir el nivel/categoría del curso.");
+    }
+
+    /**
+     * Método Gestor: intentarAsignarProfesor
+     *
+     * Igual que {asignarProfesor(int, int, Fecha)}, pero devuelve el motivo
+     * del rechazo en lugar de lanzar una excepción.
+     *
+     * @param idCurso       ID del curso.
+     * @param numTrabajador Número de trabajador del profesor.
+     * @param hoy           Fecha actual.
+     * @return {ResultadoAsignacion#ASIGNADO} o el motivo del rechazo.
+     */
+    public ResultadoAsignacion intentarAsignarProfesor(int idCurso, int numTrabajador, Fecha hoy) {
+        return intentarAsignacion(idCurso, numTrabajador, hoy, false);
+    }
+
+    /**
+     * Método Gestor: asignarAutomaticamente
+     *
+     * Asigna profesor a todos los cursos que no lo tienen y no han
+     * iniciado, de una sola vez, con {AsignadorProfesores}: se respetan el
+     * nivel y la categoría que imparte cada profesor y que ningún profesor
+     * quede con dos cursos cuyos periodos y horarios se traslapen. Los
+     * cursos para los que no hay profesor posible quedan sin asignar.
+     *
+     * @param hoy Fecha actual.
+     * @return Número de cursos a los que se les asignó profesor.
+     */
+    public int asignarAutomaticamente(Fecha hoy) {
+        AsignadorProfesores asignador = new AsignadorProfesores(repoCursos, repoProfesores);
+        asignador.resolver(hoy);
+        Curso[] cursos = asignador.getCursos();
+        Profesor[] profesores = asignador.getAsignados();
+
+        int asignados = 0;
+        for (int i = 0; i < cursos.length; i++) {
+            if (profesores[i] == null) continue;
+            cursos[i].setProfesorAsignado(profesores[i]);
+            if (bitacora != null) bitacora.anotarAsignacion(cursos[i].getId(), profesores[i].getId());
+            asignados++;
         }
-        c.setProfesorAsignado(p);
+        compactarBitacora();
+        return asignados;
     }
 
     /**
@@ -161,16 +421,75 @@ public class GestorCursos {
 
         Curso c = repoCursos.buscarPorId(idCurso);
         Profesor p = repoProfesores.buscarPorId(numTrabajador);
+        ResultadoAsignacion r = aplicarAsignacion(c, p, hoy, true);
+        if (!r.esExito()) {
+            throw new AsignacionProfesorException(r.getMensaje());
+        }
+    }
+
+    /**
+     * Método Gestor: intentarReasignarProfesor
+     *
+     * Igual que {reasignarProfesor(int, int, Fecha)}, pero devuelve el
+     * motivo del rechazo en lugar de lanzar una excepción.
+     *
+     * @param idCurso       ID del curso.
+     * @param numTrabajador Nuevo número de trabajador del profesor.
+     * @param hoy           Fecha actual.
+     * @return {ResultadoAsignacion#ASIGNADO} o el motivo del rechazo.
+     */
+    public ResultadoAsignacion intentarReasignarProfesor(int idCurso, int numTrabajador, Fecha hoy) {
+        return intentarAsignacion(idCurso, numTrabajador, hoy, true);
+    }
+
+    /**
+     * Busca el curso y el profesor sin lanzar excepciones y aplica la
+     * asignación o reasignación.
+     */
+    private ResultadoAsignacion intentarAsignacion(int idCurso, int numTrabajador, Fecha hoy,
+                                                   boolean reasignar) {
+        int slotCurso = repoCursos.buscarPosicion(idCurso);
+        if (slotCurso == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoAsignacion.CURSO_NO_ENCONTRADO;
+        }
+        int slotProfesor = repoProfesores.buscarPosicion(numTrabajador);
+        if (slotProfesor == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoAsignacion.PROFESOR_NO_ENCONTRADO;
+        }
+        return aplicarAsignacion(repoCursos.elementoEn(slotCurso),
+                repoProfesores.elementoEn(slotProfesor), hoy, reasignar);
+    }
 
+    /**
+     * Aplica las reglas de asignación (o de reasignación, que no exige que
+     * el curso esté sin profesor) y, si se cumplen, asigna al profesor.
+     *
+     * @param c         Curso.
+     * @param p         Profesor.
+     * @param hoy       Fecha actual.
+     * @param reasignar true para reasignar.
+     * @return {ResultadoAsignacion#ASIGNADO} o la primera regla que no se cumple.
+     */
+    private ResultadoAsignacion aplicarAsignacion(Curso c, Profesor p, Fecha hoy,
+                                                  boolean reasignar) {
         if (c.haIniciado(hoy)) {
-            throw new AsignacionProfesorException("No se puede reasignar, el curso ya inició.");
+            return reasignar ? ResultadoAsignacion.REASIGNACION_INICIADA
+                             : ResultadoAsignacion.CURSO_INICIADO;
         }
-        if (!p.puedeImpartir(c.getNivel(), c.getCategoria())) {
-            throw new AsignacionProfesorException(
-                    "El profesor no puede impartir el nivel/categoría del curso.");
+        if (!reasignar && c.getProfesorAsignado() != null) {
+            return ResultadoAsignacion.CON_PROFESOR;
+        }
+        if (!p.puedeImpartir(c.getCodigoNivel(), c.getCodigoCategoria())) {
+            return ResultadoAsignacion.PROFESOR_NO_APTO;
+        }
+        if (p.getAgenda().buscarChoque(c) != null) {
+            return ResultadoAsignacion.CHOQUE_HORARIO;
         }
 
         c.setProfesorAsignado(p);
+        if (bitacora != null) bitacora.anotarAsignacion(c.getId(), p.getId());
+        compactarBitacora();
+        return ResultadoAsignacion.ASIGNADO;
     }
 
     /**
@@ -189,6 +508,229 @@ public class GestorCursos {
         Curso c = repoCursos.buscarPorId(idCurso);
         Alumno a = repoAlumnos.buscarPorId(numCuenta);
         c.inscribirAlumno(a, hoy);
+        if (bitacora != null) bitacora.anotarInscripcion(idCurso, numCuenta);
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: intentarInscribirAlumnoEnCurso
+     *
+     * Igual que {inscribirAlumnoEnCurso(int, int, Fecha)}, pero devuelve el
+     * motivo del rechazo en lugar de lanzar una excepción.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     * @param hoy       Fecha actual.
+     * @return {ResultadoInscripcion#INSCRITO} o el motivo del rechazo.
+     */
+    public ResultadoInscripcion intentarInscribirAlumnoEnCurso(int idCurso, int numCuenta, Fecha hoy) {
+        int slotCurso = repoCursos.buscarPosicion(idCurso);
+        if (slotCurso == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoInscripcion.CURSO_NO_ENCONTRADO;
+        }
+        int slotAlumno = repoAlumnos.buscarPosicion(numCuenta);
+        if (slotAlumno == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoInscripcion.ALUMNO_NO_ENCONTRADO;
+        }
+        ResultadoInscripcion r = repoCursos.elementoEn(slotCurso)
+                .intentarInscribir(repoAlumnos.elementoEn(slotAlumno), hoy);
+        if (r.esExito() && bitacora != null) bitacora.anotarInscripcion(idCurso, numCuenta);
+        compactarBitacora();
+        return r;
+    }
+
+    /**
+     * Método Gestor: inscribirLote
+     *
+     * Inscribe muchos alumnos de una sola vez. La fila i pide inscribir
+     * al alumno numsCuenta[i] en el curso idsCurso[i]. Se aplican las
+     * mismas reglas que en {inscribirAlumnoEnCurso(int, int, Fecha)},
+     * pero una fila rechazada no detiene el lote: su motivo queda en el
+     * arreglo de resultados.
+     *
+     * Las filas se agrupan por curso, de modo que cada curso se busca una
+     * sola vez y sus inscripciones se aplican juntas. Los grupos se
+     * aplican en el orden en que aparece por primera vez cada curso, y
+     * dentro de cada grupo las filas siguen su orden de entrada. El
+     * resultado es el mismo que inscribir fila por fila en ese orden, que
+     * no siempre es el de entrada: las reglas que dependen de los demás
+     * cursos del alumno ({ResultadoInscripcion#LIMITE_MATERIAS} y
+     * {ResultadoInscripcion#CHOQUE_HORARIO}) pueden rechazar una fila
+     * distinta. Por ejemplo, con las filas (curso A, alumno x), (B, y),
+     * (C, x) y (B, x), la fila (B, x) se aplica antes que (C, x): si los
+     * cursos B y C chocan, se rechaza (C, x) en lugar de (B, x). Quien
+     * necesite el orden exacto debe usar
+     * {intentarInscribirAlumnoEnCurso(int, int, Fecha)} fila por fila.
+     *
+     * @param idsCurso   IDs de los cursos, uno por fila.
+     * @param numsCuenta Números de cuenta de los alumnos, uno por fila.
+     * @param hoy        Fecha actual.
+     * @return Código de {ResultadoInscripcion} de cada fila, en el orden
+     *         de entrada (ver {ResultadoInscripcion#desdeCodigo(byte)}).
+     * @throws DatosInvalidosException Si algún arreglo es nulo o sus
+     *                                 longitudes no coinciden.
+     */
+    public byte[] inscribirLote(int[] idsCurso, int[] numsCuenta, Fecha hoy)
+            throws DatosInvalidosException {
+
+        if (idsCurso == null || numsCuenta == null) {
+            throw new DatosInvalidosException("Los arreglos del lote no pueden ser nulos.");
+        }
+        if (idsCurso.length != numsCuenta.length) {
+            throw new DatosInvalidosException("Los arreglos del lote deben tener la misma longitud.");
+        }
+
+        int n = idsCurso.length;
+        byte[] resultados = new byte[n];
+        if (n == 0) return resultados;
+
+        // Numera los cursos distintos en orden de aparición y cuenta sus filas.
+        IndicePrimario grupos = new IndicePrimario(Math.min(n, repoCursos.getContador() + 1));
+        int[] grupoDeFila = new int[n];
+        int[] primeraFila = new int[17];
+        int[] inicio = new int[17];
+        int totalGrupos = 0;
+        for (int i = 0; i < n; i++) {
+            int g = grupos.buscar(idsCurso[i]);
+            if (g == IndicePrimario.NO_ENCONTRADO) {
+                g = totalGrupos++;
+                grupos.poner(idsCurso[i], g);
+                if (totalGrupos == inicio.length) {
+                    primeraFila = java.util.Arrays.copyOf(primeraFila, totalGrupos * 2);
+                    inicio = java.util.Arrays.copyOf(inicio, totalGrupos * 2);
+                }
+                primeraFila[g] = i;
+            }
+            grupoDeFila[i] = g;
+            inicio[g + 1]++;
+        }
+
+        // Ordena las filas por grupo de forma estable (conteo).
+        for (int g = 0; g < totalGrupos; g++) {
+            inicio[g + 1] += inicio[g];
+        }
+        int[] orden = new int[n];
+        int[] siguiente = java.util.Arrays.copyOf(inicio, totalGrupos);
+        for (int i = 0; i < n; i++) {
+            orden[siguiente[grupoDeFila[i]]++] = i;
+        }
+
+        for (int g = 0; g < totalGrupos; g++) {
+            int idCurso = idsCurso[primeraFila[g]];
+            int slotCurso = repoCursos.buscarPosicion(idCurso);
+            Curso c = (slotCurso == IndicePrimario.NO_ENCONTRADO)
+                    ? null : repoCursos.elementoEn(slotCurso);
+
+            for (int k = inicio[g]; k < inicio[g + 1]; k++) {
+                int fila = orden[k];
+                ResultadoInscripcion r;
+                if (c == null) {
+                    r = ResultadoInscripcion.CURSO_NO_ENCONTRADO;
+                } else {
+                    int slotAlumno = repoAlumnos.buscarPosicion(numsCuenta[fila]);
+                    if (slotAlumno == IndicePrimario.NO_ENCONTRADO) {
+                        r = ResultadoInscripcion.ALUMNO_NO_ENCONTRADO;
+                    } else {
+                        r = c.intentarInscribir(repoAlumnos.elementoEn(slotAlumno), hoy);
+                        if (r.esExito() && bitacora != null) {
+                            bitacora.anotarInscripcion(idCurso, numsCuenta[fila]);
+                        }
+                    }
+                }
+                resultados[fila] = r.getCodigo();
+            }
+        }
+        compactarBitacora();
+        return resultados;
+    }
+
+    /**
+     * Método Gestor: inscribirConcurrente
+     *
+     * Hace lo mismo que {inscribirLote(int[], int[], Fecha)}, pero reparte
+     * las filas entre varios hilos que inscriben a la vez con un
+     * {MotorInscripcion}. Cada hilo toma bloques de
+     * {FILAS_POR_BLOQUE} filas consecutivas hasta que no quedan.
+     *
+     * Las reglas son las mismas y el cupo de los cursos y el límite de
+     * materias nunca se exceden, pero las filas no se aplican en el orden
+     * de entrada: si dos filas compiten por lo mismo (el último lugar de
+     * un curso, la última materia de un alumno o un horario), cualquiera
+     * de las dos puede quedar aceptada. Mientras el método no termina, los
+     * repositorios no deben usarse desde otra parte.
+     *
+     * @param idsCurso   IDs de los cursos, uno por fila.
+     * @param numsCuenta Números de cuenta de los alumnos, uno por fila.
+     * @param hoy        Fecha actual.
+     * @param hilos      Número de hilos que inscriben (el actual es uno de ellos).
+     * @return Código de {ResultadoInscripcion} de cada fila, en el orden
+     *         de entrada (ver {ResultadoInscripcion#desdeCodigo(byte)}).
+     * @throws DatosInvalidosException Si algún arreglo es nulo, sus
+     *                                 longitudes no coinciden o hilos es menor que 1.
+     */
+    public byte[] inscribirConcurrente(int[] idsCurso, int[] numsCuenta, Fecha hoy, int hilos)
+            throws DatosInvalidosException {
+
+        if (idsCurso == null || numsCuenta == null) {
+            throw new DatosInvalidosException("Los arreglos del lote no pueden ser nulos.");
+        }
+        if (idsCurso.length != numsCuenta.length) {
+            throw new DatosInvalidosException("Los arreglos del lote deben tener la misma longitud.");
+        }
+        if (hilos < 1) {
+            throw new DatosInvalidosException("El número de hilos debe ser al menos 1.");
+        }
+
+        int n = idsCurso.length;
+        byte[] resultados = new byte[n];
+        if (n == 0) return resultados;
+
+        MotorInscripcion motor = new MotorInscripcion(repoCursos, repoAlumnos);
+        motor.setBitacora(bitacora);
+        java.util.concurrent.atomic.AtomicInteger siguiente = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.atomic.AtomicReference<Throwable> falla =
+                new java.util.concurrent.atomic.AtomicReference<>();
+        Runnable trabajo = () -> {
+            try {
+                int desde;
+                while (falla.get() == null
+                        && (desde = siguiente.getAndAdd(FILAS_POR_BLOQUE)) < n) {
+                    int hasta = Math.min(n, desde + FILAS_POR_BLOQUE);
+                    for (int i = desde; i < hasta; i++) {
+                        resultados[i] = motor.intentarInscribir(idsCurso[i], numsCuenta[i], hoy).getCodigo();
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                falla.compareAndSet(null, e);
+            }
+        };
+
+        Thread[] trabajadores = new Thread[Math.min(hilos, (n + FILAS_POR_BLOQUE - 1) / FILAS_POR_BLOQUE) - 1];
+        for (int t = 0; t < trabajadores.length; t++) {
+            trabajadores[t] = new Thread(trabajo, "inscripcion-" + t);
+            trabajadores[t].start();
+        }
+        trabajo.run();
+
+        // Se espera a todos aunque llegue una interrupción: ningún hilo debe
+        // seguir cambiando los cursos después de regresar.
+        boolean interrumpido = false;
+        for (int t = 0; t < trabajadores.length; t++) {
+            while (true) {
+                try {
+                    trabajadores[t].join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+
+        Throwable e = falla.get();
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        return resultados;
     }
 
     /**
@@ -207,5 +749,34 @@ public class GestorCursos {
         Curso c = repoCursos.buscarPorId(idCurso);
         Alumno a = repoAlumnos.buscarPorId(numCuenta);
         c.desinscribirAlumno(a, hoy);
+        if (bitacora != null) bitacora.anotarDesinscripcion(idCurso, numCuenta);
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: intentarDesinscribirAlumnoDeCurso
+     *
+     * Igual que {desinscribirAlumnoDeCurso(int, int, Fecha)}, pero devuelve
+     * el motivo del rechazo en lugar de lanzar una excepción.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     * @param hoy       Fecha actual.
+     * @return {ResultadoDesinscripcion#DESINSCRITO} o el motivo del rechazo.
+     */
+    public ResultadoDesinscripcion intentarDesinscribirAlumnoDeCurso(int idCurso, int numCuenta, Fecha hoy) {
+        int slotCurso = repoCursos.buscarPosicion(idCurso);
+        if (slotCurso == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoDesinscripcion.CURSO_NO_ENCONTRADO;
+        }
+        int slotAlumno = repoAlumnos.buscarPosicion(numCuenta);
+        if (slotAlumno == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoDesinscripcion.ALUMNO_NO_ENCONTRADO;
+        }
+        ResultadoDesinscripcion r = repoCursos.elementoEn(slotCurso)
+                .intentarDesinscribir(repoAlumnos.elementoEn(slotAlumno), hoy);
+        if (r.esExito() && bitacora != null) bitacora.anotarDesinscripcion(idCurso, numCuenta);
+        compactarBitacora();
+        return r;
     }
 }
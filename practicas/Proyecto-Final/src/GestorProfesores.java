@@ -13,6 +13,9 @@ public class GestorProfesores {
     /** Repositorio que permite consultar los cursos registrados. */
     private RepositorioCursos repoCursos;
 
+    /** Bitácora donde se anotan los cambios; null si no se usa. */
+    private Bitacora bitacora;
+
     /**
      * Construye un gestor de profesores a partir de los repositorios
      * proporcionados.
@@ -26,6 +29,24 @@ public class GestorProfesores {
         this.repoCursos = repoCursos;
     }
 
+    /**
+     * Asigna la {Bitacora} donde se anotan los cambios hechos por este
+     * gestor. Con null (valor inicial) los cambios no se anotan.
+     *
+     * @param bitacora Bitácora de cambios, o null.
+     */
+    public void setBitacora(Bitacora bitacora) {
+        this.bitacora = bitacora;
+    }
+
+    /**
+     * Compacta la bitácora si superó su umbral, una vez terminado el
+     * cambio que se acaba de anotar ({Bitacora#compactarSiHaceFalta()}).
+     */
+    private void compactarBitacora() {
+        if (bitacora != null) bitacora.compactarSiHaceFalta();
+    }
+
     /**
      * Registra un nuevo profesor en el sistema.
      *
@@ -48,16 +69,30 @@ public class GestorProfesores {
         }
 
         // Verificar que el ID no esté repetido
-        try {
-            repoProfesores.buscarPorId(profesor.getId());
-            // si NO lanzó excepción, ya existe uno con ese id
+        if (repoProfesores.contiene(profesor.getId())) {
             throw new DatosInvalidosException(
                     "Ya existe un profesor con el número de trabajador " + profesor.getId());
-        } catch (NoEncontradoException e) {
-            // OK: no existe, podemos continuar
         }
 
         repoProfesores.agregar(profesor);
+        if (bitacora != null) bitacora.anotarProfesor(profesor);
+        compactarBitacora();
+    }
+
+    /**
+     * Actualiza un profesor ya registrado.
+     *
+     * Debe llamarse después de editar sus datos con los métodos set,
+     * para que el cambio quede registrado en la bitácora y en los índices
+     * de capacidades y de nombres del repositorio.
+     *
+     * @param profesor Profesor editado.
+     */
+    public void actualizarProfesor(Profesor profesor) {
+        if (profesor == null) return;
+        repoProfesores.reindexar(profesor);
+        if (bitacora != null) bitacora.anotarProfesor(profesor);
+        compactarBitacora();
     }
 
     /**
@@ -76,7 +111,9 @@ public class GestorProfesores {
      * ningún curso registrado.
      *
      * Si el profesor se encuentra como profesor asignado en al menos
-     * un curso, la eliminación no está permitida.
+     * un curso, la eliminación no está permitida. La verificación usa el
+     * índice inverso del profesor ({Profesor#getCursosAsignados()}), sin
+     * recorrer los cursos.
      *
      * @param numTrabajador Número de trabajador del profesor a eliminar.
      * @throws NoEncontradoException          Si no existe un profesor con ese número.
@@ -86,16 +123,14 @@ public class GestorProfesores {
             throws NoEncontradoException, EliminacionNoPermitidaException {
 
         Profesor p = repoProfesores.buscarPorId(numTrabajador);
-        Curso[] cursos = repoCursos.getTodos();
-
-        for (int i = 0; i < cursos.length; i++) {
-            if (cursos[i] != null && cursos[i].getProfesorAsignado() != null &&
-                cursos[i].getProfesorAsignado().getId() == p.getId()) {
-                throw new EliminacionNoPermitidaException(
-                        "No se puede eliminar al profesor, está asignado al curso " + cursos[i].getId());
-            }
+        if (p.getCursosAsignados() > 0) {
+            throw new EliminacionNoPermitidaException(
+                    "No se puede eliminar al profesor, está asignado a "
+                    + p.getCursosAsignados() + " curso(s).");
         }
         repoProfesores.eliminarPorId(numTrabajador);
+        if (bitacora != null) bitacora.anotarEliminarProfesor(numTrabajador);
+        compactarBitacora();
     }
 
     /**
@@ -107,4 +142,39 @@ public class GestorProfesores {
     public Profesor[] listarProfesores() {
         return repoProfesores.getTodos();
     }
+
+    /**
+     * Devuelve un cursor que entrega los profesores página por página,
+     * sin posiciones vacías (ver {RepositorioBase#paginas(int)}).
+     *
+     * @param tamano Número de profesores por página.
+     * @return Iterador de páginas de profesores.
+     */
+    public java.util.Iterator<Pagina<Profesor>> paginarProfesores(int tamano) {
+        return repoProfesores.paginas(tamano);
+    }
+
+    /**
+     * Devuelve los profesores que pueden impartir un curso del nivel y la
+     * categoría dados.
+     *
+     * @param nivel     Nivel del curso.
+     * @param categoria Categoría del curso.
+     * @return Profesores encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Profesor[] listarProfesoresQuePuedenImpartir(String nivel, String categoria) {
+        return repoProfesores.profesoresQuePuedenImpartir(nivel, categoria);
+    }
+
+    /**
+     * Busca profesores por su nombre, tolerando acentos, mayúsculas,
+     * nombres incompletos y errores de dedo.
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Profesores encontrados, del más parecido al menos parecido.
+     */
+    public Profesor[] buscarProfesoresPorNombre(String consulta, int limite) {
+        return repoProfesores.buscarPorNombreAproximado(consulta, limite);
+    }
 }
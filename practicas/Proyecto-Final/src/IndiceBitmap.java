@@ -0,0 +1,221 @@
+/**
+ * Clase Auxiliar: IndiceBitmap
+ *
+ * Índice secundario para un atributo con pocos valores posibles (por
+ * ejemplo, los códigos de {Catalogos}). Para cada valor guarda un mapa de
+ * bits (arreglo de long) con un bit encendido en cada posición del
+ * repositorio cuyo elemento tiene ese valor.
+ *
+ * Un filtro sobre varios atributos se resuelve con la intersección (AND)
+ * de sus mapas, 64 posiciones por operación, sin comparar cadenas.
+ *
+ * Cuando el repositorio mueve sus elementos al eliminar uno, los bits se
+ * mueven igual ({mover(int, int)}, {quitarPosicion(int, int)} y
+ * {compactar(boolean[], int)}), sin volver a construir el índice.
+ */
+public class IndiceBitmap {
+
+    /** Mapa de bits de cada valor. */
+    private long[][] mapas;
+
+    /**
+     * Constructor del índice.
+     *
+     * @param valores Número de valores posibles del atributo (códigos 0 a valores-1).
+     */
+    public IndiceBitmap(int valores) {
+        this.mapas = new long[valores][0];
+    }
+
+    /**
+     * Método Gestor: limpiar
+     *
+     * Apaga todos los bits, dejando espacio para la cantidad de posiciones
+     * indicada.
+     *
+     * @param posiciones Número aproximado de posiciones a indexar.
+     */
+    public void limpiar(int posiciones) {
+        int palabras = palabrasPara(posiciones);
+        for (int v = 0; v < mapas.length; v++) {
+            if (mapas[v].length < palabras) {
+                mapas[v] = new long[palabras];
+            } else {
+                java.util.Arrays.fill(mapas[v], 0L);
+            }
+        }
+    }
+
+    /**
+     * Método Gestor: marcar
+     *
+     * Enciende el bit de una posición en el mapa de un valor. Los valores
+     * fuera de rango (por ejemplo {Catalogos#SIN_CODIGO}) se ignoran.
+     *
+     * @param valor    Código del valor.
+     * @param posicion Posición del elemento en el repositorio.
+     */
+    public void marcar(int valor, int posicion) {
+        if (valor < 0 || valor >= mapas.length) return;
+        int palabra = posicion >>> 6;
+        if (palabra >= mapas[valor].length) {
+            int nuevas = Math.max(palabra + 1, mapas[valor].length * 2);
+            for (int v = 0; v < mapas.length; v++) {
+                mapas[v] = java.util.Arrays.copyOf(mapas[v], nuevas);
+            }
+        }
+        mapas[valor][palabra] |= 1L << posicion;
+    }
+
+    /**
+     * Apaga el bit de una posición en todos los mapas.
+     *
+     * @param posicion Posición del elemento en el repositorio.
+     */
+    public void apagarPosicion(int posicion) {
+        int palabra = posicion >>> 6;
+        long mascara = ~(1L << posicion);
+        for (int v = 0; v < mapas.length; v++) {
+            if (palabra < mapas[v].length) mapas[v][palabra] &= mascara;
+        }
+    }
+
+    /**
+     * Método Gestor: mover
+     *
+     * Pasa los bits de una posición a otra (la de destino pierde los
+     * suyos) y apaga los de la posición de origen, como cuando el último
+     * elemento ocupa el hueco de uno eliminado.
+     *
+     * @param desde Posición de origen.
+     * @param hasta Posición de destino.
+     */
+    public void mover(int desde, int hasta) {
+        if (desde == hasta) return;
+        int palabraDesde = desde >>> 6;
+        int palabraHasta = hasta >>> 6;
+        for (int v = 0; v < mapas.length; v++) {
+            long[] mapa = mapas[v];
+            boolean encendido = palabraDesde < mapa.length && (mapa[palabraDesde] & (1L << desde)) != 0;
+            if (palabraDesde < mapa.length) mapa[palabraDesde] &= ~(1L << desde);
+            if (palabraHasta < mapa.length) mapa[palabraHasta] &= ~(1L << hasta);
+            if (encendido) marcar(v, hasta);
+        }
+    }
+
+    /**
+     * Método Gestor: quitarPosicion
+     *
+     * Quita una posición de todos los mapas: los bits de las posiciones
+     * siguientes bajan una posición, como los elementos de un arreglo que
+     * se desplaza para cerrar un hueco.
+     *
+     * @param posicion Posición quitada.
+     * @param total    Número de posiciones ocupadas antes de quitarla.
+     */
+    public void quitarPosicion(int posicion, int total) {
+        int primera = posicion >>> 6;
+        long bajos = (1L << posicion) - 1;
+        for (int v = 0; v < mapas.length; v++) {
+            long[] mapa = mapas[v];
+            int limite = Math.min(mapa.length, palabrasPara(total));
+            for (int i = primera; i < limite; i++) {
+                long acarreo = (i + 1 < limite) ? mapa[i + 1] << 63 : 0L;
+                if (i == primera) {
+                    mapa[i] = (mapa[i] & bajos) | ((mapa[i] >>> 1) & ~bajos) | acarreo;
+                } else {
+                    mapa[i] = (mapa[i] >>> 1) | acarreo;
+                }
+            }
+        }
+    }
+
+    /**
+     * Método Gestor: compactar
+     *
+     * Quita de todos los mapas varias posiciones a la vez, conservando el
+     * orden de las demás, como la compactación de un arreglo en una sola
+     * pasada.
+     *
+     * @param quitadas Posiciones quitadas (true).
+     * @param total    Número de posiciones ocupadas antes de quitarlas.
+     */
+    public void compactar(boolean[] quitadas, int total) {
+        for (int v = 0; v < mapas.length; v++) {
+            long[] mapa = mapas[v];
+            int limite = Math.min(total, mapa.length << 6);
+            int escritura = 0;
+            for (int lectura = 0; lectura < limite; lectura++) {
+                if (quitadas[lectura]) continue;
+                if (escritura != lectura) {
+                    long bit = 1L << escritura;
+                    if ((mapa[lectura >>> 6] & (1L << lectura)) != 0) {
+                        mapa[escritura >>> 6] |= bit;
+                    } else {
+                        mapa[escritura >>> 6] &= ~bit;
+                    }
+                }
+                escritura++;
+            }
+            for (int i = escritura; i < limite; i++) {
+                mapa[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    /**
+     * Método Calculador: intersectar
+     *
+     * Intersecta un mapa acumulado con el mapa de un valor.
+     *
+     * @param acumulado Mapa acumulado, o null si todavía no hay ninguno.
+     * @param valor     Código del valor.
+     * @param palabras  Número de palabras de 64 bits que interesan.
+     * @return Mapa resultante (el mismo arreglo si {acumulado} no era null);
+     *         un valor fuera de rango produce un mapa vacío.
+     */
+    public long[] intersectar(long[] acumulado, int valor, int palabras) {
+        long[] mapa = (valor >= 0 && valor < mapas.length) ? mapas[valor] : new long[0];
+        if (acumulado == null) {
+            acumulado = new long[palabras];
+            System.arraycopy(mapa, 0, acumulado, 0, Math.min(palabras, mapa.length));
+            return acumulado;
+        }
+        for (int i = 0; i < palabras; i++) {
+            acumulado[i] &= (i < mapa.length) ? mapa[i] : 0L;
+        }
+        return acumulado;
+    }
+
+    /**
+     * Método Calculador: posiciones
+     *
+     * Devuelve las posiciones con el bit encendido en un mapa.
+     *
+     * @param mapa Mapa de bits.
+     * @return Posiciones en orden ascendente.
+     */
+    public static int[] posiciones(long[] mapa) {
+        int total = 0;
+        for (int i = 0; i < mapa.length; i++) {
+            total += Long.bitCount(mapa[i]);
+        }
+        int[] resultado = new int[total];
+        int k = 0;
+        for (int i = 0; i < mapa.length; i++) {
+            long palabra = mapa[i];
+            while (palabra != 0) {
+                resultado[k++] = (i << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Número de palabras de 64 bits necesarias para una cantidad de posiciones.
+     */
+    static int palabrasPara(int posiciones) {
+        return (posiciones + 63) >>> 6;
+    }
+}
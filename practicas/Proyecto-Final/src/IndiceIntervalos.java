@@ -0,0 +1,393 @@
+/**
+ * Clase Auxiliar: IndiceIntervalos
+ *
+ * Índice de intervalos cerrados [inicio, fin] de enteros (por ejemplo,
+ * números de día de {Fecha}) asociados a un valor entero, que responde
+ * sin recorrer todos los intervalos:
+ *
+ *   - Punzado: qué intervalos contienen un punto.
+ *   - Traslape: qué intervalos se traslapan con un rango.
+ *
+ * Es un árbol de intervalos: un treap (árbol binario de búsqueda ordenado
+ * por inicio y equilibrado con prioridades pseudoaleatorias) guardado en
+ * arreglos paralelos. Cada nodo guarda el mayor fin de su subárbol, lo que
+ * permite descartar ramas completas. Una consulta cuesta O(log n + k) en
+ * la práctica, con k el número de resultados.
+ *
+ * El índice se llena de una vez con {construir(int[], int[], int[], int)}
+ * (O(n log n)) y después se mantiene intervalo por intervalo con
+ * {agregar(int, int, int)} y {quitar(int)}, en O(log n) esperado. Cada
+ * valor identifica a lo más un intervalo.
+ */
+public class IndiceIntervalos {
+
+    /** Marca de "sin nodo" en los enlaces del árbol. */
+    private static final int NULO = -1;
+
+    /** Inicio del intervalo de cada nodo. */
+    private int[] inicios;
+
+    /** Fin del intervalo de cada nodo. */
+    private int[] fines;
+
+    /** Valor asociado al intervalo de cada nodo. */
+    private int[] valores;
+
+    /** Mayor fin del subárbol de cada nodo. */
+    private int[] maxFin;
+
+    /** Hijo izquierdo de cada nodo; en los nodos libres, el siguiente libre. */
+    private int[] izq;
+
+    /** Hijo derecho de cada nodo. */
+    private int[] der;
+
+    /** Prioridad de cada nodo: ningún nodo tiene un hijo de mayor prioridad. */
+    private int[] prioridades;
+
+    /** Nodo que guarda el intervalo de cada valor. */
+    private final IndicePrimario nodoDeValor = new IndicePrimario(16);
+
+    /** Raíz del árbol. */
+    private int raiz = NULO;
+
+    /** Primer nodo de la lista de nodos libres. */
+    private int libre = NULO;
+
+    /** Número de nodos usados alguna vez (los demás nunca se han tocado). */
+    private int usados;
+
+    /** Número de intervalos del índice. */
+    private int tamano;
+
+    /** Estado del generador de prioridades (xorshift). */
+    private int semilla = 0x2545F491;
+
+    /** Mitades que deja {partir(int, long)}. */
+    private int parteIzq, parteDer;
+
+    /**
+     * Constructor de un índice vacío.
+     */
+    public IndiceIntervalos() {
+        reservar(16);
+    }
+
+    /**
+     * Método Calculador: construir
+     *
+     * Reemplaza el contenido del índice por los intervalos dados. Los
+     * arreglos recibidos no se modifican. Los intervalos con fin menor
+     * que su inicio se ignoran.
+     *
+     * @param ini      Inicio de cada intervalo.
+     * @param fin      Fin de cada intervalo (incluido).
+     * @param valor    Valor asociado a cada intervalo.
+     * @param cantidad Número de intervalos a tomar de los arreglos.
+     */
+    public void construir(int[] ini, int[] fin, int[] valor, int cantidad) {
+        // Ordena las posiciones por inicio empacando (inicio, posición) en un long.
+        long[] claves = new long[cantidad];
+        int n = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (fin[i] < ini[i]) continue;
+            claves[n++] = ((long) ini[i] << 32) | i;
+        }
+        java.util.Arrays.sort(claves, 0, n);
+
+        // El nodo k es el k-ésimo intervalo en orden, así que el orden por
+        // (inicio, nodo) que usan las altas posteriores es este mismo.
+        reservar(n);
+        nodoDeValor.limpiar(n);
+        libre = NULO;
+        int[] pila = new int[n];
+        int tope = 0;
+        for (int k = 0; k < n; k++) {
+            int i = (int) claves[k];
+            inicios[k] = ini[i];
+            fines[k] = fin[i];
+            valores[k] = valor[i];
+            prioridades[k] = siguientePrioridad();
+            der[k] = NULO;
+            nodoDeValor.poner(valor[i], k);
+
+            // Árbol cartesiano por prioridad, en tiempo lineal.
+            int ultimo = NULO;
+            while (tope > 0 && prioridades[pila[tope - 1]] < prioridades[k]) {
+                ultimo = pila[--tope];
+            }
+            izq[k] = ultimo;
+            if (tope > 0) {
+                der[pila[tope - 1]] = k;
+            }
+            pila[tope++] = k;
+        }
+        raiz = (tope > 0) ? pila[0] : NULO;
+        usados = n;
+        tamano = n;
+        calcularMaxFin(raiz);
+    }
+
+    /**
+     * Método Gestor: agregar
+     *
+     * Agrega el intervalo de un valor, reemplazando el que tuviera. Si el
+     * fin es menor que el inicio, el valor solo se quita del índice.
+     *
+     * @param inicio Inicio del intervalo.
+     * @param fin    Fin del intervalo (incluido).
+     * @param valor  Valor asociado al intervalo.
+     */
+    public void agregar(int inicio, int fin, int valor) {
+        quitar(valor);
+        if (fin < inicio) return;
+
+        int nodo;
+        if (libre != NULO) {
+            nodo = libre;
+            libre = izq[nodo];
+        } else {
+            if (usados == inicios.length) {
+                reservar(Math.max(16, usados * 2));
+            }
+            nodo = usados++;
+        }
+        inicios[nodo] = inicio;
+        fines[nodo] = fin;
+        valores[nodo] = valor;
+        prioridades[nodo] = siguientePrioridad();
+        izq[nodo] = NULO;
+        der[nodo] = NULO;
+        maxFin[nodo] = fin;
+        nodoDeValor.poner(valor, nodo);
+        raiz = insertar(raiz, nodo);
+        tamano++;
+    }
+
+    /**
+     * Método Gestor: quitar
+     *
+     * Quita el intervalo de un valor. Si el valor no está, no hace nada.
+     *
+     * @param valor Valor cuyo intervalo se quita.
+     */
+    public void quitar(int valor) {
+        int nodo = nodoDeValor.quitar(valor);
+        if (nodo == IndicePrimario.NO_ENCONTRADO) return;
+        raiz = eliminar(raiz, clave(nodo));
+        izq[nodo] = libre;
+        libre = nodo;
+        tamano--;
+    }
+
+    /**
+     * Devuelve el número de intervalos del índice.
+     *
+     * @return Cantidad de intervalos.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Método Calculador: punzar
+     *
+     * Devuelve los valores de los intervalos que contienen al punto dado.
+     *
+     * @param punto Punto a consultar.
+     * @return Valores encontrados, en orden de inicio del intervalo.
+     */
+    public int[] punzar(int punto) {
+        return traslapar(punto, punto);
+    }
+
+    /**
+     * Método Calculador: traslapar
+     *
+     * Devuelve los valores de los intervalos que comparten al menos un
+     * punto con el rango [desde, hasta].
+     *
+     * @param desde Inicio del rango (incluido).
+     * @param hasta Fin del rango (incluido).
+     * @return Valores encontrados, en orden de inicio del intervalo.
+     */
+    public int[] traslapar(int desde, int hasta) {
+        if (tamano == 0 || hasta < desde) return new int[0];
+        Resultado r = new Resultado();
+        recorrer(raiz, desde, hasta, r);
+        return java.util.Arrays.copyOf(r.valores, r.cantidad);
+    }
+
+    /**
+     * Clave de orden de un nodo: su inicio y, para desempatar, su número.
+     */
+    private long clave(int nodo) {
+        return ((long) inicios[nodo] << 32) | nodo;
+    }
+
+    /**
+     * Inserta un nodo suelto en el subárbol {t}.
+     *
+     * @return Nueva raíz del subárbol.
+     */
+    private int insertar(int t, int nodo) {
+        if (t == NULO) return nodo;
+        if (prioridades[nodo] > prioridades[t]) {
+            partir(t, clave(nodo));
+            izq[nodo] = parteIzq;
+            der[nodo] = parteDer;
+            actualizar(nodo);
+            return nodo;
+        }
+        if (clave(nodo) < clave(t)) {
+            izq[t] = insertar(izq[t], nodo);
+        } else {
+            der[t] = insertar(der[t], nodo);
+        }
+        actualizar(t);
+        return t;
+    }
+
+    /**
+     * Quita del subárbol {t} el nodo con la clave dada.
+     *
+     * @return Nueva raíz del subárbol.
+     */
+    private int eliminar(int t, long k) {
+        if (t == NULO) return NULO;
+        long kt = clave(t);
+        if (kt == k) {
+            return unir(izq[t], der[t]);
+        }
+        if (k < kt) {
+            izq[t] = eliminar(izq[t], k);
+        } else {
+            der[t] = eliminar(der[t], k);
+        }
+        actualizar(t);
+        return t;
+    }
+
+    /**
+     * Parte el subárbol {t} en los nodos con clave menor que {k}
+     * ({parteIzq}) y los demás ({parteDer}).
+     */
+    private void partir(int t, long k) {
+        if (t == NULO) {
+            parteIzq = NULO;
+            parteDer = NULO;
+            return;
+        }
+        if (clave(t) < k) {
+            partir(der[t], k);
+            der[t] = parteIzq;
+            actualizar(t);
+            parteIzq = t;
+        } else {
+            partir(izq[t], k);
+            izq[t] = parteDer;
+            actualizar(t);
+            parteDer = t;
+        }
+    }
+
+    /**
+     * Une dos subárboles en los que todas las claves de {a} son menores
+     * que las de {b}.
+     *
+     * @return Raíz del subárbol unido.
+     */
+    private int unir(int a, int b) {
+        if (a == NULO) return b;
+        if (b == NULO) return a;
+        if (prioridades[a] > prioridades[b]) {
+            der[a] = unir(der[a], b);
+            actualizar(a);
+            return a;
+        }
+        izq[b] = unir(a, izq[b]);
+        actualizar(b);
+        return b;
+    }
+
+    /**
+     * Recalcula el mayor fin de un nodo a partir de sus hijos.
+     */
+    private void actualizar(int t) {
+        int m = fines[t];
+        if (izq[t] != NULO) m = Math.max(m, maxFin[izq[t]]);
+        if (der[t] != NULO) m = Math.max(m, maxFin[der[t]]);
+        maxFin[t] = m;
+    }
+
+    /**
+     * Calcula el mayor fin de cada nodo del subárbol {t}.
+     */
+    private void calcularMaxFin(int t) {
+        if (t == NULO) return;
+        calcularMaxFin(izq[t]);
+        calcularMaxFin(der[t]);
+        actualizar(t);
+    }
+
+    /**
+     * Recorre en orden el subárbol {t} reportando los intervalos que se
+     * traslapan con [desde, hasta].
+     */
+    private void recorrer(int t, int desde, int hasta, Resultado r) {
+        while (t != NULO) {
+            // Ningún intervalo del subárbol llega hasta "desde".
+            if (maxFin[t] < desde) return;
+            recorrer(izq[t], desde, hasta, r);
+            // Todos los intervalos desde "t" empiezan después de "hasta".
+            if (inicios[t] > hasta) return;
+            if (fines[t] >= desde) r.agregar(valores[t]);
+            t = der[t];
+        }
+    }
+
+    /**
+     * Asegura espacio para al menos {capacidad} nodos.
+     */
+    private void reservar(int capacidad) {
+        if (inicios != null && inicios.length >= capacidad) return;
+        inicios = copiar(inicios, capacidad);
+        fines = copiar(fines, capacidad);
+        valores = copiar(valores, capacidad);
+        maxFin = copiar(maxFin, capacidad);
+        izq = copiar(izq, capacidad);
+        der = copiar(der, capacidad);
+        prioridades = copiar(prioridades, capacidad);
+    }
+
+    private static int[] copiar(int[] arreglo, int capacidad) {
+        return (arreglo == null) ? new int[capacidad] : java.util.Arrays.copyOf(arreglo, capacidad);
+    }
+
+    /**
+     * Devuelve la siguiente prioridad pseudoaleatoria (xorshift de 32 bits).
+     */
+    private int siguientePrioridad() {
+        int x = semilla;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        semilla = x;
+        return x;
+    }
+
+    /**
+     * Arreglo creciente donde se acumulan los valores encontrados.
+     */
+    private static final class Resultado {
+        int[] valores = new int[16];
+        int cantidad;
+
+        void agregar(int v) {
+            if (cantidad == valores.length) {
+                valores = java.util.Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = v;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Clase Auxiliar: IndicePrimario
+ *
+ * Tabla hash de direccionamiento abierto (sondeo lineal) que asocia un
+ * identificador entero con la posición (slot) que ocupa un elemento dentro
+ * del arreglo de un repositorio. Permite búsquedas, altas y bajas en tiempo
+ * constante esperado, sin usar colecciones de Java.
+ *
+ * Las bajas usan desplazamiento hacia atrás, por lo que la tabla nunca
+ * acumula marcas de borrado.
+ */
+public class IndicePrimario {
+
+    /** Valor devuelto por {buscar(int)} cuando el id no está indexado. */
+    public static final int NO_ENCONTRADO = -1;
+
+    /** Capacidad inicial mínima de la tabla (siempre potencia de 2). */
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    /** Identificadores almacenados en cada casilla de la tabla. */
+    private int[] claves;
+
+    /** Slot asociado a cada identificador; -1 indica casilla libre. */
+    private int[] valores;
+
+    /** Número de identificadores indexados. */
+    private int tamano;
+
+    /** Máscara para reducir el hash al tamaño de la tabla. */
+    private int mascara;
+
+    /**
+     * Constructor del índice.
+     *
+     * @param capacidadEsperada Número aproximado de elementos a indexar.
+     */
+    public IndicePrimario(int capacidadEsperada) {
+        inicializar(capacidadPara(capacidadEsperada));
+    }
+
+    /**
+     * Método Calculador: buscar
+     *
+     * Obtiene el slot asociado a un identificador.
+     *
+     * @param id Identificador a buscar.
+     * @return Slot del elemento o {NO_ENCONTRADO} si no existe.
+     */
+    public int buscar(int id) {
+        int i = hash(id) & mascara;
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == id) {
+                return valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * Indica si un identificador está indexado.
+     *
+     * @param id Identificador a consultar.
+     * @return true si el id existe en el índice.
+     */
+    public boolean contiene(int id) {
+        return buscar(id) != NO_ENCONTRADO;
+    }
+
+    /**
+     * Método Calculador: poner
+     *
+     * Asocia un identificador con un slot. Si el id ya existía,
+     * su slot se reemplaza.
+     *
+     * @param id   Identificador del elemento.
+     * @param slot Posición del elemento en el arreglo del repositorio.
+     */
+    public void poner(int id, int slot) {
+        ponerInterno(id, slot, true);
+    }
+
+    /**
+     * Método Calculador: ponerNuevo
+     *
+     * Asocia un identificador con un slot solo si el id no estaba
+     * indexado; si ya existía, conserva el slot anterior.
+     *
+     * @param id   Identificador del elemento.
+     * @param slot Posición del elemento en el arreglo del repositorio.
+     * @return true si se agregó; false si el id ya estaba en el índice.
+     */
+    public boolean ponerNuevo(int id, int slot) {
+        return ponerInterno(id, slot, false);
+    }
+
+    private boolean ponerInterno(int id, int slot, boolean reemplazar) {
+        if ((tamano + 1) * 4 > claves.length * 3) {
+            redimensionar(claves.length * 2);
+        }
+        int i = hash(id) & mascara;
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == id) {
+                if (reemplazar) valores[i] = slot;
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = id;
+        valores[i] = slot;
+        tamano++;
+        return true;
+    }
+
+    /**
+     * Método Calculador: quitar
+     *
+     * Elimina un identificador del índice. Las entradas posteriores del
+     * mismo grupo de colisión se recorren hacia atrás para no romper
+     * las cadenas de sondeo.
+     *
+     * @param id Identificador a eliminar.
+     * @return Slot que tenía el elemento o {NO_ENCONTRADO} si no existía.
+     */
+    public int quitar(int id) {
+        int i = hash(id) & mascara;
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == id) {
+                int slot = valores[i];
+                desplazarHaciaAtras(i);
+                tamano--;
+                return slot;
+            }
+            i = (i + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * Vacía el índice conservando una capacidad adecuada para la
+     * cantidad de elementos esperada.
+     *
+     * @param capacidadEsperada Número aproximado de elementos a indexar.
+     */
+    public void limpiar(int capacidadEsperada) {
+        inicializar(capacidadPara(capacidadEsperada));
+    }
+
+    /**
+     * Devuelve el número de identificadores indexados.
+     *
+     * @return Cantidad de entradas del índice.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Recorre hacia atrás las entradas que siguen a la casilla liberada
+     * para que toda clave siga siendo alcanzable desde su posición ideal.
+     *
+     * @param libre Casilla que acaba de quedar libre.
+     */
+    private void desplazarHaciaAtras(int libre) {
+        int i = libre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == NO_ENCONTRADO) {
+                break;
+            }
+            int ideal = hash(claves[i]) & mascara;
+            // La entrada en i puede moverse a "libre" solo si su posición
+            // ideal no está dentro del tramo circular (libre, i].
+            boolean puedeMoverse = (libre <= i)
+                    ? (ideal <= libre || ideal > i)
+                    : (ideal <= libre && ideal > i);
+            if (puedeMoverse) {
+                claves[libre] = claves[i];
+                valores[libre] = valores[i];
+                libre = i;
+            }
+        }
+        valores[libre] = NO_ENCONTRADO;
+    }
+
+    /**
+     * Reconstruye la tabla con una nueva capacidad, reinsertando
+     * todas las entradas existentes.
+     *
+     * @param nuevaCapacidad Nueva capacidad (potencia de 2).
+     */
+    private void redimensionar(int nuevaCapacidad) {
+        int[] viejasClaves = claves;
+        int[] viejosValores = valores;
+        inicializar(nuevaCapacidad);
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejosValores[i] != NO_ENCONTRADO) {
+                poner(viejasClaves[i], viejosValores[i]);
+            }
+        }
+    }
+
+    /**
+     * Crea arreglos vacíos de la capacidad indicada.
+     *
+     * @param capacidad Capacidad de la tabla (potencia de 2).
+     */
+    private void inicializar(int capacidad) {
+        claves = new int[capacidad];
+        valores = new int[capacidad];
+        java.util.Arrays.fill(valores, NO_ENCONTRADO);
+        mascara = capacidad - 1;
+        tamano = 0;
+    }
+
+    /**
+     * Calcula una capacidad de tabla (potencia de 2) que mantenga el
+     * factor de carga por debajo de 3/4 para la cantidad indicada.
+     *
+     * @param elementos Número de elementos esperados.
+     * @return Capacidad de la tabla.
+     */
+    private static int capacidadPara(int elementos) {
+        int capacidad = CAPACIDAD_MINIMA;
+        while (capacidad * 3 < elementos * 4 && capacidad < (1 << 30)) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+
+    /**
+     * Mezcla los bits del identificador para repartir mejor los ids
+     * consecutivos (números de cuenta, números de trabajador).
+     *
+     * @param id Identificador.
+     * @return Hash del identificador.
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,554 @@
+/**
+ * Clase Auxiliar: IndiceTrie
+ *
+ * Índice invertido de texto: cada término (ya normalizado con
+ * {Normalizador}) es un camino en un trie, y el nodo donde termina guarda
+ * la lista de documentos que lo contienen con su peso (cuántas veces
+ * aparece, ponderado por el campo). Un documento es cualquier elemento
+ * identificado por un entero (por ejemplo, el ID de un curso).
+ *
+ * El trie permite buscar por prefijo: todos los términos que empiezan
+ * con "fis" están en el subárbol del nodo "f"→"i"→"s". Los nodos se
+ * guardan en arreglos paralelos (primer hijo y siguiente hermano), sin
+ * objetos por nodo.
+ *
+ * También tolera errores de dedo con {buscarAproximado(String[], int)},
+ * que recorre el trie calculando la distancia de Levenshtein rama por
+ * rama.
+ *
+ * Los documentos se agregan y se quitan uno por uno, así que el índice
+ * se mantiene al día sin reconstruirse. Admite hasta 2^24 documentos.
+ */
+public class IndiceTrie {
+
+    /** Letra de la arista que llega a cada nodo (el nodo 0 es la raíz). */
+    private char[] letra = new char[64];
+
+    /** Primer hijo de cada nodo, o -1. */
+    private int[] hijo = new int[64];
+
+    /** Siguiente hermano de cada nodo, o -1. */
+    private int[] hermano = new int[64];
+
+    /** Documentos cuyo texto contiene el término que termina en cada nodo. */
+    private int[][] docs = new int[64][];
+
+    /** Peso del término en cada documento, en el orden de {docs}. */
+    private int[][] pesos = new int[64][];
+
+    /** Número de documentos de cada nodo (frecuencia de documento). */
+    private int[] frecuencia = new int[64];
+
+    /** Número de nodos del trie. */
+    private int nodos;
+
+    /** Documento interno de cada identificador externo. */
+    private final IndicePrimario documentoDe = new IndicePrimario(16);
+
+    /** Identificador externo de cada documento interno. */
+    private int[] idDe = new int[16];
+
+    /** Nodos en los que aparece cada documento, para poder quitarlo. */
+    private int[][] nodosDe = new int[16][];
+
+    /** Documentos internos libres (de documentos quitados). */
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+
+    /** Número de documentos internos usados alguna vez. */
+    private int usados;
+
+    /** Número de documentos indexados. */
+    private int documentos;
+
+    /** Máximo de documentos internos. */
+    private static final int MAX_DOCUMENTOS = 1 << 24;
+
+    /** Número máximo de entradas de documento que recorre una consulta. */
+    private final int presupuesto;
+
+    /** Número máximo de términos que reúne cada palabra de la consulta como prefijo. */
+    private static final int MAX_TERMINOS_PREFIJO = 256;
+
+    /** Número máximo de nodos que se visitan al reunir los términos de un prefijo. */
+    private static final int MAX_NODOS_PREFIJO = 4096;
+
+    /** Arreglos de trabajo de las consultas, por documento interno. */
+    private double[] puntaje = new double[0];
+    private int[] coincidencias = new int[0];
+    private int[] selloDoc = new int[0];
+
+    /** Marca de los nodos ya reunidos para la palabra actual. */
+    private int[] selloNodo = new int[0];
+
+    /** Último sello usado. */
+    private int sello;
+
+    /**
+     * Constructor de un índice vacío, sin límite de entradas por consulta.
+     */
+    public IndiceTrie() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor de un índice vacío con un presupuesto por consulta: una
+     * búsqueda deja de recorrer listas de documentos al llegar a esa
+     * cantidad de entradas, de modo que su tiempo queda acotado aunque la
+     * consulta coincida con muchísimos documentos (por ejemplo, un
+     * apellido común). Las palabras más raras se procesan primero.
+     *
+     * @param presupuesto Número máximo de entradas que recorre una consulta.
+     */
+    public IndiceTrie(int presupuesto) {
+        this.presupuesto = presupuesto;
+        nodos = 1;
+        hijo[0] = -1;
+        hermano[0] = -1;
+    }
+
+    /**
+     * Método Gestor: limpiar
+     *
+     * Quita todos los documentos y términos del índice.
+     */
+    public void limpiar() {
+        java.util.Arrays.fill(docs, 0, nodos, null);
+        java.util.Arrays.fill(pesos, 0, nodos, null);
+        java.util.Arrays.fill(frecuencia, 0, nodos, 0);
+        java.util.Arrays.fill(nodosDe, 0, usados, null);
+        nodos = 1;
+        hijo[0] = -1;
+        documentoDe.limpiar(16);
+        cantidadLibres = 0;
+        usados = 0;
+        documentos = 0;
+    }
+
+    /**
+     * Método Gestor: agregar
+     *
+     * Indexa un documento. Si el identificador ya estaba indexado, su
+     * texto anterior se reemplaza.
+     *
+     * @param id       Identificador del documento.
+     * @param terminos Términos normalizados del documento (con repeticiones).
+     * @param peso     Peso de cada término (por ejemplo, mayor en el nombre
+     *                 que en la descripción).
+     * @param cantidad Número de términos a tomar de los arreglos.
+     */
+    public void agregar(int id, String[] terminos, int[] peso, int cantidad) {
+        quitar(id);
+        int d = nuevoDocumento(id);
+        int[] visitados = new int[cantidad];
+        int distintos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int nodo = insertarTermino(terminos[i]);
+            if (nodo == 0) continue;
+            int f = frecuencia[nodo];
+            // Cada documento se agrega completo antes del siguiente, así que
+            // si ya tiene este término es la última entrada de la lista.
+            if (f > 0 && docs[nodo][f - 1] == d) {
+                pesos[nodo][f - 1] += peso[i];
+                continue;
+            }
+            if (docs[nodo] == null) {
+                docs[nodo] = new int[2];
+                pesos[nodo] = new int[2];
+            } else if (f == docs[nodo].length) {
+                docs[nodo] = java.util.Arrays.copyOf(docs[nodo], f * 2);
+                pesos[nodo] = java.util.Arrays.copyOf(pesos[nodo], f * 2);
+            }
+            docs[nodo][f] = d;
+            pesos[nodo][f] = peso[i];
+            frecuencia[nodo] = f + 1;
+            visitados[distintos++] = nodo;
+        }
+        nodosDe[d] = java.util.Arrays.copyOf(visitados, distintos);
+    }
+
+    /**
+     * Método Gestor: agregar
+     *
+     * Indexa un documento con todos sus términos de peso 1.
+     *
+     * @param id       Identificador del documento.
+     * @param terminos Términos normalizados del documento.
+     */
+    public void agregar(int id, String[] terminos) {
+        int[] peso = new int[terminos.length];
+        java.util.Arrays.fill(peso, 1);
+        agregar(id, terminos, peso, terminos.length);
+    }
+
+    /**
+     * Método Gestor: quitar
+     *
+     * Quita un documento del índice. Si no estaba, no hace nada.
+     *
+     * @param id Identificador del documento.
+     * @return true si el documento estaba indexado.
+     */
+    public boolean quitar(int id) {
+        int d = documentoDe.quitar(id);
+        if (d == IndicePrimario.NO_ENCONTRADO) return false;
+        int[] lista = nodosDe[d];
+        for (int k = 0; k < lista.length; k++) {
+            int nodo = lista[k];
+            int ultimo = frecuencia[nodo] - 1;
+            int[] ds = docs[nodo];
+            for (int i = 0; i <= ultimo; i++) {
+                if (ds[i] == d) {
+                    ds[i] = ds[ultimo];
+                    pesos[nodo][i] = pesos[nodo][ultimo];
+                    break;
+                }
+            }
+            frecuencia[nodo] = ultimo;
+        }
+        nodosDe[d] = null;
+        if (cantidadLibres == libres.length) libres = java.util.Arrays.copyOf(libres, cantidadLibres * 2);
+        libres[cantidadLibres++] = d;
+        documentos--;
+        return true;
+    }
+
+    /**
+     * Devuelve el número de documentos indexados.
+     *
+     * @return Cantidad de documentos.
+     */
+    public int getTamano() {
+        return documentos;
+    }
+
+    /**
+     * Método Calculador: buscar
+     *
+     * Busca los documentos que contienen términos que empiezan con las
+     * palabras de la consulta, ordenados por relevancia:
+     *
+     *   1. Primero los que coinciden con más palabras de la consulta.
+     *   2. Después, por puntaje: la suma, por cada término encontrado, de
+     *      su peso en el documento por su rareza (log(1 + N/df)); un
+     *      término igual a la palabra cuenta el doble que uno que solo
+     *      empieza con ella.
+     *   3. Con el mismo puntaje, en el orden interno del índice.
+     *
+     * Cada palabra toma a lo más {MAX_TERMINOS_PREFIJO} de los términos
+     * que empiezan con ella, de los más cortos a los más largos, así que
+     * una palabra de una o dos letras no recorre todo el vocabulario.
+     *
+     * @param palabras Palabras normalizadas de la consulta.
+     * @param limite   Número máximo de resultados.
+     * @return Identificadores de los documentos encontrados, del más
+     *         relevante al menos relevante.
+     */
+    public int[] buscar(String[] palabras, int limite) {
+        return buscar(palabras, limite, false);
+    }
+
+    /**
+     * Método Calculador: buscarAproximado
+     *
+     * Igual que {buscar(String[], int)}, pero cada palabra de la consulta
+     * también encuentra los términos a pocos errores de distancia
+     * (distancia de Levenshtein hasta {erroresPermitidos(String)}), para
+     * tolerar errores de dedo ("rodrigez" encuentra "rodriguez"). Un
+     * término con d errores cuenta 1/(1 + d) de uno exacto.
+     *
+     * La búsqueda de términos aproximados recorre solo las ramas del trie
+     * cuya distancia parcial no supera el límite, así que su costo depende
+     * del vocabulario cercano a la palabra y no del número de documentos.
+     *
+     * @param palabras Palabras normalizadas de la consulta.
+     * @param limite   Número máximo de resultados.
+     * @return Identificadores de los documentos encontrados, del más
+     *         relevante al menos relevante.
+     */
+    public int[] buscarAproximado(String[] palabras, int limite) {
+        return buscar(palabras, limite, true);
+    }
+
+    /**
+     * Número de errores que se toleran en una palabra de la consulta:
+     * ninguno en palabras de hasta 3 letras, uno hasta 7 y dos después.
+     *
+     * @param palabra Palabra normalizada.
+     * @return Distancia de Levenshtein máxima.
+     */
+    static int erroresPermitidos(String palabra) {
+        int n = palabra.length();
+        return (n <= 3) ? 0 : (n <= 7) ? 1 : 2;
+    }
+
+    private int[] buscar(String[] palabras, int limite, boolean aproximado) {
+        prepararConsulta();
+
+        // Términos de cada palabra; las palabras se procesan de la más rara
+        // a la más común para que el presupuesto se gaste en las que más
+        // distinguen.
+        Terminos[] porPalabra = new Terminos[palabras.length];
+        long[] orden = new long[palabras.length];
+        for (int q = 0; q < palabras.length; q++) {
+            Terminos terminos = new Terminos();
+            int sello = nuevoSello();
+            reunirPrefijo(palabras[q], sello, terminos);
+            int errores = aproximado ? erroresPermitidos(palabras[q]) : 0;
+            if (errores > 0) {
+                int m = palabras[q].length();
+                int[] fila = new int[m + 1];
+                for (int j = 0; j <= m; j++) fila[j] = j;
+                reunirAproximados(0, palabras[q], fila, errores, sello, terminos);
+            }
+            long total = 0;
+            for (int t = 0; t < terminos.cantidad; t++) total += frecuencia[terminos.nodo[t]];
+            porPalabra[q] = terminos;
+            orden[q] = (total << 16) | q;
+        }
+        java.util.Arrays.sort(orden);
+
+        int[] tocados = new int[16];
+        int cantidadTocados = 0;
+        long restante = presupuesto;
+        for (int k = 0; k < orden.length && restante > 0; k++) {
+            Terminos terminos = porPalabra[(int) (orden[k] & 0xFFFF)];
+            int sello = nuevoSello();
+            for (int t = 0; t < terminos.cantidad && restante > 0; t++) {
+                int nodo = terminos.nodo[t];
+                int f = (int) Math.min(frecuencia[nodo], restante);
+                restante -= f;
+                double factor = Math.log(1.0 + (double) documentos / frecuencia[nodo]) * terminos.factor[t];
+                int[] ds = docs[nodo];
+                int[] ps = pesos[nodo];
+                for (int i = 0; i < f; i++) {
+                    int d = ds[i];
+                    if (selloDoc[d] != sello) {
+                        if (coincidencias[d] == 0) {
+                            if (cantidadTocados == tocados.length) {
+                                tocados = java.util.Arrays.copyOf(tocados, cantidadTocados * 2);
+                            }
+                            tocados[cantidadTocados++] = d;
+                        }
+                        selloDoc[d] = sello;
+                        coincidencias[d]++;
+                    }
+                    puntaje[d] += ps[i] * factor;
+                }
+            }
+        }
+
+        // Ordena empacando (coincidencias, puntaje, documento) en un long:
+        // el puntaje es positivo, así que sus bits de float ordenan igual.
+        long[] claves = new long[cantidadTocados];
+        for (int i = 0; i < cantidadTocados; i++) {
+            int d = tocados[i];
+            claves[i] = ((long) Math.min(coincidencias[d], 127) << 56)
+                    | ((long) Float.floatToIntBits((float) puntaje[d]) << 24)
+                    | (MAX_DOCUMENTOS - 1 - d);
+            coincidencias[d] = 0;
+            puntaje[d] = 0;
+        }
+        java.util.Arrays.sort(claves);
+        int n = Math.min(limite, cantidadTocados);
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            int d = MAX_DOCUMENTOS - 1 - (int) (claves[cantidadTocados - 1 - i] & (MAX_DOCUMENTOS - 1));
+            ids[i] = idDe[d];
+        }
+        return ids;
+    }
+
+    /**
+     * Ajusta los arreglos de trabajo de las consultas al tamaño actual del
+     * índice. Se conservan entre consultas (y se dejan en cero al terminar
+     * cada una) para que buscar no cueste proporcional al número de
+     * documentos.
+     */
+    private void prepararConsulta() {
+        if (puntaje.length < usados) {
+            int n = Math.max(usados, puntaje.length * 2);
+            puntaje = java.util.Arrays.copyOf(puntaje, n);
+            coincidencias = java.util.Arrays.copyOf(coincidencias, n);
+            selloDoc = java.util.Arrays.copyOf(selloDoc, n);
+        }
+        if (selloNodo.length < nodos) {
+            selloNodo = java.util.Arrays.copyOf(selloNodo, Math.max(nodos, selloNodo.length * 2));
+        }
+    }
+
+    /**
+     * Devuelve un sello nuevo para marcar nodos y documentos sin tener
+     * que limpiar las marcas anteriores.
+     */
+    private int nuevoSello() {
+        if (sello == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(selloDoc, 0);
+            java.util.Arrays.fill(selloNodo, 0);
+            sello = 0;
+        }
+        return ++sello;
+    }
+
+    /**
+     * Reúne los términos que empiezan con el prefijo recorriendo el
+     * subárbol de su nodo a lo ancho, así que los términos más cortos (los
+     * más parecidos a la palabra) van primero; el término igual al prefijo
+     * cuenta doble. Se detiene al reunir {MAX_TERMINOS_PREFIJO} términos
+     * o al visitar {MAX_NODOS_PREFIJO} nodos: el presupuesto de la
+     * consulta solo acota las listas de documentos, y sin este límite un
+     * prefijo corto recorrería casi todo el vocabulario.
+     */
+    private void reunirPrefijo(String prefijo, int sello, Terminos terminos) {
+        int raiz = buscarNodo(prefijo);
+        if (raiz <= 0) return;
+        int[] cola = new int[16];
+        int inicio = 0;
+        int fin = 0;
+        int reunidos = 0;
+        cola[fin++] = raiz;
+        while (inicio < fin && inicio < MAX_NODOS_PREFIJO && reunidos < MAX_TERMINOS_PREFIJO) {
+            int nodo = cola[inicio++];
+            // Los nodos después del límite de visitas nunca se sacarían de la cola.
+            for (int h = hijo[nodo]; h != -1 && fin < MAX_NODOS_PREFIJO; h = hermano[h]) {
+                if (fin == cola.length) cola = java.util.Arrays.copyOf(cola, fin * 2);
+                cola[fin++] = h;
+            }
+            if (frecuencia[nodo] == 0) continue;
+            selloNodo[nodo] = sello;
+            terminos.agregar(nodo, (nodo == raiz) ? 2.0 : 1.0);
+            reunidos++;
+        }
+    }
+
+    /**
+     * Recorre los hijos de un nodo calculando la fila de la matriz de
+     * Levenshtein de cada uno contra la palabra; se detiene en las ramas
+     * donde todos los valores de la fila superan el límite de errores.
+     *
+     * @param fila Fila del nodo padre: fila[j] es la distancia entre el
+     *             camino hasta el padre y los primeros j caracteres.
+     */
+    private void reunirAproximados(int nodo, String palabra, int[] fila, int errores,
+                                   int sello, Terminos terminos) {
+        int m = palabra.length();
+        for (int h = hijo[nodo]; h != -1; h = hermano[h]) {
+            char ch = letra[h];
+            int[] nueva = new int[m + 1];
+            nueva[0] = fila[0] + 1;
+            int minimo = nueva[0];
+            for (int j = 1; j <= m; j++) {
+                int sustitucion = fila[j - 1] + (palabra.charAt(j - 1) == ch ? 0 : 1);
+                nueva[j] = Math.min(sustitucion, Math.min(fila[j] + 1, nueva[j - 1] + 1));
+                if (nueva[j] < minimo) minimo = nueva[j];
+            }
+            if (nueva[m] <= errores && frecuencia[h] > 0 && selloNodo[h] != sello) {
+                selloNodo[h] = sello;
+                terminos.agregar(h, 1.0 / (1 + nueva[m]));
+            }
+            if (minimo <= errores) {
+                reunirAproximados(h, palabra, nueva, errores, sello, terminos);
+            }
+        }
+    }
+
+    /**
+     * Asigna un documento interno a un identificador.
+     */
+    private int nuevoDocumento(int id) {
+        int d;
+        if (cantidadLibres > 0) {
+            d = libres[--cantidadLibres];
+        } else {
+            if (usados == MAX_DOCUMENTOS) {
+                throw new IllegalStateException("El índice de texto está lleno.");
+            }
+            d = usados++;
+            if (d == idDe.length) {
+                idDe = java.util.Arrays.copyOf(idDe, d * 2);
+                nodosDe = java.util.Arrays.copyOf(nodosDe, d * 2);
+            }
+        }
+        idDe[d] = id;
+        documentoDe.poner(id, d);
+        documentos++;
+        return d;
+    }
+
+    /**
+     * Devuelve el nodo donde termina un término, creando los que falten.
+     *
+     * @return Nodo del término (0 si el término está vacío).
+     */
+    private int insertarTermino(String termino) {
+        int nodo = 0;
+        for (int i = 0; i < termino.length(); i++) {
+            char ch = termino.charAt(i);
+            int h = hijoCon(nodo, ch);
+            if (h == -1) {
+                h = nuevoNodo(ch);
+                hermano[h] = hijo[nodo];
+                hijo[nodo] = h;
+            }
+            nodo = h;
+        }
+        return nodo;
+    }
+
+    /**
+     * Devuelve el nodo donde termina un término o prefijo.
+     *
+     * @return Nodo encontrado, 0 si el texto está vacío, o -1 si ningún
+     *         término empieza así.
+     */
+    private int buscarNodo(String prefijo) {
+        int nodo = 0;
+        for (int i = 0; i < prefijo.length() && nodo != -1; i++) {
+            nodo = hijoCon(nodo, prefijo.charAt(i));
+        }
+        return nodo;
+    }
+
+    private int hijoCon(int nodo, char ch) {
+        for (int h = hijo[nodo]; h != -1; h = hermano[h]) {
+            if (letra[h] == ch) return h;
+        }
+        return -1;
+    }
+
+    private int nuevoNodo(char ch) {
+        if (nodos == letra.length) {
+            int n = nodos * 2;
+            letra = java.util.Arrays.copyOf(letra, n);
+            hijo = java.util.Arrays.copyOf(hijo, n);
+            hermano = java.util.Arrays.copyOf(hermano, n);
+            docs = java.util.Arrays.copyOf(docs, n);
+            pesos = java.util.Arrays.copyOf(pesos, n);
+            frecuencia = java.util.Arrays.copyOf(frecuencia, n);
+        }
+        int h = nodos++;
+        letra[h] = ch;
+        hijo[h] = -1;
+        hermano[h] = -1;
+        return h;
+    }
+
+    /**
+     * Términos encontrados para una palabra de la consulta, con el factor
+     * por el que se multiplica su puntaje.
+     */
+    private static final class Terminos {
+        int[] nodo = new int[16];
+        double[] factor = new double[16];
+        int cantidad;
+
+        void agregar(int n, double f) {
+            if (cantidad == nodo.length) {
+                nodo = java.util.Arrays.copyOf(nodo, cantidad * 2);
+                factor = java.util.Arrays.copyOf(factor, cantidad * 2);
+            }
+            nodo[cantidad] = n;
+            factor[cantidad++] = f;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * Clase Auxiliar: LectorCampos
+ *
+ * Lector secuencial (cursor) de campos delimitados dentro de una línea de
+ * texto, usado por los métodos {Persistible#fromLineaTexto(String)}.
+ * A diferencia de {String#split(String)}, no compila expresiones regulares
+ * ni crea arreglos intermedios: los enteros se leen directamente del rango
+ * de caracteres y solo se crean las cadenas de los campos de texto.
+ *
+ * Un campo termina en el separador indicado o en el límite actual. El
+ * límite es el final de la línea, o el final de un campo "abierto" con
+ * {abrirCampo(char)} para leer sus partes (por ejemplo, una fecha
+ * "D-M-A" dentro de un campo separado por '|').
+ */
+public final class LectorCampos {
+
+    /** Texto completo que se está leyendo. */
+    private final String texto;
+
+    /** Posición donde inicia el siguiente campo. */
+    private int pos;
+
+    /** Posición (exclusiva) donde termina el ámbito de lectura actual. */
+    private int limite;
+
+    /**
+     * Constructor del lector.
+     *
+     * @param texto Línea de texto a leer.
+     */
+    public LectorCampos(String texto) {
+        this.texto = texto;
+        this.pos = 0;
+        this.limite = texto.length();
+    }
+
+    /**
+     * Indica si queda al menos un campo (posiblemente vacío) por leer
+     * dentro del ámbito actual.
+     *
+     * @return true si hay otro campo.
+     */
+    public boolean hayMas() {
+        return pos <= limite;
+    }
+
+    /**
+     * Indica si el siguiente campo está vacío o solo contiene espacios.
+     * No avanza el cursor.
+     *
+     * @param sep Separador de campos.
+     * @return true si no hay más campos o el siguiente está en blanco.
+     */
+    public boolean siguienteVacio(char sep) {
+        if (!hayMas()) return true;
+        int fin = finDeCampo(sep);
+        for (int i = pos; i < fin; i++) {
+            if (texto.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Método Calculador: siguienteTexto
+     *
+     * Lee el siguiente campo como cadena, sin recortar espacios.
+     *
+     * @param sep Separador de campos.
+     * @return Contenido del campo.
+     * @throws FormatoInvalidoException Si ya no hay campos por leer.
+     */
+    public String siguienteTexto(char sep) throws FormatoInvalidoException {
+        exigirCampo();
+        int fin = finDeCampo(sep);
+        String valor = texto.substring(pos, fin);
+        pos = fin + 1;
+        return valor;
+    }
+
+    /**
+     * Método Calculador: siguienteEntero
+     *
+     * Lee el siguiente campo como entero decimal, directamente desde los
+     * caracteres del texto. Acepta espacios alrededor del número y un
+     * signo inicial (excepto cuando el propio separador es '-').
+     * El cursor avanza al siguiente campo aunque el número sea inválido.
+     *
+     * @param sep Separador de campos.
+     * @return Valor entero del campo.
+     * @throws FormatoInvalidoException Si no hay campo, está vacío, contiene
+     *                                  caracteres no numéricos o se desborda.
+     */
+    public int siguienteEntero(char sep) throws FormatoInvalidoException {
+        exigirCampo();
+        int fin = finDeCampo(sep);
+        int i = pos;
+        pos = fin + 1;
+
+        while (i < fin && texto.charAt(i) == ' ') i++;
+        boolean negativo = false;
+        if (i < fin && sep != '-' && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+            negativo = texto.charAt(i) == '-';
+            i++;
+        }
+
+        // Se acumula en negativo para poder representar Integer.MIN_VALUE.
+        int limiteValor = negativo ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int valor = 0;
+        int digitos = 0;
+        while (i < fin) {
+            int d = texto.charAt(i) - '0';
+            if (d < 0 || d > 9) break;
+            if (valor < limiteValor / 10 || valor * 10 < limiteValor + d) {
+                throw new FormatoInvalidoException("Número fuera de rango en: " + texto);
+            }
+            valor = valor * 10 - d;
+            digitos++;
+            i++;
+        }
+        while (i < fin && texto.charAt(i) == ' ') i++;
+
+        if (digitos == 0 || i != fin) {
+            throw new FormatoInvalidoException("Número inválido en: " + texto);
+        }
+        return negativo ? valor : -valor;
+    }
+
+    /**
+     * Método Calculador: siguienteLista
+     *
+     * Lee el siguiente campo como una lista de valores separados por
+     * {@code sepLista}, recortando los espacios de cada valor. Igual que
+     * {String#split(String)}, descarta los valores vacíos del final.
+     *
+     * @param sep      Separador de campos.
+     * @param sepLista Separador de los valores dentro del campo.
+     * @return Arreglo de valores, o null si el campo está en blanco.
+     * @throws FormatoInvalidoException Si ya no hay campos por leer.
+     */
+    public String[] siguienteLista(char sep, char sepLista) throws FormatoInvalidoException {
+        if (siguienteVacio(sep)) {
+            if (hayMas()) pos = finDeCampo(sep) + 1;
+            return null;
+        }
+        int fin = finDeCampo(sep);
+
+        // Primera pasada: contar valores hasta el último no vacío.
+        int total = 0;
+        int utiles = 0;
+        int inicio = pos;
+        for (int i = pos; i <= fin; i++) {
+            if (i == fin || texto.charAt(i) == sepLista) {
+                total++;
+                if (!enBlanco(inicio, i)) utiles = total;
+                inicio = i + 1;
+            }
+        }
+
+        // Segunda pasada: crear solo las cadenas finales.
+        String[] valores = new String[utiles];
+        int n = 0;
+        inicio = pos;
+        for (int i = pos; i <= fin && n < utiles; i++) {
+            if (i == fin || texto.charAt(i) == sepLista) {
+                int a = inicio;
+                int b = i;
+                while (a < b && texto.charAt(a) <= ' ') a++;
+                while (b > a && texto.charAt(b - 1) <= ' ') b--;
+                valores[n++] = texto.substring(a, b);
+                inicio = i + 1;
+            }
+        }
+        pos = fin + 1;
+        return valores;
+    }
+
+    /**
+     * Método Calculador: abrirCampo
+     *
+     * Restringe la lectura al siguiente campo para leer sus partes con otro
+     * separador. Debe cerrarse con {cerrarCampo(int)}.
+     *
+     * @param sep Separador del campo a abrir.
+     * @return Límite anterior, que debe pasarse a {cerrarCampo(int)}.
+     * @throws FormatoInvalidoException Si ya no hay campos por leer.
+     */
+    public int abrirCampo(char sep) throws FormatoInvalidoException {
+        exigirCampo();
+        int anterior = limite;
+        limite = finDeCampo(sep);
+        return anterior;
+    }
+
+    /**
+     * Termina la lectura de un campo abierto con {abrirCampo(char)} y
+     * coloca el cursor al inicio del campo siguiente.
+     *
+     * @param limiteAnterior Valor devuelto por {abrirCampo(char)}.
+     */
+    public void cerrarCampo(int limiteAnterior) {
+        pos = limite + 1;
+        limite = limiteAnterior;
+    }
+
+    /**
+     * Busca el final del campo que inicia en la posición actual.
+     *
+     * @param sep Separador de campos.
+     * @return Posición del separador o el límite actual.
+     */
+    private int finDeCampo(char sep) {
+        int fin = texto.indexOf(sep, pos);
+        return (fin < 0 || fin > limite) ? limite : fin;
+    }
+
+    /**
+     * Verifica que exista un campo por leer.
+     *
+     * @throws FormatoInvalidoException Si el ámbito actual ya se agotó.
+     */
+    private void exigirCampo() throws FormatoInvalidoException {
+        if (pos > limite) {
+            throw new FormatoInvalidoException("Faltan campos en: " + texto);
+        }
+    }
+
+    /**
+     * Indica si un rango de caracteres solo contiene espacios.
+     *
+     * @param desde Inicio del rango (inclusivo).
+     * @param hasta Fin del rango (exclusivo).
+     * @return true si el rango está en blanco.
+     */
+    private boolean enBlanco(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (texto.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+}
@@ -21,6 +21,18 @@ public class MenuConsola {
     /** Objeto para leer datos desde la entrada estándar. */
     private Scanner scanner;
 
+    /** Número de fichas que muestra cada página de un listado detallado. */
+    private static final int TAMANO_PAGINA = 10;
+
+    /** Número de filas que muestra cada página de un listado en tabla. */
+    private static final int TAMANO_PAGINA_TABLA = 200;
+
+    /** Formato con el que se muestran los listados. */
+    private FormatoListado formatoListado = FormatoListado.DETALLE;
+
+    /** Número máximo de resultados que muestra una búsqueda por texto. */
+    private static final int MAX_RESULTADOS_BUSQUEDA = 20;
+
     /**
      * Constructor del menú de consola.
      *
@@ -48,6 +60,8 @@ public class MenuConsola {
             System.out.println("1. Gestionar Profesores");
             System.out.println("2. Gestionar Alumnos");
             System.out.println("3. Gestionar Cursos");
+            System.out.println("4. Cambiar formato de listados (actual: " + formatoListado + ")");
+            System.out.println("5. Guardar datos ahora (respaldos y archivos de texto)");
             System.out.println("0. Salir");
             System.out.print("Elige una opción: ");
             opcion = leerEntero();
@@ -56,17 +70,52 @@ public class MenuConsola {
                 case 1 -> menuProfesores();
                 case 2 -> menuAlumnos();
                 case 3 -> menuCursos();
+                case 4 -> cambiarFormatoListado();
+                case 5 -> guardarDatos();
                 case 0 -> System.out.println("Saliendo...");
                 default -> System.out.println("Opción inválida, intenta de nuevo.");
             }
         } while (opcion != 0);
     }
 
+    /**
+     * Alterna el formato de los listados entre fichas detalladas y una
+     * tabla compacta de una línea por elemento.
+     */
+    private void cambiarFormatoListado() {
+        formatoListado = (formatoListado == FormatoListado.DETALLE)
+                ? FormatoListado.TABLA : FormatoListado.DETALLE;
+        System.out.println("Los listados se mostrarán en formato " + formatoListado + ".");
+    }
+
+    /**
+     * Guarda en este momento los respaldos binarios y los archivos de
+     * texto ({GestorCursos#guardarDatos()}), lo mismo que se hace al salir.
+     */
+    private void guardarDatos() {
+        try {
+            gestorCursos.guardarDatos();
+            System.out.println("Datos guardados en los respaldos y en profesores.txt, alumnos.txt y cursos.txt.");
+        } catch (java.io.IOException e) {
+            System.out.println("Error al guardar: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve cuántos elementos se muestran por página con el formato
+     * actual.
+     *
+     * @return Tamaño de página.
+     */
+    private int tamanoPagina() {
+        return (formatoListado == FormatoListado.TABLA) ? TAMANO_PAGINA_TABLA : TAMANO_PAGINA;
+    }
+
     // ================== MENÚ PROFESORES ==================
 
     /**
      * Muestra el submenú de gestión de profesores y permite
-     * registrar, listar, editar y eliminar profesores.
+     * registrar, listar, editar, eliminar y buscar profesores por nombre.
      * Se repite hasta que el usuario decide volver al menú principal.
      */
     public void menuProfesores() {
@@ -77,6 +126,7 @@ public class MenuConsola {
             System.out.println("2. Listar profesores");
             System.out.println("3. Editar profesor");      
             System.out.println("4. Eliminar profesor");   
+            System.out.println("5. Buscar profesor por nombre");
             System.out.println("0. Volver");
             System.out.print("Opción: ");
             opcion = leerEntero();
@@ -86,6 +136,7 @@ public class MenuConsola {
                 case 2 -> listarProfesores();
                 case 3 -> editarProfesor();    
                 case 4 -> eliminarProfesor();  
+                case 5 -> buscarProfesoresPorNombre();
                 case 0 -> {}
                 default -> System.out.println("Opción inválida.");
             }
@@ -144,64 +195,27 @@ public class MenuConsola {
     /**
      * Muestra en consola el listado de todos los profesores registrados,
      * incluyendo su número de trabajador, nombre, niveles, categorías
-     * y datos del título. Si no hay profesores, informa al usuario.
+     * y datos del título, por páginas y en el formato elegido. Si no hay
+     * profesores, informa al usuario.
      */
     private void listarProfesores() {
-        Profesor[] profesores = gestorProfesores.listarProfesores();
         System.out.println("\nProfesores registrados:");
-
-        if (profesores == null) {
+        java.util.Iterator<Pagina<Profesor>> paginas = gestorProfesores.paginarProfesores(tamanoPagina());
+        if (!paginas.hasNext()) {
             System.out.println("No hay profesores registrados.");
             return;
         }
-
-        boolean hay = false;
-        for (int i = 0; i < profesores.length; i++) {
-            Profesor p = profesores[i];
-            if (p != null) {
-                hay = true;
-                System.out.println("----------------------------------------");
-                System.out.println("ID (núm. trabajador): " + p.getId());
-                System.out.println("Nombre:              " + p.getNombreCompleto());
-
-                // Niveles que da
-                System.out.print("Niveles que da:      ");
-                String[] niveles = p.getNivelesQueDa();
-                if (niveles != null && niveles.length > 0) {
-                    for (int j = 0; j < niveles.length; j++) {
-                        if (niveles[j] != null) {
-                            System.out.print(niveles[j]);
-                            if (j < niveles.length - 1) System.out.print(", ");
-                        }
-                    }
-                    System.out.println();
-                } else {
-                    System.out.println("No especificado");
-                }
-
-                // Categorías que da
-                System.out.print("Categorías que da:   ");
-                String[] cats = p.getCategoriasQueDa();
-                if (cats != null && cats.length > 0) {
-                    for (int j = 0; j < cats.length; j++) {
-                        if (cats[j] != null) {
-                            System.out.print(cats[j]);
-                            if (j < cats.length - 1) System.out.print(", ");
-                        }
-                    }
-                    System.out.println();
-                } else {
-                    System.out.println("No especificado");
-                }
-
-                System.out.println("Título:              " + p.getTitulo());
-                System.out.println("Año del título:      " + p.getAnioTitulo());
+        RenderizadorConsola salida = new RenderizadorConsola(formatoListado);
+        salida.encabezadoProfesores();
+        Pagina<Profesor> pagina;
+        do {
+            pagina = paginas.next();
+            Profesor[] profesores = pagina.getElementos();
+            for (int i = 0; i < profesores.length; i++) {
+                salida.profesor(profesores[i]);
             }
-        }
-
-        if (!hay) {
-            System.out.println("No hay profesores registrados.");
-        }
+            salida.vaciar();
+        } while (paginas.hasNext() && continuarListado(pagina));
     }
 
     /**
@@ -292,6 +306,7 @@ public class MenuConsola {
                 }
 
             } while (opcion != 0);
+            gestorProfesores.actualizarProfesor(p);
 
         } catch (NoEncontradoException e) {
             System.out.println("No se encontró un profesor con ese número de trabajador.");
@@ -326,7 +341,7 @@ public class MenuConsola {
 
     /**
      * Muestra el submenú de gestión de alumnos y permite
-     * registrar, listar, editar y eliminar registros de alumnos.
+     * registrar, listar, editar, eliminar y buscar alumnos por nombre.
      * Se mantiene en ejecución hasta que el usuario decide volver.
      */
     public void menuAlumnos() {
@@ -337,6 +352,7 @@ public class MenuConsola {
             System.out.println("2. Listar alumnos");
             System.out.println("3. Editar alumno");     
             System.out.println("4. Eliminar alumno");  
+            System.out.println("5. Buscar alumno por nombre");
             System.out.println("0. Volver");
             System.out.print("Opción: ");
             opcion = leerEntero();
@@ -346,6 +362,7 @@ public class MenuConsola {
                 case 2 -> listarAlumnos();
                 case 3 -> editarAlumno();     
                 case 4 -> eliminarAlumno();   
+                case 5 -> buscarAlumnosPorNombre();
                 case 0 -> {}
                 default -> System.out.println("Opción inválida.");
             }
@@ -375,33 +392,27 @@ public class MenuConsola {
 
     /**
      * Muestra el listado de alumnos registrados con sus
-     * datos básicos. Si no hay alumnos, informa al usuario.
+     * datos básicos, por páginas y en el formato elegido. Si no hay
+     * alumnos, informa al usuario.
      */
     private void listarAlumnos() {
-        Alumno[] alumnos = gestorAlumnos.listarAlumnos();
         System.out.println("\nAlumnos registrados:");
-
-        if (alumnos == null) {
+        java.util.Iterator<Pagina<Alumno>> paginas = gestorAlumnos.paginarAlumnos(tamanoPagina());
+        if (!paginas.hasNext()) {
             System.out.println("No hay alumnos registrados.");
             return;
         }
-
-        boolean hay = false;
-        for (int i = 0; i < alumnos.length; i++) {
-            Alumno a = alumnos[i];
-            if (a != null) {
-                hay = true;
-                System.out.println("----------------------------------------");
-                System.out.println("Número de cuenta:    " + a.getId());
-                System.out.println("Nombre:              " + a.getNombreCompleto());
-                System.out.println("Edad:                " + a.getEdad());
-                System.out.println("Escuela de procedencia: " + a.getEscuelaProcedencia());
+        RenderizadorConsola salida = new RenderizadorConsola(formatoListado);
+        salida.encabezadoAlumnos();
+        Pagina<Alumno> pagina;
+        do {
+            pagina = paginas.next();
+            Alumno[] alumnos = pagina.getElementos();
+            for (int i = 0; i < alumnos.length; i++) {
+                salida.alumno(alumnos[i]);
             }
-        }
-
-        if (!hay) {
-            System.out.println("No hay alumnos registrados.");
-        }
+            salida.vaciar();
+        } while (paginas.hasNext() && continuarListado(pagina));
     }
 
     /**
@@ -448,6 +459,7 @@ public class MenuConsola {
                 }
 
             } while (opcion != 0);
+            gestorAlumnos.actualizarAlumno(a);
 
         } catch (NoEncontradoException e) {
             System.out.println("No se encontró un alumno con ese número de cuenta.");
@@ -484,7 +496,7 @@ public class MenuConsola {
      * Muestra el submenú de gestión de cursos y permite registrar,
      * listar, asignar profesor, inscribir y desinscribir alumnos,
      * reasignar profesor, editar y eliminar cursos, así como ver
-     * la lista de alumnos de un curso.
+     * la lista de alumnos de un curso y buscar cursos por palabra.
      */
     public void menuCursos() {
         int opcion;
@@ -499,6 +511,7 @@ public class MenuConsola {
             System.out.println("7. Editar curso");           
             System.out.println("8. Eliminar curso");         
             System.out.println("9. Ver alumnos de un curso");
+            System.out.println("10. Buscar cursos por palabra");
             System.out.println("0. Volver");
             System.out.print("Opción: ");
             opcion = leerEntero();
@@ -513,6 +526,7 @@ public class MenuConsola {
                 case 7 -> editarCurso();          
                 case 8 -> eliminarCurso();       
                 case 9 -> verAlumnosDeCurso();    
+                case 10 -> buscarCursos();
                 case 0 -> {}
                 default -> System.out.println("Opción inválida.");
             }
@@ -559,44 +573,13 @@ public class MenuConsola {
             System.out.println("\n--- Fechas del curso (formato DD-MM-AAAA) ---");
 
             Fecha hoy = Fecha.hoy();
-            Fecha fechaIniIns;
-            Fecha fechaFinIns;
-            Fecha fechaIniCurso;
-            Fecha fechaFinCurso;
-
-            // 1) Inicio de inscripciones: no anterior a hoy
-            fechaIniIns = leerFechaNoAnteriorAHoy("Fecha inicio de inscripciones: ", hoy);
-
-            // 2) Fin de inscripciones: no anterior a hoy y no antes del inicio
-            do {
-                fechaFinIns = leerFechaNoAnteriorAHoy("Fecha fin de inscripciones: ", hoy);
-                if (fechaFinIns.esAnteriorA(fechaIniIns)) {
-                    System.out.println("La fecha de fin de inscripciones no puede ser anterior al inicio de inscripciones.");
-                }
-            } while (fechaFinIns.esAnteriorA(fechaIniIns));
-
-            // 3) Inicio del curso: no anterior a hoy y DEBE ser posterior al fin de inscripciones
-            do {
-                fechaIniCurso = leerFechaNoAnteriorAHoy("Fecha inicio del curso: ", hoy);
-                if (!fechaIniCurso.esPosteriorA(fechaFinIns)) {
-                    System.out.println("La fecha de inicio del curso debe ser posterior a la fecha de fin de inscripciones.");
-                    System.out.println("No pueden ser el mismo día ni antes.");
-                }
-            } while (!fechaIniCurso.esPosteriorA(fechaFinIns));
-
-            // 4) Fin del curso: no anterior a hoy y no antes del inicio del curso
-            do {
-                fechaFinCurso = leerFechaNoAnteriorAHoy("Fecha fin del curso: ", hoy);
-                if (fechaFinCurso.esAnteriorA(fechaIniCurso)) {
-                    System.out.println("La fecha de fin del curso no puede ser anterior a la fecha de inicio del curso.");
-                }
-            } while (fechaFinCurso.esAnteriorA(fechaIniCurso));
+            Fecha[] fechas = leerFechasCurso(hoy);
 
             Curso c = new Curso(id, nombre, categoria, nivel,
                     horario, plataforma, max, desc,
-                    fechaIniIns, fechaFinIns, fechaIniCurso, fechaFinCurso);
+                    fechas[0], fechas[1], fechas[2], fechas[3]);
 
-            gestorCursos.registrarCurso(c);
+            gestorCursos.registrarCurso(c, hoy);
             System.out.println("Curso registrado correctamente.");
 
         } catch (Exception e) {
@@ -606,64 +589,39 @@ public class MenuConsola {
 
     /**
      * Muestra en pantalla la lista de cursos registrados junto con
-     * sus datos principales, profesor asignado y alumnos inscritos.
-     * Si no hay cursos, informa al usuario.
+     * sus datos principales, profesor asignado y alumnos inscritos, por
+     * páginas y en el formato elegido. Si no hay cursos, informa al usuario.
      */
     private void listarCursos() {
-        Curso[] cursos = gestorCursos.listarCursos();
         System.out.println("\nCursos registrados:");
-
-        if (cursos == null) {
+        java.util.Iterator<Pagina<Curso>> paginas = gestorCursos.paginarCursos(tamanoPagina());
+        if (!paginas.hasNext()) {
             System.out.println("No hay cursos registrados.");
             return;
         }
-
-        boolean hay = false;
-        for (int i = 0; i < cursos.length; i++) {
-            Curso c = cursos[i];
-            if (c != null) {
-                hay = true;
-                System.out.println("========================================");
-                System.out.println("ID del curso:        " + c.getId());
-                System.out.println("Nombre:              " + c.getNombre());
-                System.out.println("Nivel:               " + c.getNivel());
-                System.out.println("Categoría:           " + c.getCategoria());
-                System.out.println("Plataforma:          " + c.getPlataforma());
-                System.out.println("Horario:             " + c.getHorario());
-                System.out.println("Descripción:         " + c.getDescripcion());
-                System.out.println("Inicio inscripciones:" + c.getFechaInicioInscripciones());
-                System.out.println("Fin inscripciones:   " + c.getFechaFinInscripciones());
-                System.out.println("Inicio curso:        " + c.getFechaInicioCurso());
-                System.out.println("Fin curso:           " + c.getFechaFinCurso());
-
-                // Profesor asignado
-                Profesor p = c.getProfesorAsignado();
-                if (p != null) {
-                    System.out.println("Profesor asignado:   " + p.getId()
-                            + " | " + p.getNombreCompleto());
-                } else {
-                    System.out.println("Profesor asignado:   (ninguno)");
-                }
-
-                // Alumnos inscritos
-                Alumno[] alumnos = c.getAlumnosInscritos();
-                int nAlumnos = c.getContadorAlumnos();
-                System.out.println("Alumnos inscritos:   " + nAlumnos);
-
-                if (nAlumnos > 0 && alumnos != null) {
-                    for (int j = 0; j < nAlumnos; j++) {
-                        if (alumnos[j] != null) {
-                            System.out.println("   - " + alumnos[j].getId()
-                                    + " | " + alumnos[j].getNombreCompleto());
-                        }
-                    }
-                }
+        RenderizadorConsola salida = new RenderizadorConsola(formatoListado);
+        salida.encabezadoCursos();
+        Pagina<Curso> pagina;
+        do {
+            pagina = paginas.next();
+            Curso[] cursos = pagina.getElementos();
+            for (int i = 0; i < cursos.length; i++) {
+                salida.curso(cursos[i]);
             }
-        }
+            salida.vaciar();
+        } while (paginas.hasNext() && continuarListado(pagina));
+    }
 
-        if (!hay) {
-            System.out.println("No hay cursos registrados.");
-        }
+    /**
+     * Pregunta si se muestra la siguiente página de un listado.
+     *
+     * @param pagina Página que se acaba de mostrar.
+     * @return true para continuar; false si el usuario escribe 0.
+     */
+    private boolean continuarListado(Pagina<?> pagina) {
+        System.out.print("-- Página " + (pagina.getNumero() + 1) + " de " + pagina.getTotalPaginas()
+                + ". Enter para ver más, 0 para terminar: ");
+        return !scanner.nextLine().trim().equals("0");
     }
 
     /**
@@ -740,39 +698,12 @@ public class MenuConsola {
                     case 7 -> {
                         // Reutilizamos la lógica de fechas con las mismas reglas
                         System.out.println("\n--- Nuevas fechas del curso (formato DD-MM-AAAA) ---");
-                        Fecha hoy2 = Fecha.hoy();
-                        Fecha fechaIniIns;
-                        Fecha fechaFinIns;
-                        Fecha fechaIniCurso;
-                        Fecha fechaFinCurso;
-
-                        fechaIniIns = leerFechaNoAnteriorAHoy("Fecha inicio de inscripciones: ", hoy2);
-
-                        do {
-                            fechaFinIns = leerFechaNoAnteriorAHoy("Fecha fin de inscripciones: ", hoy2);
-                            if (fechaFinIns.esAnteriorA(fechaIniIns)) {
-                                System.out.println("La fecha de fin de inscripciones no puede ser anterior al inicio.");
-                            }
-                        } while (fechaFinIns.esAnteriorA(fechaIniIns));
-
-                        do {
-                            fechaIniCurso = leerFechaNoAnteriorAHoy("Fecha inicio del curso: ", hoy2);
-                            if (!fechaIniCurso.esPosteriorA(fechaFinIns)) {
-                                System.out.println("La fecha de inicio del curso debe ser posterior al fin de inscripciones.");
-                            }
-                        } while (!fechaIniCurso.esPosteriorA(fechaFinIns));
-
-                        do {
-                            fechaFinCurso = leerFechaNoAnteriorAHoy("Fecha fin del curso: ", hoy2);
-                            if (fechaFinCurso.esAnteriorA(fechaIniCurso)) {
-                                System.out.println("La fecha de fin del curso no puede ser anterior a la de inicio.");
-                            }
-                        } while (fechaFinCurso.esAnteriorA(fechaIniCurso));
-
-                        c.setFechaInicioInscripciones(fechaIniIns);
-                        c.setFechaFinInscripciones(fechaFinIns);
-                        c.setFechaInicioCurso(fechaIniCurso);
-                        c.setFechaFinCurso(fechaFinCurso);
+                        Fecha[] fechas = leerFechasCurso(Fecha.hoy());
+
+                        c.setFechaInicioInscripciones(fechas[0]);
+                        c.setFechaFinInscripciones(fechas[1]);
+                        c.setFechaInicioCurso(fechas[2]);
+                        c.setFechaFinCurso(fechas[3]);
 
                         System.out.println("Fechas del curso actualizadas.");
                     }
@@ -781,6 +712,7 @@ public class MenuConsola {
                 }
 
             } while (opcion != 0);
+            gestorCursos.actualizarCurso(c);
 
         } catch (NoEncontradoException e) {
             System.out.println("No se encontró un curso con ese ID.");
@@ -918,12 +850,14 @@ public class MenuConsola {
                 return;
             }
 
+            RenderizadorConsola salida = new RenderizadorConsola(formatoListado);
             for (int i = 0; i < n; i++) {
                 if (alumnos[i] != null) {
-                    System.out.println("- " + alumnos[i].getId()
+                    salida.linea("- " + alumnos[i].getId()
                             + " | " + alumnos[i].getNombreCompleto());
                 }
             }
+            salida.vaciar();
 
         } catch (NoEncontradoException e) {
             System.out.println("No se encontró un curso con ese ID.");
@@ -932,6 +866,59 @@ public class MenuConsola {
         }
     }
 
+    /**
+     * Busca cursos por palabras de su nombre o descripción y muestra los
+     * más relevantes, una línea por curso.
+     */
+    private void buscarCursos() {
+        System.out.println("\n--- Búsqueda de cursos ---");
+        String consulta = leerNoVacio("Palabras a buscar: ");
+        Curso[] cursos = gestorCursos.buscarCursos(consulta, MAX_RESULTADOS_BUSQUEDA);
+        if (cursos.length == 0) {
+            System.out.println("No se encontraron cursos.");
+            return;
+        }
+        for (int i = 0; i < cursos.length; i++) {
+            Curso c = cursos[i];
+            System.out.println("- " + c.getId() + " | " + c.getNombre()
+                    + " | " + c.getNivel() + " | " + c.getCategoria() + " | " + c.getHorario());
+        }
+    }
+
+    /**
+     * Busca profesores por nombre (admite nombres incompletos y errores
+     * de dedo) y muestra los más parecidos.
+     */
+    private void buscarProfesoresPorNombre() {
+        System.out.println("\n--- Búsqueda de profesores ---");
+        String consulta = leerNoVacio("Nombre a buscar: ");
+        Profesor[] profesores = gestorProfesores.buscarProfesoresPorNombre(consulta, MAX_RESULTADOS_BUSQUEDA);
+        if (profesores.length == 0) {
+            System.out.println("No se encontraron profesores.");
+            return;
+        }
+        for (int i = 0; i < profesores.length; i++) {
+            System.out.println("- " + profesores[i].getId() + " | " + profesores[i].getNombreCompleto());
+        }
+    }
+
+    /**
+     * Busca alumnos por nombre (admite nombres incompletos y errores
+     * de dedo) y muestra los más parecidos.
+     */
+    private void buscarAlumnosPorNombre() {
+        System.out.println("\n--- Búsqueda de alumnos ---");
+        String consulta = leerNoVacio("Nombre a buscar: ");
+        Alumno[] alumnos = gestorAlumnos.buscarAlumnosPorNombre(consulta, MAX_RESULTADOS_BUSQUEDA);
+        if (alumnos.length == 0) {
+            System.out.println("No se encontraron alumnos.");
+            return;
+        }
+        for (int i = 0; i < alumnos.length; i++) {
+            System.out.println("- " + alumnos[i].getId() + " | " + alumnos[i].getNombreCompleto());
+        }
+    }
+
     // ============= MÉTODOS DE LECTURA Y VALIDACIÓN =============
 
     /**
@@ -1110,26 +1097,36 @@ public class MenuConsola {
     }
 
     /**
-     * Lee una fecha válida cuyo valor no puede ser anterior a la fecha
-     * actual proporcionada. Utiliza {@link #leerFechaValida(String)} para
-     * validar el formato y luego compara contra la fecha dada.
+     * Lee las cuatro fechas de un curso (inicio y fin de inscripciones,
+     * inicio y fin del curso), en ese orden. Cada fecha se revisa al
+     * capturarla, junto con las anteriores, con
+     * {@link Curso#validarFechas(Fecha, Fecha, Fecha, Fecha, Fecha)}: las
+     * mismas reglas que aplica {@link GestorCursos#registrarCurso(Curso, Fecha)}.
      *
-     * @param mensaje Mensaje a mostrar.
-     * @param hoy     Fecha mínima permitida.
-     * @return Fecha igual o posterior a {@code hoy}.
+     * @param hoy Fecha actual.
+     * @return Las cuatro fechas, en el orden en que se capturaron.
      */
-    private Fecha leerFechaNoAnteriorAHoy(String mensaje, Fecha hoy) {
-        Fecha f = null;
-        boolean valido = false;
-        do {
-            f = leerFechaValida(mensaje);  // ya valida el formato
-            if (f.esAnteriorA(hoy)) {
-                System.out.println("La fecha no puede ser anterior a hoy (" + hoy + "). Intenta de nuevo.");
-            } else {
-                valido = true;
-            }
-        } while (!valido);
-        return f;
+    private Fecha[] leerFechasCurso(Fecha hoy) {
+        String[] mensajes = {
+                "Fecha inicio de inscripciones: ",
+                "Fecha fin de inscripciones: ",
+                "Fecha inicio del curso: ",
+                "Fecha fin del curso: "
+        };
+        Fecha[] fechas = new Fecha[4];
+        for (int i = 0; i < fechas.length; i++) {
+            boolean valido = false;
+            do {
+                fechas[i] = leerFechaValida(mensajes[i]);  // ya valida el formato
+                try {
+                    Curso.validarFechas(fechas[0], fechas[1], fechas[2], fechas[3], hoy);
+                    valido = true;
+                } catch (DatosInvalidosException e) {
+                    System.out.println(e.getMessage() + " Intenta de nuevo.");
+                }
+            } while (!valido);
+        }
+        return fechas;
     }
 
     /**
@@ -0,0 +1,19 @@
+/**
+ * Enumeración: ModoAlmacenamiento
+ *
+ * Define cómo administra su arreglo interno un {RepositorioBase}.
+ */
+public enum ModoAlmacenamiento {
+
+    /**
+     * Arreglo de tamaño fijo. Al llenarse se lanza
+     * {CapacidadLlenaException}. Útil para instalaciones pequeñas.
+     */
+    FIJO,
+
+    /**
+     * Arreglo que crece geométricamente cuando se llena,
+     * sin límite de capacidad.
+     */
+    CRECIBLE
+}
@@ -0,0 +1,337 @@
+/**
+ * Clase Vista: ModoComandos
+ *
+ * Ejecuta el sistema sin menús: lee comandos de texto, uno por línea (de
+ * un archivo o de la entrada estándar), y los aplica directamente con los
+ * gestores. Sirve para cargar datos en bloque y para medir el sistema con
+ * muchas operaciones.
+ *
+ * Por cada comando se escribe una línea {@code <línea> OK|ERROR <detalle>}
+ * y al final un resumen con el total de comandos, los errores, el tiempo
+ * y los comandos por segundo. La entrada se lee con búfer y la salida pasa
+ * por un {RenderizadorConsola}, así que la consola no limita la velocidad.
+ *
+ * Las líneas vacías y las que empiezan con '#' se ignoran. Comandos:
+ *
+ *     fecha D-M-AAAA                     Fecha "de hoy" para las reglas (por omisión, la real).
+ *     registrar-profesor linea           Mismo formato que profesores.txt.
+ *     registrar-alumno linea             Mismo formato que alumnos.txt.
+ *     registrar-curso linea              Mismo formato que cursos.txt; el profesor y los
+ *                                        alumnos de la línea se ignoran. Las fechas siguen
+ *                                        las reglas del menú respecto a la fecha "de hoy".
+ *     eliminar-profesor numTrabajador
+ *     eliminar-alumno numCuenta
+ *     eliminar-curso idCurso
+ *     asignar idCurso numTrabajador
+ *     reasignar idCurso numTrabajador
+ *     asignar-todos                      Asignación automática de profesores.
+ *     inscribir idCurso numCuenta
+ *     desinscribir idCurso numCuenta
+ *     inscribir-lote hilos archivo       Inscribe las filas "idCurso numCuenta" del archivo;
+ *                                        con un hilo, agrupadas por curso
+ *                                        ({GestorCursos#inscribirLote(int[], int[], Fecha)});
+ *                                        con más, a la vez con {MotorInscripcion}. En ambos
+ *                                        casos las filas que compiten no siguen el orden del archivo.
+ *     buscar-cursos palabras
+ *     choques                            Cuenta los choques de horario.
+ *     exportar                           Guarda ya los respaldos y profesores.txt, alumnos.txt
+ *                                        y cursos.txt (compacta la bitácora).
+ */
+public class ModoComandos {
+
+    /** Número máximo de cursos que se reportan en una búsqueda. */
+    private static final int MAX_RESULTADOS_BUSQUEDA = 20;
+
+    /** Tamaño del búfer de lectura de comandos. */
+    private static final int TAMANO_BUFER_ENTRADA = 1 << 16;
+
+    /** Gestor responsable de la lógica relacionada con cursos. */
+    private final GestorCursos gestorCursos;
+
+    /** Gestor responsable de la lógica relacionada con profesores. */
+    private final GestorProfesores gestorProfesores;
+
+    /** Gestor responsable de la lógica relacionada con alumnos. */
+    private final GestorAlumnos gestorAlumnos;
+
+    /** Salida de los resultados. */
+    private final RenderizadorConsola salida;
+
+    /** Fecha con la que se evalúan las reglas de fechas. */
+    private Fecha hoy = Fecha.hoy();
+
+    /** Indica si el último comando se aplicó; lo apaga {rechazar(String)}. */
+    private boolean exito;
+
+    /**
+     * Constructor del modo de comandos.
+     *
+     * @param gestorCursos     Gestor de cursos.
+     * @param gestorProfesores Gestor de profesores.
+     * @param gestorAlumnos    Gestor de alumnos.
+     * @param destino          Flujo donde se escriben los resultados.
+     */
+    public ModoComandos(GestorCursos gestorCursos,
+                        GestorProfesores gestorProfesores,
+                        GestorAlumnos gestorAlumnos,
+                        java.io.PrintStream destino) {
+        this.gestorCursos = gestorCursos;
+        this.gestorProfesores = gestorProfesores;
+        this.gestorAlumnos = gestorAlumnos;
+        this.salida = new RenderizadorConsola(destino, FormatoListado.TABLA);
+    }
+
+    /**
+     * Método Gestor: ejecutar
+     *
+     * Ejecuta todos los comandos de la entrada, en orden. Un comando que
+     * falla se reporta y no detiene a los siguientes.
+     *
+     * @param entrada Texto con los comandos.
+     * @return Número de comandos que fallaron.
+     * @throws java.io.IOException Si ocurre un error al leer la entrada.
+     */
+    public int ejecutar(java.io.Reader entrada) throws java.io.IOException {
+        java.io.BufferedReader lector = new java.io.BufferedReader(entrada, TAMANO_BUFER_ENTRADA);
+        int ejecutados = 0;
+        int fallidos = 0;
+        int numeroLinea = 0;
+        long inicio = System.nanoTime();
+
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            String texto = linea.trim();
+            if (texto.isEmpty() || texto.charAt(0) == '#') continue;
+
+            String detalle;
+            try {
+                exito = true;
+                detalle = ejecutarComando(texto);
+            } catch (Exception e) {
+                exito = false;
+                detalle = e.getMessage();
+            }
+            ejecutados++;
+            if (!exito) fallidos++;
+            salida.linea(numeroLinea + "\t" + (exito ? "OK" : "ERROR") + "\t" + detalle);
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        double segundos = nanos / 1e9;
+        long porSegundo = (segundos > 0) ? Math.round(ejecutados / segundos) : ejecutados;
+        salida.linea("Comandos: " + ejecutados + " (" + fallidos + " con error) en "
+                + (nanos / 1_000_000) + " ms, " + porSegundo + " comandos/s.");
+        salida.vaciar();
+        return fallidos;
+    }
+
+    /**
+     * Ejecuta un comando.
+     *
+     * @param texto Línea del comando, sin espacios al inicio ni al final.
+     * @return Descripción del resultado.
+     * @throws Exception Cualquier excepción de los gestores, cuyo mensaje
+     *                   se reporta como error del comando.
+     */
+    private String ejecutarComando(String texto) throws Exception {
+        int espacio = texto.indexOf(' ');
+        String comando = (espacio < 0) ? texto : texto.substring(0, espacio);
+        String resto = (espacio < 0) ? "" : texto.substring(espacio + 1).trim();
+
+        switch (comando) {
+            case "fecha": {
+                hoy = Fecha.fromString(resto);
+                return "Fecha: " + hoy;
+            }
+            case "registrar-profesor": {
+                Profesor p = new Profesor();
+                p.fromLineaTexto(resto);
+                gestorProfesores.registrarProfesor(p);
+                return "Profesor registrado: " + p.getId();
+            }
+            case "registrar-alumno": {
+                Alumno a = new Alumno();
+                a.fromLineaTexto(resto);
+                gestorAlumnos.registrarAlumno(a);
+                return "Alumno registrado: " + a.getId();
+            }
+            case "registrar-curso": {
+                Curso c = new Curso();
+                c.fromLineaTexto(resto);
+                validarCatalogos(c);
+                gestorCursos.registrarCurso(c, hoy);
+                return "Curso registrado: " + c.getId();
+            }
+            case "eliminar-profesor": {
+                int id = enteros(resto, 1)[0];
+                gestorProfesores.eliminarProfesor(id);
+                return "Profesor eliminado: " + id;
+            }
+            case "eliminar-alumno": {
+                int id = enteros(resto, 1)[0];
+                gestorAlumnos.eliminarAlumno(id);
+                return "Alumno eliminado: " + id;
+            }
+            case "eliminar-curso": {
+                int id = enteros(resto, 1)[0];
+                gestorCursos.eliminarCurso(id, hoy);
+                return "Curso eliminado: " + id;
+            }
+            case "asignar": {
+                int[] ids = enteros(resto, 2);
+                ResultadoAsignacion r = gestorCursos.intentarAsignarProfesor(ids[0], ids[1], hoy);
+                return r.esExito() ? r.getMensaje() : rechazar(r.getMensaje());
+            }
+            case "reasignar": {
+                int[] ids = enteros(resto, 2);
+                ResultadoAsignacion r = gestorCursos.intentarReasignarProfesor(ids[0], ids[1], hoy);
+                return r.esExito() ? r.getMensaje() : rechazar(r.getMensaje());
+            }
+            case "asignar-todos": {
+                return "Cursos con profesor asignado: " + gestorCursos.asignarAutomaticamente(hoy);
+            }
+            case "inscribir": {
+                int[] ids = enteros(resto, 2);
+                ResultadoInscripcion r = gestorCursos.intentarInscribirAlumnoEnCurso(ids[0], ids[1], hoy);
+                return r.esExito() ? r.getMensaje() : rechazar(r.getMensaje());
+            }
+            case "desinscribir": {
+                int[] ids = enteros(resto, 2);
+                ResultadoDesinscripcion r = gestorCursos.intentarDesinscribirAlumnoDeCurso(ids[0], ids[1], hoy);
+                return r.esExito() ? r.getMensaje() : rechazar(r.getMensaje());
+            }
+            case "inscribir-lote": {
+                int separador = resto.indexOf(' ');
+                if (separador < 0) {
+                    throw new DatosInvalidosException("Se esperaba: inscribir-lote hilos archivo");
+                }
+                int hilos = enteros(resto.substring(0, separador), 1)[0];
+                int[][] filas = leerFilas(resto.substring(separador + 1).trim());
+                byte[] codigos = (hilos <= 1)
+                        ? gestorCursos.inscribirLote(filas[0], filas[1], hoy)
+                        : gestorCursos.inscribirConcurrente(filas[0], filas[1], hoy, hilos);
+                int inscritas = 0;
+                for (int i = 0; i < codigos.length; i++) {
+                    if (ResultadoInscripcion.desdeCodigo(codigos[i]).esExito()) inscritas++;
+                }
+                return "Inscripciones: " + inscritas + " de " + codigos.length
+                        + " filas con " + Math.max(1, hilos) + " hilo(s)";
+            }
+            case "buscar-cursos": {
+                Curso[] cursos = gestorCursos.buscarCursos(resto, MAX_RESULTADOS_BUSQUEDA);
+                StringBuilder sb = new StringBuilder("Cursos encontrados: ").append(cursos.length);
+                for (int i = 0; i < cursos.length; i++) {
+                    sb.append(i == 0 ? " -> " : ", ").append(cursos[i].getId());
+                }
+                return sb.toString();
+            }
+            case "choques": {
+                return "Choques de horario: " + gestorCursos.reporteChoques().length;
+            }
+            case "exportar": {
+                gestorCursos.guardarDatos();
+                return "Datos guardados en los respaldos y archivos de texto";
+            }
+            default:
+                return rechazar("Comando desconocido: " + comando);
+        }
+    }
+
+    /**
+     * Marca el comando actual como fallido.
+     *
+     * @param mensaje Motivo del rechazo.
+     * @return El mismo mensaje, para reportarlo.
+     */
+    private String rechazar(String mensaje) {
+        exito = false;
+        return mensaje;
+    }
+
+    /**
+     * Verifica, como lo hace el menú al capturar un curso, que la
+     * categoría, el nivel, la plataforma y el horario sean válidos y que
+     * el cupo sea mayor a cero.
+     *
+     * @param c Curso leído del comando.
+     * @throws DatosInvalidosException Si algún valor no está en los catálogos
+     *                                 o el cupo no es positivo.
+     */
+    private static void validarCatalogos(Curso c) throws DatosInvalidosException {
+        if (!Catalogos.esValorValido(c.getCategoria(), Catalogos.CATEGORIAS)) {
+            throw new DatosInvalidosException("Categoría inválida: " + c.getCategoria());
+        }
+        if (!Catalogos.esValorValido(c.getNivel(), Catalogos.NIVELES)) {
+            throw new DatosInvalidosException("Nivel inválido: " + c.getNivel());
+        }
+        if (!Catalogos.esValorValido(c.getPlataforma(), Catalogos.PLATAFORMAS)) {
+            throw new DatosInvalidosException("Plataforma inválida: " + c.getPlataforma());
+        }
+        if (c.getNumeroEstudiantesMax() <= 0) {
+            throw new DatosInvalidosException("El número de estudiantes debe ser mayor a cero.");
+        }
+        Catalogos.validarHorario(c.getHorario());
+    }
+
+    /**
+     * Lee las filas "idCurso numCuenta" de un archivo para
+     * {@code inscribir-lote}. Las líneas vacías y las que empiezan con '#'
+     * se ignoran.
+     *
+     * @param ruta Ruta del archivo.
+     * @return IDs de curso en [0] y números de cuenta en [1], por fila.
+     * @throws java.io.IOException     Si ocurre un error de lectura.
+     * @throws DatosInvalidosException Si alguna fila no tiene dos números.
+     */
+    private static int[][] leerFilas(String ruta) throws java.io.IOException, DatosInvalidosException {
+        int[] cursos = new int[1024];
+        int[] cuentas = new int[1024];
+        int n = 0;
+        try (java.io.BufferedReader lector = new java.io.BufferedReader(
+                new java.io.InputStreamReader(new java.io.FileInputStream(ruta),
+                        java.nio.charset.StandardCharsets.UTF_8), TAMANO_BUFER_ENTRADA)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                String texto = linea.trim();
+                if (texto.isEmpty() || texto.charAt(0) == '#') continue;
+                int[] fila = enteros(texto, 2);
+                if (n == cursos.length) {
+                    cursos = java.util.Arrays.copyOf(cursos, n * 2);
+                    cuentas = java.util.Arrays.copyOf(cuentas, n * 2);
+                }
+                cursos[n] = fila[0];
+                cuentas[n] = fila[1];
+                n++;
+            }
+        }
+        return new int[][] { java.util.Arrays.copyOf(cursos, n), java.util.Arrays.copyOf(cuentas, n) };
+    }
+
+    /**
+     * Lee los argumentos enteros de un comando, separados por espacios.
+     *
+     * @param argumentos Argumentos del comando.
+     * @param cantidad   Número de argumentos que espera el comando.
+     * @return Valores de los argumentos, en orden.
+     * @throws DatosInvalidosException Si faltan o sobran argumentos o
+     *                                 alguno no es un número.
+     */
+    private static int[] enteros(String argumentos, int cantidad)
+            throws DatosInvalidosException {
+        String[] partes = argumentos.isEmpty() ? new String[0] : argumentos.split("\\s+");
+        if (partes.length != cantidad) {
+            throw new DatosInvalidosException("Se esperaban " + cantidad
+                    + " argumento(s) numérico(s): '" + argumentos + "'");
+        }
+        int[] valores = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            try {
+                valores[i] = Integer.parseInt(partes[i]);
+            } catch (NumberFormatException e) {
+                throw new DatosInvalidosException("Número inválido: " + partes[i]);
+            }
+        }
+        return valores;
+    }
+}
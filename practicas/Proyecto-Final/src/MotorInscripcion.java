@@ -0,0 +1,255 @@
+/**
+ * Clase Gestor: MotorInscripcion
+ *
+ * Ruta de inscripción y desinscripción que puede usarse desde muchos hilos
+ * a la vez (por ejemplo, durante una ola de inscripciones), conservando
+ * las reglas de {Curso#inscribirAlumno(Alumno, Fecha)}: el cupo del curso
+ * y el límite de materias por alumno nunca se exceden. Lo usa
+ * {GestorCursos#inscribirConcurrente(int[], int[], Fecha, int)}.
+ *
+ * Usa candados por franjas (lock striping): cada curso y cada alumno se
+ * asocian, según su ID, a uno de un número fijo de {ReentrantLock}. Una
+ * operación toma primero el candado de la franja del curso y después el
+ * de la franja del alumno; como todos los hilos siguen ese mismo orden y
+ * toman a lo más uno de cada tipo, no puede haber interbloqueos. Las
+ * operaciones sobre cursos y alumnos distintos avanzan en paralelo.
+ *
+ * Mientras el motor está en uso, los repositorios no deben cambiar de
+ * estructura (altas o bajas de cursos o alumnos) ni modificarse los
+ * mismos cursos por otra vía.
+ *
+ * Si la {Bitacora} pide compactarse, el hilo que lo nota toma todas las
+ * franjas (en el mismo orden: primero las de cursos, luego las de
+ * alumnos) para que los respaldos se escriban sin cambios a medias.
+ */
+public class MotorInscripcion {
+
+    /** Número de franjas por omisión para cada tipo de candado. */
+    private static final int FRANJAS_POR_OMISION = 64;
+
+    private final RepositorioCursos repoCursos;
+    private final RepositorioAlumnos repoAlumnos;
+
+    /** Candados de las franjas de cursos. */
+    private final java.util.concurrent.locks.ReentrantLock[] candadosCurso;
+
+    /** Candados de las franjas de alumnos. */
+    private final java.util.concurrent.locks.ReentrantLock[] candadosAlumno;
+
+    /** Máscara para reducir el hash de un ID a una franja. */
+    private final int mascara;
+
+    /** Bitácora donde se anotan los cambios; null si no se usa. */
+    private volatile Bitacora bitacora;
+
+    /**
+     * Constructor con el número de franjas por omisión.
+     *
+     * @param repoCursos  Repositorio de cursos.
+     * @param repoAlumnos Repositorio de alumnos.
+     */
+    public MotorInscripcion(RepositorioCursos repoCursos, RepositorioAlumnos repoAlumnos) {
+        this(repoCursos, repoAlumnos, FRANJAS_POR_OMISION);
+    }
+
+    /**
+     * Constructor del motor.
+     *
+     * Construye antes todos los cursos y alumnos que sigan pendientes de
+     * un respaldo mapeado y completa sus relaciones, para que los hilos
+     * solo lean los repositorios.
+     *
+     * @param repoCursos  Repositorio de cursos.
+     * @param repoAlumnos Repositorio de alumnos.
+     * @param franjas     Número de franjas por tipo de candado (se redondea
+     *                    a la siguiente potencia de 2).
+     */
+    public MotorInscripcion(RepositorioCursos repoCursos, RepositorioAlumnos repoAlumnos,
+                            int franjas) {
+        this.repoCursos = repoCursos;
+        this.repoAlumnos = repoAlumnos;
+        repoCursos.completarEnlaces();
+        repoCursos.materializarTodo();
+        repoAlumnos.materializarTodo();
+
+        int n = 1;
+        while (n < franjas && n < (1 << 16)) n <<= 1;
+        this.mascara = n - 1;
+        this.candadosCurso = new java.util.concurrent.locks.ReentrantLock[n];
+        this.candadosAlumno = new java.util.concurrent.locks.ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            candadosCurso[i] = new java.util.concurrent.locks.ReentrantLock();
+            candadosAlumno[i] = new java.util.concurrent.locks.ReentrantLock();
+        }
+    }
+
+    /**
+     * Asigna la {Bitacora} donde se anotan las inscripciones y
+     * desinscripciones. Con null (valor inicial) no se anotan.
+     *
+     * @param bitacora Bitácora de cambios, o null.
+     */
+    public void setBitacora(Bitacora bitacora) {
+        this.bitacora = bitacora;
+    }
+
+    /**
+     * Método Gestor: inscribir
+     *
+     * Inscribe un alumno en un curso aplicando todas las reglas de
+     * {Curso#inscribirAlumno(Alumno, Fecha)}, con los candados del curso
+     * y del alumno tomados.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     * @param hoy       Fecha actual.
+     * @throws NoEncontradoException Si no se encuentra el curso o el alumno.
+     * @throws InscripcionException  Si se viola alguna regla de inscripción.
+     */
+    public void inscribir(int idCurso, int numCuenta, Fecha hoy)
+            throws NoEncontradoException, InscripcionException {
+
+        Curso c = repoCursos.buscarPorId(idCurso);
+        Alumno a = repoAlumnos.buscarPorId(numCuenta);
+
+        java.util.concurrent.locks.ReentrantLock candadoCurso = candadosCurso[franja(idCurso)];
+        java.util.concurrent.locks.ReentrantLock candadoAlumno = candadosAlumno[franja(numCuenta)];
+        candadoCurso.lock();
+        try {
+            candadoAlumno.lock();
+            try {
+                c.inscribirAlumno(a, hoy);
+                // Se anota con los candados tomados para que el orden de la
+                // bitácora coincida con el orden real de los cambios.
+                Bitacora b = bitacora;
+                if (b != null) b.anotarInscripcion(idCurso, numCuenta);
+            } finally {
+                candadoAlumno.unlock();
+            }
+        } finally {
+            candadoCurso.unlock();
+        }
+        compactarBitacora();
+    }
+
+    /**
+     * Método Gestor: intentarInscribir
+     *
+     * Igual que {inscribir(int, int, Fecha)}, pero devuelve el motivo del
+     * rechazo en lugar de lanzar una excepción. Es la variante indicada
+     * cuando la mayoría de los intentos se rechazan.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     * @param hoy       Fecha actual.
+     * @return {ResultadoInscripcion#INSCRITO} o el motivo del rechazo.
+     */
+    public ResultadoInscripcion intentarInscribir(int idCurso, int numCuenta, Fecha hoy) {
+        int slotCurso = repoCursos.buscarPosicion(idCurso);
+        if (slotCurso == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoInscripcion.CURSO_NO_ENCONTRADO;
+        }
+        int slotAlumno = repoAlumnos.buscarPosicion(numCuenta);
+        if (slotAlumno == IndicePrimario.NO_ENCONTRADO) {
+            return ResultadoInscripcion.ALUMNO_NO_ENCONTRADO;
+        }
+        Curso c = repoCursos.elementoEn(slotCurso);
+        Alumno a = repoAlumnos.elementoEn(slotAlumno);
+
+        java.util.concurrent.locks.ReentrantLock candadoCurso = candadosCurso[franja(idCurso)];
+        java.util.concurrent.locks.ReentrantLock candadoAlumno = candadosAlumno[franja(numCuenta)];
+        ResultadoInscripcion r;
+        candadoCurso.lock();
+        try {
+            candadoAlumno.lock();
+            try {
+                r = c.intentarInscribir(a, hoy);
+                Bitacora b = bitacora;
+                if (r.esExito() && b != null) b.anotarInscripcion(idCurso, numCuenta);
+            } finally {
+                candadoAlumno.unlock();
+            }
+        } finally {
+            candadoCurso.unlock();
+        }
+        compactarBitacora();
+        return r;
+    }
+
+    /**
+     * Método Gestor: desinscribir
+     *
+     * Desinscribe un alumno de un curso aplicando las reglas de
+     * {Curso#desinscribirAlumno(Alumno, Fecha)}, con los candados del
+     * curso y del alumno tomados.
+     *
+     * @param idCurso   ID del curso.
+     * @param numCuenta Número de cuenta del alumno.
+     * @param hoy       Fecha actual.
+     * @throws NoEncontradoException Si no se encuentra el curso o el alumno.
+     * @throws InscripcionException  Si se viola alguna regla de desinscripción.
+     */
+    public void desinscribir(int idCurso, int numCuenta, Fecha hoy)
+            throws NoEncontradoException, InscripcionException {
+
+        Curso c = repoCursos.buscarPorId(idCurso);
+        Alumno a = repoAlumnos.buscarPorId(numCuenta);
+
+        java.util.concurrent.locks.ReentrantLock candadoCurso = candadosCurso[franja(idCurso)];
+        java.util.concurrent.locks.ReentrantLock candadoAlumno = candadosAlumno[franja(numCuenta)];
+        candadoCurso.lock();
+        try {
+            candadoAlumno.lock();
+            try {
+                c.desinscribirAlumno(a, hoy);
+                Bitacora b = bitacora;
+                if (b != null) b.anotarDesinscripcion(idCurso, numCuenta);
+            } finally {
+                candadoAlumno.unlock();
+            }
+        } finally {
+            candadoCurso.unlock();
+        }
+        compactarBitacora();
+    }
+
+    /**
+     * Compacta la bitácora si lo pidió. Se llama sin candados tomados; toma
+     * todas las franjas en el orden de siempre, así que espera a que
+     * terminen las operaciones en curso y no puede interbloquearse con
+     * ellas.
+     */
+    private void compactarBitacora() {
+        Bitacora b = bitacora;
+        if (b == null || !b.requiereCompactacion()) return;
+        int tomados = 0;
+        try {
+            for (; tomados < candadosCurso.length; tomados++) {
+                candadosCurso[tomados].lock();
+            }
+            for (; tomados < 2 * candadosCurso.length; tomados++) {
+                candadosAlumno[tomados - candadosCurso.length].lock();
+            }
+            b.compactarSiHaceFalta();
+        } finally {
+            while (tomados > candadosCurso.length) {
+                candadosAlumno[--tomados - candadosCurso.length].unlock();
+            }
+            while (tomados > 0) {
+                candadosCurso[--tomados].unlock();
+            }
+        }
+    }
+
+    /**
+     * Calcula la franja de un ID, mezclando sus bits para repartir
+     * bien los IDs consecutivos.
+     *
+     * @param id Identificador del curso o del alumno.
+     * @return Índice de la franja.
+     */
+    private int franja(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
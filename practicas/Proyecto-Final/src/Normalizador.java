@@ -0,0 +1,112 @@
+/**
+ * Clase Auxiliar: Normalizador
+ *
+ * Prepara texto en español para búsquedas: pasa a minúsculas, quita
+ * acentos y diéresis ("Física" y "fisica" quedan iguales, "Ñ" queda como
+ * "n") y parte el texto en palabras. Las palabras vacías más comunes
+ * ("de", "la", "y", ...) no se devuelven como términos, porque aparecen
+ * en casi todos los cursos y no ayudan a distinguirlos.
+ */
+public class Normalizador {
+
+    /** Palabras que no se indexan. */
+    private static final String[] PALABRAS_VACIAS = {
+        "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo",
+        "los", "o", "para", "por", "se", "su", "sus", "u", "un", "una", "y"
+    };
+
+    private Normalizador() {}
+
+    /**
+     * Método Calculador: normalizar
+     *
+     * Devuelve el texto en minúsculas y sin acentos.
+     *
+     * @param texto Texto original (puede ser null).
+     * @return Texto normalizado ("" si era null).
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        char[] letras = new char[texto.length()];
+        for (int i = 0; i < letras.length; i++) {
+            letras[i] = plegar(texto.charAt(i));
+        }
+        return new String(letras);
+    }
+
+    /**
+     * Método Calculador: terminos
+     *
+     * Parte un texto en palabras normalizadas (secuencias de letras y
+     * dígitos), sin las palabras vacías.
+     *
+     * @param texto Texto original (puede ser null).
+     * @return Términos en el orden en que aparecen, con repeticiones.
+     */
+    public static String[] terminos(String texto) {
+        return partir(texto, true);
+    }
+
+    /**
+     * Método Calculador: palabras
+     *
+     * Igual que {terminos(String)}, pero conserva las palabras vacías; se
+     * usa para las consultas, donde "de" puede ser el inicio de "derecho".
+     *
+     * @param texto Texto original (puede ser null).
+     * @return Palabras normalizadas en el orden en que aparecen.
+     */
+    public static String[] palabras(String texto) {
+        return partir(texto, false);
+    }
+
+    /**
+     * Indica si una palabra ya normalizada es una palabra vacía.
+     *
+     * @param palabra Palabra normalizada.
+     * @return true si no debe indexarse.
+     */
+    public static boolean esPalabraVacia(String palabra) {
+        return java.util.Arrays.binarySearch(PALABRAS_VACIAS, palabra) >= 0;
+    }
+
+    private static String[] partir(String texto, boolean sinVacias) {
+        if (texto == null) return new String[0];
+        String[] resultado = new String[8];
+        int n = 0;
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i <= texto.length(); i++) {
+            char ch = (i < texto.length()) ? plegar(texto.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                actual.append(ch);
+                continue;
+            }
+            if (actual.length() == 0) continue;
+            String palabra = actual.toString();
+            actual.setLength(0);
+            if (sinVacias && esPalabraVacia(palabra)) continue;
+            if (n == resultado.length) resultado = java.util.Arrays.copyOf(resultado, n * 2);
+            resultado[n++] = palabra;
+        }
+        return java.util.Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Pasa un carácter a minúscula y le quita el acento o la diéresis.
+     */
+    private static char plegar(char ch) {
+        if (ch < 128) {
+            return (ch >= 'A' && ch <= 'Z') ? (char) (ch + ('a' - 'A')) : ch;
+        }
+        switch (Character.toLowerCase(ch)) {
+            case 'á', 'à', 'ä', 'â': return 'a';
+            case 'é', 'è', 'ë', 'ê': return 'e';
+            case 'í', 'ì', 'ï', 'î': return 'i';
+            case 'ó', 'ò', 'ö', 'ô': return 'o';
+            case 'ú', 'ù', 'ü', 'û': return 'u';
+            case 'ñ': return 'n';
+            case 'ç': return 'c';
+            default: return Character.toLowerCase(ch);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Clase Modelo: Pagina&lt;T&gt;
+ *
+ * Un tramo consecutivo de los elementos de un repositorio, tal como lo
+ * devuelven {RepositorioBase#pagina(int, int)} y
+ * {RepositorioBase#paginas(int)}. Solo contiene elementos reales (sin las
+ * posiciones vacías de la capacidad del arreglo).
+ *
+ * @param <T> Tipo de los elementos.
+ */
+public class Pagina<T> {
+
+    /** Elementos de la página, en el orden del repositorio. */
+    private final T[] elementos;
+
+    /** Número de página, empezando en 0. */
+    private final int numero;
+
+    /** Número máximo de elementos por página. */
+    private final int tamano;
+
+    /** Número total de elementos del repositorio al crear la página. */
+    private final int totalElementos;
+
+    /**
+     * Constructor de la página.
+     *
+     * @param elementos      Elementos de la página.
+     * @param numero         Número de página (desde 0).
+     * @param tamano         Tamaño de página.
+     * @param totalElementos Total de elementos del repositorio.
+     */
+    public Pagina(T[] elementos, int numero, int tamano, int totalElementos) {
+        this.elementos = elementos;
+        this.numero = numero;
+        this.tamano = tamano;
+        this.totalElementos = totalElementos;
+    }
+
+    /**
+     * Obtiene los elementos de la página.
+     *
+     * @return Arreglo sin huecos, posiblemente vacío.
+     */
+    public T[] getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Obtiene el número de la página (la primera es la 0).
+     *
+     * @return Número de página.
+     */
+    public int getNumero() {
+        return numero;
+    }
+
+    /**
+     * Obtiene el número total de elementos del repositorio.
+     *
+     * @return Total de elementos.
+     */
+    public int getTotalElementos() {
+        return totalElementos;
+    }
+
+    /**
+     * Calcula el número total de páginas con este tamaño de página.
+     *
+     * @return Total de páginas (al menos 1).
+     */
+    public int getTotalPaginas() {
+        return Math.max(1, (totalElementos + tamano - 1) / tamano);
+    }
+
+    /**
+     * Indica si después de esta página quedan más elementos.
+     *
+     * @return true si hay una página siguiente.
+     */
+    public boolean hayMas() {
+        return (long) (numero + 1) * tamano < totalElementos;
+    }
+}
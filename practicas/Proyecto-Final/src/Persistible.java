@@ -24,4 +24,26 @@ public interface Persistible {
      *                                  no puede interpretarse correctamente.
      */
     void fromLineaTexto(String linea) throws FormatoInvalidoException;
+
+    /**
+     * Escribe el objeto en formato binario compacto (ver {FormatoBinario}).
+     * Debe contener la misma información que {#toLineaTexto()} y comenzar
+     * con el id del objeto escrito con
+     * {FormatoBinario#escribirEntero(java.io.DataOutput, int)}.
+     *
+     * @param salida Flujo donde se escriben los datos.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    void escribirBinario(java.io.DataOutput salida) throws java.io.IOException;
+
+    /**
+     * Reconstruye el objeto a partir de los datos escritos previamente
+     * por {#escribirBinario(java.io.DataOutput)}.
+     *
+     * @param entrada Flujo de donde se leen los datos.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    void leerBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException;
 }
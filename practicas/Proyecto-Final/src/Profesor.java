@@ -17,12 +17,45 @@ public class Profesor extends Persona implements Identificable, Persistible {
     /** Arreglo de categorías o áreas que el profesor puede impartir. */
     private String[] categoriasQueDa;
 
+    /** Máscara que indica que el profesor puede impartir cualquier valor. */
+    public static final int PUEDE_TODOS = -1;
+
+    /**
+     * Niveles que imparte como máscara de bits: el bit i corresponde a
+     * {Catalogos#NIVELES}[i]. Vale {PUEDE_TODOS} si no se registraron niveles.
+     */
+    private int mascaraNiveles = PUEDE_TODOS;
+
+    /**
+     * Categorías que imparte como máscara de bits sobre
+     * {Catalogos#CATEGORIAS}, o {PUEDE_TODOS} si no se registraron.
+     */
+    private int mascaraCategorias = PUEDE_TODOS;
+
     /** Título académico principal del profesor. */
     private String titulo;
 
     /** Año en el que el profesor obtuvo su título académico. */
     private int anioTitulo;
 
+    /**
+     * Número de cursos que tienen asignado a este profesor (índice inverso
+     * profesor → cursos). Lo mantiene {Curso#setProfesorAsignado(Profesor)}.
+     */
+    private int cursosAsignados;
+
+    /**
+     * Cursos asignados al profesor ordenados por horario, para detectar
+     * choques al asignarle otro. Se crea la primera vez que se usa.
+     */
+    private Agenda agenda;
+
+    /**
+     * Enlaces de la carga del profesor que aún no le cuentan todos sus
+     * cursos (ver {EnlacesDiferidos}); null si no hay.
+     */
+    private EnlacesDiferidos enlacesPendientes;
+
     /**
      * Constructor vacío.
      * Permite crear el objeto y asignar sus campos posteriormente.
@@ -49,6 +82,8 @@ public class Profesor extends Persona implements Identificable, Persistible {
         this.categoriasQueDa = categoriasQueDa;
         this.titulo = titulo;
         this.anioTitulo = anioTitulo;
+        this.mascaraNiveles = calcularMascara(nivelesQueDa, Catalogos.NIVELES);
+        this.mascaraCategorias = calcularMascara(categoriasQueDa, Catalogos.CATEGORIAS);
     }
 
     /**
@@ -127,6 +162,39 @@ public class Profesor extends Persona implements Identificable, Persistible {
         return anioTitulo; 
     }
 
+    /**
+     * Obtiene el número de cursos que tienen asignado a este profesor.
+     *
+     * @return Número de cursos asignados.
+     */
+    public int getCursosAsignados() {
+        completarEnlaces();
+        return cursosAsignados;
+    }
+
+    /**
+     * Ajusta el número de cursos asignados; solo lo invoca la clase
+     * {Curso} al asignar o retirar al profesor.
+     *
+     * @param cambio +1 al asignarse un curso, -1 al retirarse.
+     */
+    void ajustarCursosAsignados(int cambio) {
+        completarEnlaces();
+        cursosAsignados += cambio;
+    }
+
+    /**
+     * Devuelve la agenda de cursos asignados al profesor; la mantiene
+     * {Curso#setProfesorAsignado(Profesor)}.
+     *
+     * @return Agenda del profesor.
+     */
+    Agenda getAgenda() {
+        completarEnlaces();
+        if (agenda == null) agenda = new Agenda();
+        return agenda;
+    }
+
     /**
      * Asigna los niveles educativos que el profesor puede impartir.
      *
@@ -134,6 +202,7 @@ public class Profesor extends Persona implements Identificable, Persistible {
      */
     public void setNivelesQueDa(String[] nivelesQueDa) {
         this.nivelesQueDa = nivelesQueDa;
+        this.mascaraNiveles = calcularMascara(nivelesQueDa, Catalogos.NIVELES);
     }
 
     /**
@@ -143,6 +212,7 @@ public class Profesor extends Persona implements Identificable, Persistible {
      */
     public void setCategoriasQueDa(String[] categoriasQueDa) {
         this.categoriasQueDa = categoriasQueDa;
+        this.mascaraCategorias = calcularMascara(categoriasQueDa, Catalogos.CATEGORIAS);
     }
 
     /**
@@ -175,36 +245,74 @@ public class Profesor extends Persona implements Identificable, Persistible {
      * @return {@code true} si puede impartirlo, {@code false} en caso contrario.
      */
     public boolean puedeImpartir(String nivel, String categoria) {
-        String nivelCurso = (nivel == null) ? "" : nivel.trim();
-        String catCurso = (categoria == null) ? "" : categoria.trim();
+        return puedeImpartir(Catalogos.codigoDe(nivel, Catalogos.NIVELES),
+                Catalogos.codigoDe(categoria, Catalogos.CATEGORIAS));
+    }
 
-        // Si no se definieron niveles para el profesor, asumimos que puede todos.
-        boolean nivelOk = true;
-        if (nivelesQueDa != null && nivelesQueDa.length > 0) {
-            nivelOk = false;
-            for (int i = 0; i < nivelesQueDa.length; i++) {
-                if (nivelesQueDa[i] != null &&
-                    nivelesQueDa[i].trim().equalsIgnoreCase(nivelCurso)) {
-                    nivelOk = true;
-                    break;
-                }
-            }
-        }
+    /**
+     * Método Calculador: puedeImpartir
+     *
+     * Igual que {puedeImpartir(String, String)}, con el nivel y la categoría
+     * ya codificados (ver {Curso#getCodigoNivel()}). La verificación se
+     * reduce a revisar un bit en cada máscara.
+     *
+     * @param codigoNivel     Código del nivel en {Catalogos#NIVELES}.
+     * @param codigoCategoria Código de la categoría en {Catalogos#CATEGORIAS}.
+     * @return {@code true} si puede impartirlo, {@code false} en caso contrario.
+     */
+    public boolean puedeImpartir(int codigoNivel, int codigoCategoria) {
+        return tieneBit(mascaraNiveles, codigoNivel) && tieneBit(mascaraCategorias, codigoCategoria);
+    }
 
-        // Si no se definieron categorías, asumimos que puede todas.
-        boolean categoriaOk = true;
-        if (categoriasQueDa != null && categoriasQueDa.length > 0) {
-            categoriaOk = false;
-            for (int i = 0; i < categoriasQueDa.length; i++) {
-                if (categoriasQueDa[i] != null &&
-                    categoriasQueDa[i].trim().equalsIgnoreCase(catCurso)) {
-                    categoriaOk = true;
-                    break;
-                }
+    /**
+     * Obtiene la máscara de niveles que imparte el profesor.
+     *
+     * @return Máscara sobre {Catalogos#NIVELES}, o {PUEDE_TODOS}.
+     */
+    public int getMascaraNiveles() {
+        return mascaraNiveles;
+    }
+
+    /**
+     * Obtiene la máscara de categorías que imparte el profesor.
+     *
+     * @return Máscara sobre {Catalogos#CATEGORIAS}, o {PUEDE_TODOS}.
+     */
+    public int getMascaraCategorias() {
+        return mascaraCategorias;
+    }
+
+    /**
+     * Indica si una máscara incluye un código; {PUEDE_TODOS} incluye
+     * cualquiera, incluso uno fuera del catálogo.
+     */
+    private static boolean tieneBit(int mascara, int codigo) {
+        return mascara == PUEDE_TODOS || (codigo >= 0 && (mascara & (1 << codigo)) != 0);
+    }
+
+    /**
+     * Codifica una lista de valores como máscara de bits sobre un catálogo.
+     * Los valores que no están en el catálogo no encienden ningún bit; si
+     * la lista no tiene ningún valor (nula, vacía o solo con blancos) el
+     * resultado es {PUEDE_TODOS}.
+     *
+     * @param valores  Lista de valores (puede ser null).
+     * @param catalogo Catálogo de referencia.
+     * @return Máscara de bits.
+     */
+    private static int calcularMascara(String[] valores, String[] catalogo) {
+        if (valores == null) return PUEDE_TODOS;
+        int mascara = 0;
+        boolean alguno = false;
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] == null || valores[i].trim().isEmpty()) continue;
+            alguno = true;
+            int codigo = Catalogos.codigoDe(valores[i], catalogo);
+            if (codigo != Catalogos.SIN_CODIGO) {
+                mascara |= 1 << codigo;
             }
         }
-
-        return nivelOk && categoriaOk;
+        return alguno ? mascara : PUEDE_TODOS;
     }
 
     /**
@@ -250,6 +358,27 @@ public class Profesor extends Persona implements Identificable, Persistible {
         }
     }
 
+    /**
+     * Asigna los enlaces de la carga que aún no le cuentan al profesor
+     * todos sus cursos; solo lo invoca {EnlacesDiferidos}.
+     *
+     * @param enlaces Enlaces pendientes, o null.
+     */
+    void setEnlacesPendientes(EnlacesDiferidos enlaces) {
+        this.enlacesPendientes = enlaces;
+    }
+
+    /**
+     * Completa los enlaces de la carga antes de leer o cambiar los cursos
+     * asignados al profesor.
+     */
+    private void completarEnlaces() {
+        EnlacesDiferidos e = enlacesPendientes;
+        if (e == null) return;
+        e.completar();
+        enlacesPendientes = null;
+    }
+
     // ========= Persistible ===========
 
     /**
@@ -323,51 +452,94 @@ public class Profesor extends Persona implements Identificable, Persistible {
             throw new FormatoInvalidoException("Línea vacía para Profesor.");
         }
 
-        String[] partes = linea.split("\\|");
+        LectorCampos lector = new LectorCampos(linea);
 
         // Soportar tanto el formato viejo (4 campos) como el nuevo (6 campos)
-        if (partes.length < 4) {
-            throw new FormatoInvalidoException("Línea inválida para Profesor: " + linea);
-        }
-
         try {
             // 0: id
-            this.numeroTrabajador = Integer.parseInt(partes[0].trim());
+            this.numeroTrabajador = lector.siguienteEntero('|');
 
             // 1: nombre
-            this.nombreCompleto = partes[1];
+            this.nombreCompleto = lector.siguienteTexto('|');
 
             // 2: título
-            this.titulo = partes[2];
+            this.titulo = lector.siguienteTexto('|');
 
             // 3: año del título
-            this.anioTitulo = Integer.parseInt(partes[3].trim());
-
-            // Valores por defecto
-            this.nivelesQueDa = null;
-            this.categoriasQueDa = null;
+            this.anioTitulo = lector.siguienteEntero('|');
 
             // 4: niveles (opcional)
-            if (partes.length >= 5 && partes[4] != null && !partes[4].trim().isEmpty()) {
-                String[] trozosNiveles = partes[4].split(",");
-                this.nivelesQueDa = new String[trozosNiveles.length];
-                for (int i = 0; i < trozosNiveles.length; i++) {
-                    this.nivelesQueDa[i] = trozosNiveles[i].trim();
-                }
-            }
+            this.nivelesQueDa = lector.hayMas() ? lector.siguienteLista('|', ',') : null;
 
             // 5: categorías (opcional)
-            if (partes.length >= 6 && partes[5] != null && !partes[5].trim().isEmpty()) {
-                String[] trozosCategorias = partes[5].split(",");
-                this.categoriasQueDa = new String[trozosCategorias.length];
-                for (int i = 0; i < trozosCategorias.length; i++) {
-                    this.categoriasQueDa[i] = trozosCategorias[i].trim();
-                }
-            }
+            this.categoriasQueDa = lector.hayMas() ? lector.siguienteLista('|', ',') : null;
+            this.mascaraNiveles = calcularMascara(nivelesQueDa, Catalogos.NIVELES);
+            this.mascaraCategorias = calcularMascara(categoriasQueDa, Catalogos.CATEGORIAS);
 
-        } catch (NumberFormatException e) {
-            throw new FormatoInvalidoException("Error numérico al leer Profesor: " + linea);
+        } catch (FormatoInvalidoException e) {
+            throw new FormatoInvalidoException("Línea inválida para Profesor: " + linea);
+        }
+    }
+
+    /**
+     * Escribe los datos del profesor en formato binario. Los niveles y
+     * categorías se normalizan igual que en {@link #toLineaTexto()}.
+     *
+     * @param salida Flujo donde se escriben los datos.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    @Override
+    public void escribirBinario(java.io.DataOutput salida) throws java.io.IOException {
+        FormatoBinario.escribirEntero(salida, numeroTrabajador);
+        FormatoBinario.escribirCadena(salida, nombreCompleto);
+        FormatoBinario.escribirCadena(salida, titulo);
+        FormatoBinario.escribirEntero(salida, anioTitulo);
+        FormatoBinario.escribirListaCadenas(salida, normalizarLista(nivelesQueDa));
+        FormatoBinario.escribirListaCadenas(salida, normalizarLista(categoriasQueDa));
+    }
+
+    /**
+     * Reconstruye el profesor a partir de sus datos en formato binario.
+     *
+     * @param entrada Flujo de donde se leen los datos.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    public void leerBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        this.numeroTrabajador = FormatoBinario.leerEntero(entrada);
+        this.nombreCompleto = FormatoBinario.leerCadena(entrada);
+        this.titulo = FormatoBinario.leerCadena(entrada);
+        this.anioTitulo = FormatoBinario.leerEntero(entrada);
+        this.nivelesQueDa = FormatoBinario.leerListaCadenas(entrada);
+        this.categoriasQueDa = FormatoBinario.leerListaCadenas(entrada);
+        this.mascaraNiveles = calcularMascara(nivelesQueDa, Catalogos.NIVELES);
+        this.mascaraCategorias = calcularMascara(categoriasQueDa, Catalogos.CATEGORIAS);
+    }
+
+    /**
+     * Quita los valores nulos o vacíos de una lista y recorta los demás,
+     * como lo hace la serialización en texto.
+     *
+     * @param valores Lista original (puede ser null).
+     * @return Lista normalizada, o null si no queda ningún valor.
+     */
+    private static String[] normalizarLista(String[] valores) {
+        if (valores == null) return null;
+        int n = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null && !valores[i].trim().isEmpty()) n++;
+        }
+        if (n == 0) return null;
+        String[] resultado = new String[n];
+        n = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null && !valores[i].trim().isEmpty()) {
+                resultado[n++] = valores[i].trim();
+            }
         }
+        return resultado;
     }
 
 }
@@ -0,0 +1,211 @@
+/**
+ * Clase Auxiliar: Rehidratador
+ *
+ * Reconstruye, después de cargar los archivos, las relaciones entre
+ * cursos, profesores y alumnos a partir de los IDs guardados en cada curso
+ * ({Curso#getIdProfesorGuardado()} y {Curso#getIdsAlumnosGuardados()}).
+ *
+ * Cada ID se resuelve una sola vez con el índice primario del repositorio
+ * correspondiente, sin excepciones por IDs inexistentes, y los duplicados
+ * dentro de un curso se descartan con el índice de inscritos del propio
+ * curso ({Curso#estaInscrito(int)}), por lo que el costo total es lineal
+ * en el número de IDs guardados.
+ *
+ * El lado de los cursos (llenar la lista de inscritos y poner el
+ * profesor) puede hacerse en paralelo, repartiendo los cursos en
+ * particiones con el framework fork-join: cada tarea solo escribe en sus
+ * propios cursos. El lado de los alumnos y profesores
+ * ({Curso#enlazarLadoInverso()}) se hace siempre en una pasada secuencial
+ * en el orden de los cursos, porque un mismo alumno o profesor puede
+ * estar en cursos de particiones distintas.
+ *
+ * Si los cursos se cargaron de un respaldo mapeado y siguen sin
+ * construirse, {rehidratarDiferido(RepositorioProfesores,
+ * RepositorioAlumnos, RepositorioCursos)} deja ambos lados para después
+ * (ver {EnlacesDiferidos}), de modo que el arranque no construye ningún
+ * objeto.
+ */
+public final class Rehidratador {
+
+    /** Número de cursos por debajo del cual una tarea ya no se divide. */
+    private static final int UMBRAL_CURSOS = 512;
+
+    private Rehidratador() {}
+
+    /**
+     * Método Calculador: rehidratar
+     *
+     * Enlaza cada curso con su profesor y sus alumnos guardados, y cada
+     * alumno con sus cursos. Debe llamarse justo después de cargar los
+     * repositorios, cuando ningún curso tiene todavía alumnos enlazados.
+     *
+     * Los IDs que no existan se ignoran y los alumnos que excedan el cupo
+     * del curso no se enlazan. Todos los cursos se construyen; con
+     * {@code paralelo} se construyen antes también todos los profesores y
+     * alumnos pendientes de un respaldo mapeado (ver
+     * {RepositorioBase#cargarSnapshotMapeado(String)}); sin él, solo los
+     * que aparecen en algún curso.
+     *
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     * @param paralelo       true para enlazar los alumnos de los cursos en paralelo.
+     * @return Número de inscripciones (curso-alumno) reconstruidas.
+     */
+    public static int rehidratar(RepositorioProfesores repoProfesores,
+                                 RepositorioAlumnos repoAlumnos,
+                                 RepositorioCursos repoCursos,
+                                 boolean paralelo) {
+        Curso[] cursos = repoCursos.getTodos();
+        int totalCursos = repoCursos.getContador();
+
+        if (paralelo) {
+            // Las tareas solo leen los repositorios; ninguna debe construir elementos.
+            repoAlumnos.materializarTodo();
+            repoProfesores.materializarTodo();
+            java.util.concurrent.ForkJoinPool.commonPool().invoke(
+                    new TareaEnlace(cursos, 0, totalCursos, repoProfesores, repoAlumnos));
+        } else {
+            enlazarCursos(cursos, 0, totalCursos, repoProfesores, repoAlumnos);
+        }
+
+        int inscripciones = 0;
+        for (int i = 0; i < totalCursos; i++) {
+            Curso c = cursos[i];
+            if (c == null) continue;
+            c.enlazarLadoInverso();
+            inscripciones += c.contadorAlumnos;
+        }
+        return inscripciones;
+    }
+
+    /**
+     * Método Calculador: rehidratarDiferido
+     *
+     * Como {rehidratar(RepositorioProfesores, RepositorioAlumnos,
+     * RepositorioCursos, boolean)}, pero sin construir los cursos que
+     * sigan pendientes de un respaldo mapeado: cada curso se enlaza al
+     * construirse, y el lado de los alumnos y profesores se completa la
+     * primera vez que se usa (ver {EnlacesDiferidos}). Si no hay cursos
+     * pendientes, enlaza todo de inmediato.
+     *
+     * Debe llamarse justo después de cargar los repositorios.
+     *
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     * @param repoCursos     Repositorio de cursos.
+     */
+    public static void rehidratarDiferido(RepositorioProfesores repoProfesores,
+                                          RepositorioAlumnos repoAlumnos,
+                                          RepositorioCursos repoCursos) {
+        if (!repoCursos.tienePendientes()) {
+            rehidratar(repoProfesores, repoAlumnos, repoCursos, false);
+            return;
+        }
+        EnlacesDiferidos enlaces = new EnlacesDiferidos(repoProfesores, repoAlumnos, repoCursos);
+
+        // Los elementos ya construidos (por ejemplo, los cargados de texto)
+        // se registran aquí; los pendientes, al construirse.
+        for (int i = 0; i < repoProfesores.getContador(); i++) {
+            Profesor p = repoProfesores.construidoEn(i);
+            if (p != null) enlaces.registrar(p);
+        }
+        for (int i = 0; i < repoAlumnos.getContador(); i++) {
+            Alumno a = repoAlumnos.construidoEn(i);
+            if (a != null) enlaces.registrar(a);
+        }
+        repoProfesores.setEnlacesDiferidos(enlaces);
+        repoAlumnos.setEnlacesDiferidos(enlaces);
+        repoCursos.setEnlacesDiferidos(enlaces);
+        for (int i = 0; i < repoCursos.getContador(); i++) {
+            Curso c = repoCursos.construidoEn(i);
+            if (c != null) enlaces.enlazarCurso(c);
+        }
+    }
+
+    /**
+     * Método Calculador: enlazarCurso
+     *
+     * Enlaza un curso, solo de su lado, con su profesor y sus alumnos
+     * guardados, SIN revalidar fechas. El curso no debe tener todavía
+     * alumnos enlazados.
+     *
+     * @param c              Curso a enlazar.
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     */
+    static void enlazarCurso(Curso c, RepositorioProfesores repoProfesores,
+                             RepositorioAlumnos repoAlumnos) {
+        int idProf = c.getIdProfesorGuardado();
+        if (idProf != -1) {
+            int slot = repoProfesores.buscarPosicion(idProf);
+            if (slot != IndicePrimario.NO_ENCONTRADO) {
+                c.ponerProfesorGuardado(repoProfesores.elementoEn(slot));
+            }
+        }
+
+        int[] ids = c.getIdsAlumnosGuardados();
+        int totalGuardados = c.getContadorAlumnosGuardados();
+        for (int j = 0; j < totalGuardados; j++) {
+            if (c.contadorAlumnos >= c.getNumeroEstudiantesMax()) break;
+            if (c.estaInscrito(ids[j])) continue;
+            int slot = repoAlumnos.buscarPosicion(ids[j]);
+            if (slot != IndicePrimario.NO_ENCONTRADO) {
+                c.agregarInscrito(repoAlumnos.elementoEn(slot));
+            }
+        }
+    }
+
+    /**
+     * Enlaza, solo del lado de los cursos, un rango de cursos.
+     *
+     * @param cursos         Arreglo de cursos del repositorio.
+     * @param desde          Primer curso del rango (inclusivo).
+     * @param hasta          Último curso del rango (exclusivo).
+     * @param repoProfesores Repositorio de profesores.
+     * @param repoAlumnos    Repositorio de alumnos.
+     */
+    private static void enlazarCursos(Curso[] cursos, int desde, int hasta,
+                                      RepositorioProfesores repoProfesores,
+                                      RepositorioAlumnos repoAlumnos) {
+        for (int i = desde; i < hasta; i++) {
+            if (cursos[i] != null) {
+                enlazarCurso(cursos[i], repoProfesores, repoAlumnos);
+            }
+        }
+    }
+
+    /**
+     * Tarea fork-join que enlaza un rango de cursos, dividiéndolo a la
+     * mitad mientras sea mayor que {UMBRAL_CURSOS}. Nunca se serializa.
+     */
+    @SuppressWarnings("serial")
+    private static final class TareaEnlace extends java.util.concurrent.RecursiveAction {
+
+        private final Curso[] cursos;
+        private final int desde;
+        private final int hasta;
+        private final RepositorioProfesores repoProfesores;
+        private final RepositorioAlumnos repoAlumnos;
+
+        TareaEnlace(Curso[] cursos, int desde, int hasta,
+                    RepositorioProfesores repoProfesores, RepositorioAlumnos repoAlumnos) {
+            this.cursos = cursos;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.repoProfesores = repoProfesores;
+            this.repoAlumnos = repoAlumnos;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_CURSOS) {
+                enlazarCursos(cursos, desde, hasta, repoProfesores, repoAlumnos);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new TareaEnlace(cursos, desde, mitad, repoProfesores, repoAlumnos),
+                      new TareaEnlace(cursos, mitad, hasta, repoProfesores, repoAlumnos));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * Clase Vista: RenderizadorConsola
+ *
+ * Da formato a los listados de cursos, profesores y alumnos. En lugar de
+ * escribir cada línea con su propio {System.out.println} (cada llamada
+ * sincroniza el flujo y, con autoflush, termina en una escritura al
+ * sistema), los registros se acumulan en un mismo {StringBuilder} que se
+ * reutiliza, y se mandan a la salida en bloques de {TAMANO_BLOQUE}
+ * caracteres. Así, listar un catálogo grande cuesta lo que cuesta darle
+ * formato.
+ *
+ * Lo escrito puede quedarse en el búfer hasta llamar a {vaciar()}, que
+ * debe usarse antes de pedir datos al usuario y al terminar un listado.
+ */
+public class RenderizadorConsola {
+
+    /** Número de caracteres acumulados a partir del cual se escribe un bloque. */
+    private static final int TAMANO_BLOQUE = 1 << 16;
+
+    /** Línea que separa las fichas de profesores y alumnos. */
+    private static final String SEPARADOR = "----------------------------------------";
+
+    /** Línea que separa las fichas de cursos. */
+    private static final String SEPARADOR_CURSO = "========================================";
+
+    /** Fin de línea de la plataforma, el mismo que usa {System.out.println}. */
+    private static final String FIN_LINEA = System.lineSeparator();
+
+    /** Espacio entre columnas en el formato de tabla. */
+    private static final String ENTRE_COLUMNAS = "  ";
+
+    /** Flujo donde se escriben los bloques. */
+    private final java.io.PrintStream destino;
+
+    /** Formato de los registros. */
+    private final FormatoListado formato;
+
+    /** Texto pendiente de escribir; se reutiliza entre bloques. */
+    private final StringBuilder bufer = new StringBuilder(TAMANO_BLOQUE + 1024);
+
+    /**
+     * Constructor que escribe en la salida estándar.
+     *
+     * @param formato Formato de los registros.
+     */
+    public RenderizadorConsola(FormatoListado formato) {
+        this(System.out, formato);
+    }
+
+    /**
+     * Constructor del renderizador.
+     *
+     * @param destino Flujo donde se escribe el listado.
+     * @param formato Formato de los registros.
+     */
+    public RenderizadorConsola(java.io.PrintStream destino, FormatoListado formato) {
+        this.destino = destino;
+        this.formato = formato;
+    }
+
+    /**
+     * Obtiene el formato de los registros.
+     *
+     * @return Formato del renderizador.
+     */
+    public FormatoListado getFormato() {
+        return formato;
+    }
+
+    // ================== TEXTO LIBRE ==================
+
+    /**
+     * Agrega una línea de texto al listado.
+     *
+     * @param texto Texto de la línea.
+     */
+    public void linea(String texto) {
+        bufer.append(texto).append(FIN_LINEA);
+        revisarBloque();
+    }
+
+    /**
+     * Método Gestor: vaciar
+     *
+     * Escribe todo lo pendiente en el destino y lo vacía.
+     */
+    public void vaciar() {
+        escribirBloque();
+        destino.flush();
+    }
+
+    // ================== CURSOS ==================
+
+    /**
+     * Agrega los títulos de las columnas de cursos (solo en formato de
+     * tabla).
+     */
+    public void encabezadoCursos() {
+        if (formato != FormatoListado.TABLA) return;
+        columna("ID", 8);
+        columna("Nombre", 30);
+        columna("Nivel", 14);
+        columna("Categoría", 14);
+        columna("Horario", 13);
+        columna("Profesor", 10);
+        bufer.append("Alumnos").append(FIN_LINEA);
+        regla(8 + 30 + 14 + 14 + 13 + 10 + 7 + 6 * ENTRE_COLUMNAS.length());
+    }
+
+    /**
+     * Agrega un curso al listado: su ficha con profesor y alumnos
+     * inscritos, o una fila de la tabla.
+     *
+     * @param c Curso a mostrar.
+     */
+    public void curso(Curso c) {
+        Profesor p = c.getProfesorAsignado();
+        if (formato == FormatoListado.TABLA) {
+            columna(c.getId(), 8);
+            columna(c.getNombre(), 30);
+            columna(c.getNivel(), 14);
+            columna(c.getCategoria(), 14);
+            columna(c.getHorario(), 13);
+            if (p != null) {
+                columna(p.getId(), 10);
+            } else {
+                columna("-", 10);
+            }
+            bufer.append(c.getContadorAlumnos()).append(FIN_LINEA);
+            revisarBloque();
+            return;
+        }
+
+        bufer.append(SEPARADOR_CURSO).append(FIN_LINEA);
+        bufer.append("ID del curso:        ").append(c.getId()).append(FIN_LINEA);
+        bufer.append("Nombre:              ").append(c.getNombre()).append(FIN_LINEA);
+        bufer.append("Nivel:               ").append(c.getNivel()).append(FIN_LINEA);
+        bufer.append("Categoría:           ").append(c.getCategoria()).append(FIN_LINEA);
+        bufer.append("Plataforma:          ").append(c.getPlataforma()).append(FIN_LINEA);
+        bufer.append("Horario:             ").append(c.getHorario()).append(FIN_LINEA);
+        bufer.append("Descripción:         ").append(c.getDescripcion()).append(FIN_LINEA);
+        bufer.append("Inicio inscripciones:").append(c.getFechaInicioInscripciones()).append(FIN_LINEA);
+        bufer.append("Fin inscripciones:   ").append(c.getFechaFinInscripciones()).append(FIN_LINEA);
+        bufer.append("Inicio curso:        ").append(c.getFechaInicioCurso()).append(FIN_LINEA);
+        bufer.append("Fin curso:           ").append(c.getFechaFinCurso()).append(FIN_LINEA);
+
+        bufer.append("Profesor asignado:   ");
+        if (p != null) {
+            bufer.append(p.getId()).append(" | ").append(p.getNombreCompleto()).append(FIN_LINEA);
+        } else {
+            bufer.append("(ninguno)").append(FIN_LINEA);
+        }
+
+        Alumno[] alumnos = c.getAlumnosInscritos();
+        int nAlumnos = c.getContadorAlumnos();
+        bufer.append("Alumnos inscritos:   ").append(nAlumnos).append(FIN_LINEA);
+        if (alumnos != null) {
+            for (int j = 0; j < nAlumnos; j++) {
+                if (alumnos[j] != null) {
+                    bufer.append("   - ").append(alumnos[j].getId())
+                            .append(" | ").append(alumnos[j].getNombreCompleto()).append(FIN_LINEA);
+                    revisarBloque();
+                }
+            }
+        }
+        revisarBloque();
+    }
+
+    // ================== PROFESORES ==================
+
+    /**
+     * Agrega los títulos de las columnas de profesores (solo en formato de
+     * tabla).
+     */
+    public void encabezadoProfesores() {
+        if (formato != FormatoListado.TABLA) return;
+        columna("ID", 10);
+        columna("Nombre", 30);
+        columna("Niveles", 24);
+        columna("Categorías", 24);
+        columna("Título", 30);
+        bufer.append("Año").append(FIN_LINEA);
+        regla(10 + 30 + 24 + 24 + 30 + 4 + 5 * ENTRE_COLUMNAS.length());
+    }
+
+    /**
+     * Agrega un profesor al listado: su ficha o una fila de la tabla.
+     *
+     * @param p Profesor a mostrar.
+     */
+    public void profesor(Profesor p) {
+        if (formato == FormatoListado.TABLA) {
+            columna(p.getId(), 10);
+            columna(p.getNombreCompleto(), 30);
+            int inicio = bufer.length();
+            lista(p.getNivelesQueDa(), "-");
+            completar(inicio, 24);
+            inicio = bufer.length();
+            lista(p.getCategoriasQueDa(), "-");
+            completar(inicio, 24);
+            columna(p.getTitulo(), 30);
+            bufer.append(p.getAnioTitulo()).append(FIN_LINEA);
+            revisarBloque();
+            return;
+        }
+
+        bufer.append(SEPARADOR).append(FIN_LINEA);
+        bufer.append("ID (núm. trabajador): ").append(p.getId()).append(FIN_LINEA);
+        bufer.append("Nombre:              ").append(p.getNombreCompleto()).append(FIN_LINEA);
+        bufer.append("Niveles que da:      ");
+        lista(p.getNivelesQueDa(), "No especificado");
+        bufer.append(FIN_LINEA);
+        bufer.append("Categorías que da:   ");
+        lista(p.getCategoriasQueDa(), "No especificado");
+        bufer.append(FIN_LINEA);
+        bufer.append("Título:              ").append(p.getTitulo()).append(FIN_LINEA);
+        bufer.append("Año del título:      ").append(p.getAnioTitulo()).append(FIN_LINEA);
+        revisarBloque();
+    }
+
+    // ================== ALUMNOS ==================
+
+    /**
+     * Agrega los títulos de las columnas de alumnos (solo en formato de
+     * tabla).
+     */
+    public void encabezadoAlumnos() {
+        if (formato != FormatoListado.TABLA) return;
+        columna("Cuenta", 10);
+        columna("Nombre", 35);
+        columna("Edad", 4);
+        bufer.append("Escuela de procedencia").append(FIN_LINEA);
+        regla(10 + 35 + 4 + 30 + 3 * ENTRE_COLUMNAS.length());
+    }
+
+    /**
+     * Agrega un alumno al listado: su ficha o una fila de la tabla.
+     *
+     * @param a Alumno a mostrar.
+     */
+    public void alumno(Alumno a) {
+        if (formato == FormatoListado.TABLA) {
+            columna(a.getId(), 10);
+            columna(a.getNombreCompleto(), 35);
+            columna(a.getEdad(), 4);
+            bufer.append(a.getEscuelaProcedencia()).append(FIN_LINEA);
+            revisarBloque();
+            return;
+        }
+
+        bufer.append(SEPARADOR).append(FIN_LINEA);
+        bufer.append("Número de cuenta:    ").append(a.getId()).append(FIN_LINEA);
+        bufer.append("Nombre:              ").append(a.getNombreCompleto()).append(FIN_LINEA);
+        bufer.append("Edad:                ").append(a.getEdad()).append(FIN_LINEA);
+        bufer.append("Escuela de procedencia: ").append(a.getEscuelaProcedencia()).append(FIN_LINEA);
+        revisarBloque();
+    }
+
+    // ================== AUXILIARES ==================
+
+    /**
+     * Agrega un texto en una columna de ancho fijo: se recorta si no cabe
+     * y se rellena con espacios si sobra lugar.
+     */
+    private void columna(String texto, int ancho) {
+        int inicio = bufer.length();
+        if (texto != null) {
+            bufer.append(texto, 0, Math.min(texto.length(), ancho));
+        }
+        completar(inicio, ancho);
+    }
+
+    /**
+     * Agrega un número en una columna de ancho fijo, sin crear un String.
+     */
+    private void columna(int numero, int ancho) {
+        int inicio = bufer.length();
+        bufer.append(numero);
+        completar(inicio, ancho);
+    }
+
+    /**
+     * Deja en exactamente {ancho} caracteres lo agregado desde {inicio}
+     * y añade el espacio entre columnas.
+     */
+    private void completar(int inicio, int ancho) {
+        int fin = inicio + ancho;
+        if (bufer.length() > fin) {
+            bufer.setLength(fin);
+        }
+        while (bufer.length() < fin) {
+            bufer.append(' ');
+        }
+        bufer.append(ENTRE_COLUMNAS);
+    }
+
+    /**
+     * Agrega los valores de un arreglo separados por comas (sin los nulos),
+     * o {vacio} si no hay ninguno.
+     */
+    private void lista(String[] valores, String vacio) {
+        boolean hay = false;
+        if (valores != null) {
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] == null) continue;
+                if (hay) bufer.append(", ");
+                bufer.append(valores[i]);
+                hay = true;
+            }
+        }
+        if (!hay) bufer.append(vacio);
+    }
+
+    /**
+     * Agrega una línea de guiones debajo del encabezado de una tabla.
+     */
+    private void regla(int ancho) {
+        for (int i = 0; i < ancho; i++) {
+            bufer.append('-');
+        }
+        bufer.append(FIN_LINEA);
+        revisarBloque();
+    }
+
+    private void revisarBloque() {
+        if (bufer.length() >= TAMANO_BLOQUE) {
+            escribirBloque();
+        }
+    }
+
+    private void escribirBloque() {
+        if (bufer.length() == 0) return;
+        destino.append(bufer);
+        bufer.setLength(0);
+    }
+}
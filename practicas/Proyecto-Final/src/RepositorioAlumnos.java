@@ -4,9 +4,27 @@
  * Implementa un repositorio concreto para objetos {Alumno},
  * utilizando el comportamiento genérico definido en {RepositorioBase}.
  * Permite almacenar, buscar, eliminar y reconstruir alumnos desde texto.
+ *
+ * Mantiene un {IndiceTrie} con las palabras del nombre completo para
+ * buscar alumnos por nombre (por prefijo o con errores de dedo). El
+ * índice se actualiza alumno por alumno en altas, bajas y ediciones
+ * (avisadas con {reindexar(Alumno)}); solo una carga lo reconstruye.
  */
 public class RepositorioAlumnos extends RepositorioBase<Alumno> {
 
+    /**
+     * Índice de las palabras del nombre completo. Cada búsqueda recorre a
+     * lo más {PRESUPUESTO_BUSQUEDA} entradas, para que un apellido común
+     * no la haga más lenta conforme crece el repositorio.
+     */
+    private final IndiceTrie indiceNombres = new IndiceTrie(PRESUPUESTO_BUSQUEDA);
+
+    /** Entradas que puede recorrer una búsqueda por nombre. */
+    private static final int PRESUPUESTO_BUSQUEDA = 1 << 16;
+
+    /** true si el índice de nombres debe reconstruirse. */
+    private boolean nombresDesactualizados = true;
+
     /**
      * Constructor del repositorio de alumnos.
      *
@@ -19,6 +37,19 @@ public class RepositorioAlumnos extends RepositorioBase<Alumno> {
         super(new Alumno[capacidad]);
     }
 
+    /**
+     * Constructor del repositorio de alumnos con modo de almacenamiento.
+     *
+     * Con {ModoAlmacenamiento#CRECIBLE} la capacidad indicada es solo
+     * la inicial y el repositorio crece sin límite.
+     *
+     * @param capacidad Capacidad inicial (o máxima, si el modo es fijo).
+     * @param modo      Modo de almacenamiento del repositorio.
+     */
+    public RepositorioAlumnos(int capacidad, ModoAlmacenamiento modo) {
+        super(new Alumno[capacidad], modo);
+    }
+
     /**
      * Crea una instancia de {Alumno} a partir de una línea de texto
      * previamente generada por su método {toLineaTexto()}.
@@ -33,4 +64,119 @@ public class RepositorioAlumnos extends RepositorioBase<Alumno> {
         a.fromLineaTexto(linea);
         return a;
     }
+
+    /**
+     * Reconstruye un objeto {Alumno} a partir de su representación
+     * binaria, escrita previamente por {escribirBinario()}.
+     *
+     * @param entrada Flujo posicionado al inicio de los datos del registro.
+     * @return Instancia de {Alumno} reconstruida.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    protected Alumno crearDesdeBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        Alumno a = new Alumno();
+        a.leerBinario(entrada);
+        return a;
+    }
+
+    /**
+     * Método Calculador: buscarPorNombre
+     *
+     * Busca alumnos por palabras de su nombre completo, sin distinguir
+     * mayúsculas ni acentos; cada palabra también encuentra las que empiezan
+     * con ella ("gonz" encuentra "González").
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Alumnos encontrados, del más parecido al menos parecido
+     *         (arreglo sin huecos, posiblemente vacío).
+     */
+    public Alumno[] buscarPorNombre(String consulta, int limite) {
+        actualizarIndiceNombres();
+        return alumnosDe(indiceNombres.buscar(Normalizador.palabras(consulta), limite));
+    }
+
+    /**
+     * Método Calculador: buscarPorNombreAproximado
+     *
+     * Igual que {buscarPorNombre(String, int)}, pero tolera errores de dedo
+     * (ver {IndiceTrie#buscarAproximado(String[], int)}); las coincidencias
+     * exactas y por prefijo quedan antes que las aproximadas.
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Alumnos encontrados, del más parecido al menos parecido
+     *         (arreglo sin huecos, posiblemente vacío).
+     */
+    public Alumno[] buscarPorNombreAproximado(String consulta, int limite) {
+        actualizarIndiceNombres();
+        return alumnosDe(indiceNombres.buscarAproximado(Normalizador.palabras(consulta), limite));
+    }
+
+    /**
+     * Método Gestor: reindexar
+     *
+     * Avisa que cambió el nombre de un alumno ya registrado, para
+     * actualizar el índice de nombres.
+     *
+     * @param alumno Alumno editado.
+     */
+    public void reindexar(Alumno alumno) {
+        if (!nombresDesactualizados) {
+            indiceNombres.agregar(alumno.getId(), Normalizador.terminos(alumno.getNombreCompleto()));
+        }
+    }
+
+    @Override
+    protected void alAgregar(Alumno a) {
+        if (!nombresDesactualizados) {
+            indiceNombres.agregar(a.getId(), Normalizador.terminos(a.getNombreCompleto()));
+        }
+    }
+
+    @Override
+    protected void alEliminar(int id) {
+        if (!nombresDesactualizados) {
+            indiceNombres.quitar(id);
+        }
+    }
+
+    @Override
+    protected void alCargar() {
+        nombresDesactualizados = true;
+    }
+
+    @Override
+    protected void alMaterializar(Alumno a) {
+        EnlacesDiferidos e = getEnlacesDiferidos();
+        if (e != null) e.registrar(a);
+    }
+
+    /**
+     * Reconstruye el índice de nombres después de una carga.
+     */
+    private void actualizarIndiceNombres() {
+        if (!nombresDesactualizados) return;
+        materializarTodo();
+        indiceNombres.limpiar();
+        for (int i = 0; i < contador; i++) {
+            indiceNombres.agregar(elementos[i].getId(),
+                    Normalizador.terminos(elementos[i].getNombreCompleto()));
+        }
+        nombresDesactualizados = false;
+    }
+
+    /**
+     * Convierte identificadores en los elementos correspondientes.
+     */
+    private Alumno[] alumnosDe(int[] ids) {
+        Alumno[] resultado = new Alumno[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            resultado[i] = elementoEn(buscarPosicion(ids[i]));
+        }
+        return resultado;
+    }
 }
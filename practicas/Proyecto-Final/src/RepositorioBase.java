@@ -3,11 +3,21 @@
  *
  * Implementa un repositorio genérico usando arreglos,
  * sin listas ni colecciones, con soporte de persistencia
- * en archivos de texto.
+ * en archivos de texto. El arreglo puede ser de tamaño fijo
+ * o crecer según se necesite (ver {ModoAlmacenamiento}).
+ *
+ * Para recorrer los elementos sin tocar las posiciones vacías del
+ * arreglo, el repositorio es {Iterable} (también con {spliterator()} y
+ * {flujo()}) y se puede leer por páginas con {pagina(int, int)} o
+ * {paginas(int)}. El orden es el de las posiciones del arreglo (el de
+ * inserción, salvo que se elimine con
+ * {EstrategiaEliminacion#INTERCAMBIAR}). Los recorridos fallan con
+ * {java.util.ConcurrentModificationException} si el repositorio cambia
+ * (altas, bajas o cargas) mientras están en curso.
  *
  * @param <T> Tipo genérico que debe ser {Identificable} y {Persistible}.
  */
-public abstract class RepositorioBase<T extends Identificable & Persistible> {
+public abstract class RepositorioBase<T extends Identificable & Persistible> implements Iterable<T> {
 
     /** Arreglo interno donde se almacenan los elementos del repositorio. */
     protected T[] elementos;
@@ -15,6 +25,47 @@ public abstract class RepositorioBase<T extends Identificable & Persistible> {
     /** Número actual de elementos válidos almacenados en el arreglo. */
     protected int contador;
 
+    /** Índice hash id → posición en {elementos}, para búsquedas en O(1). */
+    protected IndicePrimario indice;
+
+    /** Indica si el arreglo es de tamaño fijo o puede crecer. */
+    protected ModoAlmacenamiento modo;
+
+    /** Forma de cerrar el hueco que deja un elemento eliminado. */
+    protected EstrategiaEliminacion estrategiaEliminacion = EstrategiaEliminacion.DESPLAZAR;
+
+    /**
+     * Respaldo binario mapeado en memoria del que aún quedan elementos por
+     * construir (ver {cargarSnapshotMapeado(String)}); null si no hay.
+     */
+    private EntradaBinaria mapeo;
+
+    /** Posición, dentro de {mapeo}, de los datos de cada slot pendiente. */
+    private int[] desplazamientos;
+
+    /** Número de slots cuyo elemento todavía no se ha construido. */
+    private int pendientes;
+
+    /**
+     * Relaciones de la carga que se reconstruyen conforme se construyen
+     * los elementos pendientes (ver {EnlacesDiferidos}); null si no hay.
+     */
+    private EnlacesDiferidos enlacesDiferidos;
+
+    /**
+     * Número de altas, bajas y cargas realizadas; los recorridos lo
+     * comparan para detectar cambios mientras están en curso.
+     */
+    private int modificaciones;
+
+    /**
+     * Secuencia del último registro de la {Bitacora} incluido en el
+     * contenido del repositorio (0 si no se sabe). Se lee y se escribe con
+     * los archivos, y la bitácora la usa para no volver a aplicar cambios
+     * que ya estaban guardados.
+     */
+    private long secuencia;
+
     /**
      * Constructor del repositorio.
      *
@@ -24,104 +75,521 @@ public abstract class RepositorioBase<T extends Identificable & Persistible> {
      * @param arreglo Arreglo donde se almacenarán los elementos.
      */
     public RepositorioBase(T[] arreglo) {
+        this(arreglo, ModoAlmacenamiento.FIJO);
+    }
+
+    /**
+     * Constructor del repositorio con modo de almacenamiento explícito.
+     *
+     * En modo {ModoAlmacenamiento#CRECIBLE} el arreglo recibido solo
+     * define la capacidad inicial.
+     *
+     * @param arreglo Arreglo donde se almacenarán los elementos.
+     * @param modo    Modo de almacenamiento del repositorio.
+     */
+    public RepositorioBase(T[] arreglo, ModoAlmacenamiento modo) {
         this.elementos = arreglo;
         this.contador = 0;
+        this.modo = modo;
+        this.indice = new IndicePrimario(arreglo.length);
     }
 
     /**
      * Método Calculador: agregar
      *
      * Agrega un elemento al arreglo si hay espacio disponible.
+     * En modo crecible el arreglo se amplía cuando está lleno.
      *
      * @param t Elemento a agregar.
-     * @throws CapacidadLlenaException si el arreglo ya está lleno.
+     * @throws CapacidadLlenaException si el arreglo es fijo y ya está lleno.
      */
     public void agregar(T t) throws CapacidadLlenaException {
         if (t == null) return;
-        if (contador >= elementos.length) {
-            throw new CapacidadLlenaException("Capacidad llena en el repositorio.");
-        }
+        asegurarEspacio();
         elementos[contador] = t;
+        indice.poner(t.getId(), contador);
         contador++;
+        modificaciones++;
+        alAgregar(t);
     }
 
     /**
      * Método Calculador: buscarPorId
      *
-     * Busca un elemento por su identificador.
+     * Busca un elemento por su identificador usando el índice primario.
      *
      * @param id Identificador entero.
      * @return Elemento encontrado.
      * @throws NoEncontradoException si no existe el elemento.
      */
     public T buscarPorId(int id) throws NoEncontradoException {
-        for (int i = 0; i < contador; i++) {
-            if (elementos[i].getId() == id) {
-                return elementos[i];
-            }
+        int slot = indice.buscar(id);
+        if (slot == IndicePrimario.NO_ENCONTRADO) {
+            throw new NoEncontradoException("No se encontró el elemento con id " + id);
         }
-        throw new NoEncontradoException("No se encontró el elemento con id " + id);
+        return elementoEn(slot);
+    }
+
+    /**
+     * Obtiene la posición de un elemento sin lanzar excepción si no existe.
+     *
+     * @param id Identificador entero.
+     * @return Slot del elemento o {IndicePrimario#NO_ENCONTRADO}.
+     */
+    int buscarPosicion(int id) {
+        return indice.buscar(id);
+    }
+
+    /**
+     * Devuelve el elemento de un slot válido, construyéndolo primero si
+     * seguía pendiente en un respaldo mapeado.
+     *
+     * @param slot Posición del elemento (menor que {getContador()}).
+     * @return Elemento del slot.
+     */
+    T elementoEn(int slot) {
+        T t = elementos[slot];
+        return (t != null) ? t : materializar(slot);
+    }
+
+    /**
+     * Devuelve el elemento de un slot válido sin construirlo.
+     *
+     * @param slot Posición del elemento (menor que {getContador()}).
+     * @return Elemento del slot, o null si sigue pendiente en un respaldo mapeado.
+     */
+    T construidoEn(int slot) {
+        return elementos[slot];
+    }
+
+    /**
+     * Método Calculador: contiene
+     *
+     * Indica si existe un elemento con el identificador dado. Permite
+     * verificar duplicados sin recorrer el arreglo ni lanzar excepciones.
+     *
+     * @param id Identificador entero.
+     * @return true si el repositorio tiene un elemento con ese id.
+     */
+    public boolean contiene(int id) {
+        return indice.contiene(id);
     }
 
     /**
      * Método Calculador: eliminarPorId
      *
      * Elimina el elemento con el identificador indicado.
-     * Tras la eliminación, compacta el arreglo desplazando los
-     * elementos posteriores una posición hacia la izquierda.
+     * Según la {EstrategiaEliminacion} del repositorio, el hueco se cierra
+     * desplazando los elementos posteriores una posición hacia la izquierda
+     * o moviendo el último elemento a la posición liberada. En ambos casos
+     * se actualiza la posición de los elementos movidos en el índice primario.
      *
      * @param id Identificador del elemento.
      * @throws NoEncontradoException si no existe.
      */
     public void eliminarPorId(int id) throws NoEncontradoException {
-        boolean encontrado = false;
-        for (int i = 0; i < contador; i++) {
-            if (elementos[i].getId() == id) {
-                for (int j = i; j < contador - 1; j++) {
-                    elementos[j] = elementos[j + 1];
+        materializarTodo();
+        int slot = indice.quitar(id);
+        if (slot == IndicePrimario.NO_ENCONTRADO) {
+            throw new NoEncontradoException("No se encontró el elemento con id " + id);
+        }
+        int ultimo = contador - 1;
+        if (estrategiaEliminacion == EstrategiaEliminacion.INTERCAMBIAR) {
+            if (slot != ultimo) {
+                elementos[slot] = elementos[ultimo];
+                indice.poner(elementos[slot].getId(), slot);
+            }
+        } else {
+            for (int j = slot; j < ultimo; j++) {
+                elementos[j] = elementos[j + 1];
+                indice.poner(elementos[j].getId(), j);
+            }
+        }
+        elementos[ultimo] = null;
+        contador--;
+        modificaciones++;
+        alQuitarPosicion(slot, ultimo);
+        alEliminar(id);
+    }
+
+    /**
+     * Método Calculador: eliminarVarios
+     *
+     * Elimina de una sola vez todos los elementos cuyos identificadores se
+     * indican. Los identificadores que no existan se ignoran.
+     *
+     * Con {EstrategiaEliminacion#DESPLAZAR} el arreglo se compacta en una
+     * única pasada que conserva el orden, por lo que el costo total es
+     * O(n + k) en lugar de O(n·k) eliminando uno por uno.
+     *
+     * @param ids Identificadores de los elementos a eliminar.
+     * @return Número de elementos efectivamente eliminados.
+     */
+    public int eliminarVarios(int[] ids) {
+        if (ids == null || ids.length == 0) return 0;
+        materializarTodo();
+
+        if (estrategiaEliminacion == EstrategiaEliminacion.INTERCAMBIAR) {
+            int eliminados = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!contiene(ids[i])) continue; // id inexistente, se ignora
+                try {
+                    eliminarPorId(ids[i]);
+                    eliminados++;
+                } catch (NoEncontradoException e) {
+                    // no ocurre: la existencia se verificó con contiene()
                 }
-                elementos[contador - 1] = null;
-                contador--;
-                encontrado = true;
-                break;
             }
+            return eliminados;
         }
-        if (!encontrado) {
-            throw new NoEncontradoException("No se encontró el elemento con id " + id);
+
+        boolean[] marcados = new boolean[contador];
+        int eliminados = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int slot = indice.quitar(ids[i]);
+            if (slot != IndicePrimario.NO_ENCONTRADO) {
+                marcados[slot] = true;
+                eliminados++;
+                alEliminar(ids[i]);
+            }
+        }
+        if (eliminados == 0) return 0;
+
+        int escritura = 0;
+        for (int lectura = 0; lectura < contador; lectura++) {
+            if (marcados[lectura]) continue;
+            if (escritura != lectura) {
+                elementos[escritura] = elementos[lectura];
+                indice.poner(elementos[escritura].getId(), escritura);
+            }
+            escritura++;
+        }
+        java.util.Arrays.fill(elementos, escritura, contador, null);
+        int anterior = contador;
+        contador = escritura;
+        modificaciones++;
+        alCompactar(marcados, anterior);
+        return eliminados;
+    }
+
+    /**
+     * Obtiene la estrategia con la que se eliminan elementos.
+     *
+     * @return Estrategia de eliminación actual.
+     */
+    public EstrategiaEliminacion getEstrategiaEliminacion() {
+        return estrategiaEliminacion;
+    }
+
+    /**
+     * Cambia la estrategia con la que se eliminan elementos.
+     *
+     * Se puede cambiar en cualquier momento; solo afecta a las
+     * eliminaciones posteriores.
+     *
+     * @param estrategia Nueva estrategia de eliminación.
+     */
+    public void setEstrategiaEliminacion(EstrategiaEliminacion estrategia) {
+        if (estrategia != null) {
+            this.estrategiaEliminacion = estrategia;
         }
     }
 
+    /**
+     * Método Calculador: asegurarEspacio
+     *
+     * Garantiza que quede al menos una posición libre en el arreglo.
+     * En modo crecible duplica la capacidad (crecimiento geométrico,
+     * costo amortizado O(1) por inserción).
+     *
+     * @throws CapacidadLlenaException si el arreglo es fijo y ya está lleno.
+     */
+    protected void asegurarEspacio() throws CapacidadLlenaException {
+        if (contador < elementos.length) return;
+        if (modo != ModoAlmacenamiento.CRECIBLE) {
+            throw new CapacidadLlenaException("Capacidad llena en el repositorio.");
+        }
+        int nuevaCapacidad = Math.max(8, elementos.length * 2);
+        elementos = java.util.Arrays.copyOf(elementos, nuevaCapacidad);
+    }
+
+    /**
+     * Devuelve el número de elementos almacenados.
+     *
+     * @return Cantidad de elementos válidos en el repositorio.
+     */
+    public int getContador() {
+        return contador;
+    }
+
     /**
      * Devuelve el arreglo interno de elementos.
      * Puede contener posiciones en la parte final
      * si no se ha llenado completamente la capacidad.
      *
+     * Para listar elementos es preferible recorrer el repositorio o
+     * pedirlo por páginas (ver {paginas(int)}), que no construyen todos
+     * los elementos pendientes ni exponen el arreglo.
+     *
      * @return Arreglo de elementos almacenados.
      */
     public T[] getTodos() {
+        materializarTodo();
         return elementos;
     }
 
+    /**
+     * Devuelve la secuencia de la bitácora del contenido actual: la del
+     * último archivo cargado o la que se fijó con {setSecuencia(long)}.
+     *
+     * @return Secuencia del último registro de la bitácora incluido.
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * Fija la secuencia de la bitácora del contenido actual; se guarda con
+     * el siguiente archivo que se escriba.
+     *
+     * @param secuencia Secuencia del último registro de la bitácora incluido.
+     */
+    public void setSecuencia(long secuencia) {
+        this.secuencia = secuencia;
+    }
+
+    // ================== RECORRIDOS ==================
+
+    /**
+     * Devuelve un iterador sobre los elementos, en orden de posición. Los
+     * elementos pendientes de un respaldo mapeado se construyen conforme
+     * se recorren.
+     *
+     * @return Iterador de elementos.
+     */
+    @Override
+    public java.util.Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Devuelve un {java.util.Spliterator} sobre los elementos, que se
+     * puede dividir para recorrerlos en paralelo. Si quedan elementos
+     * pendientes de un respaldo mapeado no se divide (construirlos no es
+     * seguro entre hilos); conviene llamar antes a {materializarTodo()}.
+     *
+     * @return Spliterator ordenado, con tamaño conocido y sin nulos.
+     */
+    @Override
+    public java.util.Spliterator<T> spliterator() {
+        return new Divisor(0, -1, 0);
+    }
+
+    /**
+     * Método Calculador: flujo
+     *
+     * Devuelve un flujo secuencial sobre los elementos.
+     *
+     * @return Flujo de elementos en orden de posición.
+     */
+    public java.util.stream.Stream<T> flujo() {
+        return java.util.stream.StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Método Calculador: pagina
+     *
+     * Devuelve una página de elementos. Solo se construyen los elementos
+     * de esa página.
+     *
+     * @param numero Número de página, desde 0.
+     * @param tamano Número de elementos por página.
+     * @return Página solicitada (vacía si {numero} está después del final).
+     * @throws IllegalArgumentException Si el número es negativo o el
+     *                                  tamaño no es positivo.
+     */
+    public Pagina<T> pagina(int numero, int tamano) {
+        if (numero < 0 || tamano <= 0) {
+            throw new IllegalArgumentException("Página inválida: " + numero + " de tamaño " + tamano);
+        }
+        long inicio = (long) numero * tamano;
+        int desde = (int) Math.min(inicio, contador);
+        int hasta = (int) Math.min(inicio + tamano, contador);
+        for (int i = desde; i < hasta; i++) {
+            elementoEn(i);
+        }
+        return new Pagina<>(java.util.Arrays.copyOfRange(elementos, desde, hasta),
+                numero, tamano, contador);
+    }
+
+    /**
+     * Método Calculador: paginas
+     *
+     * Devuelve un cursor que entrega el repositorio página por página;
+     * cada página se arma hasta que se pide, así que la memoria usada no
+     * depende del tamaño del repositorio. Si el repositorio cambia entre
+     * una página y otra, la siguiente lanza
+     * {java.util.ConcurrentModificationException} en lugar de saltarse o
+     * repetir elementos.
+     *
+     * @param tamano Número de elementos por página.
+     * @return Iterador de páginas (sin páginas si el repositorio está vacío).
+     * @throws IllegalArgumentException Si el tamaño no es positivo.
+     */
+    public java.util.Iterator<Pagina<T>> paginas(int tamano) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("Tamaño de página inválido: " + tamano);
+        }
+        return new java.util.Iterator<Pagina<T>>() {
+            private int siguiente;
+            private final int esperado = modificaciones;
+
+            @Override
+            public boolean hasNext() {
+                return (long) siguiente * tamano < contador;
+            }
+
+            @Override
+            public Pagina<T> next() {
+                verificarSinCambios(esperado);
+                if (!hasNext()) throw new java.util.NoSuchElementException();
+                return pagina(siguiente++, tamano);
+            }
+        };
+    }
+
+    /**
+     * Lanza una excepción si el repositorio cambió desde que empezó un
+     * recorrido.
+     *
+     * @param esperado Valor de {modificaciones} al empezar el recorrido.
+     */
+    private void verificarSinCambios(int esperado) {
+        if (modificaciones != esperado) {
+            throw new java.util.ConcurrentModificationException(
+                    "El repositorio cambió durante el recorrido.");
+        }
+    }
+
+    /**
+     * Iterador por posición que construye los elementos pendientes al
+     * pasar por ellos.
+     */
+    private final class Iterador implements java.util.Iterator<T> {
+        private int posicion;
+        private final int esperado = modificaciones;
+
+        @Override
+        public boolean hasNext() {
+            return posicion < contador;
+        }
+
+        @Override
+        public T next() {
+            verificarSinCambios(esperado);
+            if (posicion >= contador) throw new java.util.NoSuchElementException();
+            return elementoEn(posicion++);
+        }
+    }
+
+    /**
+     * Spliterator sobre un rango de posiciones [origen, limite). El límite
+     * se fija en el primer uso (-1 hasta entonces), como en los
+     * spliterators de las colecciones de Java.
+     */
+    private final class Divisor implements java.util.Spliterator<T> {
+        private int origen;
+        private int limite;
+        private int esperado;
+
+        Divisor(int origen, int limite, int esperado) {
+            this.origen = origen;
+            this.limite = limite;
+            this.esperado = esperado;
+        }
+
+        private int getLimite() {
+            if (limite < 0) {
+                esperado = modificaciones;
+                limite = contador;
+            }
+            return limite;
+        }
+
+        @Override
+        public java.util.Spliterator<T> trySplit() {
+            int hi = getLimite();
+            int medio = (origen + hi) >>> 1;
+            if (origen >= medio || pendientes > 0) return null;
+            Divisor izquierda = new Divisor(origen, medio, esperado);
+            origen = medio;
+            return izquierda;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.Consumer<? super T> accion) {
+            int hi = getLimite();
+            if (origen >= hi) return false;
+            T t = elementoEn(origen++);
+            accion.accept(t);
+            verificarSinCambios(esperado);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.Consumer<? super T> accion) {
+            int hi = getLimite();
+            for (; origen < hi; origen++) {
+                accion.accept(elementoEn(origen));
+            }
+            verificarSinCambios(esperado);
+        }
+
+        @Override
+        public long estimateSize() {
+            return getLimite() - origen;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
     // ================== PERSISTENCIA ==================
 
+    /** Prefijo de la primera línea de un archivo de texto, que guarda la secuencia. */
+    static final String PREFIJO_SECUENCIA = "#secuencia=";
+
     /**
      * Guarda todos los elementos del repositorio en un archivo de texto.
      *
-     * Cada elemento se escribe en una línea, utilizando para ello
-     * su método {Persistible#toLineaTexto()}.
+     * La primera línea guarda la secuencia de la bitácora
+     * ({@code #secuencia=N}); después, cada elemento se escribe en una
+     * línea, utilizando para ello su método {Persistible#toLineaTexto()}.
+     * El archivo se sincroniza con el disco antes de cerrarse.
      *
      * @param ruta Ruta del archivo donde se guardarán los datos.
      * @throws java.io.IOException Si ocurre un error de entrada/salida
      *                             durante la escritura del archivo.
      */
     public void guardarTodo(String ruta) throws java.io.IOException {
+        materializarTodo();
+        java.io.FileOutputStream archivo = new java.io.FileOutputStream(ruta);
         java.io.BufferedWriter bw = new java.io.BufferedWriter(
-                new java.io.FileWriter(ruta));
-        for (int i = 0; i < contador; i++) {
-            bw.write(elementos[i].toLineaTexto());
+                new java.io.OutputStreamWriter(archivo));
+        try {
+            bw.write(PREFIJO_SECUENCIA + secuencia);
             bw.newLine();
+            for (int i = 0; i < contador; i++) {
+                bw.write(elementos[i].toLineaTexto());
+                bw.newLine();
+            }
+            bw.flush();
+            archivo.getFD().sync();
+        } finally {
+            bw.close();
         }
-        bw.close();
     }
 
     /**
@@ -129,30 +597,464 @@ public abstract class RepositorioBase<T extends Identificable & Persistible> {
      * reemplazando el contenido actual del repositorio.
      *
      * Cada línea del archivo se convierte en un objeto {T}
-     * mediante el método {crearDesdeLinea(String)} de la subclase.
+     * mediante el método {crearDesdeLinea(String)} de la subclase. Si la
+     * primera línea es la de la secuencia ({guardarTodo(String)}), se toma
+     * como la secuencia del repositorio; si no, la secuencia queda en 0.
      *
      * Si el archivo no existe, el método no hace nada.
      *
      * @param ruta Ruta del archivo desde donde se leerán los datos.
      * @throws java.io.IOException         Si ocurre un error de lectura.
      * @throws FormatoInvalidoException    Si alguna línea no cumple el formato
-     *                                     esperado para reconstruir el objeto.
+     *                                     esperado para reconstruir el objeto
+     *                                     o repite el id de una línea anterior.
+     * @throws CapacidadLlenaException     Si el repositorio es de tamaño fijo y el
+     *                                     archivo tiene más registros que su capacidad.
      */
     public void cargarTodo(String ruta)
-            throws java.io.IOException, FormatoInvalidoException {
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
         java.io.File archivo = new java.io.File(ruta);
         if (!archivo.exists()) return;
 
         java.io.BufferedReader br = new java.io.BufferedReader(
                 new java.io.FileReader(archivo));
         String linea;
-        contador = 0;
-        while ((linea = br.readLine()) != null && contador < elementos.length) {
-            T obj = crearDesdeLinea(linea);
-            elementos[contador] = obj;
-            contador++;
+        vaciar(elementos.length);
+        secuencia = 0;
+        try {
+            linea = br.readLine();
+            if (linea != null && leerLineaSecuencia(linea, ruta)) {
+                linea = br.readLine();
+            }
+            for (; linea != null; linea = br.readLine()) {
+                agregarCargado(crearDesdeLinea(linea), ruta);
+            }
+        } finally {
+            br.close();
+        }
+    }
+
+    /**
+     * Carga todos los elementos desde un archivo de texto usando la carga
+     * masiva de {CargadorMasivo}: mientras el archivo se lee en bloques
+     * grandes, sus líneas se convierten en objetos por lotes en paralelo.
+     * El resultado es el mismo que el de {cargarTodo(String)}, con los
+     * elementos en el orden del archivo.
+     *
+     * Si el archivo no existe, el método no hace nada. Si alguna línea
+     * tiene formato inválido, el repositorio queda vacío.
+     *
+     * @param ruta Ruta del archivo desde donde se leerán los datos.
+     * @throws java.io.IOException         Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException    Si alguna línea no cumple el formato esperado
+     *                                     o hay ids repetidos.
+     * @throws CapacidadLlenaException     Si el repositorio es de tamaño fijo y el
+     *                                     archivo tiene más registros que su capacidad.
+     */
+    public void cargarTodoParalelo(String ruta)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        java.io.File archivo = new java.io.File(ruta);
+        if (!archivo.exists()) return;
+
+        vaciar(elementos.length);
+        secuencia = 0;
+        boolean completo = false;
+        try {
+            CargadorMasivo.cargar(this, archivo);
+            completo = true;
+        } finally {
+            if (!completo) {
+                vaciar(elementos.length);
+            }
+        }
+    }
+
+    /**
+     * Si la línea es la de la secuencia que escribe {guardarTodo(String)},
+     * toma de ella la secuencia del repositorio.
+     *
+     * @param linea Primera línea del archivo.
+     * @param ruta  Archivo del que se está cargando (para el mensaje).
+     * @return true si era la línea de la secuencia.
+     * @throws FormatoInvalidoException Si la secuencia no es un número válido.
+     */
+    boolean leerLineaSecuencia(String linea, String ruta) throws FormatoInvalidoException {
+        if (!linea.startsWith(PREFIJO_SECUENCIA)) return false;
+        try {
+            secuencia = Long.parseLong(linea.substring(PREFIJO_SECUENCIA.length()).trim());
+        } catch (NumberFormatException e) {
+            throw new FormatoInvalidoException("Secuencia inválida en " + ruta + ": " + linea);
+        }
+        if (secuencia < 0) {
+            throw new FormatoInvalidoException("Secuencia inválida en " + ruta + ": " + linea);
+        }
+        return true;
+    }
+
+    /**
+     * Agrega al final un elemento leído de un archivo durante una carga,
+     * sin avisar a {alAgregar(T)} (la carga ya avisó con {alCargar()}).
+     *
+     * @param obj  Elemento leído.
+     * @param ruta Archivo del que se está cargando (para los mensajes).
+     * @throws CapacidadLlenaException  Si el arreglo es fijo y ya está lleno.
+     * @throws FormatoInvalidoException Si el id ya estaba en el archivo.
+     */
+    void agregarCargado(T obj, String ruta) throws CapacidadLlenaException, FormatoInvalidoException {
+        asegurarEspacio();
+        indexarCargado(obj.getId(), contador, ruta);
+        elementos[contador] = obj;
+        contador++;
+    }
+
+    /**
+     * Guarda todos los elementos en un respaldo binario compacto
+     * (ver {FormatoBinario}). Contiene la misma información que el
+     * archivo de texto de {guardarTodo(String)}.
+     *
+     * El encabezado guarda la secuencia de la bitácora del repositorio
+     * ({getSecuencia()}). El respaldo se escribe primero en un archivo
+     * temporal, sincronizado con el disco, que después reemplaza al
+     * anterior, de modo que nunca queda a medio escribir (ni se modifica
+     * un archivo que siga mapeado en memoria).
+     *
+     * @param ruta Ruta del archivo de respaldo.
+     * @throws java.io.IOException Si ocurre un error de escritura.
+     */
+    public void guardarSnapshot(String ruta) throws java.io.IOException {
+        materializarTodo();
+        java.io.File temporal = new java.io.File(ruta + ".tmp");
+        java.io.FileOutputStream archivo = new java.io.FileOutputStream(temporal);
+        java.io.DataOutputStream salida = new java.io.DataOutputStream(
+                new java.io.BufferedOutputStream(archivo, 1 << 16));
+        try {
+            FormatoBinario.escribirEncabezado(salida, contador, secuencia);
+            FormatoBinario.BuferRegistro registro = new FormatoBinario.BuferRegistro(256);
+            java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+            java.io.DataOutputStream salidaRegistro = new java.io.DataOutputStream(registro);
+            for (int i = 0; i < contador; i++) {
+                registro.reset();
+                elementos[i].escribirBinario(salidaRegistro);
+                registro.volcarConLongitudYCrc(salida, crc);
+            }
+            salida.flush();
+            archivo.getFD().sync();
+        } finally {
+            salida.close();
+        }
+        java.nio.file.Path destino = new java.io.File(ruta).toPath();
+        try {
+            java.nio.file.Files.move(temporal.toPath(), destino,
+                    java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                    java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+        } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+            java.nio.file.Files.move(temporal.toPath(), destino,
+                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Carga todos los elementos desde un respaldo binario generado por
+     * {guardarSnapshot(String)}, reemplazando el contenido actual.
+     *
+     * Si el archivo no existe, el método no hace nada. Si el respaldo está
+     * dañado, el repositorio queda vacío, pero conserva la secuencia del
+     * encabezado si se alcanzó a leer.
+     *
+     * @param ruta Ruta del archivo de respaldo.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el encabezado o algún registro es
+     *                                  inválido, o si hay ids repetidos.
+     * @throws CapacidadLlenaException  Si el repositorio es de tamaño fijo y el
+     *                                  respaldo tiene más registros que su capacidad.
+     */
+    public void cargarSnapshot(String ruta)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        java.io.File archivo = new java.io.File(ruta);
+        if (!archivo.exists()) return;
+
+        EntradaBinaria entrada = EntradaBinaria.desdeArchivo(archivo);
+        boolean completo = false;
+        try {
+            secuencia = FormatoBinario.leerEncabezado(entrada);
+            int registros = FormatoBinario.leerCantidad(entrada);
+            vaciar(registros);
+            java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+            for (int i = 0; i < registros; i++) {
+                int longitud = FormatoBinario.abrirRegistro(entrada, crc);
+                int inicio = entrada.getPosicion();
+                agregarCargado(crearDesdeBinario(entrada), ruta);
+                // Un registro que no ocupa lo que dice su longitud (por
+                // ejemplo, escrito por otra versión) desalinearía a todos
+                // los siguientes.
+                if (entrada.getPosicion() != inicio + longitud) {
+                    throw new FormatoInvalidoException("El registro " + i + " de " + ruta
+                            + " ocupa " + (entrada.getPosicion() - inicio)
+                            + " bytes, pero su longitud dice " + longitud);
+                }
+                FormatoBinario.cerrarRegistro(entrada, inicio, longitud);
+            }
+            verificarFin(entrada, ruta);
+            completo = true;
+        } catch (java.io.EOFException e) {
+            throw new FormatoInvalidoException("Respaldo binario incompleto: " + ruta);
+        } finally {
+            if (!completo) {
+                vaciar(elementos.length);
+            }
+        }
+    }
+
+    /**
+     * Carga un respaldo binario generado por {guardarSnapshot(String)}
+     * mapeándolo en memoria, sin construir todavía los objetos.
+     *
+     * Solo se recorre el archivo para comprobar el CRC de cada registro,
+     * leer su id y recordar dónde empiezan sus datos; el objeto se construye la primera
+     * vez que se pide con {buscarPorId(int)}. Las operaciones que recorren
+     * o reacomodan el arreglo ({getTodos()}, eliminaciones, guardado)
+     * construyen antes todos los pendientes con {materializarTodo()}.
+     * El mapeo se libera cuando ya no quedan registros pendientes. Las
+     * relaciones entre repositorios se reconstruyen también al construir
+     * cada elemento (ver {Rehidratador#rehidratarDiferido(RepositorioProfesores,
+     * RepositorioAlumnos, RepositorioCursos)}).
+     *
+     * Si el archivo no existe, el método no hace nada. Como en
+     * {cargarSnapshot(String)}, un respaldo dañado deja el repositorio
+     * vacío con la secuencia del encabezado.
+     *
+     * @param ruta Ruta del archivo de respaldo.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el encabezado o algún registro es
+     *                                  inválido, o si hay ids repetidos.
+     * @throws CapacidadLlenaException  Si el repositorio es de tamaño fijo y el
+     *                                  respaldo tiene más registros que su capacidad.
+     */
+    public void cargarSnapshotMapeado(String ruta)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        java.io.File archivo = new java.io.File(ruta);
+        if (!archivo.exists()) return;
+
+        EntradaBinaria entrada = EntradaBinaria.mapear(archivo);
+        boolean completo = false;
+        try {
+            secuencia = FormatoBinario.leerEncabezado(entrada);
+            int registros = FormatoBinario.leerCantidad(entrada);
+            vaciar(registros);
+            if (registros > elementos.length) {
+                if (modo != ModoAlmacenamiento.CRECIBLE) {
+                    throw new CapacidadLlenaException("Capacidad llena en el repositorio.");
+                }
+                elementos = java.util.Arrays.copyOf(elementos, registros);
+            }
+            int[] posiciones = new int[registros];
+            java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+            for (int i = 0; i < registros; i++) {
+                // El CRC se comprueba aquí, para que un respaldo dañado se
+                // rechace al abrirlo y no al construir sus elementos.
+                int longitud = FormatoBinario.abrirRegistro(entrada, crc);
+                int inicio = entrada.getPosicion();
+                // Todo registro comienza con el id del elemento.
+                indexarCargado(FormatoBinario.leerEntero(entrada), i, ruta);
+                posiciones[i] = inicio;
+                FormatoBinario.cerrarRegistro(entrada, inicio, longitud);
+            }
+            verificarFin(entrada, ruta);
+            contador = registros;
+            if (registros > 0) {
+                mapeo = entrada;
+                desplazamientos = posiciones;
+                pendientes = registros;
+            }
+            completo = true;
+        } catch (java.io.EOFException e) {
+            throw new FormatoInvalidoException("Respaldo binario incompleto: " + ruta);
+        } finally {
+            if (!completo) {
+                vaciar(elementos.length);
+            }
         }
-        br.close();
+    }
+
+    /**
+     * Comprueba que no queden bytes después del último registro de un
+     * respaldo: si la cantidad del encabezado se dañó y quedó menor, el
+     * respaldo se cargaría incompleto sin ningún error de CRC.
+     *
+     * @param entrada Entrada colocada después del último registro.
+     * @param ruta    Archivo del respaldo (para el mensaje).
+     * @throws FormatoInvalidoException Si sobran bytes.
+     */
+    private static void verificarFin(EntradaBinaria entrada, String ruta) throws FormatoInvalidoException {
+        if (entrada.getRestantes() != 0) {
+            throw new FormatoInvalidoException("Sobran " + entrada.getRestantes()
+                    + " bytes al final del respaldo " + ruta);
+        }
+    }
+
+    /**
+     * Método Calculador: materializarTodo
+     *
+     * Construye todos los elementos que sigan pendientes de un respaldo
+     * mapeado con {cargarSnapshotMapeado(String)}. Si no hay pendientes,
+     * no hace nada.
+     *
+     * @throws IllegalStateException Si el respaldo resulta estar dañado.
+     */
+    public void materializarTodo() {
+        for (int i = 0; i < contador && pendientes > 0; i++) {
+            if (elementos[i] == null) {
+                materializar(i);
+            }
+        }
+    }
+
+    /**
+     * Construye el elemento pendiente de un slot a partir del respaldo
+     * mapeado y libera el mapeo si era el último pendiente.
+     *
+     * @param slot Posición del elemento en el arreglo.
+     * @return Elemento construido.
+     * @throws IllegalStateException Si el registro del respaldo es inválido.
+     */
+    private T materializar(int slot) {
+        try {
+            mapeo.setPosicion(desplazamientos[slot]);
+            T obj = crearDesdeBinario(mapeo);
+            elementos[slot] = obj;
+            if (--pendientes == 0) {
+                mapeo = null;
+                desplazamientos = null;
+            }
+            alMaterializar(obj);
+            return obj;
+        } catch (java.io.IOException | FormatoInvalidoException e) {
+            throw new IllegalStateException(
+                    "Registro dañado en el respaldo binario: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Indica si quedan elementos pendientes de un respaldo mapeado.
+     *
+     * @return true si algún elemento todavía no se ha construido.
+     */
+    public boolean tienePendientes() {
+        return pendientes > 0;
+    }
+
+    /**
+     * Devuelve las relaciones que se reconstruyen al construir cada
+     * elemento pendiente.
+     *
+     * @return Enlaces diferidos de la carga, o null.
+     */
+    EnlacesDiferidos getEnlacesDiferidos() {
+        return enlacesDiferidos;
+    }
+
+    /**
+     * Asigna las relaciones que se reconstruyen al construir cada elemento
+     * pendiente; una nueva carga las descarta.
+     *
+     * @param enlaces Enlaces diferidos de la carga, o null.
+     */
+    void setEnlacesDiferidos(EnlacesDiferidos enlaces) {
+        this.enlacesDiferidos = enlaces;
+    }
+
+    /**
+     * Registra en el índice primario un elemento recién cargado de un
+     * archivo. Un id repetido se rechaza: si se aceptara, la primera copia
+     * quedaría en el arreglo sin poder encontrarse por id.
+     *
+     * @param id   Identificador del elemento.
+     * @param slot Posición del elemento en el arreglo.
+     * @param ruta Archivo del que se está cargando (para el mensaje).
+     * @throws FormatoInvalidoException Si el id ya estaba en el archivo.
+     */
+    private void indexarCargado(int id, int slot, String ruta) throws FormatoInvalidoException {
+        if (!indice.ponerNuevo(id, slot)) {
+            throw new FormatoInvalidoException("Id repetido en " + ruta + ": " + id);
+        }
+    }
+
+    /**
+     * Deja el repositorio vacío antes de una carga, descartando también
+     * cualquier respaldo mapeado pendiente.
+     *
+     * @param capacidadEsperada Número aproximado de elementos a cargar.
+     */
+    private void vaciar(int capacidadEsperada) {
+        java.util.Arrays.fill(elementos, 0, contador, null);
+        contador = 0;
+        indice.limpiar(capacidadEsperada);
+        mapeo = null;
+        desplazamientos = null;
+        pendientes = 0;
+        enlacesDiferidos = null;
+        modificaciones++;
+        alCargar();
+    }
+
+    /**
+     * Se invoca después de agregar un elemento con {agregar(T)}. Las
+     * subclases lo redefinen para mantener sus índices secundarios.
+     *
+     * @param t Elemento agregado.
+     */
+    protected void alAgregar(T t) {
+    }
+
+    /**
+     * Se invoca después de eliminar un elemento del repositorio.
+     *
+     * @param id Identificador del elemento eliminado.
+     */
+    protected void alEliminar(int id) {
+    }
+
+    /**
+     * Se invoca al cerrar el hueco que dejó en {slot} un elemento
+     * eliminado con {eliminarPorId(int)}, antes de {alEliminar(int)}. Sirve
+     * a los índices que guardan posiciones: con
+     * {EstrategiaEliminacion#INTERCAMBIAR} el elemento que estaba en
+     * {ultimo} pasó a {slot} (si eran distintas); con
+     * {EstrategiaEliminacion#DESPLAZAR} los de slot+1 a {ultimo} bajaron
+     * una posición.
+     *
+     * @param slot   Posición del elemento eliminado.
+     * @param ultimo Última posición ocupada antes de eliminarlo.
+     */
+    protected void alQuitarPosicion(int slot, int ultimo) {
+    }
+
+    /**
+     * Se invoca después de que {eliminarVarios(int[])} compactó el arreglo
+     * conservando el orden: las posiciones marcadas se quitaron y las
+     * demás bajaron para cerrar los huecos.
+     *
+     * @param quitadas Posiciones eliminadas (true), en el arreglo anterior.
+     * @param total    Número de elementos antes de eliminar.
+     */
+    protected void alCompactar(boolean[] quitadas, int total) {
+    }
+
+    /**
+     * Se invoca cuando el contenido completo del repositorio se reemplaza
+     * al inicio de una carga (de texto o de respaldo binario).
+     */
+    protected void alCargar() {
+    }
+
+    /**
+     * Se invoca al construir un elemento que seguía pendiente de un
+     * respaldo mapeado, ya guardado en su slot. Las subclases lo redefinen
+     * para enlazarlo con {getEnlacesDiferidos()}.
+     *
+     * @param t Elemento construido.
+     */
+    protected void alMaterializar(T t) {
     }
 
     /**
@@ -166,4 +1068,18 @@ public abstract class RepositorioBase<T extends Identificable & Persistible> {
      * @throws FormatoInvalidoException si la línea no tiene el formato correcto.
      */
     protected abstract T crearDesdeLinea(String linea) throws FormatoInvalidoException;
+
+    /**
+     * Método Abstracto: crearDesdeBinario
+     *
+     * Cada subclase sabe cómo construir su objeto {T} desde los datos
+     * binarios escritos por {Persistible#escribirBinario(java.io.DataOutput)}.
+     *
+     * @param entrada Flujo posicionado al inicio de los datos del registro.
+     * @return Objeto {@code T} creado a partir de los datos.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    protected abstract T crearDesdeBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException;
 }
@@ -5,9 +5,62 @@
  * aprovechando la funcionalidad genérica proporcionada por
  * {RepositorioBase}. Permite almacenar, buscar, eliminar
  * y reconstruir cursos desde su representación en texto.
+ *
+ * Mantiene además dos {IndiceIntervalos} sobre las fechas de los cursos
+ * (periodo de inscripciones y periodo de clases) para responder sin
+ * recorrer todo el catálogo qué cursos tienen inscripciones abiertas o
+ * están en clases en una fecha o rango de fechas. Las altas, bajas y
+ * ediciones actualizan solo el intervalo del curso afectado; una carga
+ * completa los marca como desactualizados y se reconstruyen en la
+ * siguiente consulta. Si se editan las fechas de un curso ya registrado
+ * debe llamarse a {reindexar(Curso)}.
+ *
+ * También mantiene un {IndiceBitmap} por cada atributo de catálogo
+ * (categoría, nivel y plataforma), de modo que un filtro por varios
+ * atributos se resuelve intersectando mapas de bits con
+ * {filtrar(int, int, int)}. Altas, bajas y ediciones actualizan los mapas
+ * al momento (en una baja los bits se mueven igual que los cursos del
+ * arreglo); solo una carga los reconstruye en la siguiente consulta.
+ *
+ * Por último, mantiene un {IndiceTrie} con las palabras del nombre y la
+ * descripción de cada curso (sin acentos, ver {Normalizador}) para
+ * buscarlos por palabra clave con {buscarTexto(String, int)}. Este índice
+ * se actualiza curso por curso en altas, bajas y ediciones; solo una
+ * carga completa lo reconstruye.
  */
 public class RepositorioCursos extends RepositorioBase<Curso> {
 
+    /** Índice del periodo de inscripciones de cada curso. */
+    private final IndiceIntervalos indiceInscripciones = new IndiceIntervalos();
+
+    /** Índice del periodo de clases de cada curso. */
+    private final IndiceIntervalos indiceClases = new IndiceIntervalos();
+
+    /** true si los índices de fechas deben reconstruirse (después de una carga). */
+    private boolean fechasDesactualizadas = true;
+
+    /** Índice por código de categoría. */
+    private final IndiceBitmap indiceCategorias = new IndiceBitmap(Catalogos.CATEGORIAS.length);
+
+    /** Índice por código de nivel. */
+    private final IndiceBitmap indiceNiveles = new IndiceBitmap(Catalogos.NIVELES.length);
+
+    /** Índice por código de plataforma. */
+    private final IndiceBitmap indicePlataformas = new IndiceBitmap(Catalogos.PLATAFORMAS.length);
+
+    /** true si los índices de catálogo deben reconstruirse (después de una carga). */
+    private boolean catalogosDesactualizados = true;
+
+    /** Índice de texto sobre el nombre y la descripción. */
+    private final IndiceTrie indiceTexto = new IndiceTrie();
+
+    /** true si el índice de texto debe reconstruirse. */
+    private boolean textoDesactualizado = true;
+
+    /** Peso de una palabra del nombre frente a una de la descripción. */
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_DESCRIPCION = 1;
+
     /**
      * Constructor del repositorio de cursos.
      *
@@ -21,6 +74,19 @@ public class RepositorioCursos extends RepositorioBase<Curso> {
         super(new Curso[capacidad]);  
     }
 
+    /**
+     * Constructor del repositorio de cursos con modo de almacenamiento.
+     *
+     * Con {ModoAlmacenamiento#CRECIBLE} la capacidad indicada es solo
+     * la inicial y el repositorio crece sin límite.
+     *
+     * @param capacidad Capacidad inicial (o máxima, si el modo es fijo).
+     * @param modo      Modo de almacenamiento del repositorio.
+     */
+    public RepositorioCursos(int capacidad, ModoAlmacenamiento modo) {
+        super(new Curso[capacidad], modo);
+    }
+
     /**
      * Reconstruye un objeto {Curso} a partir de una línea de texto
      * previamente serializada mediante {toLineaTexto()}.
@@ -38,4 +104,394 @@ public class RepositorioCursos extends RepositorioBase<Curso> {
         c.fromLineaTexto(linea);
         return c;
     }
+
+    /**
+     * Reconstruye un objeto {Curso} a partir de su representación
+     * binaria, escrita previamente por {escribirBinario()}.
+     *
+     * @param entrada Flujo posicionado al inicio de los datos del registro.
+     * @return Instancia de {Curso} reconstruida.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    protected Curso crearDesdeBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        Curso c = new Curso();
+        c.leerBinario(entrada);
+        return c;
+    }
+
+    /**
+     * Método Calculador: cursosConInscripcionAbierta
+     *
+     * Devuelve los cursos cuyo periodo de inscripciones incluye la fecha
+     * dada (ver {Curso#estaEnPeriodoInscripcion(Fecha)}).
+     *
+     * @param dia Fecha a consultar.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] cursosConInscripcionAbierta(Fecha dia) {
+        actualizarIndicesFechas();
+        return cursosDe(indiceInscripciones.punzar(dia.getDiaEpoca()));
+    }
+
+    /**
+     * Método Calculador: cursosEnClases
+     *
+     * Devuelve los cursos que están en clases en la fecha dada (ver
+     * {Curso#estaEnClases(Fecha)}).
+     *
+     * @param dia Fecha a consultar.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] cursosEnClases(Fecha dia) {
+        actualizarIndicesFechas();
+        return cursosDe(indiceClases.punzar(dia.getDiaEpoca()));
+    }
+
+    /**
+     * Método Calculador: cursosConInscripcionEntre
+     *
+     * Devuelve los cursos cuyo periodo de inscripciones comparte al menos
+     * un día con el rango [desde, hasta].
+     *
+     * @param desde Primer día del rango.
+     * @param hasta Último día del rango.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] cursosConInscripcionEntre(Fecha desde, Fecha hasta) {
+        actualizarIndicesFechas();
+        return cursosDe(indiceInscripciones.traslapar(desde.getDiaEpoca(), hasta.getDiaEpoca()));
+    }
+
+    /**
+     * Método Calculador: cursosEnClasesEntre
+     *
+     * Devuelve los cursos que tienen clases en al menos un día del rango
+     * [desde, hasta] (por ejemplo, los que están en clases esta semana).
+     *
+     * @param desde Primer día del rango.
+     * @param hasta Último día del rango.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] cursosEnClasesEntre(Fecha desde, Fecha hasta) {
+        actualizarIndicesFechas();
+        return cursosDe(indiceClases.traslapar(desde.getDiaEpoca(), hasta.getDiaEpoca()));
+    }
+
+    /**
+     * Método Calculador: filtrar
+     *
+     * Devuelve los cursos que tienen la categoría, el nivel y la plataforma
+     * indicados, intersectando los mapas de bits de cada atributo. Un
+     * código {Catalogos#SIN_CODIGO} significa "cualquier valor".
+     *
+     * @param categoria  Código en {Catalogos#CATEGORIAS}, o SIN_CODIGO.
+     * @param nivel      Código en {Catalogos#NIVELES}, o SIN_CODIGO.
+     * @param plataforma Código en {Catalogos#PLATAFORMAS}, o SIN_CODIGO.
+     * @return Cursos encontrados, en el orden del repositorio (arreglo sin
+     *         huecos, posiblemente vacío).
+     */
+    public Curso[] filtrar(int categoria, int nivel, int plataforma) {
+        actualizarIndicesCatalogo();
+        int palabras = IndiceBitmap.palabrasPara(contador);
+        long[] mapa = null;
+        if (categoria != Catalogos.SIN_CODIGO) {
+            mapa = indiceCategorias.intersectar(mapa, categoria, palabras);
+        }
+        if (nivel != Catalogos.SIN_CODIGO) {
+            mapa = indiceNiveles.intersectar(mapa, nivel, palabras);
+        }
+        if (plataforma != Catalogos.SIN_CODIGO) {
+            mapa = indicePlataformas.intersectar(mapa, plataforma, palabras);
+        }
+        if (mapa == null) {
+            return java.util.Arrays.copyOf(elementos, contador);
+        }
+        int[] slots = IndiceBitmap.posiciones(mapa);
+        Curso[] cursos = new Curso[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            cursos[i] = elementos[slots[i]];
+        }
+        return cursos;
+    }
+
+    /**
+     * Método Calculador: filtrar
+     *
+     * Igual que {filtrar(int, int, int)}, pero con los valores como texto
+     * (sin distinguir mayúsculas). Un valor null significa "cualquier
+     * valor"; un valor que no está en su catálogo no coincide con ningún
+     * curso.
+     *
+     * @param categoria  Categoría, o null.
+     * @param nivel      Nivel, o null.
+     * @param plataforma Plataforma, o null.
+     * @return Cursos encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] filtrar(String categoria, String nivel, String plataforma) {
+        int cat = codigoFiltro(categoria, Catalogos.CATEGORIAS);
+        int niv = codigoFiltro(nivel, Catalogos.NIVELES);
+        int pla = codigoFiltro(plataforma, Catalogos.PLATAFORMAS);
+        if (cat == NINGUNO || niv == NINGUNO || pla == NINGUNO) {
+            return new Curso[0];
+        }
+        return filtrar(cat, niv, pla);
+    }
+
+    /**
+     * Método Calculador: buscarTexto
+     *
+     * Busca cursos por palabras de su nombre o descripción, sin distinguir
+     * mayúsculas ni acentos. Cada palabra de la consulta también encuentra
+     * las palabras que empiezan con ella ("quim" encuentra "Química").
+     * Los resultados se ordenan por relevancia (ver
+     * {IndiceTrie#buscar(String[], int)}); las palabras del nombre pesan
+     * más que las de la descripción.
+     *
+     * @param consulta Texto a buscar.
+     * @param limite   Número máximo de resultados.
+     * @return Cursos encontrados, del más relevante al menos relevante
+     *         (arreglo sin huecos, posiblemente vacío).
+     */
+    public Curso[] buscarTexto(String consulta, int limite) {
+        actualizarIndiceTexto();
+        return cursosDe(indiceTexto.buscar(Normalizador.palabras(consulta), limite));
+    }
+
+    /**
+     * Método Gestor: reindexar
+     *
+     * Avisa que cambiaron las fechas, los datos de catálogo o el texto de
+     * un curso ya registrado. Los índices se actualizan solo para este
+     * curso.
+     *
+     * @param curso Curso editado.
+     */
+    public void reindexar(Curso curso) {
+        if (!fechasDesactualizadas) {
+            indexarFechas(curso);
+        }
+        if (!catalogosDesactualizados) {
+            int slot = buscarPosicion(curso.getId());
+            if (slot != IndicePrimario.NO_ENCONTRADO) {
+                indiceCategorias.apagarPosicion(slot);
+                indiceNiveles.apagarPosicion(slot);
+                indicePlataformas.apagarPosicion(slot);
+                marcarCatalogos(curso, slot);
+            }
+        }
+        if (!textoDesactualizado) {
+            indexarTexto(curso);
+        }
+    }
+
+    @Override
+    protected void alAgregar(Curso c) {
+        if (!fechasDesactualizadas) {
+            indexarFechas(c);
+        }
+        if (!catalogosDesactualizados) {
+            marcarCatalogos(c, contador - 1);
+        }
+        if (!textoDesactualizado) {
+            indexarTexto(c);
+        }
+    }
+
+    @Override
+    protected void alEliminar(int id) {
+        if (!fechasDesactualizadas) {
+            indiceInscripciones.quitar(id);
+            indiceClases.quitar(id);
+        }
+        if (!textoDesactualizado) {
+            indiceTexto.quitar(id);
+        }
+    }
+
+    @Override
+    protected void alQuitarPosicion(int slot, int ultimo) {
+        if (catalogosDesactualizados) return;
+        if (estrategiaEliminacion == EstrategiaEliminacion.INTERCAMBIAR) {
+            indiceCategorias.apagarPosicion(slot);
+            indiceNiveles.apagarPosicion(slot);
+            indicePlataformas.apagarPosicion(slot);
+            indiceCategorias.mover(ultimo, slot);
+            indiceNiveles.mover(ultimo, slot);
+            indicePlataformas.mover(ultimo, slot);
+        } else {
+            indiceCategorias.quitarPosicion(slot, ultimo + 1);
+            indiceNiveles.quitarPosicion(slot, ultimo + 1);
+            indicePlataformas.quitarPosicion(slot, ultimo + 1);
+        }
+    }
+
+    @Override
+    protected void alCompactar(boolean[] quitadas, int total) {
+        if (catalogosDesactualizados) return;
+        indiceCategorias.compactar(quitadas, total);
+        indiceNiveles.compactar(quitadas, total);
+        indicePlataformas.compactar(quitadas, total);
+    }
+
+    @Override
+    protected void alCargar() {
+        fechasDesactualizadas = true;
+        catalogosDesactualizados = true;
+        textoDesactualizado = true;
+    }
+
+    @Override
+    protected void alMaterializar(Curso c) {
+        EnlacesDiferidos e = getEnlacesDiferidos();
+        if (e != null) e.enlazarCurso(c);
+    }
+
+    /**
+     * Método Calculador: completarEnlaces
+     *
+     * Termina de una vez de reconstruir las relaciones de una carga
+     * diferida (ver {Rehidratador#rehidratarDiferido(RepositorioProfesores,
+     * RepositorioAlumnos, RepositorioCursos)}). Debe llamarse antes de
+     * usar los repositorios desde varios hilos; si no hay relaciones
+     * pendientes, no hace nada.
+     */
+    public void completarEnlaces() {
+        EnlacesDiferidos e = getEnlacesDiferidos();
+        if (e != null) e.completar();
+    }
+
+    /**
+     * Reconstruye los índices de fechas después de una carga. Un periodo
+     * al que le falte alguna fecha no se indexa.
+     */
+    private void actualizarIndicesFechas() {
+        if (!fechasDesactualizadas) return;
+        materializarTodo();
+
+        int n = contador;
+        int[] idsIns = new int[n], inicioIns = new int[n], finIns = new int[n];
+        int[] idsClases = new int[n], inicioClases = new int[n], finClases = new int[n];
+        int nIns = 0, nClases = 0;
+        for (int i = 0; i < n; i++) {
+            Curso c = elementos[i];
+            if (c.getFechaInicioInscripciones() != null && c.getFechaFinInscripciones() != null) {
+                idsIns[nIns] = c.getId();
+                inicioIns[nIns] = c.getFechaInicioInscripciones().getDiaEpoca();
+                finIns[nIns] = c.getFechaFinInscripciones().getDiaEpoca();
+                nIns++;
+            }
+            if (c.getFechaInicioCurso() != null && c.getFechaFinCurso() != null) {
+                idsClases[nClases] = c.getId();
+                inicioClases[nClases] = c.getFechaInicioCurso().getDiaEpoca();
+                finClases[nClases] = c.getFechaFinCurso().getDiaEpoca();
+                nClases++;
+            }
+        }
+        indiceInscripciones.construir(inicioIns, finIns, idsIns, nIns);
+        indiceClases.construir(inicioClases, finClases, idsClases, nClases);
+        fechasDesactualizadas = false;
+    }
+
+    /**
+     * Agrega (o reemplaza) los periodos de un curso en los índices de
+     * fechas. Un periodo al que le falte alguna fecha se quita del índice.
+     */
+    private void indexarFechas(Curso c) {
+        if (c.getFechaInicioInscripciones() != null && c.getFechaFinInscripciones() != null) {
+            indiceInscripciones.agregar(c.getFechaInicioInscripciones().getDiaEpoca(),
+                    c.getFechaFinInscripciones().getDiaEpoca(), c.getId());
+        } else {
+            indiceInscripciones.quitar(c.getId());
+        }
+        if (c.getFechaInicioCurso() != null && c.getFechaFinCurso() != null) {
+            indiceClases.agregar(c.getFechaInicioCurso().getDiaEpoca(),
+                    c.getFechaFinCurso().getDiaEpoca(), c.getId());
+        } else {
+            indiceClases.quitar(c.getId());
+        }
+    }
+
+    /** Código de filtro que no coincide con ningún curso. */
+    private static final int NINGUNO = Integer.MIN_VALUE;
+
+    /**
+     * Convierte el texto de un filtro en código: null es "cualquier valor"
+     * ({Catalogos#SIN_CODIGO}) y un valor fuera del catálogo es {NINGUNO}.
+     */
+    private static int codigoFiltro(String valor, String[] catalogo) {
+        if (valor == null) return Catalogos.SIN_CODIGO;
+        int codigo = Catalogos.codigoDe(valor, catalogo);
+        return (codigo == Catalogos.SIN_CODIGO) ? NINGUNO : codigo;
+    }
+
+    /**
+     * Reconstruye los índices de catálogo después de una carga.
+     */
+    private void actualizarIndicesCatalogo() {
+        if (!catalogosDesactualizados) return;
+        materializarTodo();
+        indiceCategorias.limpiar(contador);
+        indiceNiveles.limpiar(contador);
+        indicePlataformas.limpiar(contador);
+        for (int i = 0; i < contador; i++) {
+            marcarCatalogos(elementos[i], i);
+        }
+        catalogosDesactualizados = false;
+    }
+
+    /**
+     * Agrega un curso a los índices de catálogo.
+     */
+    private void marcarCatalogos(Curso c, int slot) {
+        indiceCategorias.marcar(c.getCodigoCategoria(), slot);
+        indiceNiveles.marcar(c.getCodigoNivel(), slot);
+        indicePlataformas.marcar(c.getCodigoPlataforma(), slot);
+    }
+
+    /**
+     * Reconstruye el índice de texto después de una carga.
+     */
+    private void actualizarIndiceTexto() {
+        if (!textoDesactualizado) return;
+        materializarTodo();
+        indiceTexto.limpiar();
+        for (int i = 0; i < contador; i++) {
+            indexarTexto(elementos[i]);
+        }
+        textoDesactualizado = false;
+    }
+
+    /**
+     * Indexa (o vuelve a indexar) el nombre y la descripción de un curso.
+     */
+    private void indexarTexto(Curso c) {
+        String[] nombre = Normalizador.terminos(c.getNombre());
+        String[] descripcion = Normalizador.terminos(c.getDescripcion());
+        int n = nombre.length + descripcion.length;
+        String[] terminos = new String[n];
+        int[] pesos = new int[n];
+        for (int i = 0; i < nombre.length; i++) {
+            terminos[i] = nombre[i];
+            pesos[i] = PESO_NOMBRE;
+        }
+        for (int i = 0; i < descripcion.length; i++) {
+            terminos[nombre.length + i] = descripcion[i];
+            pesos[nombre.length + i] = PESO_DESCRIPCION;
+        }
+        indiceTexto.agregar(c.getId(), terminos, pesos, n);
+    }
+
+    /**
+     * Convierte IDs de cursos en los cursos correspondientes.
+     */
+    private Curso[] cursosDe(int[] ids) {
+        Curso[] cursos = new Curso[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            cursos[i] = elementoEn(buscarPosicion(ids[i]));
+        }
+        return cursos;
+    }
 }
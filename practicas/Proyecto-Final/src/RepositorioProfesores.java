@@ -5,9 +5,46 @@
  * reutilizando la infraestructura genérica ofrecida por
  * {RepositorioBase}. Permite almacenar, buscar, eliminar
  * y reconstruir profesores desde texto.
+ *
+ * Mantiene un índice invertido de capacidades: un {IndiceBitmap} por
+ * nivel y otro por categoría, con las posiciones de los profesores que
+ * pueden impartir cada valor. Así {profesoresQuePuedenImpartir(int, int)}
+ * se resuelve con la intersección de dos mapas de bits. Las altas, bajas y
+ * ediciones (avisadas con {reindexar(Profesor)}) actualizan solo la
+ * posición del profesor; después de una carga, el índice se reconstruye
+ * en la siguiente consulta.
+ *
+ * Además mantiene un {IndiceTrie} con las palabras del nombre completo
+ * para buscar profesores por nombre (por prefijo o con errores de dedo);
+ * este índice se actualiza profesor por profesor.
  */
 public class RepositorioProfesores extends RepositorioBase<Profesor> {
 
+    /**
+     * Profesores por código de nivel. La última posición ("comodín")
+     * reúne a los que no registraron niveles y pueden impartir cualquiera.
+     */
+    private final IndiceBitmap indiceNiveles = new IndiceBitmap(Catalogos.NIVELES.length + 1);
+
+    /** Profesores por código de categoría, con comodín al final. */
+    private final IndiceBitmap indiceCategorias = new IndiceBitmap(Catalogos.CATEGORIAS.length + 1);
+
+    /** true si el índice de capacidades debe reconstruirse. */
+    private boolean capacidadesDesactualizadas = true;
+
+    /**
+     * Índice de las palabras del nombre completo. Cada búsqueda recorre a
+     * lo más {PRESUPUESTO_BUSQUEDA} entradas, para que un apellido común
+     * no la haga más lenta conforme crece el repositorio.
+     */
+    private final IndiceTrie indiceNombres = new IndiceTrie(PRESUPUESTO_BUSQUEDA);
+
+    /** Entradas que puede recorrer una búsqueda por nombre. */
+    private static final int PRESUPUESTO_BUSQUEDA = 1 << 16;
+
+    /** true si el índice de nombres debe reconstruirse. */
+    private boolean nombresDesactualizados = true;
+
     /**
      * Constructor del repositorio de profesores.
      *
@@ -20,6 +57,19 @@ public class RepositorioProfesores extends RepositorioBase<Profesor> {
         super(new Profesor[capacidad]);   // ⬅️ IMPORTANTE
     }
 
+    /**
+     * Constructor del repositorio de profesores con modo de almacenamiento.
+     *
+     * Con {ModoAlmacenamiento#CRECIBLE} la capacidad indicada es solo
+     * la inicial y el repositorio crece sin límite.
+     *
+     * @param capacidad Capacidad inicial (o máxima, si el modo es fijo).
+     * @param modo      Modo de almacenamiento del repositorio.
+     */
+    public RepositorioProfesores(int capacidad, ModoAlmacenamiento modo) {
+        super(new Profesor[capacidad], modo);
+    }
+
     /**
      * Reconstruye un objeto {Profesor} a partir de una línea de texto
      * generada por su método {toLineaTexto()}.
@@ -39,4 +89,243 @@ public class RepositorioProfesores extends RepositorioBase<Profesor> {
         p.fromLineaTexto(linea);
         return p;
     }
+
+    /**
+     * Reconstruye un objeto {Profesor} a partir de su representación
+     * binaria, escrita previamente por {escribirBinario()}.
+     *
+     * @param entrada Flujo posicionado al inicio de los datos del registro.
+     * @return Instancia de {Profesor} reconstruida.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si los datos no tienen el formato esperado.
+     */
+    @Override
+    protected Profesor crearDesdeBinario(java.io.DataInput entrada)
+            throws java.io.IOException, FormatoInvalidoException {
+        Profesor p = new Profesor();
+        p.leerBinario(entrada);
+        return p;
+    }
+
+    /**
+     * Método Calculador: profesoresQuePuedenImpartir
+     *
+     * Devuelve los profesores que pueden impartir un curso del nivel y la
+     * categoría dados (los mismos para los que
+     * {Profesor#puedeImpartir(int, int)} es verdadero).
+     *
+     * @param codigoNivel     Código en {Catalogos#NIVELES}.
+     * @param codigoCategoria Código en {Catalogos#CATEGORIAS}.
+     * @return Profesores encontrados, en el orden del repositorio (arreglo
+     *         sin huecos, posiblemente vacío).
+     */
+    public Profesor[] profesoresQuePuedenImpartir(int codigoNivel, int codigoCategoria) {
+        actualizarIndiceCapacidades();
+        int palabras = IndiceBitmap.palabrasPara(contador);
+        long[] mapa = indiceNiveles.intersectar(null,
+                valorIndice(codigoNivel, Catalogos.NIVELES.length), palabras);
+        mapa = indiceCategorias.intersectar(mapa,
+                valorIndice(codigoCategoria, Catalogos.CATEGORIAS.length), palabras);
+        int[] slots = IndiceBitmap.posiciones(mapa);
+        Profesor[] profesores = new Profesor[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            profesores[i] = elementos[slots[i]];
+        }
+        return profesores;
+    }
+
+    /**
+     * Método Calculador: profesoresQuePuedenImpartir
+     *
+     * Igual que {profesoresQuePuedenImpartir(int, int)}, con el nivel y la
+     * categoría como texto.
+     *
+     * @param nivel     Nivel del curso.
+     * @param categoria Categoría del curso.
+     * @return Profesores encontrados (arreglo sin huecos, posiblemente vacío).
+     */
+    public Profesor[] profesoresQuePuedenImpartir(String nivel, String categoria) {
+        return profesoresQuePuedenImpartir(Catalogos.codigoDe(nivel, Catalogos.NIVELES),
+                Catalogos.codigoDe(categoria, Catalogos.CATEGORIAS));
+    }
+
+    /**
+     * Método Calculador: buscarPorNombre
+     *
+     * Busca profesores por palabras de su nombre completo, sin distinguir
+     * mayúsculas ni acentos; cada palabra también encuentra las que empiezan
+     * con ella ("gonz" encuentra "González").
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Profesores encontrados, del más parecido al menos parecido
+     *         (arreglo sin huecos, posiblemente vacío).
+     */
+    public Profesor[] buscarPorNombre(String consulta, int limite) {
+        actualizarIndiceNombres();
+        return profesoresDe(indiceNombres.buscar(Normalizador.palabras(consulta), limite));
+    }
+
+    /**
+     * Método Calculador: buscarPorNombreAproximado
+     *
+     * Igual que {buscarPorNombre(String, int)}, pero tolera errores de dedo
+     * (ver {IndiceTrie#buscarAproximado(String[], int)}); las coincidencias
+     * exactas y por prefijo quedan antes que las aproximadas.
+     *
+     * @param consulta Nombre o parte del nombre.
+     * @param limite   Número máximo de resultados.
+     * @return Profesores encontrados, del más parecido al menos parecido
+     *         (arreglo sin huecos, posiblemente vacío).
+     */
+    public Profesor[] buscarPorNombreAproximado(String consulta, int limite) {
+        actualizarIndiceNombres();
+        return profesoresDe(indiceNombres.buscarAproximado(Normalizador.palabras(consulta), limite));
+    }
+
+    /**
+     * Método Gestor: reindexar
+     *
+     * Avisa que cambiaron los datos de un profesor ya registrado. Los
+     * índices se actualizan solo para este profesor.
+     *
+     * @param profesor Profesor editado.
+     */
+    public void reindexar(Profesor profesor) {
+        if (!capacidadesDesactualizadas) {
+            int slot = buscarPosicion(profesor.getId());
+            if (slot != IndicePrimario.NO_ENCONTRADO) {
+                indiceNiveles.apagarPosicion(slot);
+                indiceCategorias.apagarPosicion(slot);
+                marcarCapacidades(profesor, slot);
+            }
+        }
+        if (!nombresDesactualizados) {
+            indiceNombres.agregar(profesor.getId(), Normalizador.terminos(profesor.getNombreCompleto()));
+        }
+    }
+
+    @Override
+    protected void alAgregar(Profesor p) {
+        if (!capacidadesDesactualizadas) {
+            marcarCapacidades(p, contador - 1);
+        }
+        if (!nombresDesactualizados) {
+            indiceNombres.agregar(p.getId(), Normalizador.terminos(p.getNombreCompleto()));
+        }
+    }
+
+    @Override
+    protected void alEliminar(int id) {
+        if (!nombresDesactualizados) {
+            indiceNombres.quitar(id);
+        }
+    }
+
+    @Override
+    protected void alQuitarPosicion(int slot, int ultimo) {
+        if (capacidadesDesactualizadas) return;
+        if (estrategiaEliminacion == EstrategiaEliminacion.INTERCAMBIAR) {
+            indiceNiveles.apagarPosicion(slot);
+            indiceCategorias.apagarPosicion(slot);
+            indiceNiveles.mover(ultimo, slot);
+            indiceCategorias.mover(ultimo, slot);
+        } else {
+            indiceNiveles.quitarPosicion(slot, ultimo + 1);
+            indiceCategorias.quitarPosicion(slot, ultimo + 1);
+        }
+    }
+
+    @Override
+    protected void alCompactar(boolean[] quitadas, int total) {
+        if (capacidadesDesactualizadas) return;
+        indiceNiveles.compactar(quitadas, total);
+        indiceCategorias.compactar(quitadas, total);
+    }
+
+    @Override
+    protected void alCargar() {
+        capacidadesDesactualizadas = true;
+        nombresDesactualizados = true;
+    }
+
+    @Override
+    protected void alMaterializar(Profesor p) {
+        EnlacesDiferidos e = getEnlacesDiferidos();
+        if (e != null) e.registrar(p);
+    }
+
+    /**
+     * Valor del índice para un código: el propio código, o el comodín si
+     * el código está fuera del catálogo (solo coinciden los profesores
+     * que pueden impartir cualquier valor).
+     */
+    private static int valorIndice(int codigo, int tamanoCatalogo) {
+        return (codigo >= 0 && codigo < tamanoCatalogo) ? codigo : tamanoCatalogo;
+    }
+
+    /**
+     * Reconstruye el índice de nombres después de una carga.
+     */
+    private void actualizarIndiceNombres() {
+        if (!nombresDesactualizados) return;
+        materializarTodo();
+        indiceNombres.limpiar();
+        for (int i = 0; i < contador; i++) {
+            indiceNombres.agregar(elementos[i].getId(),
+                    Normalizador.terminos(elementos[i].getNombreCompleto()));
+        }
+        nombresDesactualizados = false;
+    }
+
+    /**
+     * Convierte identificadores en los elementos correspondientes.
+     */
+    private Profesor[] profesoresDe(int[] ids) {
+        Profesor[] resultado = new Profesor[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            resultado[i] = elementoEn(buscarPosicion(ids[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Reconstruye el índice de capacidades después de una carga.
+     */
+    private void actualizarIndiceCapacidades() {
+        if (!capacidadesDesactualizadas) return;
+        materializarTodo();
+        indiceNiveles.limpiar(contador);
+        indiceCategorias.limpiar(contador);
+        for (int i = 0; i < contador; i++) {
+            marcarCapacidades(elementos[i], i);
+        }
+        capacidadesDesactualizadas = false;
+    }
+
+    /**
+     * Agrega un profesor al índice de capacidades.
+     */
+    private void marcarCapacidades(Profesor p, int slot) {
+        marcarMascara(indiceNiveles, p.getMascaraNiveles(), Catalogos.NIVELES.length, slot);
+        marcarMascara(indiceCategorias, p.getMascaraCategorias(), Catalogos.CATEGORIAS.length, slot);
+    }
+
+    /**
+     * Enciende el bit del profesor en el mapa de cada valor de su máscara;
+     * con {Profesor#PUEDE_TODOS} también en el comodín.
+     */
+    private static void marcarMascara(IndiceBitmap indice, int mascara, int tamanoCatalogo, int slot) {
+        if (mascara == Profesor.PUEDE_TODOS) {
+            for (int v = 0; v <= tamanoCatalogo; v++) {
+                indice.marcar(v, slot);
+            }
+            return;
+        }
+        for (int v = 0; v < tamanoCatalogo; v++) {
+            if ((mascara & (1 << v)) != 0) {
+                indice.marcar(v, slot);
+            }
+        }
+    }
 }
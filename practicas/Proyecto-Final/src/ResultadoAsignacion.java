@@ -0,0 +1,58 @@
+/**
+ * Enumeración: ResultadoAsignacion
+ *
+ * Resultado de un intento de asignar o reasignar un profesor a un curso,
+ * para reportar el motivo de un rechazo sin lanzar excepciones (ver
+ * {GestorCursos#intentarAsignarProfesor(int, int, Fecha)}).
+ */
+public enum ResultadoAsignacion {
+
+    /** El profesor quedó asignado. */
+    ASIGNADO("Asignación realizada."),
+
+    /** No existe un curso con el ID indicado. */
+    CURSO_NO_ENCONTRADO("No se encontró el curso."),
+
+    /** No existe un profesor con el número de trabajador indicado. */
+    PROFESOR_NO_ENCONTRADO("No se encontró el profesor."),
+
+    /** El curso ya inició (asignación). */
+    CURSO_INICIADO("El curso ya inició."),
+
+    /** El curso ya inició (reasignación). */
+    REASIGNACION_INICIADA("No se puede reasignar, el curso ya inició."),
+
+    /** El curso ya tiene un profesor asignado. */
+    CON_PROFESOR("El curso ya tiene un profesor asignado."),
+
+    /** El profesor no puede impartir el nivel o la categoría del curso. */
+    PROFESOR_NO_APTO("El profesor no puede impartir el nivel/categoría del curso."),
+
+    /** El profesor ya imparte un curso cuyo horario choca con este. */
+    CHOQUE_HORARIO("El profesor ya tiene un curso que choca con este horario.");
+
+    /** Mensaje descriptivo del resultado. */
+    private final String mensaje;
+
+    ResultadoAsignacion(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Devuelve el mensaje descriptivo del resultado.
+     *
+     * @return Mensaje para mostrar al usuario.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * Indica si el resultado corresponde a una asignación realizada.
+     *
+     * @return true solo para {ASIGNADO}.
+     */
+    public boolean esExito() {
+        return this == ASIGNADO;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Enumeración: ResultadoDesinscripcion
+ *
+ * Resultado de un intento de desinscribir a un alumno de un curso, para
+ * reportar el motivo de un rechazo sin lanzar excepciones (ver
+ * {GestorCursos#intentarDesinscribirAlumnoDeCurso(int, int, Fecha)}).
+ */
+public enum ResultadoDesinscripcion {
+
+    /** El alumno quedó desinscrito. */
+    DESINSCRITO("Desinscripción realizada."),
+
+    /** No existe un curso con el ID indicado. */
+    CURSO_NO_ENCONTRADO("No se encontró el curso."),
+
+    /** No existe un alumno con el número de cuenta indicado. */
+    ALUMNO_NO_ENCONTRADO("No se encontró el alumno."),
+
+    /** La fecha de finalización del curso ya concluyó. */
+    CURSO_TERMINADO("No se puede desinscribir, la fecha de finalización ya concluyó."),
+
+    /** El alumno no estaba inscrito en el curso. */
+    NO_INSCRITO("El alumno no está inscrito en este curso.");
+
+    /** Mensaje descriptivo del resultado. */
+    private final String mensaje;
+
+    ResultadoDesinscripcion(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Devuelve el mensaje descriptivo del resultado.
+     *
+     * @return Mensaje para mostrar al usuario.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * Indica si el resultado corresponde a una desinscripción realizada.
+     *
+     * @return true solo para {DESINSCRITO}.
+     */
+    public boolean esExito() {
+        return this == DESINSCRITO;
+    }
+}
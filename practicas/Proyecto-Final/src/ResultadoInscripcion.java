@@ -0,0 +1,84 @@
+/**
+ * Enumeración: ResultadoInscripcion
+ *
+ * Resultado de un intento de inscripción de un alumno en un curso. Permite
+ * reportar el motivo de un rechazo sin lanzar excepciones, por ejemplo en
+ * {GestorCursos#inscribirLote(int[], int[], Fecha)}, donde cada resultado
+ * se guarda como un byte con {getCodigo()}.
+ */
+public enum ResultadoInscripcion {
+
+    /** El alumno quedó inscrito. */
+    INSCRITO("Inscripción realizada."),
+
+    /** No existe un curso con el ID indicado. */
+    CURSO_NO_ENCONTRADO("No se encontró el curso."),
+
+    /** No existe un alumno con el número de cuenta indicado. */
+    ALUMNO_NO_ENCONTRADO("No se encontró el alumno."),
+
+    /** La fecha no está dentro del periodo de inscripciones. */
+    FUERA_DE_PERIODO("La fecha de inscripción no está abierta."),
+
+    /** El curso ya inició. */
+    CURSO_INICIADO("El curso ya inició."),
+
+    /** El curso no tiene cupo. */
+    CURSO_LLENO("El curso está lleno."),
+
+    /** El alumno ya tiene el máximo de materias en curso. */
+    LIMITE_MATERIAS("El alumno ya tiene 6 materias en curso."),
+
+    /** El alumno ya estaba inscrito en el curso. */
+    YA_INSCRITO("El alumno ya está inscrito en el curso."),
+
+    /** El horario del curso choca con el de otro curso del alumno. */
+    CHOQUE_HORARIO("El horario del curso choca con otro curso del alumno.");
+
+    /** Valores en orden de código, para convertir sin crear arreglos. */
+    private static final ResultadoInscripcion[] VALORES = values();
+
+    /** Mensaje descriptivo del resultado. */
+    private final String mensaje;
+
+    ResultadoInscripcion(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * Devuelve el mensaje descriptivo del resultado.
+     *
+     * @return Mensaje para mostrar al usuario.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * Indica si el resultado corresponde a una inscripción realizada.
+     *
+     * @return true solo para {INSCRITO}.
+     */
+    public boolean esExito() {
+        return this == INSCRITO;
+    }
+
+    /**
+     * Devuelve el código compacto del resultado.
+     *
+     * @return Código de un byte.
+     */
+    public byte getCodigo() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Convierte un código compacto en su resultado.
+     *
+     * @param codigo Código obtenido con {getCodigo()}.
+     * @return Resultado correspondiente.
+     */
+    public static ResultadoInscripcion desdeCodigo(byte codigo) {
+        return VALORES[codigo];
+    }
+}
@@ -6,81 +6,216 @@
  */
 public class SistemaGestionCursos {
 
+    /** Archivo de la bitácora; los respaldos se guardan en su directorio. */
+    private static final String RUTA_BITACORA = "bitacora.log";
+
     /**
      * Método principal del sistema.
      *
      * Crea los repositorios en memoria, intenta cargar los datos desde
-     * archivos de texto, reconstruye las relaciones entre cursos, profesores
+     * los respaldos binarios o los archivos de texto, reconstruye las relaciones entre cursos, profesores
      * y alumnos, configura los gestores y finalmente muestra el menú de
-     * consola para interactuar con el usuario. Al finalizar, guarda de nuevo
-     * la información en los archivos correspondientes.
+     * consola para interactuar con el usuario (o, con {@code --comandos},
+     * ejecuta un archivo de comandos con {ModoComandos}). Los cambios de la sesión se
+     * anotan en una {Bitacora}, que se reproduce al iniciar si el programa
+     * terminó sin guardar. Al finalizar, la bitácora se compacta: se
+     * reescriben los respaldos binarios y los archivos de texto.
+     *
+     * Si algún archivo no se puede cargar, o la bitácora no se puede
+     * reproducir, el programa termina sin modificar ningún archivo: seguir
+     * con datos incompletos y guardarlos al salir los perdería.
      *
-     * @param args Argumentos de línea de comandos (no utilizados).
+     * @param args Argumentos de línea de comandos: ninguno para el menú, o
+     *             {@code --comandos [archivo]} para el modo de comandos
+     *             (sin archivo, se leen de la entrada estándar).
      */
     public static void main(String[] args) {
 
-        RepositorioProfesores repoProf = new RepositorioProfesores(100);
-        RepositorioAlumnos repoAlu = new RepositorioAlumnos(200);
-        RepositorioCursos repoCur = new RepositorioCursos(100);
+        RepositorioProfesores repoProf =
+                new RepositorioProfesores(100, ModoAlmacenamiento.CRECIBLE);
+        RepositorioAlumnos repoAlu =
+                new RepositorioAlumnos(200, ModoAlmacenamiento.CRECIBLE);
+        RepositorioCursos repoCur =
+                new RepositorioCursos(100, ModoAlmacenamiento.CRECIBLE);
 
         try {
-            repoProf.cargarTodo("profesores.txt");
-            repoAlu.cargarTodo("alumnos.txt");
-            repoCur.cargarTodo("cursos.txt");
-        } catch (Exception e) {
-            System.out.println("Aviso al cargar archivos: " + e.getMessage());
-        }
-
-        // Re-conectar profesor y alumnos a cada curso a partir de los IDs guardados
-        Curso[] cursos = repoCur.getTodos();
-        for (int i = 0; i < cursos.length; i++) {
-            Curso c = cursos[i];
-            if (c == null) continue;
+            // Terminar un guardado de respaldos que se haya interrumpido
+            Bitacora.recuperarRespaldos(RUTA_BITACORA);
+            cargarDatos(repoProf, repoAlu, repoCur, true);
 
-            // Profesor
-            int idProf = c.getIdProfesorGuardado();
-            if (idProf != -1) {
-                try {
-                    Profesor p = repoProf.buscarPorId(idProf);
-                    c.setProfesorAsignado(p);
-                } catch (NoEncontradoException e) {
-                    // profesor no existe, lo ignoramos
-                }
+            // Re-conectar profesor y alumnos a cada curso a partir de los IDs guardados
+            try {
+                rehidratar(repoProf, repoAlu, repoCur);
+            } catch (IllegalStateException e) {
+                // Un registro de un respaldo binario no se pudo construir
+                System.out.println("Aviso: " + e.getMessage() + "; se cargan los archivos de texto.");
+                cargarDatos(repoProf, repoAlu, repoCur, false);
+                rehidratar(repoProf, repoAlu, repoCur);
             }
 
-            // Alumnos
-            int[] idsAlumnos = c.getIdsAlumnosGuardados();
-            int totalGuardados = c.getContadorAlumnosGuardados();
-            for (int j = 0; j < totalGuardados; j++) {
-                int idAlu = idsAlumnos[j];
-                try {
-                    Alumno a = repoAlu.buscarPorId(idAlu);
-                    // agregamos relación en curso y en alumno SIN revalidar fechas
-                    if (c.getContadorAlumnos() < c.getNumeroEstudiantesMax()) {
-                        c.alumnosInscritos[c.contadorAlumnos] = a;
-                        c.contadorAlumnos++;
-                        a.agregarCurso(c);
-                    }
-                } catch (NoEncontradoException e) {
-                    // alumno no encontrado, lo ignoramos
-                }
+            // Aplicar los cambios anotados en la bitácora después del último guardado
+            int aplicados = Bitacora.reproducir(RUTA_BITACORA, repoProf, repoAlu, repoCur);
+            if (aplicados > 0) {
+                System.out.println("Se recuperaron " + aplicados + " cambios de la bitácora.");
             }
+        } catch (Exception e) {
+            System.out.println("No se pudieron cargar los datos: " + e.getMessage());
+            System.out.println("No se modificó ningún archivo; corrige o restaura los archivos y vuelve a iniciar.");
+            return;
+        }
+
+        Bitacora bitacora = null;
+        try {
+            bitacora = new Bitacora(RUTA_BITACORA, repoProf, repoAlu, repoCur);
+        } catch (java.io.IOException e) {
+            System.out.println("Aviso con la bitácora: " + e.getMessage()
+                    + "; los cambios se guardarán solo al salir.");
         }
 
         GestorProfesores gestorProf = new GestorProfesores(repoProf, repoCur);
         GestorAlumnos gestorAlu = new GestorAlumnos(repoAlu, repoCur);
         GestorCursos gestorCur = new GestorCursos(repoCur, repoProf, repoAlu);
+        gestorProf.setBitacora(bitacora);
+        gestorAlu.setBitacora(bitacora);
+        gestorCur.setBitacora(bitacora);
 
-        MenuConsola menu = new MenuConsola(gestorCur, gestorProf, gestorAlu);
-        menu.mostrarMenuPrincipal();
+        if (args.length > 0 && args[0].equals("--comandos")) {
+            ejecutarComandos(args, gestorCur, gestorProf, gestorAlu);
+        } else {
+            MenuConsola menu = new MenuConsola(gestorCur, gestorProf, gestorAlu);
+            menu.mostrarMenuPrincipal();
+        }
 
         try {
-            repoProf.guardarTodo("profesores.txt");
-            repoAlu.guardarTodo("alumnos.txt");
-            repoCur.guardarTodo("cursos.txt");
+            if (bitacora != null) {
+                // compactar guarda los respaldos y los archivos de texto, y vacía la bitácora
+                bitacora.compactar();
+                bitacora.cerrar();
+            } else {
+                long secuencia = Math.max(repoProf.getSecuencia(),
+                        Math.max(repoAlu.getSecuencia(), repoCur.getSecuencia()));
+                Bitacora.guardarRespaldos(RUTA_BITACORA, repoProf, repoAlu, repoCur, secuencia);
+            }
             System.out.println("Datos guardados correctamente.");
         } catch (Exception e) {
             System.out.println("Error al guardar datos: " + e.getMessage());
         }
     }
+
+    /**
+     * Ejecuta los comandos del archivo indicado después de
+     * {@code --comandos}, o los de la entrada estándar si no se indica
+     * archivo.
+     *
+     * @param args       Argumentos de línea de comandos.
+     * @param gestorCur  Gestor de cursos.
+     * @param gestorProf Gestor de profesores.
+     * @param gestorAlu  Gestor de alumnos.
+     */
+    private static void ejecutarComandos(String[] args, GestorCursos gestorCur,
+                                         GestorProfesores gestorProf, GestorAlumnos gestorAlu) {
+        ModoComandos comandos = new ModoComandos(gestorCur, gestorProf, gestorAlu, System.out);
+        try (java.io.Reader entrada = (args.length > 1)
+                ? new java.io.InputStreamReader(new java.io.FileInputStream(args[1]),
+                        java.nio.charset.StandardCharsets.UTF_8)
+                : new java.io.InputStreamReader(System.in, java.nio.charset.StandardCharsets.UTF_8)) {
+            comandos.ejecutar(entrada);
+        } catch (java.io.IOException e) {
+            System.out.println("Error al leer los comandos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Carga los tres repositorios.
+     *
+     * @param repoProf      Repositorio de profesores.
+     * @param repoAlu       Repositorio de alumnos.
+     * @param repoCur       Repositorio de cursos.
+     * @param usarRespaldos Si es false, se ignoran los respaldos binarios y
+     *                      se cargan siempre los archivos de texto.
+     * @throws Exception Si algún repositorio no se puede cargar completo
+     *                   ({cargarRepositorio(RepositorioBase, String, boolean)}).
+     */
+    private static void cargarDatos(RepositorioProfesores repoProf, RepositorioAlumnos repoAlu,
+                                    RepositorioCursos repoCur, boolean usarRespaldos) throws Exception {
+        cargarRepositorio(repoProf, "profesores", usarRespaldos);
+        cargarRepositorio(repoAlu, "alumnos", usarRespaldos);
+        cargarRepositorio(repoCur, "cursos", usarRespaldos);
+    }
+
+    /**
+     * Reconstruye las relaciones de los cursos. Si los cursos vienen de un
+     * respaldo mapeado, cada uno se enlaza al construirse y el lado de los
+     * alumnos y profesores se completa la primera vez que se usa, para que
+     * el menú arranque sin construir todos los objetos; si no, se enlaza
+     * todo de inmediato, en paralelo si hay más de un procesador y
+     * suficientes cursos.
+     *
+     * @param repoProf Repositorio de profesores.
+     * @param repoAlu  Repositorio de alumnos.
+     * @param repoCur  Repositorio de cursos.
+     * @throws IllegalStateException Si un elemento de un respaldo binario
+     *                               está dañado y no se puede construir.
+     */
+    private static void rehidratar(RepositorioProfesores repoProf, RepositorioAlumnos repoAlu,
+                                   RepositorioCursos repoCur) {
+        if (repoCur.tienePendientes()) {
+            Rehidratador.rehidratarDiferido(repoProf, repoAlu, repoCur);
+            return;
+        }
+        boolean paralelo = Runtime.getRuntime().availableProcessors() > 1
+                && repoCur.getContador() >= 4096;
+        Rehidratador.rehidratar(repoProf, repoAlu, repoCur, paralelo);
+    }
+
+    /**
+     * Carga un repositorio desde su respaldo binario {@code nombre.snap},
+     * mapeado en memoria para que el menú arranque sin esperar a construir
+     * todos los objetos. Si el respaldo no existe, es más antiguo que el
+     * archivo de texto {@code nombre.txt} (por ejemplo, porque este se
+     * editó a mano) o está dañado, se carga el archivo de texto (con la
+     * carga masiva en paralelo si hay más de un procesador).
+     *
+     * La compactación escribe el texto junto con el respaldo, así que
+     * pueden sustituirse; aun así, si hay respaldo, el texto que lo
+     * reemplaza debe existir y no tener una secuencia de bitácora menor
+     * que la del respaldo (ver {RepositorioBase#getSecuencia()}), porque
+     * le faltarían cambios que la bitácora ya no tiene.
+     *
+     * @param repo         Repositorio a cargar.
+     * @param nombre       Nombre base de los archivos, sin extensión.
+     * @param usarRespaldo  Si es false, se carga directamente el archivo de texto.
+     * @throws java.io.IOException      Si ocurre un error de lectura.
+     * @throws FormatoInvalidoException Si el archivo de texto tiene formato
+     *                                  inválido, falta o es más antiguo que el respaldo.
+     * @throws CapacidadLlenaException  Si el repositorio no tiene capacidad suficiente.
+     */
+    private static void cargarRepositorio(RepositorioBase<?> repo, String nombre, boolean usarRespaldo)
+            throws java.io.IOException, FormatoInvalidoException, CapacidadLlenaException {
+        java.io.File texto = new java.io.File(nombre + ".txt");
+        java.io.File respaldo = new java.io.File(nombre + ".snap");
+        if (usarRespaldo && respaldo.exists() && respaldo.lastModified() >= texto.lastModified()) {
+            try {
+                repo.cargarSnapshotMapeado(respaldo.getPath());
+                return;
+            } catch (FormatoInvalidoException e) {
+                System.out.println("Aviso: respaldo " + respaldo + " inválido, se usa "
+                        + texto + " (" + e.getMessage() + ")");
+            }
+        }
+        // Secuencia del respaldo que se descarta (la del encabezado, si se leyó)
+        long secuenciaRespaldo = repo.getSecuencia();
+        if (respaldo.exists() && !texto.exists()) {
+            throw new FormatoInvalidoException("No existe " + texto + " para reemplazar a " + respaldo);
+        }
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            repo.cargarTodoParalelo(texto.getPath());
+        } else {
+            repo.cargarTodo(texto.getPath());
+        }
+        if (repo.getSecuencia() < secuenciaRespaldo) {
+            throw new FormatoInvalidoException(texto + " es anterior a " + respaldo
+                    + " (secuencia " + repo.getSecuencia() + " de " + secuenciaRespaldo + ")");
+        }
+    }
 }